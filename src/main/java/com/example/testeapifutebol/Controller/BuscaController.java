@@ -0,0 +1,34 @@
+package com.example.testeapifutebol.Controller;
+
+import com.example.testeapifutebol.DTO.ResultadoBuscaDTO;
+import com.example.testeapifutebol.Service.IndiceBusca;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Controller REST - Busca textual em clubes, estádios e partidas
+@RestController
+@RequestMapping("/busca")
+public class BuscaController {
+
+    @Autowired
+    private IndiceBusca indiceBusca;
+
+    //Busca por várias palavras, com erro de digitação: "fla rj 2019", "maracana 3x0", "flamngo"
+    //Cada resultado diz o tipo (clube, estadio ou partida) e o id, os mais relevantes primeiro
+    @GetMapping // URL: /busca?q=fla rj 2019&tipo=partida&limit=10
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String tipo,   // ?tipo=clube (só clubes)
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<ResultadoBuscaDTO> resultados = indiceBusca.buscar(q, tipo, limit);
+        return new ResponseEntity<>(resultados, HttpStatus.OK); // 200
+    }
+}
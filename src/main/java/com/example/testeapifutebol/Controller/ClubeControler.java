@@ -1,11 +1,17 @@
 package com.example.testeapifutebol.Controller;
 
 import com.example.testeapifutebol.DTO.ClubeDTO;
+import com.example.testeapifutebol.DTO.PaginaCursorDTO;
 import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.DTO.ReconstrucaoClassificacaoDTO;
 import com.example.testeapifutebol.DTO.RetrospectoAdversarioDTO;
 import com.example.testeapifutebol.DTO.RetrospectoClubeDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
 import com.example.testeapifutebol.DTO.ConfrontoDiretoDTO;
+import com.example.testeapifutebol.Service.ClassificacaoService;
 import com.example.testeapifutebol.Service.ClubeService;
+import com.example.testeapifutebol.Service.ExportacaoService;
+import com.example.testeapifutebol.Service.MotorRanking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +19,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 // Controller REST - Gerencia requisições HTTP para operações com clubes
@@ -29,6 +39,15 @@ public class ClubeControler {
     @Autowired
     private ClubeService clubeService;
 
+    @Autowired
+    private ClassificacaoService classificacaoService;
+
+    @Autowired
+    private MotorRanking motorRanking;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
     //Criar novo clube
     @PostMapping
     public ResponseEntity<ClubeDTO> criarClubeEntity(@RequestBody ClubeDTO clubeDTO) {
@@ -43,6 +62,25 @@ public class ClubeControler {
         return new ResponseEntity<>(clubes, HttpStatus.OK); // me da o retorno 200
     }
 
+    //Autocomplete: clubes com alguma palavra do nome começando por q, os com mais partidas primeiro
+    //Sai da memória, sem consulta nem COUNT no banco (para chamar a cada tecla)
+    @GetMapping("/autocomplete") // URL: /clubes/autocomplete?q=fla&limit=5
+    public ResponseEntity<List<SugestaoNomeDTO>> autocompletarClubes(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SugestaoNomeDTO> sugestoes = clubeService.sugerirClubes(q, limit);
+        return new ResponseEntity<>(sugestoes, HttpStatus.OK); // 200
+    }
+
+    //Exporta todos os clubes em NDJSON (um por linha) ou CSV, escrevendo conforme lê do banco
+    @GetMapping("/exportar") // URL: /clubes/exportar?formato=csv
+    public ResponseEntity<StreamingResponseBody> exportarClubes(@RequestParam(defaultValue = "ndjson") String formato) {
+        return ResponseEntity.ok()
+                .contentType(exportacaoService.tipoDoFormato(formato)) // 400 aqui, antes de começar a resposta
+                .body(saida -> exportacaoService.exportarClubes(saida, formato));
+    }
+
 
     @GetMapping("/buscar")
     public ResponseEntity<Page<ClubeDTO>> buscarClubesComFiltros(
@@ -70,6 +108,42 @@ public class ClubeControler {
         Page<ClubeDTO> clubesEncontrados = clubeService.findClubesComFiltros(nome, estado, ativo, datacriacao, pageable);
         return new ResponseEntity<>(clubesEncontrados, HttpStatus.OK); // 200
     }
+
+    //Mesma busca sem o total (?semTotal=true): devolve um Slice, sem totalElements/totalPages e sem COUNT no banco
+    //"last": false indica que existe próxima página (o banco traz uma linha a mais para saber)
+    @GetMapping(value = "/buscar", params = {"semTotal=true", "!cursor"}) // URL: /clubes/buscar?semTotal=true
+    public ResponseEntity<Slice<ClubeDTO>> buscarClubesComFiltrosSemTotal(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) String ativo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate datacriacao,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "nome") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
+            Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<ClubeDTO> clubesEncontrados = clubeService.findClubesComFiltrosSemTotal(nome, estado, ativo, datacriacao, pageable);
+        return new ResponseEntity<>(clubesEncontrados, HttpStatus.OK); // 200
+    }
+
+    //Mesma busca por cursor (entra quando a URL tem ?cursor=, mesmo vazio na primeira página)
+    //Ordem fixa (nome, id); para a próxima página, mande os mesmos filtros com cursor=<proximoCursor>
+    @GetMapping(value = "/buscar", params = "cursor") // URL: /clubes/buscar?cursor=&size=20
+    public ResponseEntity<PaginaCursorDTO<ClubeDTO>> buscarClubesPorCursor(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) String ativo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate datacriacao,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        PaginaCursorDTO<ClubeDTO> pagina = clubeService.buscarClubesPorCursor(nome, estado, ativo, datacriacao, cursor, size);
+        return new ResponseEntity<>(pagina, HttpStatus.OK); // 200
+    }
     
     //Busca o retrospecto completo de um clube
     @GetMapping("/{id}/retrospecto")
@@ -90,21 +164,71 @@ public class ClubeControler {
     @GetMapping("/{clube1Id}/confronto/{clube2Id}")
     public ResponseEntity<ConfrontoDiretoDTO> buscarConfrontoDireto(
             @PathVariable Long clube1Id,
-            @PathVariable Long clube2Id
+            @PathVariable Long clube2Id,
+            @RequestParam(defaultValue = "false") boolean incluirPartidas, // ?incluirPartidas=true traz as partidas
+            @RequestParam(defaultValue = "20") int limit,                  // partidas por página
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime antesDe // próxima página
     ) {
-        ConfrontoDiretoDTO confronto = clubeService.buscarConfrontoDireto(clube1Id, clube2Id);
+        ConfrontoDiretoDTO confronto = clubeService.buscarConfrontoDireto(clube1Id, clube2Id, incluirPartidas,
+                limit, antesDe);
         return new ResponseEntity<>(confronto, HttpStatus.OK);
     }
     
     // Busca o ranking de clubes
     @GetMapping("/ranking")
     public ResponseEntity<List<RankingClubeDTO>> buscarRanking(
-            @RequestParam(defaultValue = "pontos") String tipo
+            @RequestParam(defaultValue = "pontos") String tipo,
+            @RequestParam(required = false) Integer limit,      // ?limit=20 (só os 20 primeiros)
+            @RequestParam(defaultValue = "0") int offset,       // ?offset=20 (pula os 20 primeiros)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,  // ?de=2024-01-01
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate, // ?ate=2024-12-31
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate em   // ?em=2024-06-30
     ) {
-        List<RankingClubeDTO> ranking = clubeService.buscarRanking(tipo);
+        // Com 'em', devolve a tabela como estava ao fim daquele dia; com período, conta só as partidas entre
+        // as datas; com limit, a página é montada no banco; sem nenhum deles, devolve o ranking completo
+        List<RankingClubeDTO> ranking;
+        if (em != null) {
+            ranking = clubeService.buscarRankingNaData(tipo, em);
+        } else if (de != null || ate != null) {
+            ranking = clubeService.buscarRankingPorPeriodo(tipo, de, ate);
+        } else if (limit != null) {
+            ranking = clubeService.buscarRankingPaginado(tipo, limit, offset);
+        } else {
+            ranking = clubeService.buscarRanking(tipo);
+        }
         return new ResponseEntity<>(ranking, HttpStatus.OK);
     }
 
+    // Busca os clubes próximos de um clube no ranking (raio posições acima e abaixo)
+    @GetMapping("/{id}/ranking/vizinhanca")
+    public ResponseEntity<List<RankingClubeDTO>> buscarVizinhancaRanking(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "pontos") String tipo,
+            @RequestParam(defaultValue = "5") int raio
+    ) {
+        List<RankingClubeDTO> vizinhanca = clubeService.buscarVizinhancaRanking(id, tipo, raio);
+        return new ResponseEntity<>(vizinhanca, HttpStatus.OK);
+    }
+
+    // Monta a tabela de uma mini-liga só com os jogos entre os clubes enviados no corpo (ex.: [1, 2, 3, 4])
+    @PostMapping("/mini-liga")
+    public ResponseEntity<List<RankingClubeDTO>> buscarMiniLiga(
+            @RequestBody List<Long> clubeIds,
+            @RequestParam(defaultValue = "pontos") String tipo
+    ) {
+        List<RankingClubeDTO> tabela = clubeService.buscarMiniLiga(clubeIds, tipo);
+        return new ResponseEntity<>(tabela, HttpStatus.OK);
+    }
+
+    // Recalcula a tabela de classificação do zero e confere com a consulta agregada das partidas
+    @PostMapping("/ranking/reconstruir")
+    public ResponseEntity<ReconstrucaoClassificacaoDTO> reconstruirRanking() {
+        ReconstrucaoClassificacaoDTO relatorio = classificacaoService.reconstruirClassificacao();
+        // Recarrega o ranking em memória com a tabela corrigida
+        motorRanking.carregar();
+        return new ResponseEntity<>(relatorio, HttpStatus.OK);
+    }
+
     //Atualizar clube existente, usando o id
     @PutMapping("/{id}")
     public ResponseEntity<ClubeDTO> updateClube(@PathVariable Long id, @RequestBody ClubeDTO clubeDTO) {
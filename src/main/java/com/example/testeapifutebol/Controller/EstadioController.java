@@ -1,17 +1,21 @@
 package com.example.testeapifutebol.Controller;
 
 import com.example.testeapifutebol.DTO.EstadioDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
 import com.example.testeapifutebol.Service.EstadioService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 
 
@@ -53,6 +57,16 @@ public class EstadioController {
         }
     }
 
+    //Autocomplete: estádios com alguma palavra do nome começando por q, os com mais partidas primeiro
+    @GetMapping("/autocomplete") // URL: /estadios/autocomplete?q=mara&limit=5
+    public ResponseEntity<List<SugestaoNomeDTO>> autocompletarEstadios(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SugestaoNomeDTO> sugestoes = estadioService.sugerirEstadios(q, limit);
+        return new ResponseEntity<>(sugestoes, HttpStatus.OK); // 200
+    }
+
     //Busca estádio específico por ID
     @GetMapping("/{id}")
     public ResponseEntity<EstadioDTO> buscarEstadioPorId(@PathVariable Long id) {
@@ -89,4 +103,22 @@ public class EstadioController {
         return new ResponseEntity<>(estadiosEncontrados, HttpStatus.OK); // 200
     }
 
+    //Mesma listagem sem o total (?semTotal=true): devolve um Slice, sem totalElements/totalPages e sem COUNT no banco
+    //"last": false indica que existe próxima página (o banco traz uma linha a mais para saber)
+    @GetMapping(params = "semTotal=true") // URL: /estadios?semTotal=true
+    public ResponseEntity<Slice<EstadioDTO>> listarEstadiosSemTotal(
+            @RequestParam(required = false) String nome,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "nome") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
+            Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<EstadioDTO> estadiosEncontrados = estadioService.findEstadiosComFiltrosSemTotal(nome, pageable);
+        return new ResponseEntity<>(estadiosEncontrados, HttpStatus.OK); // 200
+    }
+
 }
@@ -1,18 +1,29 @@
 package com.example.testeapifutebol.Controller;
 
+import com.example.testeapifutebol.DTO.CalendarioDiaDTO;
+import com.example.testeapifutebol.DTO.PaginaCursorDTO;
 import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.example.testeapifutebol.Service.CalendarioPartidasService;
+import com.example.testeapifutebol.Service.ExportacaoService;
+import com.example.testeapifutebol.Service.ImportacaoArquivoPartidasService;
+import com.example.testeapifutebol.Service.ImportacaoPartidasService;
 import com.example.testeapifutebol.Service.PartidaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +35,18 @@ public class PartidaController {
     @Autowired
     private PartidaService partidaService;
 
+    @Autowired
+    private ImportacaoPartidasService importacaoPartidasService;
+
+    @Autowired
+    private ImportacaoArquivoPartidasService importacaoArquivoPartidasService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private CalendarioPartidasService calendarioPartidasService;
+
     //Cria nova partida
     @PostMapping
     public ResponseEntity<PartidaDTO> criarPartidaEntity(@RequestBody PartidaDTO partidaDTO) {
@@ -31,6 +54,25 @@ public class PartidaController {
         return new ResponseEntity<>(partidaCriada, HttpStatus.CREATED); // retorna 201
     }
 
+    //Cria várias partidas de uma vez (até 5000); as inválidas voltam no relatório com o motivo
+    @PostMapping("/lote") // URL: /partidas/lote
+    public ResponseEntity<RelatorioImportacaoDTO> importarLote(@RequestBody List<PartidaDTO> partidas) {
+        RelatorioImportacaoDTO relatorio = importacaoPartidasService.importarLote(partidas);
+        return ResponseEntity.ok(relatorio); // 200, mesmo com partidas recusadas (ver relatorio.erros)
+    }
+
+    //Importa um CSV/NDJSON de qualquer tamanho lendo o corpo aos poucos, com commit a cada trecho
+    //historico=true aceita partidas já jogadas; se cair no meio, reenvie com pular=<processadas do relatório>
+    @PostMapping("/importacao") // URL: /partidas/importacao?formato=csv&historico=true&pular=0
+    public ResponseEntity<RelatorioImportacaoDTO> importarArquivo(
+            @RequestParam String formato,
+            @RequestParam(defaultValue = "false") boolean historico,
+            @RequestParam(defaultValue = "0") long pular,
+            InputStream corpo) throws IOException {
+        RelatorioImportacaoDTO relatorio = importacaoArquivoPartidasService.importar(corpo, formato, historico, pular);
+        return ResponseEntity.ok(relatorio); // 200, mesmo com partidas recusadas (ver relatorio.recusadas)
+    }
+
     //Lista todas as partidas
     @GetMapping
     public ResponseEntity<List<PartidaDTO>> findAllPartidaEntity() {
@@ -38,6 +80,15 @@ public class PartidaController {
         return new ResponseEntity<>(partidas, HttpStatus.OK); // retorna 200
     }
 
+    //Exporta todas as partidas em NDJSON (uma por linha) ou CSV, escrevendo conforme lê do banco
+    //O CSV sai no mesmo formato que o POST /partidas/importacao lê
+    @GetMapping("/exportar") // URL: /partidas/exportar?formato=csv
+    public ResponseEntity<StreamingResponseBody> exportarPartidas(@RequestParam(defaultValue = "ndjson") String formato) {
+        return ResponseEntity.ok()
+                .contentType(exportacaoService.tipoDoFormato(formato)) // 400 aqui, antes de começar a resposta
+                .body(saida -> exportacaoService.exportarPartidas(saida, formato));
+    }
+
     //Busca avançada com filtros, paginação e ordenação
     @GetMapping("/buscar") // URL: /partidas/buscar
     public ResponseEntity<Page<PartidaDTO>> buscarPartidasComFiltros(
@@ -73,6 +124,56 @@ public class PartidaController {
         return new ResponseEntity<>(partidasEncontradas, HttpStatus.OK); // 200
     }
 
+    //Mesma busca sem o total (?semTotal=true): devolve um Slice, sem totalElements/totalPages e sem COUNT no banco
+    //"last": false indica que existe próxima página (o banco traz uma linha a mais para saber)
+    @GetMapping(value = "/buscar", params = {"semTotal=true", "!cursor"}) // URL: /partidas/buscar?semTotal=true
+    public ResponseEntity<Slice<PartidaDTO>> buscarPartidasComFiltrosSemTotal(
+            @RequestParam(required = false) String estadio,
+            @RequestParam(required = false) Integer golsCasa,
+            @RequestParam(required = false) Integer golsVisitante,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataHora,
+            @RequestParam(required = false) Boolean apenasGoleadas,
+            @RequestParam(required = false) Long clubeId,
+            @RequestParam(required = false) Boolean clubeCasa,
+            @RequestParam(required = false) Boolean clubeVisitante,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dataHora") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
+            Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<PartidaDTO> partidasEncontradas = partidaService.findPartidasComFiltrosSemTotal(
+            estadio, golsCasa, golsVisitante, dataHora,
+            apenasGoleadas, clubeId, clubeCasa, clubeVisitante, pageable
+        );
+        return new ResponseEntity<>(partidasEncontradas, HttpStatus.OK); // 200
+    }
+
+    //Mesma busca por cursor (entra quando a URL tem ?cursor=, mesmo vazio na primeira página)
+    //Ordem fixa (dataHora, id), sem COUNT; para a próxima página, mande os mesmos filtros com cursor=<proximoCursor>
+    @GetMapping(value = "/buscar", params = "cursor") // URL: /partidas/buscar?cursor=&size=20
+    public ResponseEntity<PaginaCursorDTO<PartidaDTO>> buscarPartidasPorCursor(
+            @RequestParam(required = false) String estadio,
+            @RequestParam(required = false) Integer golsCasa,
+            @RequestParam(required = false) Integer golsVisitante,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataHora,
+            @RequestParam(required = false) Boolean apenasGoleadas,
+            @RequestParam(required = false) Long clubeId,
+            @RequestParam(required = false) Boolean clubeCasa,
+            @RequestParam(required = false) Boolean clubeVisitante,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        PaginaCursorDTO<PartidaDTO> pagina = partidaService.buscarPartidasPorCursor(
+            estadio, golsCasa, golsVisitante, dataHora,
+            apenasGoleadas, clubeId, clubeCasa, clubeVisitante, cursor, size
+        );
+        return new ResponseEntity<>(pagina, HttpStatus.OK); // 200
+    }
+
     //Busca partida por ID
     @GetMapping("/{id}")
     public ResponseEntity<PartidaDTO> buscarPartidaPorId(@PathVariable Long id) {
@@ -148,6 +249,13 @@ public class PartidaController {
         return new ResponseEntity<>(partidas, HttpStatus.OK);
     }
 
+    // GET /partidas/calendario - Quantidade de partidas por dia do mês (só os dias com partida)
+    @GetMapping("/calendario") // URL: /partidas/calendario?mes=2030-01
+    public ResponseEntity<List<CalendarioDiaDTO>> buscarCalendario(@RequestParam String mes) {
+        List<CalendarioDiaDTO> dias = calendarioPartidasService.buscarCalendario(mes);
+        return new ResponseEntity<>(dias, HttpStatus.OK);
+    }
+
     // GET /partidas/resultado - Buscar partidas por resultado específico
     @GetMapping("/resultado")
     public ResponseEntity<List<PartidaDTO>> buscarPartidasPorResultado(
@@ -0,0 +1,20 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+//Quantidade de partidas de um dia do calendário (GET /partidas/calendario)
+@Data
+public class CalendarioDiaDTO {
+    private LocalDate dia;
+    private int partidas;
+
+    public CalendarioDiaDTO() {
+    }
+
+    public CalendarioDiaDTO(LocalDate dia, int partidas) {
+        this.dia = dia;
+        this.partidas = partidas;
+    }
+}
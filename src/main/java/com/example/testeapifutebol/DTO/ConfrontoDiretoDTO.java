@@ -1,8 +1,8 @@
 package com.example.testeapifutebol.DTO;
 
-import com.example.testeapifutebol.Entity.PartidaEntity;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -17,7 +17,10 @@ public class ConfrontoDiretoDTO {
     private int vitoriasClube2;
     private int golsClube1;
     private int golsClube2;
-    private List<PartidaEntity> partidas;
+    // Página de partidas (só quando pedida), da mais recente para a mais antiga
+    private List<PartidaResumoDTO> partidas;
+    // Valor de ?antesDe= para a próxima página (null quando não há mais partidas)
+    private LocalDateTime proximoAntesDe;
 
     public ConfrontoDiretoDTO() {
         this.totalJogos = 0;
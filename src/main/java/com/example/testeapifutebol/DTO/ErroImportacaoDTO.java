@@ -0,0 +1,21 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+//Partida recusada numa importação: posição no que foi enviado, status que o POST /partidas daria e a mensagem
+@Data
+public class ErroImportacaoDTO {
+    // Posição da partida na lista enviada (começa em 0)
+    private long indice;
+    private int status;
+    private String mensagem;
+
+    public ErroImportacaoDTO() {
+    }
+
+    public ErroImportacaoDTO(long indice, int status, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+//Uma linha do retrospecto (usada para os jogos em casa e fora de casa)
+@Data
+public class LinhaRetrospectoDTO {
+    private int totalJogos;
+    private int vitorias;
+    private int empates;
+    private int derrotas;
+    private int golsFeitos;
+    private int golsSofridos;
+    private int saldoGols;
+
+    public LinhaRetrospectoDTO() {
+    }
+
+    public LinhaRetrospectoDTO(int totalJogos, int vitorias, int empates, int derrotas,
+                               int golsFeitos, int golsSofridos) {
+        this.totalJogos = totalJogos;
+        this.vitorias = vitorias;
+        this.empates = empates;
+        this.derrotas = derrotas;
+        this.golsFeitos = golsFeitos;
+        this.golsSofridos = golsSofridos;
+        this.saldoGols = golsFeitos - golsSofridos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+import java.util.List;
+
+//Página de uma busca por cursor: os itens e o cursor para pedir a próxima (sem total, não roda COUNT)
+@Data
+public class PaginaCursorDTO<T> {
+    private List<T> itens;
+    // null quando não há mais itens
+    private String proximoCursor;
+    private boolean temProxima;
+
+    public PaginaCursorDTO() {
+    }
+
+    public PaginaCursorDTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.temProxima = proximoCursor != null;
+    }
+}
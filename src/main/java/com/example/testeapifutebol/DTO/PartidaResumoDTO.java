@@ -0,0 +1,32 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+//Partida resumida para listas (montada direto na consulta, sem carregar a Entity)
+@Data
+public class PartidaResumoDTO {
+    private Long id;
+    private Long clubeCasaId;
+    private Long clubeVisitanteId;
+    private Integer resultadoCasa;
+    private Integer resultadoVisitante;
+    private String estadio;
+    private LocalDateTime dataHora;
+
+    public PartidaResumoDTO() {
+    }
+
+    // Usado pelo "SELECT new" das consultas do PartidaRepository
+    public PartidaResumoDTO(Long id, Long clubeCasaId, Long clubeVisitanteId, Integer resultadoCasa,
+                            Integer resultadoVisitante, String estadio, LocalDateTime dataHora) {
+        this.id = id;
+        this.clubeCasaId = clubeCasaId;
+        this.clubeVisitanteId = clubeVisitanteId;
+        this.resultadoCasa = resultadoCasa;
+        this.resultadoVisitante = resultadoVisitante;
+        this.estadio = estadio;
+        this.dataHora = dataHora;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Resultado da reconstrução da tabela de classificação
+@Data
+public class ReconstrucaoClassificacaoDTO {
+    private int clubesRecalculados;
+    // Clubes cuja linha na tabela estava diferente do recálculo (foram corrigidos)
+    private List<Long> clubesCorrigidos;
+    // Clubes em que o recálculo não bate com a consulta agregada PartidaRepository.findEstatisticasClubes
+    private List<Long> divergenciasConsultaAgregada;
+
+    public ReconstrucaoClassificacaoDTO() {
+        this.clubesRecalculados = 0;
+        this.clubesCorrigidos = new ArrayList<>();
+        this.divergenciasConsultaAgregada = new ArrayList<>();
+    }
+}
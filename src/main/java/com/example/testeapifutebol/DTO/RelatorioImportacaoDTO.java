@@ -0,0 +1,22 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Resultado de uma importação de partidas: quantas chegaram, quantas foram gravadas e o erro de cada recusada
+@Data
+public class RelatorioImportacaoDTO {
+    private int recebidas;
+    private int importadas;
+    private int recusadas;
+    // Importação de arquivo: partidas já lidas, contando as puladas (use como 'pular' para retomar)
+    private long processadas;
+    // Na importação de arquivo só os primeiros erros vêm na lista; 'recusadas' tem o total
+    private List<ErroImportacaoDTO> erros;
+
+    public RelatorioImportacaoDTO() {
+        this.erros = new ArrayList<>();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+//Resultado da busca textual (GET /busca): o que foi encontrado (tipo + id), como mostrar e a relevância
+//tipo = "clube", "estadio" ou "partida"
+@Data
+public class ResultadoBuscaDTO {
+    private String tipo;
+    private Long id;
+    private String descricao;
+    private Float relevancia;
+
+    public ResultadoBuscaDTO() {
+    }
+
+    public ResultadoBuscaDTO(String tipo, Long id, String descricao, Float relevancia) {
+        this.tipo = tipo;
+        this.id = id;
+        this.descricao = descricao;
+        this.relevancia = relevancia;
+    }
+}
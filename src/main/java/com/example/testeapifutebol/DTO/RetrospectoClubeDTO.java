@@ -13,6 +13,9 @@ public class RetrospectoClubeDTO {
     private int golsFeitos;
     private int golsSofridos;
     private int saldoGols;
+    // Mesmas estatísticas separadas por mando de campo
+    private LinhaRetrospectoDTO casa;
+    private LinhaRetrospectoDTO fora;
 
     public RetrospectoClubeDTO() {
         this.totalJogos = 0;
@@ -22,5 +25,7 @@ public class RetrospectoClubeDTO {
         this.golsFeitos = 0;
         this.golsSofridos = 0;
         this.saldoGols = 0;
+        this.casa = new LinhaRetrospectoDTO();
+        this.fora = new LinhaRetrospectoDTO();
     }
 }
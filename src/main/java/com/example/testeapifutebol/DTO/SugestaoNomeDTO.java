@@ -0,0 +1,20 @@
+package com.example.testeapifutebol.DTO;
+
+import lombok.Data;
+
+//Sugestão do autocomplete de clubes e estádios: id, nome e quantas partidas tem (a ordem das sugestões)
+@Data
+public class SugestaoNomeDTO {
+    private Long id;
+    private String nome;
+    private Integer partidas;
+
+    public SugestaoNomeDTO() {
+    }
+
+    public SugestaoNomeDTO(Long id, String nome, Integer partidas) {
+        this.id = id;
+        this.nome = nome;
+        this.partidas = partidas;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.testeapifutebol.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+//Entidade mapeia a tabela 'classificacao' no banco de dados MySQL
+//Guarda os totais de cada clube já somados, para o ranking não precisar agregar todas as partidas
+//Os valores são atualizados pelo PartidaService na mesma transação que grava a partida
+
+@Entity
+@Table(name = "classificacao")
+@Data
+public class ClassificacaoEntity {
+
+    // ID do clube (chave primária, mesma do clube)
+    @Id
+    private Long clubeId;
+
+    @Column(nullable = false)
+    private int jogos;
+
+    @Column(nullable = false)
+    private int vitorias;
+
+    @Column(nullable = false)
+    private int empates;
+
+    @Column(nullable = false)
+    private int derrotas;
+
+    @Column(nullable = false)
+    private int golsFeitos;
+
+    @Column(nullable = false)
+    private int golsSofridos;
+
+    // Construtor vazio (obrigatório para JPA)
+    public ClassificacaoEntity() {
+    }
+
+    // Construtor com o clube e todos os totais
+    public ClassificacaoEntity(Long clubeId, int jogos, int vitorias, int empates, int derrotas,
+                               int golsFeitos, int golsSofridos) {
+        this.clubeId = clubeId;
+        this.jogos = jogos;
+        this.vitorias = vitorias;
+        this.empates = empates;
+        this.derrotas = derrotas;
+        this.golsFeitos = golsFeitos;
+        this.golsSofridos = golsSofridos;
+    }
+}
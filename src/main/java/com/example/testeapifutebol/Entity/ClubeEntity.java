@@ -6,7 +6,15 @@ import lombok.Data;
 import java.time.LocalDate;
 
 @Entity
-@Table (name = "clube")
+// Índice (nome, id): a busca por cursor começa direto na posição do cursor, sem varrer as páginas anteriores
+// Índice (estado, nome): filtro por estado já na ordem padrão da busca
+// Índice (nome, estado): conferência de clube repetido no cadastro
+// Quem cria os índices são as migrações (db/migration); a lista aqui é a mesma, para consulta
+@Table (name = "clube", indexes = {
+        @Index(name = "idx_clube_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_clube_estado_nome", columnList = "estado, nome"),
+        @Index(name = "idx_clube_nome_estado", columnList = "nome, estado")
+})
 @Data
 
 //Entidade mapeia a tabela 'clube' no banco de dados MySQL
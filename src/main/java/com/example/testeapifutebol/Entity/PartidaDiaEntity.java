@@ -0,0 +1,33 @@
+package com.example.testeapifutebol.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+//Entidade mapeia a tabela 'partida_dia' no banco de dados MySQL
+//Guarda quantas partidas existem em cada dia, para o calendário não precisar contar as partidas do mês
+//Os valores são atualizados pelo CalendarioPartidasService na mesma transação que grava a partida
+
+@Entity
+@Table(name = "partida_dia")
+@Data
+public class PartidaDiaEntity {
+
+    // Dia (chave primária)
+    @Id
+    private LocalDate dia;
+
+    // Quantidade de partidas no dia (pode ficar 0 depois que as partidas do dia são deletadas)
+    @Column(nullable = false)
+    private int partidas;
+
+    // Construtor vazio (obrigatório para JPA)
+    public PartidaDiaEntity() {
+    }
+
+    public PartidaDiaEntity(LocalDate dia, int partidas) {
+        this.dia = dia;
+        this.partidas = partidas;
+    }
+}
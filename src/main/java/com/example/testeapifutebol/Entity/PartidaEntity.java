@@ -9,12 +9,31 @@ import java.time.LocalDateTime;
 //Entidade mapeia a tabela 'partida' no banco de dados MySQL
 
 @Entity
-@Table(name = "partida")
+// Índice (dataHora, id): a busca por cursor começa direto na posição do cursor, sem varrer as páginas anteriores
+// Índices por clube (mandante e visitante) e por estádio: cada filtro da busca (PartidaEspecificacoes) tem o seu,
+// já com a data para as partidas saírem em ordem
+// Confronto (mandante, visitante, data) e placar: confrontos diretos e busca por resultado
+// Quem cria os índices são as migrações (db/migration); a lista aqui é a mesma, para consulta
+@Table(name = "partida", indexes = {
+        @Index(name = "idx_partida_data_hora_id", columnList = "dataHora, id"),
+        @Index(name = "idx_partida_clube_casa", columnList = "clubeCasaId, dataHora"),
+        @Index(name = "idx_partida_clube_visitante", columnList = "clubeVisitanteId, dataHora"),
+        @Index(name = "idx_partida_estadio", columnList = "estadioId, dataHora"),
+        @Index(name = "idx_partida_confronto", columnList = "clubeCasaId, clubeVisitanteId, dataHora"),
+        @Index(name = "idx_partida_resultado", columnList = "resultadoCasa, resultadoVisitante")
+})
 @Data
 public class PartidaEntity {
 
+    // Quantos ids a tabela de sequência reserva por vez
+    public static final int BLOCO_IDS = 50;
+
+    // Ids reservados em blocos de 50 numa tabela de sequência (funciona no MySQL e no H2)
+    // Com IDENTITY o Hibernate precisa do INSERT na hora para saber o id, e não consegue agrupar os INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "partida_id")
+    @TableGenerator(name = "partida_id", table = "sequencia_id", pkColumnName = "nome",
+            valueColumnName = "valor", pkColumnValue = "partida", allocationSize = BLOCO_IDS)
     private Long id;
     
     // ID do clube da casa
@@ -37,15 +56,15 @@ public class PartidaEntity {
     @Min(value = 0, message = "O resultado do time visitante não pode ser negativo")
     private Integer resultadoVisitante;
 
-    // Nome do estádio
+    // ID do estádio (chave estrangeira para a tabela 'estadio')
+    // A partida não guarda o nome: renomear o estádio não mexe nas partidas
     @Column(nullable = false)
-    @NotBlank(message = "O nome do estádio é obrigatório")
-    @Size(min = 3, message = "O nome do estádio deve ter no mínimo 3 caracteres")
-    private String estadio;
+    @NotNull(message = "O estádio é obrigatório")
+    private Long estadioId;
 
     // Data e hora da partida
+    // A regra "data deve ser futura" fica no PartidaService (a importação histórica grava partidas passadas)
     @Column(nullable = false)
-    @FutureOrPresent(message = "A data e hora da partida devem ser no presente ou futuro")
     private LocalDateTime dataHora;
 
     // Construtor vazio (obrigatório para JPA)
@@ -54,12 +73,12 @@ public class PartidaEntity {
 
     // Construtor com todos os campos (eu poderia ter feito cada um por vez)
     public PartidaEntity(Long clubeCasaId, Long clubeVisitanteId, Integer resultadoCasa, 
-                        Integer resultadoVisitante, String estadio, LocalDateTime dataHora) {
+                        Integer resultadoVisitante, Long estadioId, LocalDateTime dataHora) {
         this.clubeCasaId = clubeCasaId;
         this.clubeVisitanteId = clubeVisitanteId;
         this.resultadoCasa = resultadoCasa;
         this.resultadoVisitante = resultadoVisitante;
-        this.estadio = estadio;
+        this.estadioId = estadioId;
         this.dataHora = dataHora;
     }
 }
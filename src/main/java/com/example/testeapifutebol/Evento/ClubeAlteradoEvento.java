@@ -0,0 +1,27 @@
+package com.example.testeapifutebol.Evento;
+
+//Evento publicado pelo ClubeService sempre que um clube é criado, alterado ou inativado (o clube nunca é apagado)
+//Os índices em memória escutam este evento (depois do commit) para se manter em dia com o banco
+public class ClubeAlteradoEvento {
+    private final Long id;
+    private final String nome;
+    private final String estado;
+
+    public ClubeAlteradoEvento(Long id, String nome, String estado) {
+        this.id = id;
+        this.nome = nome;
+        this.estado = estado;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.testeapifutebol.Evento;
+
+//Evento publicado pelo EstadioService sempre que um estádio é criado, renomeado ou apagado
+//Os índices em memória escutam este evento (depois do commit) para se manter em dia com o banco
+//nome = nome atual do estádio (null quando foi apagado)
+public class EstadioAlteradoEvento {
+    private final Long id;
+    private final String nome;
+
+    public EstadioAlteradoEvento(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
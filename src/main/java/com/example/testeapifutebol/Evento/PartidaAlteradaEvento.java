@@ -0,0 +1,25 @@
+package com.example.testeapifutebol.Evento;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+
+//Evento publicado pelo PartidaService sempre que uma partida é criada, atualizada ou deletada
+//Os índices em memória escutam este evento (depois do commit) para se manter em dia com o banco
+//anterior = como a partida era antes (null quando é nova)
+//atual = como a partida ficou (null quando foi deletada)
+public class PartidaAlteradaEvento {
+    private final PartidaEntity anterior;
+    private final PartidaEntity atual;
+
+    public PartidaAlteradaEvento(PartidaEntity anterior, PartidaEntity atual) {
+        this.anterior = anterior;
+        this.atual = atual;
+    }
+
+    public PartidaEntity getAnterior() {
+        return anterior;
+    }
+
+    public PartidaEntity getAtual() {
+        return atual;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.Entity.ClassificacaoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+//Repository da tabela de classificação (totais por clube já somados)
+@Repository
+public interface ClassificacaoRepository extends JpaRepository<ClassificacaoEntity, Long> {
+
+    // Desempate pelos bytes do nome (UTF-8), como o RankingComparadores.compararNomes, e não pelo collation
+    // da coluna (no MySQL, utf8mb4_0900_ai_ci ignora maiúsculas e acentos). 1020 bytes = VARCHAR(255) em utf8mb4;
+    // o BINARY(n) completa com 0x00, que fica antes de qualquer caractere
+    String DESEMPATE = "CAST(c.nome AS BINARY(1020)), c.id";
+
+    // ORDER BY de cada tipo de ranking, com o mesmo desempate do RankingComparadores (e id no final)
+    String ORDEM_PONTOS = "(t.vitorias * 3 + t.empates) DESC, t.vitorias DESC, " +
+            "(t.gols_feitos - t.gols_sofridos) DESC, t.gols_feitos DESC, " + DESEMPATE;
+    String ORDEM_GOLS = "t.gols_feitos DESC, " + DESEMPATE;
+    String ORDEM_VITORIAS = "t.vitorias DESC, (t.vitorias * 3 + t.empates) DESC, " +
+            "(t.gols_feitos - t.gols_sofridos) DESC, " + DESEMPATE;
+    String ORDEM_JOGOS = "t.jogos DESC, " + DESEMPATE;
+
+    // Ranking com a posição calculada pelo banco (ROW_NUMBER), só com clubes que já jogaram
+    String RANKING_INICIO = "SELECT c.id, c.nome, t.jogos, t.vitorias, t.empates, t.derrotas, " +
+            "t.gols_feitos, t.gols_sofridos, ROW_NUMBER() OVER (ORDER BY ";
+    String RANKING_FIM = ") AS posicao FROM classificacao t JOIN clube c ON c.id = t.clube_id WHERE t.jogos > 0";
+
+    // Página do ranking: posições (offset, offset + limit]
+    String PAGINA_INICIO = "SELECT r.* FROM (" + RANKING_INICIO;
+    String PAGINA_FIM = RANKING_FIM + ") r WHERE r.posicao > :offset ORDER BY r.posicao LIMIT :limit";
+
+    // Vizinhança: clubes até 'raio' posições acima e abaixo do clube pedido
+    String VIZINHANCA_INICIO = "WITH r AS (" + RANKING_INICIO;
+    String VIZINHANCA_FIM = RANKING_FIM + ") SELECT r.* FROM r JOIN r alvo ON alvo.id = :clubeId " +
+            "WHERE r.posicao BETWEEN alvo.posicao - :raio AND alvo.posicao + :raio ORDER BY r.posicao";
+
+    //Busca a classificação no mesmo formato do PartidaRepository.findEstatisticasClubes
+    //(id, nome, jogos, vitorias, empates, derrotas, golsFeitos, golsSofridos), só com clubes que já jogaram
+    @Query("SELECT c.id, c.nome, t.jogos, t.vitorias, t.empates, t.derrotas, t.golsFeitos, t.golsSofridos " +
+           "FROM ClassificacaoEntity t JOIN ClubeEntity c ON c.id = t.clubeId " +
+           "WHERE t.jogos > 0")
+    List<Object[]> findClassificacao();
+
+    //Páginas do ranking calculadas no banco, uma consulta por tipo
+    //Colunas: id, nome, jogos, vitorias, empates, derrotas, gols_feitos, gols_sofridos, posicao
+    @Query(value = PAGINA_INICIO + ORDEM_PONTOS + PAGINA_FIM, nativeQuery = true)
+    List<Object[]> findPaginaRankingPontos(@Param("offset") int offset, @Param("limit") int limit);
+
+    @Query(value = PAGINA_INICIO + ORDEM_GOLS + PAGINA_FIM, nativeQuery = true)
+    List<Object[]> findPaginaRankingGols(@Param("offset") int offset, @Param("limit") int limit);
+
+    @Query(value = PAGINA_INICIO + ORDEM_VITORIAS + PAGINA_FIM, nativeQuery = true)
+    List<Object[]> findPaginaRankingVitorias(@Param("offset") int offset, @Param("limit") int limit);
+
+    @Query(value = PAGINA_INICIO + ORDEM_JOGOS + PAGINA_FIM, nativeQuery = true)
+    List<Object[]> findPaginaRankingJogos(@Param("offset") int offset, @Param("limit") int limit);
+
+    //Vizinhança de um clube no ranking, uma consulta por tipo (mesmas colunas da página)
+    @Query(value = VIZINHANCA_INICIO + ORDEM_PONTOS + VIZINHANCA_FIM, nativeQuery = true)
+    List<Object[]> findVizinhancaRankingPontos(@Param("clubeId") Long clubeId, @Param("raio") int raio);
+
+    @Query(value = VIZINHANCA_INICIO + ORDEM_GOLS + VIZINHANCA_FIM, nativeQuery = true)
+    List<Object[]> findVizinhancaRankingGols(@Param("clubeId") Long clubeId, @Param("raio") int raio);
+
+    @Query(value = VIZINHANCA_INICIO + ORDEM_VITORIAS + VIZINHANCA_FIM, nativeQuery = true)
+    List<Object[]> findVizinhancaRankingVitorias(@Param("clubeId") Long clubeId, @Param("raio") int raio);
+
+    @Query(value = VIZINHANCA_INICIO + ORDEM_JOGOS + VIZINHANCA_FIM, nativeQuery = true)
+    List<Object[]> findVizinhancaRankingJogos(@Param("clubeId") Long clubeId, @Param("raio") int raio);
+
+    //Soma a diferença nos totais de um clube direto no banco (UPDATE t SET jogos = jogos + ...)
+    //Retorna quantas linhas foram alteradas, 0 quando o clube ainda não tem linha na tabela
+    @Modifying
+    @Query("UPDATE ClassificacaoEntity t SET " +
+           "t.jogos = t.jogos + :jogos, " +
+           "t.vitorias = t.vitorias + :vitorias, " +
+           "t.empates = t.empates + :empates, " +
+           "t.derrotas = t.derrotas + :derrotas, " +
+           "t.golsFeitos = t.golsFeitos + :golsFeitos, " +
+           "t.golsSofridos = t.golsSofridos + :golsSofridos " +
+           "WHERE t.clubeId = :clubeId")
+    int somarDiferenca(@Param("clubeId") Long clubeId,
+                       @Param("jogos") int jogos,
+                       @Param("vitorias") int vitorias,
+                       @Param("empates") int empates,
+                       @Param("derrotas") int derrotas,
+                       @Param("golsFeitos") int golsFeitos,
+                       @Param("golsSofridos") int golsSofridos);
+}
@@ -0,0 +1,54 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+//Filtros da busca de clubes montados com Criteria: só os filtros informados entram no WHERE
+//(sem "(:param IS NULL OR ...)", o banco consegue usar o índice de estado quando ele é informado)
+final class ClubeEspecificacoes {
+
+    private ClubeEspecificacoes() {
+    }
+
+    //Filtros opcionais (null = filtro não usado)
+    //- ids: clubes encontrados pelo nome no IndiceNomes (a busca parcial por nome não vai mais ao banco)
+    //- nome: busca parcial no banco, só quando o IndiceNomes achou ids demais para um IN (ver ClubeService)
+    //- estado, ativo e datacriacao: valor exato
+    static Specification<ClubeEntity> comFiltros(Collection<Long> ids, String nome, String estado, String ativo,
+                                                 LocalDate datacriacao) {
+        return (clube, consulta, cb) -> {
+            List<Predicate> filtros = new ArrayList<>();
+            if (ids != null) {
+                filtros.add(ids.isEmpty() ? cb.disjunction() : clube.get("id").in(ids));
+            }
+            if (nome != null) {
+                filtros.add(cb.like(cb.upper(clube.get("nome")), "%" + nome.toUpperCase(Locale.ROOT) + "%"));
+            }
+            if (estado != null) {
+                filtros.add(cb.equal(clube.get("estado"), estado));
+            }
+            if (ativo != null) {
+                filtros.add(cb.equal(clube.get("ativo"), ativo));
+            }
+            if (datacriacao != null) {
+                filtros.add(cb.equal(clube.get("datacriacao"), datacriacao));
+            }
+            return cb.and(filtros.toArray(new Predicate[0]));
+        };
+    }
+
+    //Clubes depois de (cursorNome, cursorId) na ordem (nome, id)
+    static Specification<ClubeEntity> aposCursor(String cursorNome, Long cursorId) {
+        return (clube, consulta, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(clube.get("nome"), cursorNome),
+                cb.or(cb.greaterThan(clube.get("nome"), cursorNome),
+                        cb.greaterThan(clube.get("id"), cursorId)));
+    }
+}
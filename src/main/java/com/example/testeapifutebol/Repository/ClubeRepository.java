@@ -2,13 +2,22 @@ package com.example.testeapifutebol.Repository;
 
 
 import com.example.testeapifutebol.Entity.ClubeEntity;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 
 
 /**
@@ -18,41 +27,37 @@ import org.springframework.stereotype.Repository;
  */
 
 @Repository
-public interface ClubeRepository extends JpaRepository<ClubeEntity, Long> {
-
-    /**
-     *metodo unico com @Query
-     * Como funciona:
-     * - (:nome IS NULL OR ...) = se nome for null, ignora o filtro
-     * - UPPER(c.nome) LIKE UPPER(CONCAT('%', :nome, '%')) = busca case insensitive
-     * - (:datacriacao IS NULL OR c.datacriacao = :datacriacao) = filtro por data específica
-     * - Pageable funciona automaticamente para paginação e ordenação
-     */
-    @Query(value = "SELECT c FROM ClubeEntity c WHERE 1=1 " +
-           //FILTRO NOME: Se null ignora, se não busca parcial (ex: "fla" encontra "Flamengo")
-           //UPPER() = converte para maiúscula tanto o nome do banco quanto o parâmetro (busca case-insensitive)
-           //CONCAT('%', :nome, '%') = adiciona % antes e depois (ex: "fla" vira "%fla%")
-           //LIKE = busca parcial (ex: "%FLA%" encontra "FLAMENGO")
-           "AND (:nome IS NULL OR UPPER(c.nome) LIKE UPPER(CONCAT('%', :nome, '%'))) " +
-           //FILTRO ESTADO: Se null ignora, se não busca exato (ex: "RJ")
-           "AND (:estado IS NULL OR c.estado = :estado) " +
-           //FILTRO ATIVO: Se null ignora, se não busca exato (true/false)
-           "AND (:ativo IS NULL OR c.ativo = :ativo) " +
-           //FILTRO DATA: Se null ignora, se não busca data exata (ex: "2024-01-01")
-           "AND (:datacriacao IS NULL OR c.datacriacao = :datacriacao)",
-           //COUNT QUERY: Conta total de registros para paginação funcionar
-           countQuery = "SELECT COUNT(c) FROM ClubeEntity c WHERE 1=1 " +
-           "AND (:nome IS NULL OR UPPER(c.nome) LIKE UPPER(CONCAT('%', :nome, '%'))) " +
-           "AND (:estado IS NULL OR c.estado = :estado) " +
-           "AND (:ativo IS NULL OR c.ativo = :ativo) " +
-           "AND (:datacriacao IS NULL OR c.datacriacao = :datacriacao)")
-    Page<ClubeEntity> findClubesComFiltros(
-        @Param("nome") String nome,
-        @Param("estado") String estado, 
-        @Param("ativo") String ativo,
-        @Param("datacriacao") java.time.LocalDate datacriacao,
-        Pageable pageable
-    );
+public interface ClubeRepository extends JpaRepository<ClubeEntity, Long>, JpaSpecificationExecutor<ClubeEntity> {
+
+    //Busca paginada com filtros opcionais (null = filtro ignorado, ver ClubeEspecificacoes)
+    //ids = clubes encontrados pelo nome no IndiceNomes: só a página pedida é lida do banco (pela chave primária)
+    //nome = busca parcial no banco, para quando há ids demais para um IN (o ClubeService passa um ou outro)
+    //SLICE: busca uma linha a mais para saber se tem próxima página, sem COUNT
+    //(o total, quando pedido, vem do countClubesComFiltros pelo CacheContagens)
+    default Slice<ClubeEntity> findClubesComFiltros(Collection<Long> ids, String nome, String estado, String ativo,
+                                                    java.time.LocalDate datacriacao, Pageable pageable) {
+        return findBy(ClubeEspecificacoes.comFiltros(ids, nome, estado, ativo, datacriacao),
+                consulta -> consulta.slice(pageable));
+    }
+
+    //COUNT: total da busca com os mesmos filtros, para a paginação com total
+    default long countClubesComFiltros(Collection<Long> ids, String nome, String estado, String ativo,
+                                       java.time.LocalDate datacriacao) {
+        return count(ClubeEspecificacoes.comFiltros(ids, nome, estado, ativo, datacriacao));
+    }
+
+    // Busca por cursor (keyset): clubes depois de (cursorNome, cursorId) na ordem (nome, id), sem OFFSET e sem COUNT
+    // - cursorNome null = primeira página; mesmos filtros do findClubesComFiltros
+    // - o tamanho vem do Pageable (PageRequest.of(0, tamanho + 1): a linha a mais diz se tem próxima página)
+    default List<ClubeEntity> findClubesComFiltrosAposCursor(Collection<Long> ids, String nome, String estado, String ativo,
+                                                             java.time.LocalDate datacriacao, String cursorNome,
+                                                             Long cursorId, Pageable pageable) {
+        Specification<ClubeEntity> filtros = ClubeEspecificacoes.comFiltros(ids, nome, estado, ativo, datacriacao);
+        if (cursorNome != null) {
+            filtros = filtros.and(ClubeEspecificacoes.aposCursor(cursorNome, cursorId));
+        }
+        return findBy(filtros, consulta -> consulta.sortBy(Sort.by("nome", "id")).limit(pageable.getPageSize()).all());
+    }
 
     //metodo wue o spring data jpa implementa automaticamente, verifica se nome e estado ja existem
     boolean existsByNomeAndEstado(String nome, String estado);
@@ -60,5 +65,18 @@ public interface ClubeRepository extends JpaRepository<ClubeEntity, Long> {
     // Verifica se já existe um clube com o mesmo nome e estado, excluindo o clube com o ID especificado
     boolean existsByNomeAndEstadoAndIdNot(String nome, String estado, Long id);
 
+    // Id e nome de todos os clubes, sem montar as entidades (carga do IndiceNomes)
+    @Query("SELECT c.id, c.nome FROM ClubeEntity c")
+    List<Object[]> findIdsENomes();
+
+    // Percorre todos os clubes em ordem de id, 500 linhas por ida ao banco (exportação)
+    // Precisa de uma transação aberta e o Stream tem que ser fechado no fim
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ClubeEntity c ORDER BY c.id")
+    Stream<ClubeEntity> findTodosParaExportacao();
+
 
 }
@@ -1,22 +1,35 @@
 package com.example.testeapifutebol.Repository;
 
 import com.example.testeapifutebol.Entity.EstadioEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EstadioRepository extends JpaRepository<EstadioEntity, Long> {
 
-    // Método customizado: busca estádios por nome (busca parcial, case insensitive)
-    @Query("SELECT e FROM EstadioEntity e WHERE UPPER(e.nome) LIKE UPPER(CONCAT('%', :nome, '%'))")
-    List<EstadioEntity> buscarEstadiosPorNome(String nome);
-
     //metodo para ver se o estadio ja possui com o mesmo nome
     boolean existsByNome(String nome);
 
-    // Busca estádios por nome com paginação (Spring Data JPA gera automaticamente)
-    Page<EstadioEntity> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
+    // Estádio pelo nome exato (índice único uk_estadio_nome): a partida grava o id dele
+    Optional<EstadioEntity> findByNome(String nome);
+
+    // Estádios de uma lista de nomes, numa consulta só (importação em lote de partidas)
+    List<EstadioEntity> findByNomeIn(Collection<String> nomes);
+
+    // Página dos estádios encontrados pelo nome no IndiceNomes (só a página é lida do banco, pela chave primária)
+    // Slice: busca uma linha a mais para saber se tem próxima página, sem COUNT
+    Slice<EstadioEntity> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    // Id e nome de todos os estádios, sem montar as entidades (carga do IndiceNomes)
+    @Query("SELECT e.id, e.nome FROM EstadioEntity e")
+    List<Object[]> findIdsENomes();
+
+    // Todos os estádios em páginas, sem COUNT (o findAll(Pageable) sempre conta)
+    @Query("SELECT e FROM EstadioEntity e")
+    Slice<EstadioEntity> findTodos(Pageable pageable);
 }
@@ -0,0 +1,30 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.Entity.PartidaDiaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Repository do calendário de partidas (quantas partidas em cada dia, já contadas)
+@Repository
+public interface PartidaDiaRepository extends JpaRepository<PartidaDiaEntity, LocalDate> {
+
+    //Dias do período [inicio, fim) que têm pelo menos uma partida, em ordem
+    @Query("SELECT d FROM PartidaDiaEntity d " +
+           "WHERE d.dia >= :inicio AND d.dia < :fim AND d.partidas > 0 " +
+           "ORDER BY d.dia")
+    List<PartidaDiaEntity> findDiasComPartidas(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    //Soma a diferença na quantidade do dia direto no banco, criando a linha se o dia ainda não tiver
+    //Um comando só (upsert do MySQL), na transação de quem chamou: duas gravações que criam o mesmo dia ao mesmo
+    //tempo não falham, a segunda espera a trava da linha e soma em cima da primeira
+    @Modifying
+    @Query(value = "INSERT INTO partida_dia (dia, partidas) VALUES (:dia, :quantidade) " +
+                   "ON DUPLICATE KEY UPDATE partidas = partidas + :quantidade", nativeQuery = true)
+    void somarPartidas(@Param("dia") LocalDate dia, @Param("quantidade") int quantidade);
+}
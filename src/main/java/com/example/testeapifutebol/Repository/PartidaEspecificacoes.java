@@ -0,0 +1,98 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//Filtros da busca de partidas montados com Criteria: só os filtros informados entram no WHERE
+//Com "(:param IS NULL OR ...)" o banco tinha que escolher o plano sem saber quais filtros valiam e acabava varrendo a tabela;
+//aqui cada filtro vira uma condição simples sobre uma coluna com índice (ver @Table da PartidaEntity)
+final class PartidaEspecificacoes {
+
+    private PartidaEspecificacoes() {
+    }
+
+    //Filtros opcionais da busca (null ou false = filtro não usado)
+    //- estadio: busca parcial, case-insensitive, feita na tabela de estádios (pequena); a partida entra pelo índice do estadioId
+    //- clubeCasa/clubeVisitante só valem junto com clubeId (o PartidaService exige o clubeId)
+    static Specification<PartidaEntity> comFiltros(String estadio, Integer golsCasa, Integer golsVisitante,
+                                                   LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+                                                   Boolean clubeCasa, Boolean clubeVisitante) {
+        return (partida, consulta, cb) -> {
+            List<Predicate> filtros = new ArrayList<>();
+            if (estadio != null) {
+                Subquery<Long> ids = consulta.subquery(Long.class);
+                Root<EstadioEntity> estadioCadastrado = ids.from(EstadioEntity.class);
+                ids.select(estadioCadastrado.get("id")).where(cb.like(cb.upper(estadioCadastrado.get("nome")),
+                        "%" + estadio.toUpperCase(Locale.ROOT) + "%"));
+                filtros.add(partida.get("estadioId").in(ids));
+            }
+            if (golsCasa != null) {
+                filtros.add(cb.equal(partida.get("resultadoCasa"), golsCasa));
+            }
+            if (golsVisitante != null) {
+                filtros.add(cb.equal(partida.get("resultadoVisitante"), golsVisitante));
+            }
+            if (dataHora != null) {
+                filtros.add(cb.equal(partida.get("dataHora"), dataHora));
+            }
+            if (Boolean.TRUE.equals(apenasGoleadas)) {
+                // Diferença de 3 gols ou mais para qualquer um dos lados
+                filtros.add(cb.or(
+                        cb.ge(cb.diff(partida.<Integer>get("resultadoCasa"), partida.<Integer>get("resultadoVisitante")), 3),
+                        cb.ge(cb.diff(partida.<Integer>get("resultadoVisitante"), partida.<Integer>get("resultadoCasa")), 3)));
+            }
+            if (clubeId != null) {
+                filtros.add(doClube(partida, consulta, cb, clubeId, Boolean.TRUE.equals(clubeCasa), Boolean.TRUE.equals(clubeVisitante)));
+            }
+            return cb.and(filtros.toArray(new Predicate[0]));
+        };
+    }
+
+    //Partidas depois de (cursorData, cursorId) na ordem (dataHora, id)
+    //"dataHora >= cursor" deixa o banco começar direto no ponto certo do índice (dataHora, id)
+    static Specification<PartidaEntity> aposCursor(LocalDateTime cursorData, Long cursorId) {
+        return (partida, consulta, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(partida.get("dataHora"), cursorData),
+                cb.or(cb.greaterThan(partida.get("dataHora"), cursorData),
+                        cb.greaterThan(partida.get("id"), cursorId)));
+    }
+
+    // Mandante, visitante ou os dois
+    // Sem lado escolhido não dá para usar "casa = X OR visitante = X": o H2 não junta dois índices num OR e varre a tabela;
+    // cada lado vira uma subconsulta servida pelo seu índice e a partida entra pelo id (UNION ALL: o mesmo clube
+    // não joga dos dois lados da mesma partida)
+    private static Predicate doClube(Root<PartidaEntity> partida, CommonAbstractCriteria consulta, CriteriaBuilder cb,
+                                     Long clubeId, boolean casa, boolean visitante) {
+        Predicate mandante = cb.equal(partida.get("clubeCasaId"), clubeId);
+        Predicate deFora = cb.equal(partida.get("clubeVisitanteId"), clubeId);
+        if (casa && visitante) {
+            return cb.and(mandante, deFora);
+        }
+        if (casa) {
+            return mandante;
+        }
+        if (visitante) {
+            return deFora;
+        }
+        return partida.get("id").in(((HibernateCriteriaBuilder) cb).unionAll(
+                idsDoLado(consulta, cb, "clubeCasaId", clubeId), idsDoLado(consulta, cb, "clubeVisitanteId", clubeId)));
+    }
+
+    private static Subquery<Long> idsDoLado(CommonAbstractCriteria consulta, CriteriaBuilder cb, String lado, Long clubeId) {
+        Subquery<Long> ids = consulta.subquery(Long.class);
+        Root<PartidaEntity> partida = ids.from(PartidaEntity.class);
+        return ids.select(partida.get("id")).where(cb.equal(partida.get(lado), clubeId));
+    }
+}
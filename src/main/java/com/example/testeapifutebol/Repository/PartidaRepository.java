@@ -1,22 +1,33 @@
 package com.example.testeapifutebol.Repository;
 
+import com.example.testeapifutebol.DTO.PartidaResumoDTO;
 import com.example.testeapifutebol.Entity.PartidaEntity;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.hibernate.sql.ast.Clause.WHERE;
 
 
 //Repository para operações com a entidade Partida
 @Repository
-public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
+public interface PartidaRepository extends JpaRepository<PartidaEntity, Long>, JpaSpecificationExecutor<PartidaEntity> {
     //Busca estatísticas de clubes
     @Query("SELECT c.id, c.nome, " +
            "COUNT(p) as totalJogos, " +
@@ -30,17 +41,80 @@ public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
            "GROUP BY c.id, c.nome")
     List<Object[]> findEstatisticasClubes();
 
-    //Busca estatísticas de um clube específico
+    //Busca estatísticas de um clube específico numa única linha, separadas em casa (6 primeiras colunas) e fora (6 últimas)
+    //Colunas de cada lado: jogos, vitorias, empates, derrotas, golsFeitos, golsSofridos
     @Query("SELECT " +
-           "COUNT(p) as totalJogos, " +
-           "SUM(CASE WHEN (p.clubeCasaId = :clubeId AND p.resultadoCasa > p.resultadoVisitante) OR (p.clubeVisitanteId = :clubeId AND p.resultadoVisitante > p.resultadoCasa) THEN 1 ELSE 0 END) as vitorias, " +
-           "SUM(CASE WHEN p.resultadoCasa = p.resultadoVisitante AND (p.clubeCasaId = :clubeId OR p.clubeVisitanteId = :clubeId) THEN 1 ELSE 0 END) as empates, " +
-           "SUM(CASE WHEN (p.clubeCasaId = :clubeId AND p.resultadoCasa < p.resultadoVisitante) OR (p.clubeVisitanteId = :clubeId AND p.resultadoVisitante < p.resultadoCasa) THEN 1 ELSE 0 END) as derrotas, " +
-           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId THEN p.resultadoCasa ELSE 0 END), 0) + COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId THEN p.resultadoVisitante ELSE 0 END), 0) as golsFeitos, " +
-           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId THEN p.resultadoVisitante ELSE 0 END), 0) + COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId THEN p.resultadoCasa ELSE 0 END), 0) as golsSofridos " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId AND p.resultadoCasa > p.resultadoVisitante THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId AND p.resultadoCasa = p.resultadoVisitante THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId AND p.resultadoCasa < p.resultadoVisitante THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId THEN p.resultadoCasa ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeCasaId = :clubeId THEN p.resultadoVisitante ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId AND p.resultadoVisitante > p.resultadoCasa THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId AND p.resultadoVisitante = p.resultadoCasa THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId AND p.resultadoVisitante < p.resultadoCasa THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId THEN p.resultadoVisitante ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.clubeVisitanteId = :clubeId THEN p.resultadoCasa ELSE 0 END), 0) " +
            "FROM PartidaEntity p " +
            "WHERE p.clubeCasaId = :clubeId OR p.clubeVisitanteId = :clubeId")
-    Object[] findEstatisticasClube(@Param("clubeId") Long clubeId);
+    List<Object[]> findEstatisticasClube(@Param("clubeId") Long clubeId);
+
+    //Busca só os clubes e o placar de todas as partidas (usado para recalcular a classificação)
+    @Query("SELECT p.clubeCasaId, p.clubeVisitanteId, p.resultadoCasa, p.resultadoVisitante FROM PartidaEntity p")
+    List<Object[]> findResultadosPartidas();
+
+    //Busca clubes e placar das partidas em que mandante e visitante estão os dois na lista (mini-liga)
+    @Query("SELECT p.clubeCasaId, p.clubeVisitanteId, p.resultadoCasa, p.resultadoVisitante FROM PartidaEntity p " +
+           "WHERE p.clubeCasaId IN :clubeIds AND p.clubeVisitanteId IN :clubeIds")
+    List<Object[]> findResultadosEntreClubes(@Param("clubeIds") Collection<Long> clubeIds);
+
+    //Busca os totais de cada par (mandante, visitante): vitorias do mandante, empates, vitorias do visitante e gols
+    @Query("SELECT p.clubeCasaId, p.clubeVisitanteId, " +
+           "SUM(CASE WHEN p.resultadoCasa > p.resultadoVisitante THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.resultadoCasa = p.resultadoVisitante THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.resultadoCasa < p.resultadoVisitante THEN 1 ELSE 0 END), " +
+           "SUM(p.resultadoCasa), SUM(p.resultadoVisitante) " +
+           "FROM PartidaEntity p GROUP BY p.clubeCasaId, p.clubeVisitanteId")
+    List<Object[]> findTotaisPorConfronto();
+
+    //Total de partidas de cada clube como mandante e como visitante, e de cada estádio (popularidade no autocomplete)
+    @Query("SELECT p.clubeCasaId, COUNT(p) FROM PartidaEntity p GROUP BY p.clubeCasaId")
+    List<Object[]> findTotalPartidasPorMandante();
+
+    @Query("SELECT p.clubeVisitanteId, COUNT(p) FROM PartidaEntity p GROUP BY p.clubeVisitanteId")
+    List<Object[]> findTotalPartidasPorVisitante();
+
+    @Query("SELECT p.estadioId, COUNT(p) FROM PartidaEntity p GROUP BY p.estadioId")
+    List<Object[]> findTotalPartidasPorEstadio();
+
+    //Percorre clubes, placar, estádio e data das partidas com id maior que 'depoisDe', em ordem de id
+    //(montagem do índice da busca textual; 0 = todas). Como na exportação, o driver busca 500 linhas por vez:
+    //tem que ser chamado dentro de uma transação e o Stream fechado no fim
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id, p.clubeCasaId, p.clubeVisitanteId, p.resultadoCasa, p.resultadoVisitante, p.estadioId, p.dataHora " +
+           "FROM PartidaEntity p WHERE p.id > :depoisDe ORDER BY p.id")
+    Stream<Object[]> findDadosBusca(@Param("depoisDe") Long depoisDe);
+
+    //Busca id, clubes, estádio e data de todas as partidas (carga da agenda usada no conflito de horários)
+    @Query("SELECT p.id, p.clubeCasaId, p.clubeVisitanteId, p.estadioId, p.dataHora FROM PartidaEntity p")
+    List<Object[]> findAgendaPartidas();
+
+    //Busca id, clubes, placar e data de todas as partidas em ordem de data (carga do índice de ranking por período)
+    @Query("SELECT p.id, p.clubeCasaId, p.clubeVisitanteId, p.resultadoCasa, p.resultadoVisitante, p.dataHora " +
+           "FROM PartidaEntity p ORDER BY p.dataHora, p.id")
+    List<Object[]> findLinhaDoTempoPartidas();
+
+    //Percorre todas as partidas em ordem de id sem trazer a tabela inteira de uma vez (exportação)
+    //- fetchSize: o driver busca 500 linhas por vez (no MySQL precisa do useCursorFetch=true na URL)
+    //- readOnly: o Hibernate não guarda cópia das partidas para conferir alterações
+    //- tem que ser chamado dentro de uma transação e o Stream fechado no fim
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PartidaEntity p ORDER BY p.id")
+    Stream<PartidaEntity> findTodasParaExportacao();
 
     //Busca partidas de um clube específico (mandante ou visitante) dentro de um período
     @Query("SELECT p FROM PartidaEntity p " +
@@ -52,12 +126,18 @@ public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
             @Param("dataFim") LocalDateTime dataFim
     );
 
+    // Partidas jogadas em um estádio (o índice da busca refaz as descrições quando o estádio muda de nome)
+    List<PartidaEntity> findByEstadioId(Long estadioId);
+
     // Buscar partidas por estádio (busca parcial)
-    @Query("SELECT p FROM PartidaEntity p WHERE UPPER(p.estadio) LIKE UPPER(CONCAT('%', :estadio, '%'))")
+    // O nome é procurado na tabela de estádios (pequena); as partidas vêm pelo índice do estadioId
+    @Query("SELECT p FROM PartidaEntity p WHERE p.estadioId IN " +
+           "(SELECT e.id FROM EstadioEntity e WHERE UPPER(e.nome) LIKE UPPER(CONCAT('%', :estadio, '%')))")
     List<PartidaEntity> buscarPartidasPorEstadio(@Param("estadio") String estadio);
-    // Buscar partidas por data específica
-    @Query("SELECT p FROM PartidaEntity p WHERE DATE(p.dataHora) = DATE(:data)")
-    List<PartidaEntity> buscarPartidasPorData(@Param("data") LocalDateTime data);
+    // Buscar partidas de um dia: intervalo [inicio, fim) direto na coluna, para usar o índice de dataHora
+    // (DATE(p.dataHora) = ... aplicava a função em todas as linhas e varria a tabela)
+    @Query("SELECT p FROM PartidaEntity p WHERE p.dataHora >= :inicio AND p.dataHora < :fim")
+    List<PartidaEntity> buscarPartidasPorData(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
     // Buscar partidas por resultado específico
     @Query("SELECT p FROM PartidaEntity p WHERE p.resultadoCasa = :golsCasa AND p.resultadoVisitante = :golsVisitante")
@@ -66,14 +146,43 @@ public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
             @Param("golsVisitante") Integer golsVisitante
     );
 
-    // Buscar confrontos diretos entre dois clubes
-    @Query("SELECT p FROM PartidaEntity p " +
-           "WHERE (p.clubeCasaId = :clube1Id AND p.clubeVisitanteId = :clube2Id) " +
-           "OR (p.clubeCasaId = :clube2Id AND p.clubeVisitanteId = :clube1Id) " +
-           "ORDER BY p.dataHora DESC")
-    List<PartidaEntity> findConfrontosDiretos(
+    // Confrontos diretos entre dois clubes (ver findConfrontosDiretos)
+    // - os dois sentidos do confronto como IN nas duas colunas (e mandante diferente do visitante): o banco usa
+    //   o idx_partida_confronto; com "(casa = 1 AND visitante = 2) OR (casa = 2 AND visitante = 1)" o H2 não usa
+    String CONFRONTOS_INICIO = "SELECT new com.example.testeapifutebol.DTO.PartidaResumoDTO(p.id, p.clubeCasaId, " +
+           "p.clubeVisitanteId, p.resultadoCasa, p.resultadoVisitante, e.nome, p.dataHora) " +
+           "FROM PartidaEntity p JOIN EstadioEntity e ON e.id = p.estadioId " +
+           "WHERE p.clubeCasaId IN (:clube1Id, :clube2Id) AND p.clubeVisitanteId IN (:clube1Id, :clube2Id) " +
+           "AND p.clubeCasaId <> p.clubeVisitanteId ";
+    String CONFRONTOS_FIM = "ORDER BY p.dataHora DESC";
+
+    // Buscar confrontos diretos entre dois clubes, do mais recente para o mais antigo, uma página por vez
+    // - antesDe: só partidas antes dessa data (null = desde a mais recente)
+    // - o tamanho da página vem do Pageable (PageRequest.of(0, limit))
+    // - primeira página e páginas seguintes são consultas separadas: com "(:antesDe IS NULL OR p.dataHora < :antesDe)"
+    //   o mesmo plano tinha que servir para os dois casos
+    default List<PartidaResumoDTO> findConfrontosDiretos(Long clube1Id, Long clube2Id, LocalDateTime antesDe,
+                                                         Pageable pageable) {
+        return antesDe == null
+                ? findConfrontosDiretosMaisRecentes(clube1Id, clube2Id, pageable)
+                : findConfrontosDiretosAntesDe(clube1Id, clube2Id, antesDe, pageable);
+    }
+
+    // Primeira página dos confrontos diretos
+    @Query(CONFRONTOS_INICIO + CONFRONTOS_FIM)
+    List<PartidaResumoDTO> findConfrontosDiretosMaisRecentes(
+        @Param("clube1Id") Long clube1Id,
+        @Param("clube2Id") Long clube2Id,
+        Pageable pageable
+    );
+
+    // Páginas seguintes: só os confrontos antes da última data já devolvida
+    @Query(CONFRONTOS_INICIO + "AND p.dataHora < :antesDe " + CONFRONTOS_FIM)
+    List<PartidaResumoDTO> findConfrontosDiretosAntesDe(
         @Param("clube1Id") Long clube1Id,
-        @Param("clube2Id") Long clube2Id
+        @Param("clube2Id") Long clube2Id,
+        @Param("antesDe") LocalDateTime antesDe,
+        Pageable pageable
     );
 
     // Buscar partidas por clube (mandante ou visitante)
@@ -86,41 +195,52 @@ public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
             @Param("dataInicio") LocalDateTime dataInicio,
             @Param("dataFim") LocalDateTime dataFim
     );
-    // Busca paginada de partidas com filtros opcionais
-    @Query(value = "SELECT p FROM PartidaEntity p WHERE " +
-           "(:estadio IS NULL OR UPPER(p.estadio) LIKE UPPER(CONCAT('%', :estadio, '%'))) AND " +
-           "(:golsCasa IS NULL OR p.resultadoCasa = :golsCasa) AND " +
-           "(:golsVisitante IS NULL OR p.resultadoVisitante = :golsVisitante) AND " +
-           "(:dataHora IS NULL OR p.dataHora = :dataHora) AND " +
-           "(COALESCE(:apenasGoleadas, false) = false OR " +
-           "(p.resultadoCasa - p.resultadoVisitante) >= 3 OR " +
-           "(p.resultadoVisitante - p.resultadoCasa) >= 3) AND " +
-           "(:clubeId IS NULL OR p.clubeCasaId = :clubeId OR p.clubeVisitanteId = :clubeId) AND " +
-           "(COALESCE(:clubeCasa, false) = false OR p.clubeCasaId = :clubeId) AND " +
-           "(COALESCE(:clubeVisitante, false) = false OR p.clubeVisitanteId = :clubeId)")
-    Page<PartidaEntity> findPartidasComFiltros(
-        @Param("estadio") String estadio,
-        @Param("golsCasa") Integer golsCasa,
-        @Param("golsVisitante") Integer golsVisitante,
-        @Param("dataHora") LocalDateTime dataHora,
-        @Param("apenasGoleadas") Boolean apenasGoleadas,
-        @Param("clubeId") Long clubeId,
-        @Param("clubeCasa") Boolean clubeCasa,
-        @Param("clubeVisitante") Boolean clubeVisitante,
-        Pageable pageable);
-
+    // Busca paginada de partidas com filtros opcionais (null/false = filtro ignorado, ver PartidaEspecificacoes)
+    // Slice: o Spring busca uma linha a mais para saber se tem próxima página e não roda COUNT
+    // (o total, quando pedido, vem do countPartidasComFiltros pelo CacheContagens)
+    default Slice<PartidaEntity> findPartidasComFiltros(String estadio, Integer golsCasa, Integer golsVisitante,
+                                                        LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+                                                        Boolean clubeCasa, Boolean clubeVisitante, Pageable pageable) {
+        return findBy(PartidaEspecificacoes.comFiltros(estadio, golsCasa, golsVisitante, dataHora,
+                apenasGoleadas, clubeId, clubeCasa, clubeVisitante), consulta -> consulta.slice(pageable));
+    }
 
+    // Total da busca paginada de partidas (mesmos filtros)
+    default long countPartidasComFiltros(String estadio, Integer golsCasa, Integer golsVisitante,
+                                         LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+                                         Boolean clubeCasa, Boolean clubeVisitante) {
+        return count(PartidaEspecificacoes.comFiltros(estadio, golsCasa, golsVisitante, dataHora,
+                apenasGoleadas, clubeId, clubeCasa, clubeVisitante));
+    }
 
+    // Busca por cursor (keyset): partidas depois de (cursorData, cursorId) na ordem (dataHora, id), sem OFFSET e sem COUNT
+    // - cursorData null = primeira página; mesmos filtros do findPartidasComFiltros
+    // - o tamanho vem do Pageable (PageRequest.of(0, tamanho + 1): a linha a mais diz se tem próxima página)
+    default List<PartidaEntity> findPartidasComFiltrosAposCursor(String estadio, Integer golsCasa, Integer golsVisitante,
+                                                                 LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+                                                                 Boolean clubeCasa, Boolean clubeVisitante,
+                                                                 LocalDateTime cursorData, Long cursorId, Pageable pageable) {
+        Specification<PartidaEntity> filtros = PartidaEspecificacoes.comFiltros(estadio, golsCasa, golsVisitante, dataHora,
+                apenasGoleadas, clubeId, clubeCasa, clubeVisitante);
+        if (cursorData != null) {
+            filtros = filtros.and(PartidaEspecificacoes.aposCursor(cursorData, cursorId));
+        }
+        return findBy(filtros, consulta -> consulta.sortBy(Sort.by("dataHora", "id"))
+                .limit(pageable.getPageSize()).all());
+    }
 
     // Verifica se já existe partida no mesmo estádio no mesmo horário (exceto a própria partida)
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END " +
            "FROM PartidaEntity p " +
-           "WHERE p.estadio = :estadio " +
+           "WHERE p.estadioId = :estadioId " +
            "AND p.dataHora = :dataHora " +
            "AND (:id IS NULL OR p.id != :id)")
-    boolean existsByEstadioAndDataHora(@Param("estadio") String estadio, 
+    boolean existsByEstadioAndDataHora(@Param("estadioId") Long estadioId, 
                                      @Param("dataHora") LocalDateTime dataHora,
                                      @Param("id") Long id);
+
+    // Verifica se o estádio tem alguma partida (não pode ser deletado: a partida aponta para ele)
+    boolean existsByEstadioId(Long estadioId);
     
     // Buscar partidas por clube com filtro de goleadas
     @Query("SELECT p FROM PartidaEntity p WHERE " +
@@ -128,16 +248,28 @@ public interface PartidaRepository extends JpaRepository<PartidaEntity, Long> {
            "(p.clubeVisitanteId = :clubeId AND (p.resultadoVisitante - p.resultadoCasa) >= 3))")
     List<PartidaEntity> findGoleadasByClube(@Param("clubeId") Long clubeId);
     
-    // Buscar partidas por clube com filtro de clubeCasa/clubeVisitante
-    @Query("SELECT p FROM PartidaEntity p WHERE " +
-           "(:clubeId IS NULL OR p.clubeCasaId = :clubeId OR p.clubeVisitanteId = :clubeId) AND " +
-           "(COALESCE(:clubeCasa, false) = false OR p.clubeCasaId = :clubeId) AND " +
-           "(COALESCE(:clubeVisitante, false) = false OR p.clubeVisitanteId = :clubeId)")
-    List<PartidaEntity> findPartidasByClubeComFiltros(
-            @Param("clubeId") Long clubeId,
-            @Param("clubeCasa") Boolean clubeCasa,
-            @Param("clubeVisitante") Boolean clubeVisitante
-    );
+    // Buscar partidas por clube com filtro de clubeCasa/clubeVisitante (mesmos filtros de clube da busca paginada)
+    default List<PartidaEntity> findPartidasByClubeComFiltros(Long clubeId, Boolean clubeCasa, Boolean clubeVisitante) {
+        return findAll(PartidaEspecificacoes.comFiltros(null, null, null, null, null, clubeId, clubeCasa, clubeVisitante));
+    }
+
+    //Cria a linha da partida na tabela de sequência de ids, já depois do maior id gravado (se ainda não existir)
+    @Modifying
+    @Transactional
+    //(o MAX fica numa subconsulta: um agregado sem GROUP BY sempre devolve uma linha e ignoraria o NOT EXISTS)
+    @Query(value = "INSERT INTO sequencia_id (nome, valor) SELECT 'partida', m.maior + :folga " +
+           "FROM (SELECT COALESCE(MAX(p.id), 0) AS maior FROM partida p) m " +
+           "WHERE NOT EXISTS (SELECT 1 FROM sequencia_id s WHERE s.nome = 'partida')",
+           nativeQuery = true)
+    int criarSequenciaIds(@Param("folga") int folga);
+
+    //Sobe a sequência de ids para depois do maior id gravado (partidas que vieram do IDENTITY)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE sequencia_id SET valor = (SELECT COALESCE(MAX(p.id), 0) + :folga FROM partida p) " +
+           "WHERE nome = 'partida' AND valor < (SELECT COALESCE(MAX(p.id), 0) + :folga FROM partida p)",
+           nativeQuery = true)
+    int alinharSequenciaIds(@Param("folga") int folga);
 
     // MÉTODOS BÁSICOS HERDADOS DO JpaRepository:
     // - save(PartidaEntity) - salvar partida
@@ -0,0 +1,119 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+//Agenda de partidas em memória, por clube e por estádio, para as regras de conflito de horário
+//- Cada clube/estádio tem os horários das suas partidas em ordem (TreeSet de (dataHora, id))
+//- "Tem partida a menos de 48h?" vira uma busca de intervalo na árvore, sem ir ao banco
+//- Carrega do banco ao subir e segue o PartidaAlteradaEvento depois do commit
+@Component
+public class AgendaPartidas {
+
+    // Um horário da agenda: data da partida e id (o id desempata duas partidas no mesmo horário)
+    private record Horario(LocalDateTime dataHora, long partidaId) {
+    }
+
+    private static final Comparator<Horario> ORDEM = Comparator.comparing(Horario::dataHora)
+            .thenComparingLong(Horario::partidaId);
+
+    private final PartidaRepository partidaRepository;
+
+    private final Map<Long, NavigableSet<Horario>> porClube = new HashMap<>();
+    private final Map<Long, NavigableSet<Horario>> porEstadio = new HashMap<>();
+
+    public AgendaPartidas(PartidaRepository partidaRepository) {
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Carrega o horário de todas as partidas
+    @PostConstruct
+    public synchronized void carregar() {
+        porClube.clear();
+        porEstadio.clear();
+        for (Object[] linha : partidaRepository.findAgendaPartidas()) {
+            adicionar((Long) linha[0], (Long) linha[1], (Long) linha[2], (Long) linha[3], (LocalDateTime) linha[4]);
+        }
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    //Precisa rodar antes das travas da TravasDeAgenda serem soltas (que também acontece no fim da transação)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        PartidaEntity anterior = evento.getAnterior();
+        PartidaEntity atual = evento.getAtual();
+        if (anterior != null) {
+            remover(anterior.getId(), anterior.getClubeCasaId(), anterior.getClubeVisitanteId(),
+                    anterior.getEstadioId(), anterior.getDataHora());
+        }
+        if (atual != null) {
+            adicionar(atual.getId(), atual.getClubeCasaId(), atual.getClubeVisitanteId(),
+                    atual.getEstadioId(), atual.getDataHora());
+        }
+    }
+
+    //true se o clube tem partida entre dataHora - horas e dataHora + horas (inclusive), sem contar a partida ignorada
+    //@param partidaIgnorada id da partida sendo atualizada (null numa partida nova)
+    public synchronized boolean clubeTemPartidaProxima(Long clubeId, LocalDateTime dataHora, int horas,
+                                                       Long partidaIgnorada) {
+        return temHorarioEntre(porClube.get(clubeId), dataHora.minusHours(horas), dataHora.plusHours(horas),
+                partidaIgnorada);
+    }
+
+    //true se já existe partida no estádio exatamente nesse horário, sem contar a partida ignorada
+    public synchronized boolean estadioOcupado(Long estadioId, LocalDateTime dataHora, Long partidaIgnorada) {
+        return temHorarioEntre(porEstadio.get(estadioId), dataHora, dataHora, partidaIgnorada);
+    }
+
+    private static boolean temHorarioEntre(NavigableSet<Horario> agenda, LocalDateTime inicio, LocalDateTime fim,
+                                           Long partidaIgnorada) {
+        if (agenda == null) {
+            return false;
+        }
+        for (Horario horario : agenda.subSet(new Horario(inicio, Long.MIN_VALUE), true,
+                new Horario(fim, Long.MAX_VALUE), true)) {
+            if (partidaIgnorada == null || horario.partidaId() != partidaIgnorada) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void adicionar(Long partidaId, Long casaId, Long visitanteId, Long estadioId, LocalDateTime dataHora) {
+        Horario horario = new Horario(dataHora, partidaId);
+        porClube.computeIfAbsent(casaId, id -> new TreeSet<>(ORDEM)).add(horario);
+        porClube.computeIfAbsent(visitanteId, id -> new TreeSet<>(ORDEM)).add(horario);
+        porEstadio.computeIfAbsent(estadioId, id -> new TreeSet<>(ORDEM)).add(horario);
+    }
+
+    private void remover(Long partidaId, Long casaId, Long visitanteId, Long estadioId, LocalDateTime dataHora) {
+        Horario horario = new Horario(dataHora, partidaId);
+        removerDe(porClube, casaId, horario);
+        removerDe(porClube, visitanteId, horario);
+        removerDe(porEstadio, estadioId, horario);
+    }
+
+    private static <K> void removerDe(Map<K, NavigableSet<Horario>> agendas, K chave, Horario horario) {
+        NavigableSet<Horario> agenda = agendas.get(chave);
+        if (agenda != null) {
+            agenda.remove(horario);
+            if (agenda.isEmpty()) {
+                agendas.remove(chave);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+//Totais das buscas paginadas guardados por pouco tempo, para o COUNT não rodar a cada página
+//- Chave: a busca + os valores dos filtros (a ordenação e a página não mudam o total)
+//- Validade: paginacao.cache-total.ttl (padrão 30s); depois disso o próximo pedido conta de novo
+//- Depois do commit, cada alteração limpa na hora os totais que ela pode ter mudado:
+//  partida (PartidaAlteradaEvento) -> buscas de partidas; clube criado/alterado/inativado (ClubeAlteradoEvento)
+//  -> buscas de clubes; estádio criado/renomeado/apagado (EstadioAlteradoEvento) -> buscas de estádios e de
+//  partidas (que filtram pelo nome do estádio)
+@Component
+public class CacheContagens {
+
+    static final String BUSCA_PARTIDAS = "partidas";
+    static final String BUSCA_CLUBES = "clubes";
+    static final String BUSCA_ESTADIOS = "estadios";
+    // Muitas combinações de filtro diferentes: passando disso, as vencidas saem (ou tudo, se nenhuma venceu)
+    static final int LIMITE_CHAVES = 10_000;
+
+    private record Total(long valor, long venceEm) {
+    }
+
+    private final Map<List<Object>, Total> totais = new ConcurrentHashMap<>();
+    private final long validadeNanos;
+    private final LongSupplier relogio;
+
+    @Autowired
+    public CacheContagens(@Value("${paginacao.cache-total.ttl:30s}") Duration validade) {
+        this(validade, System::nanoTime);
+    }
+
+    // Relógio (em nanossegundos) separado para os testes controlarem o tempo
+    CacheContagens(Duration validade, LongSupplier relogio) {
+        this.validadeNanos = validade.toNanos();
+        this.relogio = relogio;
+    }
+
+    //Monta a chave de uma busca; filtros null entram na chave (null = filtro não usado)
+    static List<Object> chave(String busca, Object... filtros) {
+        List<Object> chave = new ArrayList<>(filtros.length + 1);
+        chave.add(busca);
+        chave.addAll(Arrays.asList(filtros));
+        return Collections.unmodifiableList(chave);
+    }
+
+    //Total guardado para a chave, ou roda a contagem e guarda o resultado
+    public long contar(List<Object> chave, LongSupplier contagem) {
+        long agora = relogio.getAsLong();
+        Total guardado = totais.get(chave);
+        if (guardado != null && agora - guardado.venceEm() < 0) {
+            return guardado.valor();
+        }
+        long valor = contagem.getAsLong();
+        if (totais.size() >= LIMITE_CHAVES) {
+            totais.values().removeIf(total -> agora - total.venceEm() >= 0);
+            if (totais.size() >= LIMITE_CHAVES) {
+                totais.clear();
+            }
+        }
+        totais.put(chave, new Total(valor, agora + validadeNanos));
+        return valor;
+    }
+
+    //Uma partida mudou: os totais das buscas de partidas podem ter mudado (depois do commit)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        limpar(BUSCA_PARTIDAS);
+    }
+
+    //Um clube mudou (nome, estado, ativo ou clube novo): os totais das buscas de clubes podem ter mudado
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarClube(ClubeAlteradoEvento evento) {
+        limpar(BUSCA_CLUBES);
+    }
+
+    //Um estádio mudou: os totais das buscas de estádios e das de partidas (filtro pelo nome do estádio)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEstadio(EstadioAlteradoEvento evento) {
+        limpar(BUSCA_ESTADIOS);
+        limpar(BUSCA_PARTIDAS);
+    }
+
+    private void limpar(String busca) {
+        totais.keySet().removeIf(chave -> busca.equals(chave.get(0)));
+    }
+}
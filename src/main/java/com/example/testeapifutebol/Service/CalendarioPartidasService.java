@@ -0,0 +1,81 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.CalendarioDiaDTO;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.PartidaDiaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+//Service - Mantém a tabela 'partida_dia' (quantas partidas em cada dia) em dia com as partidas
+//Mesmo esquema do ClassificacaoService: o PartidaService e a importação chamam na mesma transação
+//em que gravam a partida, e o calendário lê os totais prontos ao invés de contar as partidas do mês
+
+@Service
+public class CalendarioPartidasService {
+
+    private final PartidaDiaRepository partidaDiaRepository;
+
+    public CalendarioPartidasService(PartidaDiaRepository partidaDiaRepository) {
+        this.partidaDiaRepository = partidaDiaRepository;
+    }
+
+    //Aplica no calendário a diferença causada por uma alteração de partida
+    //anterior = estado antes da alteração (null quando a partida é nova)
+    //atual = estado depois da alteração (null quando a partida foi deletada)
+    @Transactional
+    public void aplicarAlteracao(PartidaEntity anterior, PartidaEntity atual) {
+        Map<LocalDate, Integer> diferencas = new TreeMap<>();
+        if (anterior != null) {
+            diferencas.merge(anterior.getDataHora().toLocalDate(), -1, Integer::sum);
+        }
+        if (atual != null) {
+            diferencas.merge(atual.getDataHora().toLocalDate(), 1, Integer::sum);
+        }
+        aplicarDiferencas(diferencas);
+    }
+
+    //Aplica várias partidas novas de uma vez (importação em lote): uma gravação por dia, não por partida
+    @Transactional
+    public void aplicarNovasPartidas(List<PartidaEntity> partidas) {
+        Map<LocalDate, Integer> diferencas = new TreeMap<>();
+        for (PartidaEntity partida : partidas) {
+            diferencas.merge(partida.getDataHora().toLocalDate(), 1, Integer::sum);
+        }
+        aplicarDiferencas(diferencas);
+    }
+
+    //Quantidade de partidas em cada dia do mês (AAAA-MM), só os dias que têm partida
+    //@throws RegraDeInvalidosExcecao400 se o mês não estiver no formato AAAA-MM
+    public List<CalendarioDiaDTO> buscarCalendario(String mes) {
+        YearMonth anoMes;
+        try {
+            anoMes = YearMonth.parse(mes);
+        } catch (DateTimeParseException e) {
+            throw new RegraDeInvalidosExcecao400("Mês inválido, use o formato AAAA-MM");
+        }
+        return partidaDiaRepository.findDiasComPartidas(anoMes.atDay(1), anoMes.plusMonths(1).atDay(1)).stream()
+                .map(dia -> new CalendarioDiaDTO(dia.getDia(), dia.getPartidas()))
+                .toList();
+    }
+
+    // Dias em ordem crescente (TreeMap): duas gravações que mexem nos mesmos dias travam as linhas na mesma ordem
+    private void aplicarDiferencas(Map<LocalDate, Integer> diferencas) {
+        for (Map.Entry<LocalDate, Integer> entrada : diferencas.entrySet()) {
+            // Atualização só mudou o horário dentro do mesmo dia: nada muda no calendário
+            if (entrada.getValue() == 0) {
+                continue;
+            }
+            // Diferente da classificação (uma linha por clube, já protegida pelas TravasDeAgenda), partidas de clubes
+            // diferentes caem no mesmo dia ao mesmo tempo: o upsert cria o dia ou soma na linha de quem criou primeiro
+            partidaDiaRepository.somarPartidas(entrada.getKey(), entrada.getValue());
+        }
+    }
+}
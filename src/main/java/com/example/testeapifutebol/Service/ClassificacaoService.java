@@ -0,0 +1,132 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ReconstrucaoClassificacaoDTO;
+import com.example.testeapifutebol.Entity.ClassificacaoEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.testeapifutebol.Service.DiferencaClassificacao.*;
+
+//Service - Mantém a tabela 'classificacao' (totais por clube) em dia com as partidas
+//O PartidaService chama aplicarAlteracao na mesma transação em que grava/atualiza/deleta a partida,
+//assim o ranking lê a tabela pronta ao invés de agregar todas as partidas a cada requisição
+
+@Service
+public class ClassificacaoService {
+
+    private final ClassificacaoRepository classificacaoRepository;
+    private final PartidaRepository partidaRepository;
+
+    public ClassificacaoService(ClassificacaoRepository classificacaoRepository, PartidaRepository partidaRepository) {
+        this.classificacaoRepository = classificacaoRepository;
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Aplica na classificação a diferença causada por uma alteração de partida
+    //anterior = estado antes da alteração (null quando a partida é nova)
+    //atual = estado depois da alteração (null quando a partida foi deletada)
+    @Transactional
+    public void aplicarAlteracao(PartidaEntity anterior, PartidaEntity atual) {
+        aplicarDiferencas(DiferencaClassificacao.calcular(anterior, atual));
+    }
+
+    //Aplica várias partidas novas de uma vez (importação em lote)
+    //Soma tudo por clube antes, então são no máximo um UPDATE (ou INSERT) por clube, não por partida
+    @Transactional
+    public void aplicarNovasPartidas(List<PartidaEntity> partidas) {
+        Map<Long, int[]> diferencas = new HashMap<>();
+        for (PartidaEntity partida : partidas) {
+            somarPartida(diferencas, partida.getClubeCasaId(), partida.getClubeVisitanteId(),
+                    partida.getResultadoCasa(), partida.getResultadoVisitante(), 1);
+        }
+        aplicarDiferencas(diferencas);
+    }
+
+    private void aplicarDiferencas(Map<Long, int[]> diferencas) {
+        for (Map.Entry<Long, int[]> entrada : diferencas.entrySet()) {
+            int[] d = entrada.getValue();
+            // Atualização só mudou a data/estádio: nada muda na classificação
+            if (vazia(d)) {
+                continue;
+            }
+            int alteradas = classificacaoRepository.somarDiferenca(entrada.getKey(),
+                    d[JOGOS], d[VITORIAS], d[EMPATES], d[DERROTAS], d[GOLS_FEITOS], d[GOLS_SOFRIDOS]);
+            // Primeira partida do clube: ainda não existe linha na tabela
+            if (alteradas == 0) {
+                classificacaoRepository.save(new ClassificacaoEntity(entrada.getKey(),
+                        d[JOGOS], d[VITORIAS], d[EMPATES], d[DERROTAS], d[GOLS_FEITOS], d[GOLS_SOFRIDOS]));
+            }
+        }
+    }
+
+    //Recalcula a tabela do zero a partir das partidas e confere com a consulta agregada
+    //(PartidaRepository.findEstatisticasClubes). Linhas erradas são corrigidas e listadas no resultado
+    @Transactional
+    public ReconstrucaoClassificacaoDTO reconstruirClassificacao() {
+        // Recalcula somando partida por partida (só as colunas necessárias)
+        Map<Long, int[]> recalculado = new HashMap<>();
+        for (Object[] resultado : partidaRepository.findResultadosPartidas()) {
+            somarPartida(recalculado, (Long) resultado[0], (Long) resultado[1],
+                    (Integer) resultado[2], (Integer) resultado[3], 1);
+        }
+
+        ReconstrucaoClassificacaoDTO relatorio = new ReconstrucaoClassificacaoDTO();
+
+        // Confere o recálculo com a consulta agregada
+        for (Object[] estatistica : partidaRepository.findEstatisticasClubes()) {
+            Long clubeId = (Long) estatistica[0];
+            int[] esperado = {
+                    ((Number) estatistica[2]).intValue(),
+                    estatistica[3] != null ? ((Number) estatistica[3]).intValue() : 0,
+                    estatistica[4] != null ? ((Number) estatistica[4]).intValue() : 0,
+                    estatistica[5] != null ? ((Number) estatistica[5]).intValue() : 0,
+                    estatistica[6] != null ? ((Number) estatistica[6]).intValue() : 0,
+                    estatistica[7] != null ? ((Number) estatistica[7]).intValue() : 0
+            };
+            if (!Arrays.equals(esperado, recalculado.getOrDefault(clubeId, new int[TAMANHO]))) {
+                relatorio.getDivergenciasConsultaAgregada().add(clubeId);
+            }
+        }
+
+        // Corrige as linhas que estão diferentes do recálculo
+        Map<Long, ClassificacaoEntity> atuais = new HashMap<>();
+        for (ClassificacaoEntity linha : classificacaoRepository.findAll()) {
+            atuais.put(linha.getClubeId(), linha);
+        }
+        List<ClassificacaoEntity> paraSalvar = new ArrayList<>();
+        for (Map.Entry<Long, int[]> entrada : recalculado.entrySet()) {
+            int[] t = entrada.getValue();
+            ClassificacaoEntity linha = atuais.remove(entrada.getKey());
+            if (linha == null || !Arrays.equals(t, totais(linha))) {
+                relatorio.getClubesCorrigidos().add(entrada.getKey());
+                paraSalvar.add(new ClassificacaoEntity(entrada.getKey(),
+                        t[JOGOS], t[VITORIAS], t[EMPATES], t[DERROTAS], t[GOLS_FEITOS], t[GOLS_SOFRIDOS]));
+            }
+        }
+        // O que sobrou na tabela é de clube sem nenhuma partida
+        for (ClassificacaoEntity linha : atuais.values()) {
+            if (!vazia(totais(linha))) {
+                relatorio.getClubesCorrigidos().add(linha.getClubeId());
+            }
+        }
+        classificacaoRepository.deleteAll(atuais.values());
+        classificacaoRepository.saveAll(paraSalvar);
+
+        relatorio.setClubesRecalculados(recalculado.size());
+        return relatorio;
+    }
+
+    private int[] totais(ClassificacaoEntity linha) {
+        return new int[]{linha.getJogos(), linha.getVitorias(), linha.getEmpates(), linha.getDerrotas(),
+                linha.getGolsFeitos(), linha.getGolsSofridos()};
+    }
+}
@@ -1,22 +1,35 @@
 package com.example.testeapifutebol.Service;
 
 import com.example.testeapifutebol.DTO.ClubeDTO;
+import com.example.testeapifutebol.DTO.PaginaCursorDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
 import com.example.testeapifutebol.Entity.ClubeEntity;
 import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
 import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
 import com.example.testeapifutebol.Excecao.RegraDoNaoEncontradoExcecao404;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
 import com.example.testeapifutebol.Repository.ClubeRepository;
 import com.example.testeapifutebol.Repository.PartidaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import com.example.testeapifutebol.DTO.LinhaRetrospectoDTO;
+import com.example.testeapifutebol.DTO.PartidaResumoDTO;
 import com.example.testeapifutebol.DTO.RankingClubeDTO;
 import com.example.testeapifutebol.DTO.RetrospectoClubeDTO;
 import com.example.testeapifutebol.Entity.PartidaEntity;
@@ -49,11 +62,42 @@ public class ClubeService {
     // Injeta o Repository para acessar o banco de dados
     private final ClubeRepository clubeRepository;
     private final PartidaRepository partidaRepository;
+    //ranking residente em memória (as quatro ordenações já prontas)
+    private final MotorRanking motorRanking;
+    //páginas do ranking calculadas no banco (ROW_NUMBER)
+    private final ClassificacaoRepository classificacaoRepository;
+    //totais por período (?de=...&ate=...)
+    private final IndiceTemporalRanking indiceTemporalRanking;
+    //resumo dos confrontos diretos já somado
+    private final MatrizConfrontos matrizConfrontos;
+    //totais da busca paginada guardados por alguns segundos
+    private final CacheContagens cacheContagens;
+    //busca por parte do nome em memória (os ids; a página vem do banco)
+    private final IndiceNomes indiceNomes;
+
+    private final SugestoesNomes sugestoesNomes;
+    //avisa os índices em memória quando um clube é criado ou alterado
+    private final ApplicationEventPublisher eventPublisher;
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+    //Com outros filtros junto do nome, mais ids que isso não vão num IN: o nome é filtrado no banco
+    private static final int MAXIMO_IDS_NA_CONSULTA = 1000;
 
     @Autowired
-    public ClubeService(ClubeRepository clubeRepository, PartidaRepository partidaRepository) {
+    public ClubeService(ClubeRepository clubeRepository, PartidaRepository partidaRepository,
+                        MotorRanking motorRanking, ClassificacaoRepository classificacaoRepository,
+                        IndiceTemporalRanking indiceTemporalRanking, MatrizConfrontos matrizConfrontos,
+                        CacheContagens cacheContagens, IndiceNomes indiceNomes,
+                        SugestoesNomes sugestoesNomes, ApplicationEventPublisher eventPublisher) {
         this.clubeRepository = clubeRepository;
         this.partidaRepository = partidaRepository;
+        this.motorRanking = motorRanking;
+        this.classificacaoRepository = classificacaoRepository;
+        this.indiceTemporalRanking = indiceTemporalRanking;
+        this.matrizConfrontos = matrizConfrontos;
+        this.cacheContagens = cacheContagens;
+        this.indiceNomes = indiceNomes;
+        this.sugestoesNomes = sugestoesNomes;
+        this.eventPublisher = eventPublisher;
     }
     // Salva um clube no banco de dados
     public ClubeEntity salvarClube(ClubeEntity clube) {
@@ -98,7 +142,9 @@ public class ClubeService {
                     clube.getNome(), clube.getEstado());
             throw new RegraDeExcecao409(mensagem);//aí consegue usar a exceção existente.
         }
-        return clubeRepository.save(clube);
+        ClubeEntity salvo = clubeRepository.save(clube);
+        eventPublisher.publishEvent(new ClubeAlteradoEvento(salvo.getId(), salvo.getNome(), salvo.getEstado()));
+        return salvo;
     }
 
 
@@ -158,6 +204,7 @@ public class ClubeService {
 
         //Salva no banco de dados (Repository faz a persistência)
         ClubeEntity clubeSalvo = clubeRepository.save(clubeParaSalvar);
+        eventPublisher.publishEvent(new ClubeAlteradoEvento(clubeSalvo.getId(), clubeSalvo.getNome(), clubeSalvo.getEstado()));
         //Converte a Entity salva de volta para DTO (para retornar ao Controller)
         ClubeDTO DTOResposta = new ClubeDTO();
         DTOResposta.setId(clubeSalvo.getId());                              // Long → Long
@@ -248,6 +295,7 @@ public class ClubeService {
 
         // Salva as alterações
         ClubeEntity clubeAtualizado = clubeRepository.save(clubeExistente);
+        eventPublisher.publishEvent(new ClubeAlteradoEvento(clubeAtualizado.getId(), clubeAtualizado.getNome(), clubeAtualizado.getEstado()));
 
         // Converte para DTO e retorna
         ClubeDTO resposta = new ClubeDTO();
@@ -270,6 +318,7 @@ public class ClubeService {
 
         //SALVAR A ALTERAÇÃO NO BANCO DE DADOS, O Spring pega o objeto modificado e atualiza no MySQL
         clubeRepository.save(clubeExistente);
+        eventPublisher.publishEvent(new ClubeAlteradoEvento(clubeExistente.getId(), clubeExistente.getNome(), clubeExistente.getEstado()));
         return true; // Retorna "true" = "consegui inativar com sucesso"
     }
 
@@ -300,28 +349,125 @@ public class ClubeService {
      */
     public Page<ClubeDTO> findClubesComFiltros(String nome, String estado, String ativo, java.time.LocalDate datacriacao, Pageable pageable) {
         //TRATAMENTO DA STRING VAZIA COMO NULL
-        if (nome != null && nome.trim().isEmpty()) {
-            nome = null;
+        String filtroNome = vazioComoNull(nome);
+        String filtroEstado = vazioComoNull(estado);
+        String filtroAtivo = vazioComoNull(ativo);
+        boolean soNome = filtroEstado == null && filtroAtivo == null && datacriacao == null;
+        // SÓ O NOME: o IndiceNomes ordena os ids e corta a página; o banco lê só os clubes dessa página
+        // (o total é o número de ids, sem COUNT)
+        if (filtroNome != null && soNome && IndiceNomes.ordenavelEmMemoria(pageable.getSort())) {
+            List<Long> ids = indiceNomes.buscarClubes(filtroNome, pageable.getSort());
+            return new PageImpl<>(clubesDaPagina(ids, pageable), pageable, ids.size()).map(this::converterClubeParaDTO);
         }
-        if (estado != null && estado.trim().isEmpty()) {
-            estado = null;
+        // NOME com outros filtros: os ids do IndiceNomes vão num IN (ou, se forem muitos, o nome é filtrado no banco)
+        List<Long> ids = idsPorNome(filtroNome);
+        String nomeNoBanco = nomeNoBanco(filtroNome, ids);
+        // busca no banco com filtros (só a página, sem COUNT)
+        Slice<ClubeEntity> clubesEncontrados = clubeRepository.findClubesComFiltros(ids, nomeNoBanco, filtroEstado,
+                filtroAtivo, datacriacao, pageable);
+        // TOTAL: só com o nome, é o número de ids; com outros filtros vem do CacheContagens
+        // (COUNT no máximo uma vez por combinação de filtros a cada poucos segundos)
+        // e só é buscado quando a página não diz sozinha (ex.: primeira página incompleta já é o total)
+        Page<ClubeEntity> pagina = PageableExecutionUtils.getPage(clubesEncontrados.getContent(), pageable,
+                () -> ids != null && soNome ? ids.size() : cacheContagens.contar(
+                        CacheContagens.chave(CacheContagens.BUSCA_CLUBES, filtroNome, filtroEstado, filtroAtivo, datacriacao),
+                        () -> clubeRepository.countClubesComFiltros(ids, nomeNoBanco, filtroEstado, filtroAtivo, datacriacao)));
+        // CONVERTER ENTITIES PARA DTOs, Converte os resultados para o formato de resposta
+        return pagina.map(this::converterClubeParaDTO);
+    }
+
+    //Mesma busca sem o total (?semTotal=true): só diz se tem próxima página, nunca roda COUNT
+    public Slice<ClubeDTO> findClubesComFiltrosSemTotal(String nome, String estado, String ativo, java.time.LocalDate datacriacao, Pageable pageable) {
+        String filtroNome = vazioComoNull(nome);
+        String filtroEstado = vazioComoNull(estado);
+        String filtroAtivo = vazioComoNull(ativo);
+        if (filtroNome != null && filtroEstado == null && filtroAtivo == null && datacriacao == null
+                && IndiceNomes.ordenavelEmMemoria(pageable.getSort())) {
+            List<Long> ids = indiceNomes.buscarClubes(filtroNome, pageable.getSort());
+            return new SliceImpl<>(clubesDaPagina(ids, pageable), pageable,
+                    pageable.getOffset() + pageable.getPageSize() < ids.size()).map(this::converterClubeParaDTO);
         }
-        if (ativo != null && ativo.trim().isEmpty()) {
-            ativo = null;
+        List<Long> ids = idsPorNome(filtroNome);
+        return clubeRepository.findClubesComFiltros(ids, nomeNoBanco(filtroNome, ids), filtroEstado, filtroAtivo,
+                datacriacao, pageable).map(this::converterClubeParaDTO);
+    }
+
+    //Autocomplete de clubes (/clubes/autocomplete?q=): nomes com alguma palavra começando pelo termo,
+    //os com mais partidas primeiro, montado em memória pelo SugestoesNomes
+    //@return lista vazia se o termo estiver em branco
+    //@throws RegraDeInvalidosExcecao400 se o limite não estiver entre 1 e SugestoesNomes.LIMITE_MAXIMO
+    public List<SugestaoNomeDTO> sugerirClubes(String termo, int limite) {
+        if (limite < 1 || limite > SugestoesNomes.LIMITE_MAXIMO) {
+            throw new RegraDeInvalidosExcecao400("O limite deve estar entre 1 e " + SugestoesNomes.LIMITE_MAXIMO);
         }
-        // busca no banco com filtros.
-        Page<ClubeEntity> clubesEncontrados = clubeRepository.findClubesComFiltros(nome, estado, ativo, datacriacao, pageable);
-        // CONVERTER ENTITIES PARA DTOs, Converte os resultados para o formato de resposta
-        Page<ClubeDTO> clubesParaRetornar = clubesEncontrados.map(clube -> {
-            ClubeDTO dto = new ClubeDTO();
-            dto.setId(clube.getId());
-            dto.setNome(clube.getNome());
-            dto.setEstado(clube.getEstado());
-            dto.setDatacriacao(clube.getDataCriacao().toString());
-            dto.setAtivo(clube.getAtivo());
-            return dto;
-        });
-        return clubesParaRetornar;
+        if (termo == null || termo.trim().isEmpty()) {
+            return List.of();
+        }
+        return sugestoesNomes.sugerirClubes(termo, limite);
+    }
+
+    // String vazia no filtro = filtro não usado
+    private static String vazioComoNull(String valor) {
+        return valor != null && valor.trim().isEmpty() ? null : valor;
+    }
+
+    // Ids dos clubes com o nome parecido, pelo IndiceNomes
+    // null = sem filtro de nome, ou ids demais para mandar num IN (aí o nome vai para o banco, ver nomeNoBanco)
+    private List<Long> idsPorNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        List<Long> ids = indiceNomes.buscarClubes(nome);
+        return ids.size() <= MAXIMO_IDS_NA_CONSULTA ? ids : null;
+    }
+
+    // Nome filtrado no banco (LIKE): só quando os ids do IndiceNomes ficaram de fora da consulta
+    private static String nomeNoBanco(String nome, List<Long> ids) {
+        return ids == null ? nome : null;
+    }
+
+    // Lê do banco só os clubes da página (pela chave primária), na ordem dos ids
+    private List<ClubeEntity> clubesDaPagina(List<Long> ids, Pageable pageable) {
+        List<Long> pagina = IndiceNomes.pagina(ids, pageable);
+        return clubeRepository.findAllById(pagina).stream()
+                .sorted(Comparator.comparingInt(clube -> pagina.indexOf(clube.getId())))
+                .collect(Collectors.toList());
+    }
+
+    //metodo auxiliar para converter ClubeEntity -> ClubeDTO
+    private ClubeDTO converterClubeParaDTO(ClubeEntity clube) {
+        ClubeDTO dto = new ClubeDTO();
+        dto.setId(clube.getId());
+        dto.setNome(clube.getNome());
+        dto.setEstado(clube.getEstado());
+        dto.setDatacriacao(clube.getDataCriacao().toString());
+        dto.setAtivo(clube.getAtivo());
+        return dto;
+    }
+
+    //Busca clubes com filtros por cursor, na ordem (nome, id): sem OFFSET e sem COUNT, custo igual em qualquer página
+    //cursor = proximoCursor da página anterior (null ou vazio = primeira página)
+    public PaginaCursorDTO<ClubeDTO> buscarClubesPorCursor(String nome, String estado, String ativo,
+                                                           java.time.LocalDate datacriacao, String cursor, int tamanho) {
+        CursorPaginacao.validarTamanho(tamanho);
+        CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+
+        // Uma linha a mais que o tamanho: se ela vier, existe próxima página
+        //(string vazia no filtro = filtro não usado, igual à busca paginada)
+        String filtroNome = vazioComoNull(nome);
+        List<Long> ids = idsPorNome(filtroNome);
+        List<ClubeEntity> clubes = clubeRepository.findClubesComFiltrosAposCursor(
+                ids, nomeNoBanco(filtroNome, ids), vazioComoNull(estado), vazioComoNull(ativo), datacriacao,
+                posicao != null ? posicao.chave() : null, posicao != null ? posicao.id() : null,
+                PageRequest.of(0, tamanho + 1));
+        String proximoCursor = null;
+        if (clubes.size() > tamanho) {
+            clubes = clubes.subList(0, tamanho);
+            ClubeEntity ultimo = clubes.get(tamanho - 1);
+            proximoCursor = CursorPaginacao.codificar(ultimo.getNome(), ultimo.getId());
+        }
+        List<ClubeDTO> itens = clubes.stream().map(this::converterClubeParaDTO).collect(Collectors.toList());
+        return new PaginaCursorDTO<>(itens, proximoCursor);
     }
 
     /**
@@ -335,34 +481,25 @@ public class ClubeService {
         ClubeEntity clube = clubeRepository.findById(clubeId)
             .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clubeId));
         
-        // Busca todas as partidas do clube (como mandante ou visitante)
-        List<PartidaEntity> partidas = partidaRepository.findByClubeMandanteIdOrClubeVisitanteId(clubeId);
-        
+        // Soma as partidas do clube no banco: uma única linha com os totais em casa e fora
+        Object[] linha = partidaRepository.findEstatisticasClube(clubeId).get(0);
+        LinhaRetrospectoDTO casa = converterLinhaRetrospecto(linha, 0);
+        LinhaRetrospectoDTO fora = converterLinhaRetrospecto(linha, 6);
+
         // Cria o DTO de retorno
         RetrospectoClubeDTO retrospecto = new RetrospectoClubeDTO();
         retrospecto.setClubeId(clube.getId());
         retrospecto.setClubeNome(clube.getNome());
-        
-        // Calcula as estatísticas
-        for (PartidaEntity partida : partidas) {
-            boolean isMandante = partida.getClubeCasaId().equals(clubeId);
-            int golsFeitos = isMandante ? partida.getResultadoCasa() : partida.getResultadoVisitante();
-            int golsSofridos = isMandante ? partida.getResultadoVisitante() : partida.getResultadoCasa();
-            
-            retrospecto.setGolsFeitos(retrospecto.getGolsFeitos() + golsFeitos);
-            retrospecto.setGolsSofridos(retrospecto.getGolsSofridos() + golsSofridos);
-            
-            if (golsFeitos > golsSofridos) {
-                retrospecto.setVitorias(retrospecto.getVitorias() + 1);
-            } else if (golsFeitos == golsSofridos) {
-                retrospecto.setEmpates(retrospecto.getEmpates() + 1);
-            } else {
-                retrospecto.setDerrotas(retrospecto.getDerrotas() + 1);
-            }
-            
-            retrospecto.setTotalJogos(retrospecto.getTotalJogos() + 1);
-        }
-        
+        retrospecto.setCasa(casa);
+        retrospecto.setFora(fora);
+
+        // O total é a soma dos dois mandos
+        retrospecto.setTotalJogos(casa.getTotalJogos() + fora.getTotalJogos());
+        retrospecto.setVitorias(casa.getVitorias() + fora.getVitorias());
+        retrospecto.setEmpates(casa.getEmpates() + fora.getEmpates());
+        retrospecto.setDerrotas(casa.getDerrotas() + fora.getDerrotas());
+        retrospecto.setGolsFeitos(casa.getGolsFeitos() + fora.getGolsFeitos());
+        retrospecto.setGolsSofridos(casa.getGolsSofridos() + fora.getGolsSofridos());
         retrospecto.setSaldoGols(retrospecto.getGolsFeitos() - retrospecto.getGolsSofridos());
         
         return retrospecto;
@@ -391,17 +528,12 @@ public class ClubeService {
             Long adversarioId = partida.getClubeCasaId().equals(clubeId) ? 
                                partida.getClubeVisitanteId() : partida.getClubeCasaId();
             
-            // Obtém ou cria o retrospecto para este adversário
+            // Obtém ou cria o retrospecto para este adversário (o nome é preenchido depois, de uma vez)
             RetrospectoAdversarioDTO retrospecto = retrospectoPorAdversario.computeIfAbsent(
                 adversarioId, 
                 id -> {
                     RetrospectoAdversarioDTO novo = new RetrospectoAdversarioDTO();
                     novo.setAdversarioId(id);
-                    // Busca o nome do adversário
-                    String nomeAdversario = clubeRepository.findById(id)
-                        .map(ClubeEntity::getNome)
-                        .orElse("Clube Desconhecido");
-                    novo.setAdversarioNome(nomeAdversario);
                     return novo;
                 }
             );
@@ -425,6 +557,12 @@ public class ClubeService {
             }
         }
         
+        // Busca o nome de todos os adversários numa consulta só (IN), em vez de um findById por adversário
+        Map<Long, String> nomes = buscarNomes(retrospectoPorAdversario.keySet());
+        for (RetrospectoAdversarioDTO retrospecto : retrospectoPorAdversario.values()) {
+            retrospecto.setAdversarioNome(nomes.getOrDefault(retrospecto.getAdversarioId(), "Clube Desconhecido"));
+        }
+
         // Retorna a lista de retrospectos ordenada pelo nome do adversário
         return new ArrayList<>(retrospectoPorAdversario.values()).stream()
             .sorted(Comparator.comparing(RetrospectoAdversarioDTO::getAdversarioNome))
@@ -434,48 +572,51 @@ public class ClubeService {
      //Busca o histórico de confrontos diretos entre dois clubes
      //@param clube1Id ID do primeiro clube
      //@param clube2Id ID do segundo clube
-     //@return DTO com estatísticas e lista de partidas
+     //@param incluirPartidas se true, também busca uma página de partidas no banco
+     //@param limit tamanho da página de partidas (1 a 100)
+     //@param antesDe só partidas antes dessa data (o proximoAntesDe da página anterior), null = mais recentes
+     //@return DTO com estatísticas (e a página de partidas, se pedida)
      //@throws RegraDoNaoEncontradoExcecao404 se algum dos clubes não for encontrado
-    public ConfrontoDiretoDTO buscarConfrontoDireto(Long clube1Id, Long clube2Id) {
-        // Verifica se os clubes existem
-        ClubeEntity clube1 = clubeRepository.findById(clube1Id)
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clube1Id));
-        
-        ClubeEntity clube2 = clubeRepository.findById(clube2Id)
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clube2Id));
-
-        // Busca todas as partidas entre os dois clubes
-        List<PartidaEntity> partidas = partidaRepository.findConfrontosDiretos(clube1Id, clube2Id);
+    public ConfrontoDiretoDTO buscarConfrontoDireto(Long clube1Id, Long clube2Id, boolean incluirPartidas,
+                                                    int limit, LocalDateTime antesDe) {
+        if (incluirPartidas && (limit < 1 || limit > LIMITE_MAXIMO_PAGINA)) {
+            throw new RegraDeInvalidosExcecao400("O limit deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA);
+        }
+        // Verifica se os clubes existem (os dois numa consulta só)
+        Map<Long, String> nomes = buscarNomes(List.of(clube1Id, clube2Id));
+        if (!nomes.containsKey(clube1Id)) {
+            throw new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clube1Id);
+        }
+        if (!nomes.containsKey(clube2Id)) {
+            throw new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clube2Id);
+        }
 
         // Cria o DTO de resposta
         ConfrontoDiretoDTO confronto = new ConfrontoDiretoDTO();
-        confronto.setClube1Id(clube1.getId());
-        confronto.setClube1Nome(clube1.getNome());
-        confronto.setClube2Id(clube2.getId());
-        confronto.setClube2Nome(clube2.getNome());
-        confronto.setPartidas(partidas);
-
-        // Calcula as estatísticas
-        for (PartidaEntity partida : partidas) {
-            boolean clube1Mandante = partida.getClubeCasaId().equals(clube1Id);
-            
-            int golsClube1 = clube1Mandante ? partida.getResultadoCasa() : partida.getResultadoVisitante();
-            int golsClube2 = clube1Mandante ? partida.getResultadoVisitante() : partida.getResultadoCasa();
-            
-            confronto.setGolsClube1(confronto.getGolsClube1() + golsClube1);
-            confronto.setGolsClube2(confronto.getGolsClube2() + golsClube2);
-            
-            if (golsClube1 > golsClube2) {
-                confronto.setVitoriasClube1(confronto.getVitoriasClube1() + 1);
-            } else if (golsClube2 > golsClube1) {
-                confronto.setVitoriasClube2(confronto.getVitoriasClube2() + 1);
-            } else {
-                confronto.setEmpates(confronto.getEmpates() + 1);
+        confronto.setClube1Id(clube1Id);
+        confronto.setClube1Nome(nomes.get(clube1Id));
+        confronto.setClube2Id(clube2Id);
+        confronto.setClube2Nome(nomes.get(clube2Id));
+
+        // As estatísticas vêm prontas da matriz de confrontos (sem percorrer partidas)
+        int[] resumo = matrizConfrontos.buscarResumo(clube1Id, clube2Id);
+        confronto.setVitoriasClube1(resumo[MatrizConfrontos.VITORIAS_PRIMEIRO]);
+        confronto.setEmpates(resumo[MatrizConfrontos.EMPATES]);
+        confronto.setVitoriasClube2(resumo[MatrizConfrontos.VITORIAS_SEGUNDO]);
+        confronto.setGolsClube1(resumo[MatrizConfrontos.GOLS_PRIMEIRO]);
+        confronto.setGolsClube2(resumo[MatrizConfrontos.GOLS_SEGUNDO]);
+        confronto.setTotalJogos(confronto.getVitoriasClube1() + confronto.getEmpates() + confronto.getVitoriasClube2());
+
+        // A lista de partidas só é buscada quando pedida, uma página por vez (paginação por data, sem OFFSET)
+        // Dois clubes não jogam entre si duas vezes no mesmo horário, então a data sozinha serve de cursor
+        if (incluirPartidas) {
+            List<PartidaResumoDTO> partidas = partidaRepository.findConfrontosDiretos(clube1Id, clube2Id, antesDe,
+                    PageRequest.of(0, limit));
+            confronto.setPartidas(partidas);
+            if (partidas.size() == limit) {
+                confronto.setProximoAntesDe(partidas.get(partidas.size() - 1).getDataHora());
             }
         }
-        
-        confronto.setTotalJogos(partidas.size());
-        
         return confronto;
     }
     
@@ -483,101 +624,150 @@ public class ClubeService {
      //@param tipo Tipo de ranking: 'pontos', 'gols', 'vitorias' ou 'jogos'
      //@return Lista de DTOs com as estatísticas dos clubes ordenadas
     public List<RankingClubeDTO> buscarRanking(String tipo) {
-        List<Object[]> estatisticas = partidaRepository.findEstatisticasClubes();
-        List<RankingClubeDTO> ranking = new ArrayList<>();
-        
-        // Converter os resultados da consulta para DTOs
-        for (Object[] estatistica : estatisticas) {
-            Long clubeId = (Long) estatistica[0];
-            String clubeNome = (String) estatistica[1];
-            Long totalJogos = (Long) estatistica[2];
-            Long vitorias = (Long) estatistica[3];
-            Long empates = (Long) estatistica[4];
-            Long derrotas = (Long) estatistica[5];
-            Long golsFeitos = estatistica[6] != null ? ((Number) estatistica[6]).longValue() : 0L;
-            Long golsSofridos = estatistica[7] != null ? ((Number) estatistica[7]).longValue() : 0L;
-            
-            int pontos = (vitorias.intValue() * 3) + empates.intValue();
-            int saldoGols = golsFeitos.intValue() - golsSofridos.intValue();
-            
-            RankingClubeDTO dto = new RankingClubeDTO();
-            dto.setId(clubeId);
-            dto.setNome(clubeNome);
-            dto.setJogos(totalJogos.intValue());
-            dto.setVitorias(vitorias.intValue());
-            dto.setEmpates(empates.intValue());
-            dto.setDerrotas(derrotas.intValue());
-            dto.setGolsFeitos(golsFeitos.intValue());
-            dto.setGolsSofridos(golsSofridos.intValue());
-            dto.setSaldoGols(saldoGols);
-            dto.setPontos(pontos);
-            
-            // Apenas adiciona se tiver jogos
-            if (totalJogos > 0) {
-                ranking.add(dto);
+        // Lê a foto pronta do motor de ranking (não consulta o banco nem ordena nada aqui)
+        return motorRanking.buscarRanking(tipo);
+    }
+
+     //Busca uma página do ranking (ex.: top 20), com a posição calculada pelo banco
+     //@param tipo Tipo de ranking: 'pontos', 'gols', 'vitorias' ou 'jogos'
+     //@param limit quantidade de clubes (1 a 100)
+     //@param offset quantos clubes pular do topo
+    public List<RankingClubeDTO> buscarRankingPaginado(String tipo, int limit, int offset) {
+        if (limit < 1 || limit > LIMITE_MAXIMO_PAGINA) {
+            throw new RegraDeInvalidosExcecao400("O limit deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA);
+        }
+        if (offset < 0) {
+            throw new RegraDeInvalidosExcecao400("O offset não pode ser negativo");
+        }
+        List<Object[]> linhas = ConsultasRanking.porTipo(tipo).buscarPagina(classificacaoRepository, offset, limit);
+        return converterLinhasRanking(linhas);
+    }
+
+     //Busca os clubes até 'raio' posições acima e abaixo de um clube no ranking
+     //@return lista vazia se o clube ainda não jogou
+     //@throws RegraDoNaoEncontradoExcecao404 se o clube não for encontrado
+    public List<RankingClubeDTO> buscarVizinhancaRanking(Long clubeId, String tipo, int raio) {
+        if (raio < 0 || raio > LIMITE_MAXIMO_PAGINA / 2) {
+            throw new RegraDeInvalidosExcecao400("O raio deve estar entre 0 e " + (LIMITE_MAXIMO_PAGINA / 2));
+        }
+        if (!clubeRepository.existsById(clubeId)) {
+            throw new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + clubeId);
+        }
+        List<Object[]> linhas = ConsultasRanking.porTipo(tipo).buscarVizinhanca(classificacaoRepository, clubeId, raio);
+        return converterLinhasRanking(linhas);
+    }
+
+     //Busca o ranking só com as partidas de um período (datas inclusivas, qualquer uma pode ser null)
+     //@param tipo Tipo de ranking: 'pontos', 'gols', 'vitorias' ou 'jogos'
+     //@throws RegraDeInvalidosExcecao400 se 'de' for depois de 'ate'
+    public List<RankingClubeDTO> buscarRankingPorPeriodo(String tipo, LocalDate de, LocalDate ate) {
+        Comparator<RankingClubeDTO> comparador = RankingComparadores.porTipo(tipo);
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new RegraDeInvalidosExcecao400("A data inicial não pode ser depois da data final");
+        }
+        Map<Long, int[]> totais = indiceTemporalRanking.somarPeriodo(
+                de != null ? de.atStartOfDay() : null,
+                ate != null ? ate.plusDays(1).atStartOfDay() : null);
+        return montarRanking(totais, buscarNomes(totais.keySet()), comparador);
+    }
+
+     //Busca a tabela como estava ao fim de um dia (todas as partidas até aquela data, inclusive)
+     //Cada clube custa uma consulta de prefixo no IndiceTemporalRanking, qualquer que seja o tamanho do histórico
+     //@param tipo Tipo de ranking: 'pontos', 'gols', 'vitorias' ou 'jogos'
+    public List<RankingClubeDTO> buscarRankingNaData(String tipo, LocalDate em) {
+        return buscarRankingPorPeriodo(tipo, null, em);
+    }
+
+     //Monta a tabela de uma mini-liga: só as partidas em que os dois lados estão na lista de clubes
+     //Todos os clubes da lista aparecem na tabela, mesmo sem jogos entre eles
+     //@param clubeIds clubes da mini-liga (2 a 100, repetidos são ignorados)
+     //@param tipo Tipo de ranking: 'pontos', 'gols', 'vitorias' ou 'jogos'
+     //@throws RegraDeInvalidosExcecao400 se a lista tiver menos de 2 ou mais de 100 clubes
+     //@throws RegraDoNaoEncontradoExcecao404 se algum clube não for encontrado
+    public List<RankingClubeDTO> buscarMiniLiga(List<Long> clubeIds, String tipo) {
+        Comparator<RankingClubeDTO> comparador = RankingComparadores.porTipo(tipo);
+        List<Long> ids = clubeIds == null ? List.of() : clubeIds.stream().distinct().collect(Collectors.toList());
+        if (ids.size() < 2 || ids.size() > LIMITE_MAXIMO_PAGINA) {
+            throw new RegraDeInvalidosExcecao400("A mini-liga deve ter entre 2 e " + LIMITE_MAXIMO_PAGINA + " clubes");
+        }
+        Map<Long, String> nomes = buscarNomes(ids);
+        for (Long id : ids) {
+            if (!nomes.containsKey(id)) {
+                throw new RegraDoNaoEncontradoExcecao404("Clube não encontrado com o ID: " + id);
             }
         }
-        
-        // Ordenar de acordo com o tipo de ranking, basicamente vai organizar de acordo com pontos, gols, vitorias e gols
-        switch (tipo.toLowerCase()) {
-            case "pontos":
-                ranking.sort((a, b) -> {
-                    if (a.getPontos() != b.getPontos()) {
-                        return Integer.compare(b.getPontos(), a.getPontos());
-                    } else if (a.getVitorias() != b.getVitorias()) {
-                        return Integer.compare(b.getVitorias(), a.getVitorias());
-                    } else if (a.getSaldoGols() != b.getSaldoGols()) {
-                        return Integer.compare(b.getSaldoGols(), a.getSaldoGols());
-                    } else if (a.getGolsFeitos() != b.getGolsFeitos()) {
-                        return Integer.compare(b.getGolsFeitos(), a.getGolsFeitos());
-                    } else {
-                        return a.getNome().compareTo(b.getNome());
-                    }
-                });
-                break;
-                
-            case "gols":
-                ranking.sort((a, b) -> {
-                    if (a.getGolsFeitos() != b.getGolsFeitos()) {
-                        return Integer.compare(b.getGolsFeitos(), a.getGolsFeitos());
-                    }
-                    return a.getNome().compareTo(b.getNome());
-                });
-                break;
-                
-            case "vitorias":
-                ranking.sort((a, b) -> {
-                    if (a.getVitorias() != b.getVitorias()) {
-                        return Integer.compare(b.getVitorias(), a.getVitorias());
-                    } else if (a.getPontos() != b.getPontos()) {
-                        return Integer.compare(b.getPontos(), a.getPontos());
-                    } else if (a.getSaldoGols() != b.getSaldoGols()) {
-                        return Integer.compare(b.getSaldoGols(), a.getSaldoGols());
-                    } else {
-                        return a.getNome().compareTo(b.getNome());
-                    }
-                });
-                break;
-                
-            case "jogos":
-                ranking.sort((a, b) -> {
-                    if (a.getJogos() != b.getJogos()) {
-                        return Integer.compare(b.getJogos(), a.getJogos());
-                    } else {
-                        return a.getNome().compareTo(b.getNome());
-                    }
-                });
-                break;
-                
-            default:
-                throw new IllegalArgumentException("Tipo de ranking inválido. Use: pontos, gols, vitorias ou jogos");
+
+        // Uma linha da matriz por clube, na ordem da lista
+        Map<Long, Integer> linhaDoClube = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            linhaDoClube.put(ids.get(i), i);
         }
-        
-        // Atribuir posições
+        int[][] totais = new int[ids.size()][DiferencaClassificacao.TAMANHO];
+
+        // Uma consulta só, com as partidas entre os clubes da lista
+        for (Object[] partida : partidaRepository.findResultadosEntreClubes(ids)) {
+            int golsCasa = (Integer) partida[2];
+            int golsVisitante = (Integer) partida[3];
+            DiferencaClassificacao.somarLado(totais[linhaDoClube.get((Long) partida[0])], golsCasa, golsVisitante, 1);
+            DiferencaClassificacao.somarLado(totais[linhaDoClube.get((Long) partida[1])], golsVisitante, golsCasa, 1);
+        }
+
+        Map<Long, int[]> totaisPorClube = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            totaisPorClube.put(ids.get(i), totais[i]);
+        }
+        return montarRanking(totaisPorClube, nomes, comparador);
+    }
+
+    //Monta o ranking a partir dos totais por clube (posições do DiferencaClassificacao) e dos nomes já buscados
+    private List<RankingClubeDTO> montarRanking(Map<Long, int[]> totais, Map<Long, String> nomes,
+                                                Comparator<RankingClubeDTO> comparador) {
+        List<RankingClubeDTO> ranking = new ArrayList<>(totais.size());
+        for (Map.Entry<Long, int[]> entrada : totais.entrySet()) {
+            int[] t = entrada.getValue();
+            ranking.add(RankingComparadores.criarLinha(entrada.getKey(),
+                    nomes.getOrDefault(entrada.getKey(), "Clube Desconhecido"),
+                    t[DiferencaClassificacao.JOGOS], t[DiferencaClassificacao.VITORIAS],
+                    t[DiferencaClassificacao.EMPATES], t[DiferencaClassificacao.DERROTAS],
+                    t[DiferencaClassificacao.GOLS_FEITOS], t[DiferencaClassificacao.GOLS_SOFRIDOS]));
+        }
+        // Mesmo desempate final por id do MotorRanking
+        ranking.sort(comparador.thenComparing(RankingClubeDTO::getId));
         for (int i = 0; i < ranking.size(); i++) {
             ranking.get(i).setPosicao(i + 1);
         }
-        
         return ranking;
     }
-}
\ No newline at end of file
+
+    //Lê as 6 colunas de um mando (jogos, vitorias, empates, derrotas, golsFeitos, golsSofridos) a partir de 'inicio'
+    private LinhaRetrospectoDTO converterLinhaRetrospecto(Object[] linha, int inicio) {
+        return new LinhaRetrospectoDTO(((Number) linha[inicio]).intValue(), ((Number) linha[inicio + 1]).intValue(),
+                ((Number) linha[inicio + 2]).intValue(), ((Number) linha[inicio + 3]).intValue(),
+                ((Number) linha[inicio + 4]).intValue(), ((Number) linha[inicio + 5]).intValue());
+    }
+
+    //Busca o nome de vários clubes numa única consulta (findAllById gera um IN); ids inexistentes ficam fora do mapa
+    private Map<Long, String> buscarNomes(Collection<Long> clubeIds) {
+        Map<Long, String> nomes = new HashMap<>();
+        if (clubeIds.isEmpty()) {
+            return nomes;
+        }
+        for (ClubeEntity clube : clubeRepository.findAllById(clubeIds)) {
+            nomes.put(clube.getId(), clube.getNome());
+        }
+        return nomes;
+    }
+
+    //Converte as linhas das consultas de página/vizinhança (a posição vem na última coluna)
+    private List<RankingClubeDTO> converterLinhasRanking(List<Object[]> linhas) {
+        List<RankingClubeDTO> ranking = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            RankingClubeDTO dto = RankingComparadores.criarLinha(((Number) linha[0]).longValue(), (String) linha[1],
+                    ((Number) linha[2]).intValue(), ((Number) linha[3]).intValue(), ((Number) linha[4]).intValue(),
+                    ((Number) linha[5]).intValue(), ((Number) linha[6]).intValue(), ((Number) linha[7]).intValue());
+            dto.setPosicao(((Number) linha[8]).intValue());
+            ranking.add(dto);
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+
+import java.util.List;
+
+//Consultas do ClassificacaoRepository de cada tipo de ranking ('pontos', 'gols', 'vitorias' e 'jogos')
+//A página e a vizinhança usam o mesmo mapeamento de tipo para consulta (um tipo novo entra só aqui)
+enum ConsultasRanking {
+
+    PONTOS(ClassificacaoRepository::findPaginaRankingPontos, ClassificacaoRepository::findVizinhancaRankingPontos),
+    GOLS(ClassificacaoRepository::findPaginaRankingGols, ClassificacaoRepository::findVizinhancaRankingGols),
+    VITORIAS(ClassificacaoRepository::findPaginaRankingVitorias, ClassificacaoRepository::findVizinhancaRankingVitorias),
+    JOGOS(ClassificacaoRepository::findPaginaRankingJogos, ClassificacaoRepository::findVizinhancaRankingJogos);
+
+    // Posições (offset, offset + limit] do ranking
+    @FunctionalInterface
+    interface Pagina {
+        List<Object[]> buscar(ClassificacaoRepository repository, int offset, int limit);
+    }
+
+    // Clubes até 'raio' posições acima e abaixo do clube
+    @FunctionalInterface
+    interface Vizinhanca {
+        List<Object[]> buscar(ClassificacaoRepository repository, Long clubeId, int raio);
+    }
+
+    private final Pagina pagina;
+    private final Vizinhanca vizinhanca;
+
+    ConsultasRanking(Pagina pagina, Vizinhanca vizinhanca) {
+        this.pagina = pagina;
+        this.vizinhanca = vizinhanca;
+    }
+
+    List<Object[]> buscarPagina(ClassificacaoRepository repository, int offset, int limit) {
+        return pagina.buscar(repository, offset, limit);
+    }
+
+    List<Object[]> buscarVizinhanca(ClassificacaoRepository repository, Long clubeId, int raio) {
+        return vizinhanca.buscar(repository, clubeId, raio);
+    }
+
+    //Devolve as consultas do tipo de ranking informado
+    //@throws IllegalArgumentException se o tipo não for 'pontos', 'gols', 'vitorias' ou 'jogos'
+    static ConsultasRanking porTipo(String tipo) {
+        for (ConsultasRanking consultas : values()) {
+            if (consultas.name().equalsIgnoreCase(tipo)) {
+                return consultas;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de ranking inválido. Use: pontos, gols, vitorias ou jogos");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+//Cursor das buscas por cursor: a chave de ordenação e o id do último item da página, em Base64
+//O cliente só devolve o texto; o formato interno pode mudar sem quebrar ninguém
+final class CursorPaginacao {
+
+    static final int TAMANHO_MAXIMO = 1000;
+
+    // Posição depois da qual a próxima página começa
+    record Posicao(String chave, long id) {
+    }
+
+    private CursorPaginacao() {
+    }
+
+    static String codificar(String chave, Long id) {
+        String texto = chave + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //@return null para cursor vazio (primeira página)
+    //@throws RegraDeInvalidosExcecao400 se o cursor não foi gerado por nós
+    static Posicao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            // A chave pode ter '|' (nome de clube): o id é o que vem depois do último
+            int separador = texto.lastIndexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new Posicao(texto.substring(0, separador), Long.parseLong(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new RegraDeInvalidosExcecao400("Cursor inválido");
+        }
+    }
+
+    //@throws RegraDeInvalidosExcecao400 se o tamanho estiver fora de 1..1000
+    static void validarTamanho(int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new RegraDeInvalidosExcecao400("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//Calcula quanto cada clube ganha/perde nos totais da classificação quando uma partida muda
+//Os totais de um clube ficam num int[] com as posições abaixo (JOGOS, VITORIAS, ...)
+final class DiferencaClassificacao {
+
+    static final int JOGOS = 0;
+    static final int VITORIAS = 1;
+    static final int EMPATES = 2;
+    static final int DERROTAS = 3;
+    static final int GOLS_FEITOS = 4;
+    static final int GOLS_SOFRIDOS = 5;
+    static final int TAMANHO = 6;
+
+    private DiferencaClassificacao() {
+    }
+
+    //Diferença por clube entre a partida anterior (subtrai) e a atual (soma), qualquer uma pode ser null
+    static Map<Long, int[]> calcular(PartidaEntity anterior, PartidaEntity atual) {
+        Map<Long, int[]> diferencas = new HashMap<>();
+        if (anterior != null) {
+            somarPartida(diferencas, anterior.getClubeCasaId(), anterior.getClubeVisitanteId(),
+                    anterior.getResultadoCasa(), anterior.getResultadoVisitante(), -1);
+        }
+        if (atual != null) {
+            somarPartida(diferencas, atual.getClubeCasaId(), atual.getClubeVisitanteId(),
+                    atual.getResultadoCasa(), atual.getResultadoVisitante(), 1);
+        }
+        return diferencas;
+    }
+
+    //Soma (sinal = 1) ou subtrai (sinal = -1) o resultado de uma partida nos totais dos dois clubes
+    static void somarPartida(Map<Long, int[]> totais, Long casaId, Long visitanteId,
+                             int golsCasa, int golsVisitante, int sinal) {
+        somarLado(totais.computeIfAbsent(casaId, id -> new int[TAMANHO]), golsCasa, golsVisitante, sinal);
+        somarLado(totais.computeIfAbsent(visitanteId, id -> new int[TAMANHO]), golsVisitante, golsCasa, sinal);
+    }
+
+    //Soma o resultado de um dos lados da partida nos totais de um clube
+    static void somarLado(int[] t, int golsFeitos, int golsSofridos, int sinal) {
+        t[JOGOS] += sinal;
+        t[GOLS_FEITOS] += sinal * golsFeitos;
+        t[GOLS_SOFRIDOS] += sinal * golsSofridos;
+        if (golsFeitos > golsSofridos) {
+            t[VITORIAS] += sinal;
+        } else if (golsFeitos == golsSofridos) {
+            t[EMPATES] += sinal;
+        } else {
+            t[DERROTAS] += sinal;
+        }
+    }
+
+    //true quando a diferença é zero em todas as posições
+    static boolean vazia(int[] diferenca) {
+        for (int valor : diferenca) {
+            if (valor != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
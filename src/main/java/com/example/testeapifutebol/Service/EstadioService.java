@@ -1,21 +1,43 @@
 package com.example.testeapifutebol.Service;
 
 import com.example.testeapifutebol.DTO.EstadioDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
 import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
 import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
 import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
 import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
 
 @Service
 @RequiredArgsConstructor //Ele cria o construtor (só com os campos obrigatórios) automaticamente
 
 public class EstadioService {
     private final EstadioRepository estadioRepository;
+    //as partidas apontam para o estádio pelo id (estadio_id)
+    private final PartidaRepository partidaRepository;
+    //totais da busca paginada guardados por alguns segundos
+    private final CacheContagens cacheContagens;
+    //busca por parte do nome em memória (os ids; a página vem do banco)
+    private final IndiceNomes indiceNomes;
+    //autocomplete em memória, os estádios com mais partidas primeiro
+    private final SugestoesNomes sugestoesNomes;
+    //avisa os índices em memória quando um estádio é criado, renomeado ou apagado
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Valida os dados do estádio
@@ -59,6 +81,7 @@ public class EstadioService {
         estadioEntity.setNome(estadioDTO.getName()); // DTO.name → Entity.nome
         // Salva no banco e gera ID automaticamente
         EstadioEntity salvo = estadioRepository.save(estadioEntity);
+        eventPublisher.publishEvent(new EstadioAlteradoEvento(salvo.getId(), salvo.getNome()));
         System.out.println("ID gerado: " + salvo.getId());
         return estadioDTO; // Retorna DTO para o Controller
     }
@@ -79,8 +102,10 @@ public class EstadioService {
         }
         
         // Atualiza dados do estádio
+        // As partidas guardam só o id do estádio: renomear é alterar esta linha, nenhuma partida muda
         estadioCriado.setNome(estadioDTO.getName().trim()); // DTO.name → Entity.nome
         estadioRepository.save(estadioCriado); // Salva alterações no banco
+        eventPublisher.publishEvent(new EstadioAlteradoEvento(estadioCriado.getId(), estadioCriado.getNome()));
         return estadioDTO; // Retorna DTO atualizado para o Controller
 
     }
@@ -94,7 +119,12 @@ public class EstadioService {
         if (estadioExistente == null) {
             return false; // Não encontrou - Controller retornará 404
         }
+        // A chave estrangeira não deixa apagar um estádio que ainda tem partidas
+        if (partidaRepository.existsByEstadioId(id)) {
+            throw new RegraDeExcecao409("O estádio '" + estadioExistente.getNome() + "' tem partidas cadastradas");
+        }
         estadioRepository.delete(estadioExistente); //HARD DELETE,Apaga completamente do banco
+        eventPublisher.publishEvent(new EstadioAlteradoEvento(id, null));
         return true;//Retorna sucesso,Controller retornará 204
     }
 
@@ -118,19 +148,65 @@ public class EstadioService {
     }
 
     // Lista estádios com filtros, paginação e ordenação
+    // Com nome, o IndiceNomes ordena os ids e corta a página (o total é o número de ids);
+    // sem nome o total vem do CacheContagens (o COUNT roda no máximo uma vez a cada poucos segundos)
     public Page<EstadioDTO> findEstadiosComFiltros(String nome, Pageable pageable) {
-        Page<EstadioEntity> estadios;
-        
-        if (nome != null && !nome.trim().isEmpty()) {
-            // Busca por nome (busca parcial, case-insensitive)
-            estadios = estadioRepository.findByNomeContainingIgnoreCase(nome.trim(), pageable);
-        } else {
-            // Se não há filtro, busca todos
-            estadios = estadioRepository.findAll(pageable);
+        String filtro = nome != null && !nome.trim().isEmpty() ? nome.trim() : null;
+        if (filtro != null && IndiceNomes.ordenavelEmMemoria(pageable.getSort())) {
+            List<Long> ids = indiceNomes.buscarEstadios(filtro, pageable.getSort());
+            return new PageImpl<>(estadiosDaPagina(ids, pageable), pageable, ids.size()).map(this::converterEntityParaDTO);
         }
-        
+        List<Long> ids = filtro != null ? indiceNomes.buscarEstadios(filtro) : null;
+        Slice<EstadioEntity> estadios = buscarFatia(ids, pageable);
+        // Só conta quando a página não diz o total sozinha
+        Page<EstadioEntity> pagina = PageableExecutionUtils.getPage(estadios.getContent(), pageable,
+            () -> ids != null ? ids.size() : cacheContagens.contar(
+                CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS), estadioRepository::count));
+
         // Converte cada Entity para DTO
-        return estadios.map(this::converterEntityParaDTO);
+        return pagina.map(this::converterEntityParaDTO);
+    }
+
+    // Mesma busca sem o total (?semTotal=true): só diz se tem próxima página, nunca roda COUNT
+    public Slice<EstadioDTO> findEstadiosComFiltrosSemTotal(String nome, Pageable pageable) {
+        String filtro = nome != null && !nome.trim().isEmpty() ? nome.trim() : null;
+        if (filtro != null && IndiceNomes.ordenavelEmMemoria(pageable.getSort())) {
+            List<Long> ids = indiceNomes.buscarEstadios(filtro, pageable.getSort());
+            return new SliceImpl<>(estadiosDaPagina(ids, pageable), pageable,
+                    pageable.getOffset() + pageable.getPageSize() < ids.size()).map(this::converterEntityParaDTO);
+        }
+        List<Long> ids = filtro != null ? indiceNomes.buscarEstadios(filtro) : null;
+        return buscarFatia(ids, pageable).map(this::converterEntityParaDTO);
+    }
+
+    // Página da busca (tamanho + 1 linhas, sem COUNT)
+    private Slice<EstadioEntity> buscarFatia(List<Long> ids, Pageable pageable) {
+        if (ids != null) {
+            // Nome com uma ordem que o índice não sabe fazer: ids do IndiceNomes no IN, o banco ordena
+            return estadioRepository.findByIdIn(ids, pageable);
+        }
+        // Se não há filtro, busca todos
+        return estadioRepository.findTodos(pageable);
+    }
+
+    // Lê do banco só os estádios da página (pela chave primária), na ordem dos ids
+    private List<EstadioEntity> estadiosDaPagina(List<Long> ids, Pageable pageable) {
+        List<Long> pagina = IndiceNomes.pagina(ids, pageable);
+        return estadioRepository.findAllById(pagina).stream()
+                .sorted(Comparator.comparingInt(estadio -> pagina.indexOf(estadio.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Autocomplete de estádios (/estadios/autocomplete?q=): nomes com alguma palavra começando pelo termo,
+    // os com mais partidas primeiro; lista vazia se o termo estiver em branco
+    public List<SugestaoNomeDTO> sugerirEstadios(String termo, int limite) {
+        if (limite < 1 || limite > SugestoesNomes.LIMITE_MAXIMO) {
+            throw new RegraDeInvalidosExcecao400("O limite deve estar entre 1 e " + SugestoesNomes.LIMITE_MAXIMO);
+        }
+        if (termo == null || termo.trim().isEmpty()) {
+            return List.of();
+        }
+        return sugestoesNomes.sugerirEstadios(termo, limite);
     }
 
     //metodo auxiliar para converter EstadioEntity -> EstadioDTO
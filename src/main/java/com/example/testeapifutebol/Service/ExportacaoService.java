@@ -0,0 +1,213 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ClubeDTO;
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+//Service - Exportação de todas as partidas/clubes em NDJSON ou CSV (GET /partidas/exportar e /clubes/exportar)
+//- As linhas vêm do banco aos poucos (Stream com fetchSize) e são escritas na resposta assim que chegam
+//- Cada entidade sai do contexto do Hibernate depois de escrita: a memória não cresce com o tamanho da tabela
+//- O CSV das partidas tem as mesmas colunas que a importação (POST /partidas/importacao) lê
+//- A partida guarda só o id do estádio: os nomes são lidos uma vez, antes das partidas (são poucos)
+@Service
+public class ExportacaoService {
+
+    static final String CABECALHO_PARTIDAS = "clubeCasaId,clubeVisitanteId,resultadoCasa,resultadoVisitante,estadio,dataHora";
+    static final String CABECALHO_CLUBES = "id,nome,estado,datacriacao,ativo";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final PartidaRepository partidaRepository;
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    // Sem flush a cada objeto: quem decide quando mandar os bytes é o buffer do gerador
+    private final ObjectWriter escritorPartida;
+    private final ObjectWriter escritorClube;
+
+    public ExportacaoService(PartidaRepository partidaRepository, ClubeRepository clubeRepository,
+                             EstadioRepository estadioRepository, EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.partidaRepository = partidaRepository;
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.escritorPartida = objectMapper.writerFor(PartidaDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.escritorClube = objectMapper.writerFor(ClubeDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    //Content-Type da resposta para o formato pedido
+    //@throws RegraDeInvalidosExcecao400 se não for 'csv' nem 'ndjson' (conferido antes de começar a escrever)
+    public MediaType tipoDoFormato(String formato) {
+        return LeitorPartidas.Formato.de(formato) == LeitorPartidas.Formato.CSV ? CSV : NDJSON;
+    }
+
+    //Escreve todas as partidas, em ordem de id, no formato pedido
+    @Transactional(readOnly = true)
+    public void exportarPartidas(OutputStream saida, String formato) throws IOException {
+        LeitorPartidas.Formato tipo = LeitorPartidas.Formato.de(formato);
+        Map<Long, String> nomesEstadios = new HashMap<>();
+        for (EstadioEntity estadio : estadioRepository.findAll()) {
+            nomesEstadios.put(estadio.getId(), estadio.getNome());
+        }
+        try (Stream<PartidaEntity> partidas = partidaRepository.findTodasParaExportacao()) {
+            if (tipo == LeitorPartidas.Formato.CSV) {
+                Writer csv = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+                csv.write(CABECALHO_PARTIDAS);
+                csv.write('\n');
+                for (Iterator<PartidaEntity> it = partidas.iterator(); it.hasNext(); ) {
+                    PartidaEntity partida = it.next();
+                    escreverCsv(csv, partida, nomesEstadios.get(partida.getEstadioId()));
+                    entityManager.detach(partida);
+                }
+                csv.flush();
+            } else {
+                JsonGenerator json = criarGerador(saida);
+                for (Iterator<PartidaEntity> it = partidas.iterator(); it.hasNext(); ) {
+                    PartidaEntity partida = it.next();
+                    escritorPartida.writeValue(json, paraDTO(partida, nomesEstadios.get(partida.getEstadioId())));
+                    entityManager.detach(partida);
+                }
+                terminar(json);
+            }
+        }
+    }
+
+    //Escreve todos os clubes, em ordem de id, no formato pedido
+    @Transactional(readOnly = true)
+    public void exportarClubes(OutputStream saida, String formato) throws IOException {
+        LeitorPartidas.Formato tipo = LeitorPartidas.Formato.de(formato);
+        try (Stream<ClubeEntity> clubes = clubeRepository.findTodosParaExportacao()) {
+            if (tipo == LeitorPartidas.Formato.CSV) {
+                Writer csv = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+                csv.write(CABECALHO_CLUBES);
+                csv.write('\n');
+                for (Iterator<ClubeEntity> it = clubes.iterator(); it.hasNext(); ) {
+                    ClubeEntity clube = it.next();
+                    escreverCsv(csv, clube);
+                    entityManager.detach(clube);
+                }
+                csv.flush();
+            } else {
+                JsonGenerator json = criarGerador(saida);
+                for (Iterator<ClubeEntity> it = clubes.iterator(); it.hasNext(); ) {
+                    ClubeEntity clube = it.next();
+                    escritorClube.writeValue(json, paraDTO(clube));
+                    entityManager.detach(clube);
+                }
+                terminar(json);
+            }
+        }
+    }
+
+    // Um objeto por linha: o separador entre valores da raiz vira '\n' em vez do espaço padrão
+    private JsonGenerator criarGerador(OutputStream saida) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(saida);
+        json.setRootValueSeparator(new SerializedString("\n"));
+        // Quem fecha a resposta é o Spring
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return json;
+    }
+
+    private static void terminar(JsonGenerator json) throws IOException {
+        json.writeRaw('\n');
+        json.close();
+    }
+
+    private static void escreverCsv(Writer csv, PartidaEntity partida, String estadio) throws IOException {
+        csv.write(Long.toString(partida.getClubeCasaId()));
+        csv.write(',');
+        csv.write(Long.toString(partida.getClubeVisitanteId()));
+        csv.write(',');
+        csv.write(Integer.toString(partida.getResultadoCasa()));
+        csv.write(',');
+        csv.write(Integer.toString(partida.getResultadoVisitante()));
+        csv.write(',');
+        escreverTexto(csv, estadio);
+        csv.write(',');
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(partida.getDataHora(), csv);
+        csv.write('\n');
+    }
+
+    private static void escreverCsv(Writer csv, ClubeEntity clube) throws IOException {
+        csv.write(Long.toString(clube.getId()));
+        csv.write(',');
+        escreverTexto(csv, clube.getNome());
+        csv.write(',');
+        escreverTexto(csv, clube.getEstado());
+        csv.write(',');
+        if (clube.getDataCriacao() != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo(clube.getDataCriacao(), csv);
+        }
+        csv.write(',');
+        escreverTexto(csv, clube.getAtivo());
+        csv.write('\n');
+    }
+
+    // Texto com vírgula, aspas ou quebra de linha vai entre aspas (aspas internas dobradas), como o LeitorPartidas lê
+    private static void escreverTexto(Writer csv, String texto) throws IOException {
+        if (texto == null) {
+            return;
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            csv.write(texto);
+            return;
+        }
+        csv.write('"');
+        csv.write(texto.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    // Mesmos campos do GET /partidas
+    private static PartidaDTO paraDTO(PartidaEntity partida, String estadio) {
+        PartidaDTO dto = new PartidaDTO();
+        dto.setClubeCasaId(partida.getClubeCasaId());
+        dto.setClubeVisitanteId(partida.getClubeVisitanteId());
+        dto.setResultadoCasa(partida.getResultadoCasa());
+        dto.setResultadoVisitante(partida.getResultadoVisitante());
+        dto.setEstadio(estadio);
+        dto.setDataHora(partida.getDataHora());
+        return dto;
+    }
+
+    // Mesmos campos do GET /clubes
+    private static ClubeDTO paraDTO(ClubeEntity clube) {
+        ClubeDTO dto = new ClubeDTO();
+        dto.setId(clube.getId());
+        dto.setNome(clube.getNome());
+        dto.setEstado(clube.getEstado());
+        dto.setDatacriacao(clube.getDataCriacao() != null ? clube.getDataCriacao().toString() : null);
+        dto.setAtivo(clube.getAtivo());
+        return dto;
+    }
+}
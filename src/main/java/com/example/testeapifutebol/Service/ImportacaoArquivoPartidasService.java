@@ -0,0 +1,161 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ErroImportacaoDTO;
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+//Service - Importação de partidas em CSV/NDJSON sem limite de tamanho (POST /partidas/importacao e linha de comando)
+//- Lê a entrada aos poucos (LeitorPartidas) e grava em trechos, cada trecho na sua transação
+//- Clubes e estádios são buscados uma vez no começo e valem para todos os trechos
+//- Arquivo: '<arquivo>.checkpoint' guarda quantas partidas já foram processadas; rodando de novo, continua dali
+//- Modo histórico: aceita partidas com data no passado (as outras regras continuam valendo)
+@Service
+public class ImportacaoArquivoPartidasService {
+
+    static final int LIMITE_ERROS_RELATADOS = 1000;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final ImportacaoPartidasService importacaoPartidasService;
+    private final ObjectReader leitorJson;
+    private final int tamanhoTrecho;
+
+    public ImportacaoArquivoPartidasService(ImportacaoPartidasService importacaoPartidasService,
+                                            ObjectMapper objectMapper,
+                                            @Value("${importacao.partidas.tamanho-trecho:1000}") int tamanhoTrecho) {
+        this.importacaoPartidasService = importacaoPartidasService;
+        this.leitorJson = objectMapper.readerFor(PartidaDTO.class);
+        this.tamanhoTrecho = tamanhoTrecho;
+    }
+
+    //Importa de uma entrada qualquer (corpo da requisição)
+    //@param pular quantas partidas do começo ignorar (o 'processadas' de uma tentativa anterior)
+    public RelatorioImportacaoDTO importar(InputStream entrada, String formato, boolean historico, long pular)
+            throws IOException {
+        LeitorPartidas.Formato tipo = LeitorPartidas.Formato.de(formato);
+        if (pular < 0) {
+            throw new RegraDeInvalidosExcecao400("O parâmetro 'pular' não pode ser negativo");
+        }
+        BufferedReader leitura = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        try (LeitorPartidas leitor = new LeitorPartidas(leitura, tipo, leitorJson)) {
+            return importar(leitor, historico, pular, processadas -> {
+            });
+        }
+    }
+
+    //Importa um arquivo, retomando do checkpoint se uma execução anterior parou no meio
+    //O checkpoint é apagado quando o arquivo termina
+    public RelatorioImportacaoDTO importarArquivo(Path arquivo, String formato, boolean historico) throws IOException {
+        LeitorPartidas.Formato tipo = LeitorPartidas.Formato.de(formato);
+        Path checkpoint = arquivo.resolveSibling(arquivo.getFileName() + ".checkpoint");
+        long pular = lerCheckpoint(checkpoint);
+        RelatorioImportacaoDTO relatorio;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+             LeitorPartidas leitor = new LeitorPartidas(
+                     new BufferedReader(Channels.newReader(canal, StandardCharsets.UTF_8), TAMANHO_BUFFER),
+                     tipo, leitorJson)) {
+            relatorio = importar(leitor, historico, pular, processadas -> gravarCheckpoint(checkpoint, processadas));
+        }
+        Files.deleteIfExists(checkpoint);
+        return relatorio;
+    }
+
+    //@param aoConfirmarTrecho recebe o total de partidas processadas depois de cada commit
+    private RelatorioImportacaoDTO importar(LeitorPartidas leitor, boolean historico, long pular,
+                                            LongConsumer aoConfirmarTrecho) throws IOException {
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        long processadas = leitor.pular(pular);
+        ImportacaoPartidasService.Cadastros cadastros = importacaoPartidasService.carregarCadastros();
+
+        List<PartidaDTO> trecho = new ArrayList<>(tamanhoTrecho);
+        while (true) {
+            PartidaDTO partida;
+            try {
+                partida = leitor.proxima();
+                if (partida == null) {
+                    break;
+                }
+            } catch (RegraDeInvalidosExcecao400 e) {
+                // Linha que não deu para ler: fica null no trecho para as posições continuarem certas
+                adicionarErro(relatorio, new ErroImportacaoDTO(processadas + trecho.size(),
+                        HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+                partida = null;
+            }
+            trecho.add(partida);
+            if (trecho.size() == tamanhoTrecho) {
+                processadas = confirmarTrecho(trecho, processadas, cadastros, historico, relatorio);
+                aoConfirmarTrecho.accept(processadas);
+            }
+        }
+        if (!trecho.isEmpty()) {
+            processadas = confirmarTrecho(trecho, processadas, cadastros, historico, relatorio);
+            aoConfirmarTrecho.accept(processadas);
+        }
+        relatorio.setProcessadas(processadas);
+        relatorio.getErros().sort(Comparator.comparingLong(ErroImportacaoDTO::getIndice));
+        return relatorio;
+    }
+
+    // Grava um trecho (commit próprio) e soma o resultado no relatório geral; devolve o novo total processado
+    private long confirmarTrecho(List<PartidaDTO> trecho, long processadas,
+                                 ImportacaoPartidasService.Cadastros cadastros, boolean historico,
+                                 RelatorioImportacaoDTO relatorio) {
+        RelatorioImportacaoDTO parcial = importacaoPartidasService.importarTrecho(trecho, processadas, cadastros,
+                historico);
+        relatorio.setRecebidas(relatorio.getRecebidas() + trecho.size());
+        relatorio.setImportadas(relatorio.getImportadas() + parcial.getImportadas());
+        for (ErroImportacaoDTO erro : parcial.getErros()) {
+            adicionarErro(relatorio, erro);
+        }
+        long total = processadas + trecho.size();
+        trecho.clear();
+        return total;
+    }
+
+    // Conta toda recusa, mas só guarda as primeiras na lista (a resposta não cresce com o arquivo)
+    private static void adicionarErro(RelatorioImportacaoDTO relatorio, ErroImportacaoDTO erro) {
+        relatorio.setRecusadas(relatorio.getRecusadas() + 1);
+        if (relatorio.getErros().size() < LIMITE_ERROS_RELATADOS) {
+            relatorio.getErros().add(erro);
+        }
+    }
+
+    private static long lerCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpoint).trim());
+    }
+
+    // Escreve num arquivo temporário e troca, para uma queda no meio não deixar o checkpoint pela metade
+    private static void gravarCheckpoint(Path checkpoint, long processadas) {
+        Path temporario = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            Files.writeString(temporario, Long.toString(processadas));
+            Files.move(temporario, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível gravar o checkpoint " + checkpoint, e);
+        }
+    }
+}
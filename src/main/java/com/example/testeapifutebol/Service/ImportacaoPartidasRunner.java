@@ -0,0 +1,65 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ErroImportacaoDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+//Importação de partidas pela linha de comando, sem passar pelo HTTP
+//Exemplo (sobe sem o servidor web e termina quando o arquivo acaba):
+//  java -jar app.jar --spring.main.web-application-type=none --importar-partidas=partidas.csv --historico
+//- O SERVIDOR TEM QUE ESTAR PARADO: as estruturas em memória dele (agenda de conflitos de horário, ranking,
+//  confrontos, autocomplete, busca) não veem o que este processo grava. Com o servidor rodando, use o
+//  POST /partidas/importacao. Se a pasta do índice da busca (busca.indice.pasta) estiver travada por um servidor
+//  rodando na mesma máquina, a importação nem começa
+//- Ao subir de novo, o servidor carrega tudo do banco (e o índice da busca indexa as partidas novas)
+//- --formato=csv|ndjson (sem ele, vale a extensão do arquivo)
+//- Se parar no meio, rodar o mesmo comando continua do '<arquivo>.checkpoint'
+@Component
+public class ImportacaoPartidasRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoPartidasRunner.class);
+
+    private final ImportacaoArquivoPartidasService importacaoArquivoPartidasService;
+
+    public ImportacaoPartidasRunner(ImportacaoArquivoPartidasService importacaoArquivoPartidasService) {
+        this.importacaoArquivoPartidasService = importacaoArquivoPartidasService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> arquivos = args.getOptionValues("importar-partidas");
+        if (arquivos == null || arquivos.isEmpty()) {
+            return;
+        }
+        boolean historico = args.containsOption("historico");
+        for (String nome : arquivos) {
+            Path arquivo = Path.of(nome);
+            String formato = formato(args, arquivo);
+            log.info("Importando partidas de {} (formato {}, histórico {})", arquivo, formato, historico);
+            RelatorioImportacaoDTO relatorio = importacaoArquivoPartidasService.importarArquivo(arquivo, formato, historico);
+            log.info("{}: {} processadas, {} importadas, {} recusadas", arquivo, relatorio.getProcessadas(),
+                    relatorio.getImportadas(), relatorio.getRecusadas());
+            for (ErroImportacaoDTO erro : relatorio.getErros()) {
+                log.warn("{}: partida {} recusada ({}): {}", arquivo, erro.getIndice(), erro.getStatus(), erro.getMensagem());
+            }
+        }
+    }
+
+    // --formato tem preferência; senão, a extensão do arquivo (.csv, .ndjson, .jsonl)
+    private static String formato(ApplicationArguments args, Path arquivo) {
+        List<String> formato = args.getOptionValues("formato");
+        if (formato != null && !formato.isEmpty()) {
+            return formato.get(0);
+        }
+        String nome = arquivo.getFileName().toString();
+        int ponto = nome.lastIndexOf('.');
+        return ponto < 0 ? null : nome.substring(ponto + 1);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ErroImportacaoDTO;
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+//Service - Importação de muitas partidas de uma vez (POST /partidas/lote)
+//- Mesmas regras e mensagens do POST /partidas, mas os clubes e os estádios do lote são buscados numa consulta cada
+//- O conflito de horários confere a AgendaPartidas e também as partidas aceitas antes no próprio lote
+//- As partidas válidas são gravadas juntas (INSERTs em lote, ids da tabela de sequência) e as recusadas voltam no relatório
+//- A importação de arquivo (ImportacaoArquivoPartidasService) usa o importarTrecho, com os cadastros buscados uma vez só
+@Service
+public class ImportacaoPartidasService {
+
+    static final int LIMITE_LOTE = 5000;
+
+    private final PartidaRepository partidaRepository;
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final ClassificacaoService classificacaoService;
+    private final CalendarioPartidasService calendarioPartidasService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AgendaPartidas agendaPartidas;
+    private final TravasDeAgenda travasDeAgenda;
+
+    public ImportacaoPartidasService(PartidaRepository partidaRepository, ClubeRepository clubeRepository,
+                                     EstadioRepository estadioRepository, ClassificacaoService classificacaoService,
+                                     ApplicationEventPublisher eventPublisher, AgendaPartidas agendaPartidas,
+                                     TravasDeAgenda travasDeAgenda, CalendarioPartidasService calendarioPartidasService) {
+        this.partidaRepository = partidaRepository;
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.classificacaoService = classificacaoService;
+        this.eventPublisher = eventPublisher;
+        this.agendaPartidas = agendaPartidas;
+        this.travasDeAgenda = travasDeAgenda;
+        this.calendarioPartidasService = calendarioPartidasService;
+    }
+
+    //Clubes e estádios conhecidos, buscados uma vez e usados na validação de todas as partidas de uma importação
+    public static final class Cadastros {
+        private final Map<Long, ClubeEntity> clubes = new HashMap<>();
+        // Id de cada estádio pelo nome na chaveEstadio (sem diferenciar maiúsculas, como o findByNome no MySQL)
+        private final Map<String, Long> estadios = new HashMap<>();
+
+        private Cadastros(Iterable<ClubeEntity> clubes, Iterable<EstadioEntity> estadios) {
+            for (ClubeEntity clube : clubes) {
+                this.clubes.put(clube.getId(), clube);
+            }
+            for (EstadioEntity estadio : estadios) {
+                this.estadios.put(chaveEstadio(estadio.getNome()), estadio.getId());
+            }
+        }
+    }
+
+    //Valida e grava um lote de partidas; as inválidas não impedem as outras de serem gravadas
+    //@throws RegraDeInvalidosExcecao400 se a lista estiver vazia ou passar do limite
+    @Transactional
+    public RelatorioImportacaoDTO importarLote(List<PartidaDTO> partidas) {
+        if (partidas == null || partidas.isEmpty()) {
+            throw new RegraDeInvalidosExcecao400("A lista de partidas está vazia");
+        }
+        if (partidas.size() > LIMITE_LOTE) {
+            throw new RegraDeInvalidosExcecao400("O lote aceita no máximo " + LIMITE_LOTE + " partidas");
+        }
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        relatorio.setRecebidas(partidas.size());
+
+        // Campos de cada partida (sem banco), juntando os clubes e estádios que precisam ser buscados
+        List<Integer> preenchidas = validarCampos(partidas, 0, false, relatorio);
+        Set<Long> clubeIds = new HashSet<>();
+        Set<String> nomesEstadios = new HashSet<>();
+        for (int i : preenchidas) {
+            clubeIds.add(partidas.get(i).getClubeCasaId());
+            clubeIds.add(partidas.get(i).getClubeVisitanteId());
+            nomesEstadios.add(partidas.get(i).getEstadio());
+        }
+
+        // Uma consulta para todos os clubes e outra para todos os estádios do lote
+        if (!preenchidas.isEmpty()) {
+            Cadastros cadastros = new Cadastros(clubeRepository.findAllById(clubeIds),
+                    estadioRepository.findByNomeIn(nomesEstadios));
+            gravarValidas(partidas, preenchidas, 0, cadastros, false, relatorio);
+        }
+        relatorio.getErros().sort(Comparator.comparingLong(ErroImportacaoDTO::getIndice));
+        relatorio.setRecusadas(relatorio.getErros().size());
+        return relatorio;
+    }
+
+    //Busca todos os clubes e estádios de uma vez (importação de arquivo, que valida muitos trechos seguidos)
+    public Cadastros carregarCadastros() {
+        return new Cadastros(clubeRepository.findAll(), estadioRepository.findAll());
+    }
+
+    //Valida e grava um trecho de uma importação maior, cada trecho na sua transação
+    //@param partidas posições null são linhas que o leitor não conseguiu ler (o erro já foi relatado por quem chamou)
+    //@param primeiroIndice posição da primeira partida do trecho na importação inteira (vai para os erros)
+    //@param historico true para resultados antigos: não exige data futura
+    @Transactional
+    public RelatorioImportacaoDTO importarTrecho(List<PartidaDTO> partidas, long primeiroIndice, Cadastros cadastros,
+                                                boolean historico) {
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        relatorio.setRecebidas(partidas.size());
+        List<Integer> preenchidas = validarCampos(partidas, primeiroIndice, true, relatorio);
+        if (!preenchidas.isEmpty()) {
+            gravarValidas(partidas, preenchidas, primeiroIndice, cadastros, historico, relatorio);
+        }
+        relatorio.getErros().sort(Comparator.comparingLong(ErroImportacaoDTO::getIndice));
+        relatorio.setRecusadas(relatorio.getErros().size());
+        return relatorio;
+    }
+
+    // 1. Campos de cada partida (sem banco); devolve as posições que passaram
+    private List<Integer> validarCampos(List<PartidaDTO> partidas, long primeiroIndice, boolean ignorarNulas,
+                                        RelatorioImportacaoDTO relatorio) {
+        List<Integer> preenchidas = new ArrayList<>();
+        for (int i = 0; i < partidas.size(); i++) {
+            PartidaDTO partida = partidas.get(i);
+            if (partida == null && ignorarNulas) {
+                continue;
+            }
+            try {
+                if (partida == null) {
+                    throw new RegraDeInvalidosExcecao400("A partida é obrigatória");
+                }
+                RegrasPartida.validarDadosBasicos(partida);
+                preenchidas.add(i);
+            } catch (RegraDeInvalidosExcecao400 | RegraDeExcecao409 e) {
+                registrarErro(relatorio, primeiroIndice + i, e);
+            }
+        }
+        return preenchidas;
+    }
+
+    // 2 a 4. Regras com clubes/estádio, conflito de horários e gravação das que passaram
+    private void gravarValidas(List<PartidaDTO> partidas, List<Integer> preenchidas, long primeiroIndice,
+                               Cadastros cadastros, boolean historico, RelatorioImportacaoDTO relatorio) {
+        // 2. Regras que dependem dos clubes e do estádio
+        List<Integer> validas = new ArrayList<>();
+        Set<Long> clubesValidas = new LinkedHashSet<>();
+        Set<Long> estadiosValidas = new LinkedHashSet<>();
+        for (int i : preenchidas) {
+            PartidaDTO partida = partidas.get(i);
+            try {
+                RegrasPartida.validarComClubes(partida, cadastros.clubes.get(partida.getClubeCasaId()),
+                        cadastros.clubes.get(partida.getClubeVisitanteId()),
+                        cadastros.estadios.containsKey(chaveEstadio(partida.getEstadio())), historico);
+                validas.add(i);
+                clubesValidas.add(partida.getClubeCasaId());
+                clubesValidas.add(partida.getClubeVisitanteId());
+                estadiosValidas.add(cadastros.estadios.get(chaveEstadio(partida.getEstadio())));
+            } catch (RegraDeInvalidosExcecao400 | RegraDeExcecao409 e) {
+                registrarErro(relatorio, primeiroIndice + i, e);
+            }
+        }
+
+        // 3. Conflito de horários: trava a agenda de todos os clubes/estádios de uma vez e confere
+        //    a agenda gravada mais as partidas já aceitas nesta chamada (na ordem em que vieram)
+        List<PartidaEntity> novas = new ArrayList<>(validas.size());
+        if (!validas.isEmpty()) {
+            travasDeAgenda.travarAteOFimDaTransacao(clubesValidas, estadiosValidas);
+        }
+        Map<Long, NavigableSet<LocalDateTime>> horariosClubes = new HashMap<>();
+        Map<Long, Set<LocalDateTime>> horariosEstadios = new HashMap<>();
+        for (int i : validas) {
+            PartidaDTO partida = partidas.get(i);
+            Long estadioId = cadastros.estadios.get(chaveEstadio(partida.getEstadio()));
+            try {
+                validarConflitoDeHorarios(partida, estadioId, horariosClubes, horariosEstadios);
+            } catch (RegraDeExcecao409 e) {
+                registrarErro(relatorio, primeiroIndice + i, e);
+                continue;
+            }
+            horariosClubes.computeIfAbsent(partida.getClubeCasaId(), id -> new TreeSet<>()).add(partida.getDataHora());
+            horariosClubes.computeIfAbsent(partida.getClubeVisitanteId(), id -> new TreeSet<>()).add(partida.getDataHora());
+            horariosEstadios.computeIfAbsent(estadioId, id -> new HashSet<>()).add(partida.getDataHora());
+            novas.add(new PartidaEntity(partida.getClubeCasaId(), partida.getClubeVisitanteId(),
+                    partida.getResultadoCasa(), partida.getResultadoVisitante(), estadioId, partida.getDataHora()));
+        }
+
+        // 4. Grava tudo junto, soma a classificação uma vez por clube e o calendário uma vez por dia
+        //    e avisa os índices em memória
+        if (!novas.isEmpty()) {
+            partidaRepository.saveAll(novas);
+            classificacaoService.aplicarNovasPartidas(novas);
+            calendarioPartidasService.aplicarNovasPartidas(novas);
+            for (PartidaEntity nova : novas) {
+                eventPublisher.publishEvent(new PartidaAlteradaEvento(null, nova));
+            }
+        }
+        relatorio.setImportadas(novas.size());
+    }
+
+    //Mesmas regras do PartidaService.validarConflitoDeHorarios, somando as partidas já aceitas no lote
+    private void validarConflitoDeHorarios(PartidaDTO partida, Long estadioId,
+                                           Map<Long, NavigableSet<LocalDateTime>> horariosClubes,
+                                           Map<Long, Set<LocalDateTime>> horariosEstadios) {
+        Set<LocalDateTime> horariosEstadio = horariosEstadios.get(estadioId);
+        if (agendaPartidas.estadioOcupado(estadioId, partida.getDataHora(), null)
+                || (horariosEstadio != null && horariosEstadio.contains(partida.getDataHora()))) {
+            throw new RegraDeExcecao409(RegrasPartida.ESTADIO_OCUPADO);
+        }
+        if (clubeTemPartidaProxima(partida.getClubeCasaId(), partida.getDataHora(), horariosClubes)) {
+            throw new RegraDeExcecao409(RegrasPartida.CLUBE_CASA_COM_PARTIDA_PROXIMA);
+        }
+        if (clubeTemPartidaProxima(partida.getClubeVisitanteId(), partida.getDataHora(), horariosClubes)) {
+            throw new RegraDeExcecao409(RegrasPartida.CLUBE_VISITANTE_COM_PARTIDA_PROXIMA);
+        }
+    }
+
+    private boolean clubeTemPartidaProxima(Long clubeId, LocalDateTime dataHora,
+                                           Map<Long, NavigableSet<LocalDateTime>> horariosClubes) {
+        if (agendaPartidas.clubeTemPartidaProxima(clubeId, dataHora, RegrasPartida.INTERVALO_MINIMO_HORAS, null)) {
+            return true;
+        }
+        NavigableSet<LocalDateTime> horarios = horariosClubes.get(clubeId);
+        return horarios != null && !horarios.subSet(dataHora.minusHours(RegrasPartida.INTERVALO_MINIMO_HORAS), true,
+                dataHora.plusHours(RegrasPartida.INTERVALO_MINIMO_HORAS), true).isEmpty();
+    }
+
+    private static void registrarErro(RelatorioImportacaoDTO relatorio, long indice, RuntimeException erro) {
+        HttpStatus status = erro instanceof RegraDeExcecao409 ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        relatorio.getErros().add(new ErroImportacaoDTO(indice, status.value(), erro.getMessage()));
+    }
+
+    // O MySQL compara o nome do estádio sem diferenciar maiúsculas, então a chave também não diferencia
+    static String chaveEstadio(String estadio) {
+        return estadio.trim().toUpperCase(Locale.ROOT);
+    }
+}
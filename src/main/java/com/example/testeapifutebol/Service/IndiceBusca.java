@@ -0,0 +1,550 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ResultadoBuscaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.Lock;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+//Busca textual (GET /busca) em clubes (nome e estado), estádios (nome) e partidas (clubes, estádio, data e placar)
+//- Índice Lucene gravado em disco (busca.indice.pasta); se a pasta não tiver índice, é montado a partir do banco
+//- As gravações escutam os eventos de clube, estádio e partida depois do commit e só entram numa fila:
+//  uma thread separada atualiza o índice, então quem grava no banco nunca espera pelo Lucene
+//- O que entra no índice aparece na busca em até 1 segundo, mesmo com a fila sempre cheia (importação grande)
+//- A gravação em disco (commit) acontece quando a fila esvazia, a cada 10 mil alterações ou a cada 30 segundos.
+//  Cada commit guarda a maior partida já indexada e se o servidor foi encerrado direito; ao subir:
+//  - encerrado no meio (queda): o que não foi gravado se perdeu, o índice é montado de novo
+//  - partidas novas no banco (gravadas com o servidor parado, --importar-partidas): entram no índice
+//  - total de partidas ainda diferente do banco: o índice é montado de novo
+//- Só uma instância grava na pasta (o Lucene trava a pasta com o write.lock): uma segunda instância precisa da
+//  sua própria busca.indice.pasta. A importação pela linha de comando (--importar-partidas) não abre o índice
+//  e não roda se a pasta estiver travada (servidor rodando)
+//- Cada palavra da busca vale pelo termo exato, pelo começo da palavra e, a partir de 4 letras, com até 1 ou 2
+//  letras erradas ("flamngo"); números (ano, placar "2x1") só exatos. As notas das palavras somam:
+//  quem bate mais palavras vem primeiro
+@Component
+public class IndiceBusca {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusca.class);
+
+    public static final int LIMITE_MAXIMO = 50;
+    static final int PALAVRAS_MAXIMO = 10;
+
+    static final String CLUBE = "clube";
+    static final String ESTADIO = "estadio";
+    static final String PARTIDA = "partida";
+    private static final Set<String> TIPOS = Set.of(CLUBE, ESTADIO, PARTIDA);
+
+    // Campos do documento: chave (tipo:id) para trocar/apagar, tipo e id devolvidos na resposta,
+    // descrição guardada para mostrar e o texto (não guardado) onde a busca procura
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_TIPO = "tipo";
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_DESCRICAO = "descricao";
+    private static final String CAMPO_TEXTO = "texto";
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // Limites para gravar em disco mesmo sem a fila esvaziar
+    static final int COMMIT_A_CADA_ALTERACOES = 10_000;
+    private static final long COMMIT_A_CADA_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // Novas buscas enxergam as alterações em no máximo 1 segundo (0,1 s quando alguém espera por elas)
+    private static final double ATUALIZAR_BUSCA_MAXIMO_SEGUNDOS = 1.0;
+    private static final double ATUALIZAR_BUSCA_MINIMO_SEGUNDOS = 0.1;
+
+    // Dados guardados em cada commit do índice
+    static final String MARCA_ULTIMA_PARTIDA = "ultimaPartida";
+    static final String MARCA_ENCERRADO = "encerrado";
+
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final PartidaRepository partidaRepository;
+    private final Path pasta;
+    // Transação só de leitura para percorrer as partidas aos poucos (Stream) na thread da fila
+    private final TransactionTemplate leitura;
+    // Rodando só para importar pela linha de comando (--importar-partidas): sem busca, o índice nem é aberto
+    private final boolean linhaDeComando;
+
+    // Palavras sem acento e minúsculas ("São Januário" -> "sao", "januario"), igual no índice e na busca
+    private final Analyzer analisador = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            Tokenizer palavras = new StandardTokenizer();
+            TokenStream filtro = new ASCIIFoldingFilter(new LowerCaseFilter(palavras));
+            return new TokenStreamComponents(palavras, filtro);
+        }
+    };
+
+    // Uma thread só grava no índice, na ordem em que os eventos chegaram
+    private final ExecutorService fila = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "indice-busca");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    // Nomes usados na descrição das partidas; só a thread da fila mexe neles
+    private final Map<Long, ClubeEntity> clubes = new HashMap<>();
+    private final Map<Long, String> estadios = new HashMap<>();
+    // Maior id de partida já indexado e alterações desde o último commit; também só da thread da fila
+    private long ultimaPartida;
+    private int alteracoes;
+    private long ultimoCommit = System.nanoTime();
+
+    private Directory diretorio;
+    private IndexWriter escritor;
+    private SearcherManager buscadores;
+    private ControlledRealTimeReopenThread<IndexSearcher> atualizador;
+
+    public IndiceBusca(ClubeRepository clubeRepository, EstadioRepository estadioRepository,
+                       PartidaRepository partidaRepository, PlatformTransactionManager transacoes,
+                       @Value("${busca.indice.pasta:dados/indice-busca}") Path pasta,
+                       @Value("#{environment.containsProperty('importar-partidas')}") boolean linhaDeComando) {
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.partidaRepository = partidaRepository;
+        this.leitura = new TransactionTemplate(transacoes);
+        this.leitura.setReadOnly(true);
+        this.pasta = pasta;
+        this.linhaDeComando = linhaDeComando;
+    }
+
+    //Abre o índice da pasta; a carga dos nomes e a conferência com o banco ficam na fila
+    @PostConstruct
+    public void abrir() {
+        if (linhaDeComando) {
+            conferirServidorParado();
+            return;
+        }
+        Map<String, String> marca;
+        try {
+            diretorio = FSDirectory.open(pasta);
+            marca = DirectoryReader.indexExists(diretorio)
+                    ? SegmentInfos.readLatestCommit(diretorio).getUserData() : null;
+            escritor = new IndexWriter(diretorio, new IndexWriterConfig(analisador));
+            buscadores = new SearcherManager(escritor, null);
+        } catch (LockObtainFailedException e) {
+            throw new IllegalStateException("O índice da busca em " + pasta.toAbsolutePath()
+                    + " já está aberto por outra instância; use outra pasta em busca.indice.pasta", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o índice da busca em " + pasta.toAbsolutePath(), e);
+        }
+        atualizador = new ControlledRealTimeReopenThread<>(escritor, buscadores,
+                ATUALIZAR_BUSCA_MAXIMO_SEGUNDOS, ATUALIZAR_BUSCA_MINIMO_SEGUNDOS);
+        atualizador.setName("indice-busca-leitura");
+        atualizador.setDaemon(true);
+        atualizador.start();
+        agendar(this::carregarNomes);
+        agendar(() -> conferir(marca));
+    }
+
+    // A importação pela linha de comando exige o servidor parado; o servidor rodando segura o write.lock da pasta
+    private void conferirServidorParado() {
+        try (Directory pastaDoServidor = FSDirectory.open(pasta);
+             Lock trava = pastaDoServidor.obtainLock(IndexWriter.WRITE_LOCK_NAME)) {
+            trava.ensureValid();
+        } catch (LockObtainFailedException e) {
+            throw new IllegalStateException("O servidor está rodando (índice da busca aberto em " + pasta.toAbsolutePath()
+                    + "); pare o servidor antes de importar partidas pela linha de comando", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível conferir o índice da busca em " + pasta.toAbsolutePath(), e);
+        }
+    }
+
+    //Termina o que está na fila, grava e fecha o índice
+    @PreDestroy
+    public void fechar() throws InterruptedException {
+        if (escritor == null) {
+            return;
+        }
+        fila.shutdown();
+        boolean terminou = fila.awaitTermination(30, TimeUnit.SECONDS);
+        try {
+            atualizador.close();
+            buscadores.close();
+            // Só marca como encerrado se tudo o que estava na fila entrou no índice
+            escritor.setLiveCommitData(marca(terminou).entrySet());
+            escritor.close();
+            diretorio.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar o índice da busca", e);
+        }
+    }
+
+    //Escuta as alterações de clube depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarClube(ClubeAlteradoEvento evento) {
+        agendar(() -> indexarClube(evento.getId(), evento.getNome(), evento.getEstado()));
+    }
+
+    //Escuta as alterações de estádio depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEstadio(EstadioAlteradoEvento evento) {
+        agendar(() -> indexarEstadio(evento.getId(), evento.getNome()));
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        agendar(() -> {
+            if (evento.getAtual() != null) {
+                ultimaPartida = Math.max(ultimaPartida, evento.getAtual().getId());
+                escritor.updateDocument(chave(PARTIDA, evento.getAtual().getId()), documentoPartida(evento.getAtual()));
+            } else {
+                escritor.deleteDocuments(chave(PARTIDA, evento.getAnterior().getId()));
+            }
+        });
+    }
+
+    //Até 'limite' resultados para as palavras de 'termo', os mais relevantes primeiro
+    //@param tipo só clube, estadio ou partida (null = todos)
+    //@return lista vazia se o termo estiver em branco
+    //@throws RegraDeInvalidosExcecao400 se o limite, o tipo ou o número de palavras não forem aceitos
+    public List<ResultadoBuscaDTO> buscar(String termo, String tipo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new RegraDeInvalidosExcecao400("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (tipo != null && !TIPOS.contains(tipo)) {
+            throw new RegraDeInvalidosExcecao400("Tipo inválido. Use: clube, estadio ou partida");
+        }
+        List<String> palavras = termo != null ? palavras(termo) : List.of();
+        if (palavras.isEmpty() || buscadores == null) {
+            return List.of();
+        }
+        if (palavras.size() > PALAVRAS_MAXIMO) {
+            throw new RegraDeInvalidosExcecao400("A busca aceita no máximo " + PALAVRAS_MAXIMO + " palavras");
+        }
+        // Basta uma das palavras; com o filtro de tipo junto, as palavras vão num grupo obrigatório
+        // (senão o filtro sozinho já traria todos os documentos do tipo)
+        BooleanQuery.Builder qualquerPalavra = new BooleanQuery.Builder();
+        for (String palavra : palavras) {
+            qualquerPalavra.add(consultaDaPalavra(palavra), BooleanClause.Occur.SHOULD);
+        }
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        consulta.add(qualquerPalavra.build(), BooleanClause.Occur.MUST);
+        if (tipo != null) {
+            consulta.add(new TermQuery(new Term(CAMPO_TIPO, tipo)), BooleanClause.Occur.FILTER);
+        }
+        try {
+            IndexSearcher buscador = buscadores.acquire();
+            try {
+                ScoreDoc[] encontrados = buscador.search(consulta.build(), limite).scoreDocs;
+                StoredFields campos = buscador.storedFields();
+                List<ResultadoBuscaDTO> resultados = new ArrayList<>(encontrados.length);
+                for (ScoreDoc encontrado : encontrados) {
+                    Document documento = campos.document(encontrado.doc);
+                    resultados.add(new ResultadoBuscaDTO(documento.get(CAMPO_TIPO),
+                            documento.getField(CAMPO_ID).numericValue().longValue(),
+                            documento.get(CAMPO_DESCRICAO), encontrado.score));
+                }
+                return resultados;
+            } finally {
+                buscadores.release(buscador);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Espera a fila terminar o que já foi agendado (usado pelos testes)
+    void aguardar() throws Exception {
+        fila.submit(() -> { }).get();
+    }
+
+    private interface Tarefa {
+        void executar() throws IOException;
+    }
+
+    // Põe a tarefa na fila; grava em disco quando a fila esvazia (e libera as mudanças para a busca na hora)
+    // ou quando passa do limite de alterações ou de tempo desde o último commit
+    private void agendar(Tarefa tarefa) {
+        if (escritor == null) {
+            return; // linha de comando: o índice não está aberto
+        }
+        pendentes.incrementAndGet();
+        fila.execute(() -> {
+            try {
+                tarefa.executar();
+            } catch (Exception e) {
+                log.error("Falha ao atualizar o índice da busca", e);
+            } finally {
+                alteracoes++;
+                if (pendentes.decrementAndGet() == 0) {
+                    gravar();
+                    publicar();
+                } else if (alteracoes >= COMMIT_A_CADA_ALTERACOES || System.nanoTime() - ultimoCommit >= COMMIT_A_CADA_NANOS) {
+                    gravar();
+                }
+            }
+        });
+    }
+
+    private void gravar() {
+        try {
+            escritor.setLiveCommitData(marca(false).entrySet());
+            escritor.commit();
+        } catch (IOException e) {
+            log.error("Falha ao gravar o índice da busca", e);
+        }
+        alteracoes = 0;
+        ultimoCommit = System.nanoTime();
+    }
+
+    private void publicar() {
+        try {
+            buscadores.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Falha ao atualizar a busca", e);
+        }
+    }
+
+    private Map<String, String> marca(boolean encerrado) {
+        return Map.of(MARCA_ULTIMA_PARTIDA, Long.toString(ultimaPartida), MARCA_ENCERRADO, Boolean.toString(encerrado));
+    }
+
+    // Confere o índice da pasta com o banco ao subir (marca = dados do último commit, null se não havia índice)
+    private void conferir(Map<String, String> marca) throws IOException {
+        if (marca == null) {
+            reconstruir();
+            return;
+        }
+        if (!Boolean.parseBoolean(marca.get(MARCA_ENCERRADO))) {
+            log.warn("O índice da busca não foi fechado direito da última vez; alterações podem ter se perdido");
+            reconstruir();
+            return;
+        }
+        ultimaPartida = Long.parseLong(marca.getOrDefault(MARCA_ULTIMA_PARTIDA, "0"));
+        // Partidas gravadas com o servidor parado (--importar-partidas) têm id maior que a última indexada
+        indexarPartidasDepoisDe(ultimaPartida);
+        buscadores.maybeRefreshBlocking();
+        IndexSearcher buscador = buscadores.acquire();
+        try {
+            long noIndice = buscador.count(new TermQuery(new Term(CAMPO_TIPO, PARTIDA)));
+            long noBanco = partidaRepository.count();
+            if (noIndice != noBanco) {
+                log.warn("O índice da busca tem {} partidas e o banco {}", noIndice, noBanco);
+                reconstruir();
+            }
+        } finally {
+            buscadores.release(buscador);
+        }
+    }
+
+    private void carregarNomes() {
+        clubes.clear();
+        for (ClubeEntity clube : clubeRepository.findAll()) {
+            clubes.put(clube.getId(), clube);
+        }
+        estadios.clear();
+        for (EstadioEntity estadio : estadioRepository.findAll()) {
+            estadios.put(estadio.getId(), estadio.getNome());
+        }
+    }
+
+    // Monta o índice inteiro a partir do banco
+    private void reconstruir() throws IOException {
+        log.info("Montando o índice da busca a partir do banco em {}", pasta.toAbsolutePath());
+        escritor.deleteAll();
+        ultimaPartida = 0;
+        for (ClubeEntity clube : clubes.values()) {
+            escritor.addDocument(documentoClube(clube.getId(), clube.getNome(), clube.getEstado()));
+        }
+        for (Map.Entry<Long, String> estadio : estadios.entrySet()) {
+            escritor.addDocument(documentoEstadio(estadio.getKey(), estadio.getValue()));
+        }
+        indexarPartidasDepoisDe(0L);
+    }
+
+    // Partidas com id maior que 'depoisDe', lidas do banco aos poucos (a tabela inteira nunca fica na memória)
+    private void indexarPartidasDepoisDe(Long depoisDe) {
+        leitura.executeWithoutResult(transacao -> {
+            try (Stream<Object[]> linhas = partidaRepository.findDadosBusca(depoisDe)) {
+                linhas.forEach(linha -> {
+                    ultimaPartida = Math.max(ultimaPartida, (Long) linha[0]);
+                    try {
+                        escritor.addDocument(documentoPartida((Long) linha[0], (Long) linha[1], (Long) linha[2],
+                                (Integer) linha[3], (Integer) linha[4], (Long) linha[5], (LocalDateTime) linha[6]));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+    }
+
+    // Clube novo ou alterado; se o nome ou o estado mudou, refaz também as partidas dele
+    private void indexarClube(Long id, String nome, String estado) throws IOException {
+        ClubeEntity anterior = clubes.get(id);
+        ClubeEntity clube = new ClubeEntity();
+        clube.setId(id);
+        clube.setNome(nome);
+        clube.setEstado(estado);
+        clubes.put(id, clube);
+        escritor.updateDocument(chave(CLUBE, id), documentoClube(id, nome, estado));
+        if (anterior != null && (!Objects.equals(anterior.getNome(), nome) || !Objects.equals(anterior.getEstado(), estado))) {
+            for (PartidaEntity partida : partidaRepository.findByClubeMandanteIdOrClubeVisitanteId(id)) {
+                escritor.updateDocument(chave(PARTIDA, partida.getId()), documentoPartida(partida));
+            }
+        }
+    }
+
+    // Estádio novo, renomeado (refaz as partidas dele) ou apagado (nome null; só sem partidas)
+    private void indexarEstadio(Long id, String nome) throws IOException {
+        if (nome == null) {
+            estadios.remove(id);
+            escritor.deleteDocuments(chave(ESTADIO, id));
+            return;
+        }
+        String anterior = estadios.put(id, nome);
+        escritor.updateDocument(chave(ESTADIO, id), documentoEstadio(id, nome));
+        if (anterior != null && !anterior.equals(nome)) {
+            for (PartidaEntity partida : partidaRepository.findByEstadioId(id)) {
+                escritor.updateDocument(chave(PARTIDA, partida.getId()), documentoPartida(partida));
+            }
+        }
+    }
+
+    private static Document documentoClube(Long id, String nome, String estado) {
+        return documento(CLUBE, id, nome + " (" + estado + ")", nome + " " + estado);
+    }
+
+    private static Document documentoEstadio(Long id, String nome) {
+        return documento(ESTADIO, id, nome, nome);
+    }
+
+    private Document documentoPartida(PartidaEntity partida) {
+        return documentoPartida(partida.getId(), partida.getClubeCasaId(), partida.getClubeVisitanteId(),
+                partida.getResultadoCasa(), partida.getResultadoVisitante(), partida.getEstadioId(), partida.getDataHora());
+    }
+
+    // "Flamengo 2 x 1 Vasco, Maracanã, 2019-05-12"; no texto também os estados dos clubes, o ano e o placar "2x1"
+    private Document documentoPartida(Long id, Long casaId, Long visitanteId, Integer golsCasa, Integer golsVisitante,
+                                      Long estadioId, LocalDateTime dataHora) {
+        ClubeEntity casa = clubes.get(casaId);
+        ClubeEntity visitante = clubes.get(visitanteId);
+        String nomeCasa = casa != null ? casa.getNome() : "Clube " + casaId;
+        String nomeVisitante = visitante != null ? visitante.getNome() : "Clube " + visitanteId;
+        String estadio = estadios.getOrDefault(estadioId, "");
+        String data = dataHora.format(DATA);
+        String descricao = nomeCasa + " " + golsCasa + " x " + golsVisitante + " " + nomeVisitante + ", " + estadio + ", " + data;
+        String texto = String.join(" ", nomeCasa, casa != null ? casa.getEstado() : "", nomeVisitante,
+                visitante != null ? visitante.getEstado() : "", estadio, data, golsCasa + "x" + golsVisitante);
+        return documento(PARTIDA, id, descricao, texto);
+    }
+
+    private static Document documento(String tipo, Long id, String descricao, String texto) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_CHAVE, tipo + ":" + id, Field.Store.NO));
+        documento.add(new StringField(CAMPO_TIPO, tipo, Field.Store.YES));
+        documento.add(new StoredField(CAMPO_ID, id));
+        documento.add(new StoredField(CAMPO_DESCRICAO, descricao));
+        documento.add(new TextField(CAMPO_TEXTO, texto, Field.Store.NO));
+        return documento;
+    }
+
+    private static Term chave(String tipo, Long id) {
+        return new Term(CAMPO_CHAVE, tipo + ":" + id);
+    }
+
+    // Palavras do termo passadas pelo mesmo analisador do índice
+    private List<String> palavras(String termo) {
+        List<String> palavras = new ArrayList<>();
+        try (TokenStream tokens = analisador.tokenStream(CAMPO_TEXTO, termo)) {
+            CharTermAttribute palavra = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                palavras.add(palavra.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return palavras;
+    }
+
+    // Nota fixa por palavra, a maior que ela conseguir: exata 3, começo da palavra 2, aproximada 1
+    // (sem o peso do tamanho do texto: a partida, com texto maior, não perde para o clube batendo mais palavras)
+    private static Query consultaDaPalavra(String palavra) {
+        Term termo = new Term(CAMPO_TEXTO, palavra);
+        List<Query> formas = new ArrayList<>();
+        formas.add(nota(new TermQuery(termo), 3f));
+        if (Character.isLetter(palavra.charAt(0))) { // ano, dia, placar só exatos: 2018 não é "quase" 2019
+            formas.add(nota(new PrefixQuery(termo), 2f));
+            if (palavra.length() >= 4) {
+                formas.add(nota(new FuzzyQuery(termo, palavra.length() >= 7 ? 2 : 1), 1f));
+            }
+        }
+        return new DisjunctionMaxQuery(formas, 0f);
+    }
+
+    private static Query nota(Query consulta, float nota) {
+        return new BoostQuery(new ConstantScoreQuery(consulta), nota);
+    }
+}
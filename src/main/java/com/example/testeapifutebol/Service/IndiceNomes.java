@@ -0,0 +1,110 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//Busca por parte do nome de clubes e estádios feita em memória (IndiceTrigramas), sem LIKE '%termo%' no banco
+//- A busca devolve só os ids; a página pedida é lida do banco por id (ver ClubeService/EstadioService)
+//- Com a ordem só por nome e id, os ids já saem ordenados e a página é cortada aqui (sem mandar a lista toda ao banco)
+//- Carrega (id, nome) do banco ao subir e segue o ClubeAlteradoEvento/EstadioAlteradoEvento depois do commit
+@Component
+public class IndiceNomes {
+
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+
+    private final IndiceTrigramas clubes = new IndiceTrigramas();
+    private final IndiceTrigramas estadios = new IndiceTrigramas();
+
+    public IndiceNomes(ClubeRepository clubeRepository, EstadioRepository estadioRepository) {
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+    }
+
+    //Carrega o nome de todos os clubes e estádios
+    @PostConstruct
+    public synchronized void carregar() {
+        clubes.limpar();
+        for (Object[] linha : clubeRepository.findIdsENomes()) {
+            clubes.colocar((Long) linha[0], (String) linha[1]);
+        }
+        estadios.limpar();
+        for (Object[] linha : estadioRepository.findIdsENomes()) {
+            estadios.colocar((Long) linha[0], (String) linha[1]);
+        }
+    }
+
+    //Escuta as alterações de clube depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarClube(ClubeAlteradoEvento evento) {
+        clubes.colocar(evento.getId(), evento.getNome());
+    }
+
+    //Escuta as alterações de estádio depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarEstadio(EstadioAlteradoEvento evento) {
+        if (evento.getNome() != null) {
+            estadios.colocar(evento.getId(), evento.getNome());
+        } else {
+            estadios.remover(evento.getId());
+        }
+    }
+
+    //Ids dos clubes cujo nome contém o termo (sem diferenciar acento e maiúsculas), em ordem crescente
+    public synchronized List<Long> buscarClubes(String termo) {
+        return clubes.buscar(termo);
+    }
+
+    //Ids dos estádios cujo nome contém o termo (sem diferenciar acento e maiúsculas), em ordem crescente
+    public synchronized List<Long> buscarEstadios(String termo) {
+        return estadios.buscar(termo);
+    }
+
+    //Mesma busca de clubes, com os ids na ordem pedida (só vale se ordenavelEmMemoria(ordem))
+    public synchronized List<Long> buscarClubes(String termo, Sort ordem) {
+        return buscarNaOrdem(clubes, termo, ordem);
+    }
+
+    //Mesma busca de estádios, com os ids na ordem pedida (só vale se ordenavelEmMemoria(ordem))
+    public synchronized List<Long> buscarEstadios(String termo, Sort ordem) {
+        return buscarNaOrdem(estadios, termo, ordem);
+    }
+
+    //O índice só sabe o nome e o id: outra ordem (estado, data de criação...) tem que ser feita pelo banco
+    public static boolean ordenavelEmMemoria(Sort ordem) {
+        return ordem.stream().allMatch(campo -> campo.getProperty().equals("nome") || campo.getProperty().equals("id"));
+    }
+
+    //Ids da página pedida, numa lista já ordenada (vazia depois da última página)
+    public static List<Long> pagina(List<Long> ids, Pageable pageable) {
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        return ids.subList(inicio, Math.min(inicio + pageable.getPageSize(), ids.size()));
+    }
+
+    private static List<Long> buscarNaOrdem(IndiceTrigramas indice, String termo, Sort ordem) {
+        List<Long> ids = new ArrayList<>(indice.buscar(termo));
+        ids.sort(comparador(indice, ordem));
+        return ids;
+    }
+
+    // Campos da ordem em sequência e, no empate, o id crescente
+    private static Comparator<Long> comparador(IndiceTrigramas indice, Sort ordem) {
+        Comparator<Long> comparador = (a, b) -> 0;
+        for (Sort.Order campo : ordem) {
+            Comparator<Long> doCampo = campo.getProperty().equals("nome") ? indice.porNome() : Comparator.naturalOrder();
+            comparador = comparador.thenComparing(campo.isDescending() ? doCampo.reversed() : doCampo);
+        }
+        return comparador.thenComparing(Comparator.naturalOrder());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.testeapifutebol.Service.DiferencaClassificacao.*;
+
+//Índice em memória para o ranking de um período (?de=...&ate=...)
+//- Guarda, por clube, as partidas em ordem de data com somas acumuladas (SomasAcumuladasClube)
+//- Os totais de um período saem de duas consultas de prefixo por clube, O(log n), sem varrer a tabela de partidas
+//- Segue as partidas inseridas, alteradas e removidas pelo PartidaAlteradaEvento, em qualquer ordem de data
+@Component
+public class IndiceTemporalRanking {
+
+    private final PartidaRepository partidaRepository;
+
+    private final Map<Long, SomasAcumuladasClube> porClube = new HashMap<>();
+
+    public IndiceTemporalRanking(PartidaRepository partidaRepository) {
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Carrega todas as partidas (já vêm em ordem de data, então cada uma entra no fim da árvore do clube)
+    @PostConstruct
+    public synchronized void carregar() {
+        porClube.clear();
+        for (Object[] linha : partidaRepository.findLinhaDoTempoPartidas()) {
+            somarPartida((Long) linha[0], (Long) linha[1], (Long) linha[2], (Integer) linha[3], (Integer) linha[4],
+                    (LocalDateTime) linha[5], 1);
+        }
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        PartidaEntity anterior = evento.getAnterior();
+        PartidaEntity atual = evento.getAtual();
+        if (anterior != null) {
+            somarPartida(anterior.getId(), anterior.getClubeCasaId(), anterior.getClubeVisitanteId(),
+                    anterior.getResultadoCasa(), anterior.getResultadoVisitante(), anterior.getDataHora(), -1);
+        }
+        if (atual != null) {
+            somarPartida(atual.getId(), atual.getClubeCasaId(), atual.getClubeVisitanteId(),
+                    atual.getResultadoCasa(), atual.getResultadoVisitante(), atual.getDataHora(), 1);
+        }
+    }
+
+    //Totais de cada clube nas partidas com data em [inicio, fim) (null = sem limite daquele lado)
+    //@return mapa clubeId -> int[] nas posições do DiferencaClassificacao, só com clubes que jogaram no período
+    public synchronized Map<Long, int[]> somarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        long limiteFim = fim != null ? chaveTempo(fim) : Long.MAX_VALUE;
+        Map<Long, int[]> totais = new HashMap<>();
+        for (Map.Entry<Long, SomasAcumuladasClube> entrada : porClube.entrySet()) {
+            int[] t = new int[TAMANHO];
+            entrada.getValue().somarAntesDe(limiteFim, t, 1);
+            if (inicio != null) {
+                entrada.getValue().somarAntesDe(chaveTempo(inicio), t, -1);
+            }
+            if (t[JOGOS] > 0) {
+                totais.put(entrada.getKey(), t);
+            }
+        }
+        return totais;
+    }
+
+    private void somarPartida(Long partidaId, Long casaId, Long visitanteId, int golsCasa, int golsVisitante,
+                              LocalDateTime dataHora, int sinal) {
+        long tempo = chaveTempo(dataHora);
+        int[] casa = new int[TAMANHO];
+        somarLado(casa, golsCasa, golsVisitante, 1);
+        int[] visitante = new int[TAMANHO];
+        somarLado(visitante, golsVisitante, golsCasa, 1);
+        porClube.computeIfAbsent(casaId, id -> new SomasAcumuladasClube()).somar(tempo, partidaId, casa, sinal);
+        porClube.computeIfAbsent(visitanteId, id -> new SomasAcumuladasClube()).somar(tempo, partidaId, visitante, sinal);
+        // Clube que ficou sem partidas sai do índice
+        if (sinal < 0) {
+            porClube.computeIfPresent(casaId, (id, somas) -> somas.quantidadePartidas() > 0 ? somas : null);
+            porClube.computeIfPresent(visitanteId, (id, somas) -> somas.quantidadePartidas() > 0 ? somas : null);
+        }
+    }
+
+    // A data vira segundos (UTC só para ter uma escala fixa, a ordem é a mesma do LocalDateTime)
+    private static long chaveTempo(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+}
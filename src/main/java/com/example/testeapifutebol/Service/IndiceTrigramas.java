@@ -0,0 +1,109 @@
+package com.example.testeapifutebol.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+//Índice de trigramas de nomes (id -> nome), para a busca parcial "nome contém o termo" sem ir ao banco
+//- Nome e termo são comparados dobrados: sem acento, minúsculos e com um espaço só entre as palavras
+//  ("Sao Januario" encontra "São Januário")
+//- Cada trecho de 3 letras do nome aponta para os ids que o contêm; a busca parte do trigrama do termo
+//  com menos ids e confere só esses nomes
+//- Termos com menos de 3 letras não têm trigrama: conferem todos os nomes (continua em memória)
+//Não é thread-safe: quem usa (IndiceNomes) sincroniza
+class IndiceTrigramas {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // id -> nome dobrado
+    private final Map<Long, String> nomes = new HashMap<>();
+    // trigrama -> ids dos nomes que têm o trigrama
+    private final Map<String, Set<Long>> ids = new HashMap<>();
+
+    //Inclui ou troca o nome de um id
+    void colocar(Long id, String nome) {
+        remover(id);
+        String dobrado = dobrar(nome);
+        nomes.put(id, dobrado);
+        for (String trigrama : trigramas(dobrado)) {
+            ids.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remover(Long id) {
+        String dobrado = nomes.remove(id);
+        if (dobrado == null) {
+            return;
+        }
+        for (String trigrama : trigramas(dobrado)) {
+            Set<Long> doTrigrama = ids.get(trigrama);
+            doTrigrama.remove(id);
+            if (doTrigrama.isEmpty()) {
+                ids.remove(trigrama);
+            }
+        }
+    }
+
+    void limpar() {
+        nomes.clear();
+        ids.clear();
+    }
+
+    //Ids dos nomes que contêm o termo (dobrado), em ordem crescente
+    List<Long> buscar(String termo) {
+        String dobrado = dobrar(termo);
+        Collection<Long> candidatos = nomes.keySet();
+        for (String trigrama : trigramas(dobrado)) {
+            Set<Long> doTrigrama = ids.get(trigrama);
+            if (doTrigrama == null) {
+                return List.of(); // nenhum nome tem esse trecho
+            }
+            if (doTrigrama.size() < candidatos.size()) {
+                candidatos = doTrigrama;
+            }
+        }
+        // Ter um dos trigramas não basta: confere o termo inteiro no nome
+        List<Long> encontrados = new ArrayList<>();
+        for (Long id : candidatos) {
+            if (nomes.get(id).contains(dobrado)) {
+                encontrados.add(id);
+            }
+        }
+        Collections.sort(encontrados);
+        return encontrados;
+    }
+
+    //Ordem pelo nome dobrado (a mesma de uma collation sem acento e sem maiúsculas, como a _ai_ci do MySQL)
+    Comparator<Long> porNome() {
+        return Comparator.comparing(nomes::get);
+    }
+
+    int tamanho() {
+        return nomes.size();
+    }
+
+    //Sem acento, minúsculo e com um espaço só entre as palavras
+    static String dobrar(String texto) {
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // Trechos de 3 letras, sem repetir ("flamengo" -> fla, lam, ame, men, eng, ngo)
+    private static Set<String> trigramas(String dobrado) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + 3 <= dobrado.length(); i++) {
+            trigramas.add(dobrado.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+//Lê partidas de um CSV ou NDJSON, uma partida por vez, sem carregar a entrada inteira na memória
+//- CSV: clubeCasaId,clubeVisitanteId,resultadoCasa,resultadoVisitante,estadio,dataHora
+//  (cabeçalho opcional; o estádio pode vir entre aspas se tiver vírgula, aspas ou quebra de linha,
+//  com as aspas internas dobradas; a quebra de linha entre aspas fica no nome como veio)
+//- NDJSON: um objeto PartidaDTO por linha
+//- Linhas em branco são ignoradas e não contam como partida
+//- No CSV os números e a data são lidos direto da linha, sem quebrar em Strings por campo
+final class LeitorPartidas implements Closeable {
+
+    enum Formato {
+        CSV, NDJSON;
+
+        //@throws RegraDeInvalidosExcecao400 se não for 'csv' nem 'ndjson'
+        static Formato de(String formato) {
+            if (formato != null) {
+                switch (formato.trim().toLowerCase(Locale.ROOT)) {
+                    case "csv":
+                        return CSV;
+                    case "ndjson":
+                    case "jsonl":
+                        return NDJSON;
+                    default:
+                        break;
+                }
+            }
+            throw new RegraDeInvalidosExcecao400("Formato inválido. Use 'csv' ou 'ndjson'");
+        }
+    }
+
+    private final BufferedReader entrada;
+    private final Formato formato;
+    private final ObjectReader leitorJson;
+    // O mesmo estádio aparece milhares de vezes: todas as partidas dele apontam para a mesma String
+    private final Map<String, String> nomesEstadios = new HashMap<>();
+    private boolean primeiraLinha = true;
+
+    // Leitura do CSV por registro (um registro pode ocupar várias linhas se tiver quebra de linha entre aspas)
+    private final char[] buffer = new char[8192];
+    private int lidos;
+    private int posicaoBuffer;
+    private boolean pularLf;
+    private final StringBuilder registro = new StringBuilder();
+
+    // Limites do campo atual do CSV dentro da linha
+    private int inicio;
+    private int fim;
+    private int cursor;
+    // O campo atual estava entre aspas e tinha aspas dobradas ("") dentro
+    private boolean aspasDobradas;
+
+    LeitorPartidas(BufferedReader entrada, Formato formato, ObjectReader leitorJson) {
+        this.entrada = entrada;
+        this.formato = formato;
+        this.leitorJson = leitorJson;
+    }
+
+    //Lê a próxima partida; null no fim da entrada
+    //@throws RegraDeInvalidosExcecao400 se a linha não puder ser lida (a próxima chamada continua na linha seguinte)
+    PartidaDTO proxima() throws IOException {
+        String linha = proximaLinha();
+        if (linha == null) {
+            return null;
+        }
+        return formato == Formato.CSV ? lerCsv(linha) : lerJson(linha);
+    }
+
+    //Pula partidas sem interpretar as linhas (retomada de uma importação); devolve quantas pulou
+    long pular(long quantidade) throws IOException {
+        long puladas = 0;
+        while (puladas < quantidade && proximaLinha() != null) {
+            puladas++;
+        }
+        return puladas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    // Próxima linha com partida (sem linhas em branco e sem o cabeçalho do CSV)
+    private String proximaLinha() throws IOException {
+        String linha;
+        while ((linha = formato == Formato.CSV ? proximoRegistroCsv() : entrada.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            boolean cabecalho = primeiraLinha && formato == Formato.CSV && !comecaComNumero(linha);
+            primeiraLinha = false;
+            if (!cabecalho) {
+                return linha;
+            }
+        }
+        return null;
+    }
+
+    // Como o readLine (fim em \n, \r ou \r\n, sem ele no resultado), mas sem terminar dentro de aspas
+    private String proximoRegistroCsv() throws IOException {
+        registro.setLength(0);
+        boolean entreAspas = false;
+        while (true) {
+            if (posicaoBuffer == lidos) {
+                lidos = entrada.read(buffer, 0, buffer.length);
+                posicaoBuffer = 0;
+                if (lidos <= 0) {
+                    lidos = 0;
+                    return registro.isEmpty() && !entreAspas ? null : registro.toString();
+                }
+            }
+            char c = buffer[posicaoBuffer++];
+            if (pularLf) {
+                pularLf = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (!entreAspas && (c == '\n' || c == '\r')) {
+                pularLf = c == '\r';
+                return registro.toString();
+            }
+            registro.append(c);
+        }
+    }
+
+    private PartidaDTO lerJson(String linha) {
+        try {
+            PartidaDTO partida = leitorJson.readValue(linha);
+            if (partida != null && partida.getEstadio() != null) {
+                partida.setEstadio(nomesEstadios.computeIfAbsent(partida.getEstadio(), nome -> nome));
+            }
+            return partida;
+        } catch (JsonProcessingException e) {
+            throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: " + e.getOriginalMessage());
+        }
+    }
+
+    private PartidaDTO lerCsv(String linha) {
+        cursor = 0;
+        PartidaDTO partida = new PartidaDTO();
+        try {
+            partida.setClubeCasaId(lerLong(linha, "clubeCasaId"));
+            partida.setClubeVisitanteId(lerLong(linha, "clubeVisitanteId"));
+            Long golsCasa = lerLong(linha, "resultadoCasa");
+            Long golsVisitante = lerLong(linha, "resultadoVisitante");
+            partida.setResultadoCasa(golsCasa != null ? Math.toIntExact(golsCasa) : null);
+            partida.setResultadoVisitante(golsVisitante != null ? Math.toIntExact(golsVisitante) : null);
+            proximoCampo(linha, "estadio");
+            if (fim > inicio) {
+                String estadio = aspasDobradas ? linha.substring(inicio, fim).replace("\"\"", "\"")
+                        : linha.substring(inicio, fim);
+                partida.setEstadio(nomesEstadios.computeIfAbsent(estadio, nome -> nome));
+            }
+            proximoCampo(linha, "dataHora");
+            if (fim > inicio) {
+                partida.setDataHora(LocalDateTime.parse(CharBuffer.wrap(linha, inicio, fim)));
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: número inválido");
+        } catch (DateTimeParseException e) {
+            throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: data inválida (use 2024-05-01T16:00:00)");
+        }
+        if (cursor <= linha.length()) {
+            throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: colunas demais");
+        }
+        return partida;
+    }
+
+    // Campo numérico vazio vira null (a validação da partida devolve a mensagem de campo obrigatório)
+    private Long lerLong(String linha, String campo) {
+        proximoCampo(linha, campo);
+        return fim > inicio ? Long.parseLong(linha, inicio, fim, 10) : null;
+    }
+
+    // Acha o próximo campo a partir do cursor (sem os espaços das pontas e sem as aspas; "" dentro das aspas
+    // não fecha o campo e fica marcado em aspasDobradas)
+    private void proximoCampo(String linha, String campo) {
+        if (cursor > linha.length()) {
+            throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: falta a coluna " + campo);
+        }
+        int posicao = pularEspacos(linha, cursor);
+        aspasDobradas = false;
+        if (posicao < linha.length() && linha.charAt(posicao) == '"') {
+            int fechamento = linha.indexOf('"', posicao + 1);
+            while (fechamento >= 0 && fechamento + 1 < linha.length() && linha.charAt(fechamento + 1) == '"') {
+                aspasDobradas = true;
+                fechamento = linha.indexOf('"', fechamento + 2);
+            }
+            if (fechamento < 0) {
+                throw new RegraDeInvalidosExcecao400("Não foi possível ler a partida: aspas sem fechar");
+            }
+            inicio = posicao + 1;
+            fim = fechamento;
+            int virgula = linha.indexOf(',', fechamento);
+            cursor = virgula < 0 ? linha.length() + 1 : virgula + 1;
+            return;
+        }
+        int virgula = linha.indexOf(',', posicao);
+        int limite = virgula < 0 ? linha.length() : virgula;
+        inicio = posicao;
+        fim = limite;
+        while (fim > inicio && Character.isWhitespace(linha.charAt(fim - 1))) {
+            fim--;
+        }
+        cursor = limite + 1;
+    }
+
+    private static int pularEspacos(String linha, int posicao) {
+        while (posicao < linha.length() && Character.isWhitespace(linha.charAt(posicao))) {
+            posicao++;
+        }
+        return posicao;
+    }
+
+    private static boolean comecaComNumero(String linha) {
+        int posicao = pularEspacos(linha, 0);
+        return posicao < linha.length() && (Character.isDigit(linha.charAt(posicao)) || linha.charAt(posicao) == '-');
+    }
+}
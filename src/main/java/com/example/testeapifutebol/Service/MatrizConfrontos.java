@@ -0,0 +1,106 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//Matriz esparsa de confrontos diretos, mantida em memória
+//- Cada par de clubes tem uma célula, guardada sempre pela ordem (menor id, maior id)
+//- Carrega os totais agrupados do banco ao subir e segue o PartidaAlteradaEvento depois do commit
+//- O resumo de /clubes/{clube1Id}/confronto/{clube2Id} vira uma busca em mapa
+@Component
+public class MatrizConfrontos {
+
+    // Posições da célula; na matriz o primeiro é o clube de menor id, no buscarResumo é o clube1
+    static final int VITORIAS_PRIMEIRO = 0;
+    static final int EMPATES = 1;
+    static final int VITORIAS_SEGUNDO = 2;
+    static final int GOLS_PRIMEIRO = 3;
+    static final int GOLS_SEGUNDO = 4;
+    static final int TAMANHO = 5;
+
+    private final PartidaRepository partidaRepository;
+
+    // menor id -> (maior id -> célula)
+    private final Map<Long, Map<Long, int[]>> celulas = new HashMap<>();
+
+    public MatrizConfrontos(PartidaRepository partidaRepository) {
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Carrega os totais de cada par (mandante, visitante) agrupados pelo banco
+    @PostConstruct
+    public synchronized void carregar() {
+        celulas.clear();
+        for (Object[] linha : partidaRepository.findTotaisPorConfronto()) {
+            Long casaId = (Long) linha[0];
+            Long visitanteId = (Long) linha[1];
+            int vitoriasCasa = ((Number) linha[2]).intValue();
+            int empates = ((Number) linha[3]).intValue();
+            int vitoriasVisitante = ((Number) linha[4]).intValue();
+            int golsCasa = ((Number) linha[5]).intValue();
+            int golsVisitante = ((Number) linha[6]).intValue();
+            boolean casaMenor = casaId < visitanteId;
+            int[] celula = celula(casaId, visitanteId);
+            celula[VITORIAS_PRIMEIRO] += casaMenor ? vitoriasCasa : vitoriasVisitante;
+            celula[VITORIAS_SEGUNDO] += casaMenor ? vitoriasVisitante : vitoriasCasa;
+            celula[EMPATES] += empates;
+            celula[GOLS_PRIMEIRO] += casaMenor ? golsCasa : golsVisitante;
+            celula[GOLS_SEGUNDO] += casaMenor ? golsVisitante : golsCasa;
+        }
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        if (evento.getAnterior() != null) {
+            somarPartida(evento.getAnterior(), -1);
+        }
+        if (evento.getAtual() != null) {
+            somarPartida(evento.getAtual(), 1);
+        }
+    }
+
+    //Resumo do confronto com o clube1 como primeiro (zeros se os clubes nunca se enfrentaram)
+    public synchronized int[] buscarResumo(Long clube1Id, Long clube2Id) {
+        Map<Long, int[]> linha = celulas.get(Math.min(clube1Id, clube2Id));
+        int[] celula = linha != null ? linha.get(Math.max(clube1Id, clube2Id)) : null;
+        if (celula == null) {
+            return new int[TAMANHO];
+        }
+        if (clube1Id < clube2Id) {
+            return celula.clone();
+        }
+        return new int[]{celula[VITORIAS_SEGUNDO], celula[EMPATES], celula[VITORIAS_PRIMEIRO],
+                celula[GOLS_SEGUNDO], celula[GOLS_PRIMEIRO]};
+    }
+
+    private void somarPartida(PartidaEntity partida, int sinal) {
+        Long casaId = partida.getClubeCasaId();
+        Long visitanteId = partida.getClubeVisitanteId();
+        boolean casaMenor = casaId < visitanteId;
+        int golsMenor = casaMenor ? partida.getResultadoCasa() : partida.getResultadoVisitante();
+        int golsMaior = casaMenor ? partida.getResultadoVisitante() : partida.getResultadoCasa();
+        int[] celula = celula(casaId, visitanteId);
+        celula[GOLS_PRIMEIRO] += sinal * golsMenor;
+        celula[GOLS_SEGUNDO] += sinal * golsMaior;
+        if (golsMenor > golsMaior) {
+            celula[VITORIAS_PRIMEIRO] += sinal;
+        } else if (golsMenor == golsMaior) {
+            celula[EMPATES] += sinal;
+        } else {
+            celula[VITORIAS_SEGUNDO] += sinal;
+        }
+    }
+
+    private int[] celula(Long clubeA, Long clubeB) {
+        return celulas.computeIfAbsent(Math.min(clubeA, clubeB), id -> new HashMap<>())
+                .computeIfAbsent(Math.max(clubeA, clubeB), id -> new int[TAMANHO]);
+    }
+}
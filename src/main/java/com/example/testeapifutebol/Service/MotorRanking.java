@@ -0,0 +1,182 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.testeapifutebol.Service.DiferencaClassificacao.*;
+
+//Ranking residente em memória, com as quatro ordenações ('pontos', 'gols', 'vitorias', 'jogos') sempre prontas
+//- Carrega a tabela de classificação ao subir a aplicação
+//- A cada partida alterada (depois do commit) reposiciona só os clubes envolvidos em cada ordenação
+//- Clube renomeado (depois do commit) troca o nome na linha dele
+//- As leituras devolvem uma foto imutável já montada, então /clubes/ranking não ordena nada por requisição
+@Component
+public class MotorRanking {
+
+    private final ClassificacaoRepository classificacaoRepository;
+    private final ClubeRepository clubeRepository;
+
+    // Linha atual de cada clube que já jogou (as linhas nunca são alteradas, são trocadas por novas)
+    private final Map<Long, RankingClubeDTO> linhas = new HashMap<>();
+    // Uma árvore ordenada por tipo de ranking
+    private final Map<String, TreeSet<RankingClubeDTO>> ordenacoes = new HashMap<>();
+    // Foto pronta para leitura de cada tipo (some do mapa quando há alteração e é remontada na próxima leitura)
+    private final Map<String, List<RankingClubeDTO>> fotos = new ConcurrentHashMap<>();
+
+    public MotorRanking(ClassificacaoRepository classificacaoRepository, ClubeRepository clubeRepository) {
+        this.classificacaoRepository = classificacaoRepository;
+        this.clubeRepository = clubeRepository;
+        for (String tipo : RankingComparadores.TIPOS) {
+            // Desempate final por id para dois clubes de mesmo nome não ocuparem o mesmo lugar na árvore
+            Comparator<RankingClubeDTO> comparador = RankingComparadores.porTipo(tipo)
+                    .thenComparing(RankingClubeDTO::getId);
+            ordenacoes.put(tipo, new TreeSet<>(comparador));
+        }
+    }
+
+    //Carrega a classificação do banco antes da aplicação começar a receber requisições
+    @PostConstruct
+    public synchronized void carregar() {
+        linhas.clear();
+        ordenacoes.values().forEach(TreeSet::clear);
+        for (Object[] linha : classificacaoRepository.findClassificacao()) {
+            inserir(RankingComparadores.criarLinha((Long) linha[0], (String) linha[1],
+                    ((Number) linha[2]).intValue(), ((Number) linha[3]).intValue(),
+                    ((Number) linha[4]).intValue(), ((Number) linha[5]).intValue(),
+                    ((Number) linha[6]).intValue(), ((Number) linha[7]).intValue()));
+        }
+        fotos.clear();
+    }
+
+    //Devolve o ranking do tipo pedido (lista imutável, com posição já atribuída)
+    //@throws IllegalArgumentException se o tipo não for 'pontos', 'gols', 'vitorias' ou 'jogos'
+    public List<RankingClubeDTO> buscarRanking(String tipo) {
+        RankingComparadores.porTipo(tipo); // valida o tipo
+        String chave = tipo.toLowerCase();
+        List<RankingClubeDTO> foto = fotos.get(chave);
+        if (foto == null) {
+            foto = montarFoto(chave);
+        }
+        return foto;
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        aplicarAlteracao(DiferencaClassificacao.calcular(evento.getAnterior(), evento.getAtual()));
+    }
+
+    //Escuta as alterações de clube depois do commit (ou na hora, se não houver transação):
+    //um rollback não deixa no ranking um nome que o banco nunca gravou
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarClube(ClubeAlteradoEvento evento) {
+        renomearClube(evento.getId(), evento.getNome());
+    }
+
+    //Troca o nome de um clube que já está no ranking
+    private synchronized void renomearClube(Long clubeId, String nome) {
+        RankingClubeDTO antiga = linhas.get(clubeId);
+        if (antiga == null || antiga.getNome().equals(nome)) {
+            return;
+        }
+        remover(antiga);
+        inserir(copiarComNome(antiga, nome));
+        fotos.clear();
+    }
+
+    synchronized void aplicarAlteracao(Map<Long, int[]> diferencas) {
+        boolean alterou = false;
+        for (Map.Entry<Long, int[]> entrada : diferencas.entrySet()) {
+            int[] d = entrada.getValue();
+            if (vazia(d)) {
+                continue;
+            }
+            RankingClubeDTO antiga = linhas.get(entrada.getKey());
+            String nome;
+            int[] t = new int[TAMANHO];
+            if (antiga != null) {
+                remover(antiga);
+                nome = antiga.getNome();
+                t[JOGOS] = antiga.getJogos();
+                t[VITORIAS] = antiga.getVitorias();
+                t[EMPATES] = antiga.getEmpates();
+                t[DERROTAS] = antiga.getDerrotas();
+                t[GOLS_FEITOS] = antiga.getGolsFeitos();
+                t[GOLS_SOFRIDOS] = antiga.getGolsSofridos();
+            } else {
+                // Primeira partida do clube: busca o nome uma única vez
+                nome = clubeRepository.findById(entrada.getKey())
+                        .map(ClubeEntity::getNome)
+                        .orElse("Clube Desconhecido");
+            }
+            for (int i = 0; i < TAMANHO; i++) {
+                t[i] += d[i];
+            }
+            // Clube sem jogos sai do ranking
+            if (t[JOGOS] > 0) {
+                inserir(RankingComparadores.criarLinha(entrada.getKey(), nome, t[JOGOS], t[VITORIAS],
+                        t[EMPATES], t[DERROTAS], t[GOLS_FEITOS], t[GOLS_SOFRIDOS]));
+            }
+            alterou = true;
+        }
+        if (alterou) {
+            fotos.clear();
+        }
+    }
+
+    //Monta a foto de um tipo (só roda na primeira leitura desse tipo depois de uma alteração)
+    private synchronized List<RankingClubeDTO> montarFoto(String tipo) {
+        List<RankingClubeDTO> foto = fotos.get(tipo);
+        if (foto != null) {
+            return foto;
+        }
+        TreeSet<RankingClubeDTO> ordenacao = ordenacoes.get(tipo);
+        List<RankingClubeDTO> lista = new ArrayList<>(ordenacao.size());
+        int posicao = 1;
+        for (RankingClubeDTO linha : ordenacao) {
+            // Cópia por tipo, porque a posição muda de uma ordenação para outra
+            RankingClubeDTO copia = copiarComNome(linha, linha.getNome());
+            copia.setPosicao(posicao++);
+            lista.add(copia);
+        }
+        foto = Collections.unmodifiableList(lista);
+        fotos.put(tipo, foto);
+        return foto;
+    }
+
+    private void inserir(RankingClubeDTO linha) {
+        linhas.put(linha.getId(), linha);
+        for (TreeSet<RankingClubeDTO> ordenacao : ordenacoes.values()) {
+            ordenacao.add(linha);
+        }
+    }
+
+    // Precisa rodar antes de mudar a linha, senão a árvore não encontra mais o elemento
+    private void remover(RankingClubeDTO linha) {
+        linhas.remove(linha.getId());
+        for (TreeSet<RankingClubeDTO> ordenacao : ordenacoes.values()) {
+            ordenacao.remove(linha);
+        }
+    }
+
+    private static RankingClubeDTO copiarComNome(RankingClubeDTO linha, String nome) {
+        return RankingComparadores.criarLinha(linha.getId(), nome, linha.getJogos(), linha.getVitorias(),
+                linha.getEmpates(), linha.getDerrotas(), linha.getGolsFeitos(), linha.getGolsSofridos());
+    }
+}
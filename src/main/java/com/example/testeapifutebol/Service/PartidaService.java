@@ -1,19 +1,32 @@
 package com.example.testeapifutebol.Service;
 
+import com.example.testeapifutebol.DTO.PaginaCursorDTO;
 import com.example.testeapifutebol.DTO.PartidaDTO;
 import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
 import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
 import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
 import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
 import com.example.testeapifutebol.Excecao.RegraDoNaoEncontradoExcecao404;
 import com.example.testeapifutebol.Repository.ClubeRepository;
 import com.example.testeapifutebol.Repository.EstadioRepository;
 import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 //Service - Lógica de negócio para operações de Partida
@@ -28,33 +41,46 @@ public class PartidaService {
     private final ClubeRepository clubeRepository;
     //injeta o repository do estadio
     private final EstadioRepository estadioRepository;
-    private static final int INTERVALO_MINIMO_HORAS = 48;
+    //mantém a tabela de classificação em dia com as partidas
+    private final ClassificacaoService classificacaoService;
+    //avisa os índices em memória (ranking, etc.) que uma partida mudou
+    private final ApplicationEventPublisher eventPublisher;
+    //horários das partidas em memória, para o conflito de horários
+    private final AgendaPartidas agendaPartidas;
+    //não deixa duas gravações dos mesmos clubes/estádio validarem a agenda ao mesmo tempo
+    private final TravasDeAgenda travasDeAgenda;
+    //totais da busca paginada guardados por alguns segundos
+    private final CacheContagens cacheContagens;
+    //mantém o calendário (partidas por dia) em dia com as partidas
+    private final CalendarioPartidasService calendarioPartidasService;
 
 
     // Construtor para injeção de dependência
-    public PartidaService(PartidaRepository partidaRepository, ClubeRepository clubeRepository, EstadioRepository estadioRepository) {
+    public PartidaService(PartidaRepository partidaRepository, ClubeRepository clubeRepository, EstadioRepository estadioRepository,
+                          ClassificacaoService classificacaoService, ApplicationEventPublisher eventPublisher,
+                          AgendaPartidas agendaPartidas, TravasDeAgenda travasDeAgenda,
+                          CacheContagens cacheContagens, CalendarioPartidasService calendarioPartidasService) {
         this.partidaRepository = partidaRepository;
         this.clubeRepository = clubeRepository;
         this.estadioRepository = estadioRepository;
+        this.classificacaoService = classificacaoService;
+        this.eventPublisher = eventPublisher;
+        this.agendaPartidas = agendaPartidas;
+        this.travasDeAgenda = travasDeAgenda;
+        this.cacheContagens = cacheContagens;
+        this.calendarioPartidasService = calendarioPartidasService;
     }
 
     //Salva uma nova partida no banco de dados
     //Recebe: PartidaDTO (dados do Controller/Postman) e Retorna: PartidaDTO (dados salvos com ID gerado)
+    @Transactional
     public PartidaDTO savePartidaEntity(PartidaDTO partidaDTO) {
-        // Validações iniciais
-        validarDadosBasicos(partidaDTO);
-        
-        // Busca os clubes para validações adicionais
-        ClubeEntity clubeCasa = clubeRepository.findById(partidaDTO.getClubeCasaId())
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube da casa não encontrado"));
-            
-        ClubeEntity clubeVisitante = clubeRepository.findById(partidaDTO.getClubeVisitanteId())
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube visitante não encontrado"));
-            
-        // Validações de negócio
-        validarDataPartida(partidaDTO.getDataHora(), clubeCasa, clubeVisitante);
-        validarStatusDosClubes(clubeCasa, clubeVisitante);
-        validarConflitoDeHorarios(partidaDTO, null);
+        // Validações (clubes e estádio buscados uma única vez)
+        EstadioEntity estadio = validarPartida(partidaDTO);
+        // Trava clubes e estádio até o commit, para outra gravação não passar na mesma validação ao mesmo tempo
+        travasDeAgenda.travarAteOFimDaTransacao(partidaDTO.getClubeCasaId(), partidaDTO.getClubeVisitanteId(),
+            estadio.getId());
+        validarConflitoDeHorarios(partidaDTO, estadio.getId(), null);
         
         // Converte DTO → Entity
         PartidaEntity partidaParaSalvar = new PartidaEntity();
@@ -64,11 +90,12 @@ public class PartidaService {
         partidaParaSalvar.setClubeVisitanteId(partidaDTO.getClubeVisitanteId());
         partidaParaSalvar.setResultadoCasa(partidaDTO.getResultadoCasa());
         partidaParaSalvar.setResultadoVisitante(partidaDTO.getResultadoVisitante());
-        partidaParaSalvar.setEstadio(partidaDTO.getEstadio());
+        partidaParaSalvar.setEstadioId(estadio.getId()); // a partida guarda o id, não o nome
         partidaParaSalvar.setDataHora(partidaDTO.getDataHora());
 
         // Salva no banco de dados (Repository faz a persistência)
         PartidaEntity partidaSalva = partidaRepository.save(partidaParaSalvar);
+        registrarAlteracao(null, partidaSalva);
 
         // Converte a Entity salva de volta para DTO (para retornar ao Controller)
         PartidaDTO DTOResposta = new PartidaDTO();
@@ -76,7 +103,7 @@ public class PartidaService {
         DTOResposta.setClubeVisitanteId(partidaSalva.getClubeVisitanteId());
         DTOResposta.setResultadoCasa(partidaSalva.getResultadoCasa());
         DTOResposta.setResultadoVisitante(partidaSalva.getResultadoVisitante());
-        DTOResposta.setEstadio(partidaSalva.getEstadio());
+        DTOResposta.setEstadio(estadio.getNome());
         DTOResposta.setDataHora(partidaSalva.getDataHora());
         
         return DTOResposta; // Retorna o DTO com dados salvos (incluindo ID gerado)
@@ -86,6 +113,7 @@ public class PartidaService {
     public List<PartidaDTO> findAllPartidaEntity() {
         // Busca todas as Entities no banco
         List<PartidaEntity> partidas = partidaRepository.findAll();
+        Map<Long, String> nomesEstadios = nomesDosEstadios(partidas);
         
         // Converte cada Entity para DTO usando Stream (programação funcional)
         return partidas.stream().map(partida -> {
@@ -94,7 +122,7 @@ public class PartidaService {
             dto.setClubeVisitanteId(partida.getClubeVisitanteId());
             dto.setResultadoCasa(partida.getResultadoCasa());
             dto.setResultadoVisitante(partida.getResultadoVisitante());
-            dto.setEstadio(partida.getEstadio());
+            dto.setEstadio(nomesEstadios.get(partida.getEstadioId()));
             dto.setDataHora(partida.getDataHora());
             return dto;
         }).collect(Collectors.toList()); // Coleta tudo numa List<PartidaDTO>
@@ -112,21 +140,23 @@ public class PartidaService {
         partidaParaRetornar.setClubeVisitanteId(partidaEncontrada.getClubeVisitanteId());
         partidaParaRetornar.setResultadoCasa(partidaEncontrada.getResultadoCasa());
         partidaParaRetornar.setResultadoVisitante(partidaEncontrada.getResultadoVisitante());
-        partidaParaRetornar.setEstadio(partidaEncontrada.getEstadio());
+        partidaParaRetornar.setEstadio(estadioRepository.findById(partidaEncontrada.getEstadioId())
+            .map(EstadioEntity::getNome).orElse(null));
         partidaParaRetornar.setDataHora(partidaEncontrada.getDataHora());
 
         return partidaParaRetornar;
     }
 
 
+    @Transactional
     public void deletePartidaEntity(Long id) {
-        // Verifica se a partida existe
-        if (!partidaRepository.existsById(id)) {
-            throw new RegraDoNaoEncontradoExcecao404("Partida não encontrada com o ID: " + id);
-        }
+        // Busca a partida (o placar é necessário para descontar da classificação)
+        PartidaEntity partidaExistente = partidaRepository.findById(id)
+            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Partida não encontrada com o ID: " + id));
         
         // Deleta a partida do banco de dados
-        partidaRepository.deleteById(id);
+        partidaRepository.delete(partidaExistente);
+        registrarAlteracao(partidaExistente, null);
     }
 
     //Busca partidas de um clube específico (como mandante ou visitante) dentro de um período
@@ -141,9 +171,10 @@ public class PartidaService {
         return converterListaEntityParaDTO(partidas);
     }
 
-    //Buscar partidas por data específica
+    //Buscar partidas por data específica (o horário informado é ignorado, vale o dia inteiro)
     public List<PartidaDTO> buscarPartidasPorData(LocalDateTime data) {
-        List<PartidaEntity> partidas = partidaRepository.buscarPartidasPorData(data);
+        LocalDateTime inicioDoDia = data.toLocalDate().atStartOfDay();
+        List<PartidaEntity> partidas = partidaRepository.buscarPartidasPorData(inicioDoDia, inicioDoDia.plusDays(1));
         return converterListaEntityParaDTO(partidas);
     }
 
@@ -160,49 +191,76 @@ public class PartidaService {
     }
 
     // Atualizar partida existente
+    @Transactional
     public PartidaDTO updatePartidaEntity(Long id, PartidaDTO partidaDTO) {
         // Verifica se a partida existe
         PartidaEntity partidaExistente = partidaRepository.findById(id)
             .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Partida não encontrada com o ID: " + id));
         
-        // Validações iniciais
-        validarDadosBasicos(partidaDTO);
-        
-        // Busca os clubes para validações adicionais
-        ClubeEntity clubeCasa = clubeRepository.findById(partidaDTO.getClubeCasaId())
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube da casa não encontrado"));
-            
-        ClubeEntity clubeVisitante = clubeRepository.findById(partidaDTO.getClubeVisitanteId())
-            .orElseThrow(() -> new RegraDoNaoEncontradoExcecao404("Clube visitante não encontrado"));
-        
-        // Validações de negócio
-        validarDataPartida(partidaDTO.getDataHora(), clubeCasa, clubeVisitante);
-        validarStatusDosClubes(clubeCasa, clubeVisitante);
-        validarConflitoDeHorarios(partidaDTO, id); // Passa o ID da partida atual para evitar conflito com ela mesma
+        // Validações (clubes e estádio buscados uma única vez)
+        EstadioEntity estadio = validarPartida(partidaDTO);
+        travasDeAgenda.travarAteOFimDaTransacao(partidaDTO.getClubeCasaId(), partidaDTO.getClubeVisitanteId(),
+            estadio.getId());
+        validarConflitoDeHorarios(partidaDTO, estadio.getId(), id); // Passa o ID da partida atual para evitar conflito com ela mesma
         
+        // Guarda como a partida era antes, para descontar da classificação
+        PartidaEntity partidaAnterior = copiarPartida(partidaExistente);
+
         // Atualiza os dados da partida
         partidaExistente.setClubeCasaId(partidaDTO.getClubeCasaId());
         partidaExistente.setClubeVisitanteId(partidaDTO.getClubeVisitanteId());
         partidaExistente.setDataHora(partidaDTO.getDataHora());
-        partidaExistente.setEstadio(partidaDTO.getEstadio());
+        partidaExistente.setEstadioId(estadio.getId());
         partidaExistente.setResultadoCasa(partidaDTO.getResultadoCasa());
         partidaExistente.setResultadoVisitante(partidaDTO.getResultadoVisitante());
         
         // Salva e retorna a partida atualizada
         PartidaEntity partidaAtualizada = partidaRepository.save(partidaExistente);
-        return converterEntityParaDTO(partidaAtualizada);
+        registrarAlteracao(partidaAnterior, partidaAtualizada);
+        return converterEntityParaDTO(partidaAtualizada, estadio.getNome());
     }
 
     // Buscar partidas com filtros, paginação e ordenação
+    // O total vem do CacheContagens: o COUNT roda no máximo uma vez por combinação de filtros a cada poucos segundos
     public Page<PartidaDTO> findPartidasComFiltros(String estadio, Integer golsCasa, Integer golsVisitante, 
           LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
           Boolean clubeCasa, Boolean clubeVisitante, Pageable pageable) {
+        Slice<PartidaEntity> fatia = findFatiaComFiltros(estadio, golsCasa, golsVisitante, dataHora,
+            apenasGoleadas, clubeId, clubeCasa, clubeVisitante, pageable);
+        boolean goleadas = apenasGoleadas != null ? apenasGoleadas : false;
+        boolean casa = clubeCasa != null ? clubeCasa : false;
+        boolean visitante = clubeVisitante != null ? clubeVisitante : false;
+        // Só conta quando a página não diz o total sozinha (ex.: primeira página incompleta já é o total)
+        Map<Long, String> nomesEstadios = nomesDosEstadios(fatia.getContent());
+        Page<PartidaEntity> partidasPage = PageableExecutionUtils.getPage(fatia.getContent(), pageable,
+            () -> cacheContagens.contar(
+                CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, estadio, golsCasa, golsVisitante, dataHora,
+                    goleadas, clubeId, casa, visitante),
+                () -> partidaRepository.countPartidasComFiltros(estadio, golsCasa, golsVisitante, dataHora,
+                    goleadas, clubeId, casa, visitante)));
+        return partidasPage.map(partida -> converterEntityParaDTO(partida, nomesEstadios.get(partida.getEstadioId())));
+    }
+
+    // Buscar partidas com filtros sem o total (?semTotal=true): só diz se tem próxima página, nunca roda COUNT
+    public Slice<PartidaDTO> findPartidasComFiltrosSemTotal(String estadio, Integer golsCasa, Integer golsVisitante,
+          LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+          Boolean clubeCasa, Boolean clubeVisitante, Pageable pageable) {
+        Slice<PartidaEntity> fatia = findFatiaComFiltros(estadio, golsCasa, golsVisitante, dataHora,
+            apenasGoleadas, clubeId, clubeCasa, clubeVisitante, pageable);
+        Map<Long, String> nomesEstadios = nomesDosEstadios(fatia.getContent());
+        return fatia.map(partida -> converterEntityParaDTO(partida, nomesEstadios.get(partida.getEstadioId())));
+    }
+
+    // Página da busca com filtros (tamanho + 1 linhas, sem COUNT)
+    private Slice<PartidaEntity> findFatiaComFiltros(String estadio, Integer golsCasa, Integer golsVisitante,
+          LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+          Boolean clubeCasa, Boolean clubeVisitante, Pageable pageable) {
         // Se clubeCasa ou clubeVisitante for true, clubeId é obrigatório
         if ((Boolean.TRUE.equals(clubeCasa) || Boolean.TRUE.equals(clubeVisitante)) && clubeId == null) {
             throw new RegraDeInvalidosExcecao400("É necessário informar o ID do clube para filtrar por mandante/visitante");
         }
         
-        Page<PartidaEntity> partidasPage = partidaRepository.findPartidasComFiltros(
+        return partidaRepository.findPartidasComFiltros(
             estadio, golsCasa, golsVisitante, dataHora, 
             apenasGoleadas != null ? apenasGoleadas : false,
             clubeId,
@@ -210,9 +268,49 @@ public class PartidaService {
             clubeVisitante != null ? clubeVisitante : false,
             pageable
         );
-        return partidasPage.map(this::converterEntityParaDTO);
     }
-    
+
+    // Buscar partidas com filtros por cursor, na ordem (dataHora, id): o custo é o mesmo na primeira ou na milésima página
+    //@param cursor proximoCursor da página anterior (null ou vazio = primeira página)
+    //@throws RegraDeInvalidosExcecao400 se o cursor ou o tamanho forem inválidos
+    public PaginaCursorDTO<PartidaDTO> buscarPartidasPorCursor(String estadio, Integer golsCasa, Integer golsVisitante,
+          LocalDateTime dataHora, Boolean apenasGoleadas, Long clubeId,
+          Boolean clubeCasa, Boolean clubeVisitante, String cursor, int tamanho) {
+        if ((Boolean.TRUE.equals(clubeCasa) || Boolean.TRUE.equals(clubeVisitante)) && clubeId == null) {
+            throw new RegraDeInvalidosExcecao400("É necessário informar o ID do clube para filtrar por mandante/visitante");
+        }
+        CursorPaginacao.validarTamanho(tamanho);
+        CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+        LocalDateTime cursorData = null;
+        Long cursorId = null;
+        if (posicao != null) {
+            try {
+                cursorData = LocalDateTime.parse(posicao.chave());
+            } catch (DateTimeParseException e) {
+                throw new RegraDeInvalidosExcecao400("Cursor inválido");
+            }
+            cursorId = posicao.id();
+        }
+
+        // Uma linha a mais que o tamanho: se ela vier, existe próxima página
+        List<PartidaEntity> partidas = partidaRepository.findPartidasComFiltrosAposCursor(
+            estadio, golsCasa, golsVisitante, dataHora,
+            apenasGoleadas != null ? apenasGoleadas : false,
+            clubeId,
+            clubeCasa != null ? clubeCasa : false,
+            clubeVisitante != null ? clubeVisitante : false,
+            cursorData, cursorId,
+            PageRequest.of(0, tamanho + 1)
+        );
+        String proximoCursor = null;
+        if (partidas.size() > tamanho) {
+            partidas = partidas.subList(0, tamanho);
+            PartidaEntity ultima = partidas.get(tamanho - 1);
+            proximoCursor = CursorPaginacao.codificar(ultima.getDataHora().toString(), ultima.getId());
+        }
+        return new PaginaCursorDTO<>(converterListaEntityParaDTO(partidas), proximoCursor);
+    }
+
     // Buscar partidas de um clube específico com filtros de clubeCasa/clubeVisitante
     public List<PartidaDTO> findPartidasByClubeComFiltros(Long clubeId, Boolean clubeCasa, Boolean clubeVisitante) {
         if (clubeId == null) {
@@ -239,140 +337,99 @@ public class PartidaService {
 
     //Converte uma lista de PartidaEntity para PartidaDTO, metodo auxiliar para evitar repeticao de cod.
     private List<PartidaDTO> converterListaEntityParaDTO(List<PartidaEntity> partidas) {
+        Map<Long, String> nomesEstadios = nomesDosEstadios(partidas);
         return partidas.stream().map(partida -> {
             PartidaDTO dto = new PartidaDTO();
             dto.setClubeCasaId(partida.getClubeCasaId());
             dto.setClubeVisitanteId(partida.getClubeVisitanteId());
             dto.setResultadoCasa(partida.getResultadoCasa());
             dto.setResultadoVisitante(partida.getResultadoVisitante());
-            dto.setEstadio(partida.getEstadio());
+            dto.setEstadio(nomesEstadios.get(partida.getEstadioId()));
             dto.setDataHora(partida.getDataHora());
             return dto;
         }).collect(Collectors.toList());
     }
 
-    // Converte PartidaEntity para PartidaDTO
-    private PartidaDTO converterEntityParaDTO(PartidaEntity entity) {
+    // Converte PartidaEntity para PartidaDTO (o nome do estádio vem de fora: a Entity só tem o id)
+    private PartidaDTO converterEntityParaDTO(PartidaEntity entity, String nomeEstadio) {
         PartidaDTO dto = new PartidaDTO();
         dto.setClubeCasaId(entity.getClubeCasaId());
         dto.setClubeVisitanteId(entity.getClubeVisitanteId());
         dto.setResultadoCasa(entity.getResultadoCasa());
         dto.setResultadoVisitante(entity.getResultadoVisitante());
-        dto.setEstadio(entity.getEstadio());
+        dto.setEstadio(nomeEstadio);
         dto.setDataHora(entity.getDataHora());
         return dto;
     }
 
-    //Valida os dados básicos da partida
-    //@param partidaDTO DTO com os dados da partida
-     //@throws RegraDeInvalidosExcecao400 Se os dados forem inválidos
-    private void validarDadosBasicos(PartidaDTO partidaDTO) {
-        // Valida campos obrigatórios
-        if (partidaDTO.getClubeCasaId() == null) {
-            throw new RegraDeInvalidosExcecao400("O ID do clube da casa é obrigatório");
-        }
-        
-        if (partidaDTO.getClubeVisitanteId() == null) {
-            throw new RegraDeInvalidosExcecao400("O ID do clube visitante é obrigatório");
-        }
-        
-        if (partidaDTO.getEstadio() == null || partidaDTO.getEstadio().trim().isEmpty()) {
-            throw new RegraDeInvalidosExcecao400("O estádio é obrigatório");
-        }
-        
-        if (partidaDTO.getDataHora() == null) {
-            throw new RegraDeInvalidosExcecao400("A data e hora da partida são obrigatórias");
-        }
-        
-        // Valida resultados não nulos
-        if (partidaDTO.getResultadoCasa() == null || partidaDTO.getResultadoVisitante() == null) {
-            throw new RegraDeInvalidosExcecao400("Os resultados da partida são obrigatórios");
-        }
-
-        // Valida clubes iguais
-        if (partidaDTO.getClubeCasaId().equals(partidaDTO.getClubeVisitanteId())) {
-            throw new RegraDeInvalidosExcecao400("Os clubes da casa e visitante não podem ser iguais");
-        }
-
-        // Valida existência dos clubes
-        if (!clubeRepository.existsById(partidaDTO.getClubeCasaId())) {
-            throw new RegraDeInvalidosExcecao400("Clube da casa inexistente");
-        }
-        
-        if (!clubeRepository.existsById(partidaDTO.getClubeVisitanteId())) {
-            throw new RegraDeInvalidosExcecao400("Clube visitante inexistente");
-        }
-
-        // Valida existência do estádio
-        if (!estadioRepository.existsByNome(partidaDTO.getEstadio())) {
-            throw new RegraDeInvalidosExcecao400("Estádio inexistente");
-        }
-
-        // Valida gols não negativos
-        if (partidaDTO.getResultadoCasa() < 0 || partidaDTO.getResultadoVisitante() < 0) {
-            throw new RegraDeInvalidosExcecao400("O número de gols não pode ser negativo");
-        }
+    // Atualiza a classificação e o calendário (mesma transação) e avisa os índices em memória (depois do commit)
+    private void registrarAlteracao(PartidaEntity anterior, PartidaEntity atual) {
+        classificacaoService.aplicarAlteracao(anterior, atual);
+        calendarioPartidasService.aplicarAlteracao(anterior, atual);
+        eventPublisher.publishEvent(new PartidaAlteradaEvento(anterior, atual));
     }
 
-    //Valida a data da partida em relação à data de criação dos clubes
-    private void validarDataPartida(LocalDateTime dataHora, ClubeEntity clubeCasa, ClubeEntity clubeVisitante) {
-        // Valida se a data é posterior à criação dos clubes
-        if (dataHora.toLocalDate().isBefore(clubeCasa.getDataCriacao())) {
-            throw new RegraDeExcecao409("A data da partida é anterior à data de criação do clube da casa, (" + clubeCasa.getNome() + ")");
-        }
-        
-        if (dataHora.toLocalDate().isBefore(clubeVisitante.getDataCriacao())) {
-            throw new RegraDeExcecao409("A data da partida é anterior à data de criação do clube visitante, (" + clubeVisitante.getNome() + ")");
-        }
+    // Copia uma partida (a Entity é alterada no lugar durante o update)
+    private PartidaEntity copiarPartida(PartidaEntity partida) {
+        PartidaEntity copia = new PartidaEntity(partida.getClubeCasaId(), partida.getClubeVisitanteId(),
+            partida.getResultadoCasa(), partida.getResultadoVisitante(), partida.getEstadioId(), partida.getDataHora());
+        copia.setId(partida.getId());
+        return copia;
+    }
 
-        // Valida data deve ser futura (após validar criação dos clubes)
-        if (dataHora.isBefore(LocalDateTime.now())) {
-            throw new RegraDeInvalidosExcecao400("A data da partida deve ser futura");
+    //Roda todas as validações da partida antes do conflito de horários
+    //- Uma consulta traz os dois clubes (findAllById) e outra busca o estádio pelo nome (índice único)
+    //- As regras de data e de status usam os clubes já carregados, sem buscar de novo
+    //@return o estádio da partida (a partida grava o id dele)
+    private EstadioEntity validarPartida(PartidaDTO partidaDTO) {
+        RegrasPartida.validarDadosBasicos(partidaDTO);
+
+        Map<Long, ClubeEntity> clubes = new HashMap<>();
+        for (ClubeEntity clube : clubeRepository.findAllById(
+                List.of(partidaDTO.getClubeCasaId(), partidaDTO.getClubeVisitanteId()))) {
+            clubes.put(clube.getId(), clube);
         }
+        ClubeEntity clubeCasa = clubes.get(partidaDTO.getClubeCasaId());
+        ClubeEntity clubeVisitante = clubes.get(partidaDTO.getClubeVisitanteId());
+        // O estádio só é consultado se os dois clubes existem (mesma ordem das mensagens de antes)
+        EstadioEntity estadio = clubeCasa != null && clubeVisitante != null
+                ? estadioRepository.findByNome(partidaDTO.getEstadio()).orElse(null) : null;
+
+        RegrasPartida.validarComClubes(partidaDTO, clubeCasa, clubeVisitante, estadio != null, false);
+        return estadio;
     }
 
-    //Valida o status dos clubes (devem estar ativos)
-    private void validarStatusDosClubes(ClubeEntity clubeCasa, ClubeEntity clubeVisitante) {
-        if ("N".equalsIgnoreCase(clubeCasa.getAtivo())) {
-            throw new RegraDeExcecao409("O clube da casa, " + clubeCasa.getNome() + ", está inativo");
+    // Nomes dos estádios das partidas, numa consulta só pelos ids (a partida guarda só o estadioId)
+    private Map<Long, String> nomesDosEstadios(List<PartidaEntity> partidas) {
+        Map<Long, String> nomes = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        for (PartidaEntity partida : partidas) {
+            ids.add(partida.getEstadioId());
         }
-        
-        if ("N".equalsIgnoreCase(clubeVisitante.getAtivo())) {
-            throw new RegraDeExcecao409("O clube visitante, " + clubeVisitante.getNome() + ", está inativo");
+        if (!ids.isEmpty()) {
+            for (EstadioEntity estadio : estadioRepository.findAllById(ids)) {
+                nomes.put(estadio.getId(), estadio.getNome());
+            }
         }
+        return nomes;
     }
 
-    //Valida conflitos de horários para a partida
-    private void validarConflitoDeHorarios(PartidaDTO partidaDTO, Long idPartidaAtual) {
-        // Verifica se já existe partida no mesmo estádio no mesmo dia
-        if (partidaRepository.existsByEstadioAndDataHora(partidaDTO.getEstadio(), partidaDTO.getDataHora(), idPartidaAtual)) {
-            throw new RegraDeExcecao409("Já existe uma partida marcada para este estádio no mesmo dia");
+    //Valida conflitos de horários para a partida (consulta a agenda em memória, sem ir ao banco)
+    private void validarConflitoDeHorarios(PartidaDTO partidaDTO, Long estadioId, Long idPartidaAtual) {
+        // Verifica se já existe partida no mesmo estádio no mesmo horário
+        if (agendaPartidas.estadioOcupado(estadioId, partidaDTO.getDataHora(), idPartidaAtual)) {
+            throw new RegraDeExcecao409(RegrasPartida.ESTADIO_OCUPADO);
         }
 
-        // Verifica se algum clube já tem partida próxima (48h)
-        LocalDateTime dataInicio = partidaDTO.getDataHora().minusHours(INTERVALO_MINIMO_HORAS);
-        LocalDateTime dataFim = partidaDTO.getDataHora().plusHours(INTERVALO_MINIMO_HORAS);
-        
-        // Verifica para o clube da casa
-        List<PartidaEntity> partidasProximasCasa = partidaRepository.buscarPartidasPorClube(
-            partidaDTO.getClubeCasaId(), dataInicio, dataFim);
-            
-        // Remove a partida atual da verificação (caso seja uma atualização)
-        partidasProximasCasa.removeIf(p -> p.getId().equals(idPartidaAtual));
-        
-        if (!partidasProximasCasa.isEmpty()) {
-            throw new RegraDeExcecao409("O clube da casa já tem uma partida agendada com menos de 48h desta data");
+        // Verifica se algum clube já tem partida próxima (48h), sem contar a própria partida (caso seja uma atualização)
+        if (agendaPartidas.clubeTemPartidaProxima(partidaDTO.getClubeCasaId(), partidaDTO.getDataHora(),
+                RegrasPartida.INTERVALO_MINIMO_HORAS, idPartidaAtual)) {
+            throw new RegraDeExcecao409(RegrasPartida.CLUBE_CASA_COM_PARTIDA_PROXIMA);
         }
-        
-        // Verifica para o clube visitante
-        List<PartidaEntity> partidasProximasVisitante = partidaRepository.buscarPartidasPorClube(
-            partidaDTO.getClubeVisitanteId(), dataInicio, dataFim);
-            
-        // Remove a partida atual da verificação (caso seja uma atualização)
-        partidasProximasVisitante.removeIf(p -> p.getId().equals(idPartidaAtual));
-        
-        if (!partidasProximasVisitante.isEmpty()) {
-            throw new RegraDeExcecao409("O clube visitante já tem uma partida agendada próxima a esta data");
+
+        if (agendaPartidas.clubeTemPartidaProxima(partidaDTO.getClubeVisitanteId(), partidaDTO.getDataHora(),
+                RegrasPartida.INTERVALO_MINIMO_HORAS, idPartidaAtual)) {
+            throw new RegraDeExcecao409(RegrasPartida.CLUBE_VISITANTE_COM_PARTIDA_PROXIMA);
         }
     }
 }
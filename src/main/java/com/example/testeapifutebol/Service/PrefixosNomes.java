@@ -0,0 +1,367 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Prefixos de nomes em um vetor ordenado, para o autocomplete ("o nome começa com o que já foi digitado")
+//- Cada nome entra uma vez por palavra, do começo da palavra até o fim do nome, dobrado como no IndiceTrigramas
+//  ("Vasco da Gama" -> "vasco da gama", "da gama", "gama"): digitar "gama" também sugere o Vasco
+//- A busca binária acha o intervalo de chaves com o prefixo; uma árvore de segmentos sobre as posições diz
+//  qual chave do intervalo tem o nome com mais partidas. Tira a melhor, parte o intervalo em dois e repete
+//  até ter 'limite' nomes: não percorre o intervalo inteiro (um prefixo de uma letra pega milhares de chaves)
+//- Cada id ocupa uma vaga fixa (nome, nome dobrado e partidas): somar uma partida só refaz o caminho das
+//  chaves do nome na árvore; incluir, trocar ou tirar um nome remonta a árvore
+//Não é thread-safe: quem usa (SugestoesNomes) sincroniza
+class PrefixosNomes {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Por vaga: id, nome como foi cadastrado, nome dobrado e total de partidas
+    private long[] ids;
+    private String[] nomes;
+    private String[] dobrados;
+    private int[] partidas;
+    private int vagas;
+    private final Map<Long, Integer> vagaPorId = new HashMap<>();
+    private final Deque<Integer> vagasLivres = new ArrayDeque<>();
+
+    // Chaves em ordem alfabética e a vaga do nome de cada uma
+    private String[] chaves;
+    private int[] vagaDaChave;
+    private int tamanho;
+
+    // Árvore de segmentos sobre as posições das chaves: nó -> posição da melhor chave do trecho (-1 = vazio)
+    // folhas em [tamanho, 2 * tamanho)
+    private int[] arvore;
+
+    // Fila de intervalos da busca (heap pela melhor chave de cada um), reaproveitada entre as buscas
+    private int[] filaInicio = new int[CAPACIDADE_INICIAL];
+    private int[] filaFim = new int[CAPACIDADE_INICIAL];
+    private int[] filaMelhor = new int[CAPACIDADE_INICIAL];
+    private int filaTamanho;
+
+    PrefixosNomes() {
+        limpar();
+    }
+
+    //Troca tudo pelas linhas (id, nome): junta as chaves e ordena uma vez só
+    void carregar(List<Object[]> linhas) {
+        limpar();
+        for (Object[] linha : linhas) {
+            int vaga = novaVaga((Long) linha[0]);
+            nomes[vaga] = (String) linha[1];
+            dobrados[vaga] = IndiceTrigramas.dobrar(nomes[vaga]);
+            for (String chave : chaves(dobrados[vaga])) {
+                garantirCapacidadeChaves();
+                chaves[tamanho] = chave;
+                vagaDaChave[tamanho++] = vaga;
+            }
+        }
+        Integer[] ordem = new Integer[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            ordem[i] = i;
+        }
+        String[] desordenadas = chaves;
+        int[] vagasDesordenadas = vagaDaChave;
+        Arrays.sort(ordem, Comparator.comparing(i -> desordenadas[i]));
+        chaves = new String[desordenadas.length];
+        vagaDaChave = new int[desordenadas.length];
+        for (int i = 0; i < tamanho; i++) {
+            chaves[i] = desordenadas[ordem[i]];
+            vagaDaChave[i] = vagasDesordenadas[ordem[i]];
+        }
+        montarArvore();
+    }
+
+    //Inclui ou troca o nome de um id (as partidas já somadas continuam)
+    void colocar(Long id, String nome) {
+        Integer vaga = vagaPorId.get(id);
+        if (vaga != null) {
+            removerChaves(vaga);
+        } else {
+            vaga = novaVaga(id);
+        }
+        nomes[vaga] = nome;
+        dobrados[vaga] = IndiceTrigramas.dobrar(nome);
+        for (String chave : chaves(dobrados[vaga])) {
+            inserirChave(chave, vaga);
+        }
+        montarArvore();
+    }
+
+    void remover(Long id) {
+        Integer vaga = vagaPorId.remove(id);
+        if (vaga == null) {
+            return;
+        }
+        removerChaves(vaga);
+        montarArvore();
+        nomes[vaga] = null;
+        dobrados[vaga] = null;
+        partidas[vaga] = 0;
+        vagasLivres.push(vaga);
+    }
+
+    //Soma (ou subtrai) partidas de um id; ids sem nome no índice são ignorados
+    void somarPartidas(Long id, int quantidade) {
+        Integer vaga = vagaPorId.get(id);
+        if (vaga == null) {
+            return;
+        }
+        partidas[vaga] += quantidade;
+        for (String chave : chaves(dobrados[vaga])) {
+            subirNaArvore(posicaoDaChave(chave, vaga));
+        }
+    }
+
+    //Até 'limite' nomes com alguma palavra começando pelo termo (dobrado): mais partidas primeiro,
+    //depois em ordem alfabética
+    List<SugestaoNomeDTO> sugerir(String termo, int limite) {
+        String prefixo = IndiceTrigramas.dobrar(termo);
+        int[] melhores = new int[limite];
+        int achados = 0;
+        filaTamanho = 0;
+        colocarNaFila(primeiraChave(prefixo), fimDoPrefixo(prefixo));
+        while (achados < limite && filaTamanho > 0) {
+            // Intervalo cuja melhor chave é a melhor de todas: a chave sai e o resto volta em dois pedaços
+            int inicio = filaInicio[0];
+            int fim = filaFim[0];
+            int posicao = filaMelhor[0];
+            tirarDaFila();
+            int vaga = vagaDaChave[posicao];
+            if (!contem(melhores, achados, vaga)) { // outra palavra de um nome que já saiu
+                melhores[achados++] = vaga;
+            }
+            colocarNaFila(inicio, posicao);
+            colocarNaFila(posicao + 1, fim);
+        }
+        List<SugestaoNomeDTO> sugestoes = new ArrayList<>(achados);
+        for (int i = 0; i < achados; i++) {
+            int vaga = melhores[i];
+            sugestoes.add(new SugestaoNomeDTO(ids[vaga], nomes[vaga], partidas[vaga]));
+        }
+        return sugestoes;
+    }
+
+    void limpar() {
+        ids = new long[CAPACIDADE_INICIAL];
+        nomes = new String[CAPACIDADE_INICIAL];
+        dobrados = new String[CAPACIDADE_INICIAL];
+        partidas = new int[CAPACIDADE_INICIAL];
+        vagas = 0;
+        vagaPorId.clear();
+        vagasLivres.clear();
+        chaves = new String[CAPACIDADE_INICIAL];
+        vagaDaChave = new int[CAPACIDADE_INICIAL];
+        tamanho = 0;
+        arvore = new int[0];
+    }
+
+    // A vaga 'a' vem antes da 'b' na sugestão?
+    private boolean antes(int a, int b) {
+        if (partidas[a] != partidas[b]) {
+            return partidas[a] > partidas[b];
+        }
+        int nome = dobrados[a].compareTo(dobrados[b]);
+        return nome != 0 ? nome < 0 : ids[a] < ids[b];
+    }
+
+    // Das duas posições de chave, a do nome que vem antes (-1 = nenhuma)
+    private int melhor(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return antes(vagaDaChave[b], vagaDaChave[a]) ? b : a;
+    }
+
+    private void montarArvore() {
+        arvore = new int[2 * tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            arvore[tamanho + i] = i;
+        }
+        for (int no = tamanho - 1; no > 0; no--) {
+            arvore[no] = melhor(arvore[2 * no], arvore[2 * no + 1]);
+        }
+    }
+
+    // As partidas da chave mudaram: refaz os nós acima da folha
+    private void subirNaArvore(int posicao) {
+        for (int no = (posicao + tamanho) / 2; no > 0; no /= 2) {
+            arvore[no] = melhor(arvore[2 * no], arvore[2 * no + 1]);
+        }
+    }
+
+    // Melhor chave em [inicio, fim), subindo das folhas
+    private int melhorNoIntervalo(int inicio, int fim) {
+        int melhor = -1;
+        for (int esquerda = inicio + tamanho, direita = fim + tamanho; esquerda < direita; esquerda /= 2, direita /= 2) {
+            if ((esquerda & 1) == 1) {
+                melhor = melhor(melhor, arvore[esquerda++]);
+            }
+            if ((direita & 1) == 1) {
+                melhor = melhor(melhor, arvore[--direita]);
+            }
+        }
+        return melhor;
+    }
+
+    private void colocarNaFila(int inicio, int fim) {
+        if (inicio >= fim) {
+            return;
+        }
+        if (filaTamanho == filaInicio.length) {
+            filaInicio = Arrays.copyOf(filaInicio, filaTamanho * 2);
+            filaFim = Arrays.copyOf(filaFim, filaTamanho * 2);
+            filaMelhor = Arrays.copyOf(filaMelhor, filaTamanho * 2);
+        }
+        int melhor = melhorNoIntervalo(inicio, fim);
+        int i = filaTamanho++;
+        while (i > 0 && antes(vagaDaChave[melhor], vagaDaChave[filaMelhor[(i - 1) / 2]])) {
+            int pai = (i - 1) / 2;
+            moverNaFila(pai, i);
+            i = pai;
+        }
+        filaInicio[i] = inicio;
+        filaFim[i] = fim;
+        filaMelhor[i] = melhor;
+    }
+
+    private void tirarDaFila() {
+        filaTamanho--;
+        int inicio = filaInicio[filaTamanho];
+        int fim = filaFim[filaTamanho];
+        int melhor = filaMelhor[filaTamanho];
+        int i = 0;
+        while (2 * i + 1 < filaTamanho) {
+            int filho = 2 * i + 1;
+            if (filho + 1 < filaTamanho && antes(vagaDaChave[filaMelhor[filho + 1]], vagaDaChave[filaMelhor[filho]])) {
+                filho++;
+            }
+            if (!antes(vagaDaChave[filaMelhor[filho]], vagaDaChave[melhor])) {
+                break;
+            }
+            moverNaFila(filho, i);
+            i = filho;
+        }
+        filaInicio[i] = inicio;
+        filaFim[i] = fim;
+        filaMelhor[i] = melhor;
+    }
+
+    private void moverNaFila(int de, int para) {
+        filaInicio[para] = filaInicio[de];
+        filaFim[para] = filaFim[de];
+        filaMelhor[para] = filaMelhor[de];
+    }
+
+    private static boolean contem(int[] vagas, int quantidade, int vaga) {
+        for (int i = 0; i < quantidade; i++) {
+            if (vagas[i] == vaga) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Busca binária: posição da primeira chave >= prefixo
+    private int primeiraChave(String prefixo) {
+        int inicio = 0;
+        int fim = tamanho;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (chaves[meio].compareTo(prefixo) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    // Busca binária: posição da primeira chave depois das que começam com o prefixo
+    private int fimDoPrefixo(String prefixo) {
+        int inicio = primeiraChave(prefixo);
+        int fim = tamanho;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (chaves[meio].startsWith(prefixo)) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    // Nomes diferentes podem ter a mesma chave: anda entre as iguais até achar a da vaga
+    private int posicaoDaChave(String chave, int vaga) {
+        int posicao = primeiraChave(chave);
+        while (vagaDaChave[posicao] != vaga) {
+            posicao++;
+        }
+        return posicao;
+    }
+
+    private void inserirChave(String chave, int vaga) {
+        garantirCapacidadeChaves();
+        int posicao = primeiraChave(chave);
+        System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+        System.arraycopy(vagaDaChave, posicao, vagaDaChave, posicao + 1, tamanho - posicao);
+        chaves[posicao] = chave;
+        vagaDaChave[posicao] = vaga;
+        tamanho++;
+    }
+
+    private void removerChaves(int vaga) {
+        for (String chave : chaves(dobrados[vaga])) {
+            int posicao = posicaoDaChave(chave, vaga);
+            System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+            System.arraycopy(vagaDaChave, posicao + 1, vagaDaChave, posicao, tamanho - posicao - 1);
+            chaves[--tamanho] = null;
+        }
+    }
+
+    private int novaVaga(Long id) {
+        Integer livre = vagasLivres.poll();
+        int vaga = livre != null ? livre : vagas++;
+        if (vaga == ids.length) {
+            int capacidade = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidade);
+            nomes = Arrays.copyOf(nomes, capacidade);
+            dobrados = Arrays.copyOf(dobrados, capacidade);
+            partidas = Arrays.copyOf(partidas, capacidade);
+        }
+        ids[vaga] = id;
+        partidas[vaga] = 0;
+        vagaPorId.put(id, vaga);
+        return vaga;
+    }
+
+    private void garantirCapacidadeChaves() {
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            vagaDaChave = Arrays.copyOf(vagaDaChave, tamanho * 2);
+        }
+    }
+
+    // O nome inteiro e, para cada palavra depois da primeira, o trecho que começa nela
+    private static List<String> chaves(String dobrado) {
+        List<String> chaves = new ArrayList<>();
+        chaves.add(dobrado);
+        for (int i = dobrado.indexOf(' '); i >= 0; i = dobrado.indexOf(' ', i + 1)) {
+            chaves.add(dobrado.substring(i + 1));
+        }
+        return chaves;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+
+import java.util.Comparator;
+import java.util.List;
+
+//Regras de ordenação dos quatro tipos de ranking ('pontos', 'gols', 'vitorias' e 'jogos')
+//Usadas por todo lugar que monta um ranking, para o desempate ser sempre o mesmo
+public final class RankingComparadores {
+
+    public static final List<String> TIPOS = List.of("pontos", "gols", "vitorias", "jogos");
+
+    // pontos > vitórias > saldo de gols > gols feitos > nome
+    public static final Comparator<RankingClubeDTO> PONTOS = (a, b) -> {
+        if (a.getPontos() != b.getPontos()) {
+            return Integer.compare(b.getPontos(), a.getPontos());
+        } else if (a.getVitorias() != b.getVitorias()) {
+            return Integer.compare(b.getVitorias(), a.getVitorias());
+        } else if (a.getSaldoGols() != b.getSaldoGols()) {
+            return Integer.compare(b.getSaldoGols(), a.getSaldoGols());
+        } else if (a.getGolsFeitos() != b.getGolsFeitos()) {
+            return Integer.compare(b.getGolsFeitos(), a.getGolsFeitos());
+        } else {
+            return compararNomes(a.getNome(), b.getNome());
+        }
+    };
+
+    // gols feitos > nome
+    public static final Comparator<RankingClubeDTO> GOLS = (a, b) -> {
+        if (a.getGolsFeitos() != b.getGolsFeitos()) {
+            return Integer.compare(b.getGolsFeitos(), a.getGolsFeitos());
+        }
+        return compararNomes(a.getNome(), b.getNome());
+    };
+
+    // vitórias > pontos > saldo de gols > nome
+    public static final Comparator<RankingClubeDTO> VITORIAS = (a, b) -> {
+        if (a.getVitorias() != b.getVitorias()) {
+            return Integer.compare(b.getVitorias(), a.getVitorias());
+        } else if (a.getPontos() != b.getPontos()) {
+            return Integer.compare(b.getPontos(), a.getPontos());
+        } else if (a.getSaldoGols() != b.getSaldoGols()) {
+            return Integer.compare(b.getSaldoGols(), a.getSaldoGols());
+        } else {
+            return compararNomes(a.getNome(), b.getNome());
+        }
+    };
+
+    // jogos > nome
+    public static final Comparator<RankingClubeDTO> JOGOS = (a, b) -> {
+        if (a.getJogos() != b.getJogos()) {
+            return Integer.compare(b.getJogos(), a.getJogos());
+        } else {
+            return compararNomes(a.getNome(), b.getNome());
+        }
+    };
+
+    private RankingComparadores() {
+    }
+
+    //Desempate pelo nome em ordem binária (código Unicode de cada caractere), a mesma do
+    //CAST(nome AS BINARY(...)) do ClassificacaoRepository: não depende do collation do banco,
+    //que no MySQL (utf8mb4_0900_ai_ci) ignora maiúsculas e acentos
+    public static int compararNomes(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    //Devolve o comparador do tipo de ranking informado
+    //@throws IllegalArgumentException se o tipo não for 'pontos', 'gols', 'vitorias' ou 'jogos'
+    public static Comparator<RankingClubeDTO> porTipo(String tipo) {
+        switch (tipo.toLowerCase()) {
+            case "pontos":
+                return PONTOS;
+            case "gols":
+                return GOLS;
+            case "vitorias":
+                return VITORIAS;
+            case "jogos":
+                return JOGOS;
+            default:
+                throw new IllegalArgumentException("Tipo de ranking inválido. Use: pontos, gols, vitorias ou jogos");
+        }
+    }
+
+    //Monta a linha do ranking a partir dos totais do clube (pontos e saldo são calculados aqui)
+    public static RankingClubeDTO criarLinha(Long clubeId, String nome, int jogos, int vitorias, int empates,
+                                             int derrotas, int golsFeitos, int golsSofridos) {
+        RankingClubeDTO dto = new RankingClubeDTO();
+        dto.setId(clubeId);
+        dto.setNome(nome);
+        dto.setJogos(jogos);
+        dto.setVitorias(vitorias);
+        dto.setEmpates(empates);
+        dto.setDerrotas(derrotas);
+        dto.setGolsFeitos(golsFeitos);
+        dto.setGolsSofridos(golsSofridos);
+        dto.setSaldoGols(golsFeitos - golsSofridos);
+        dto.setPontos((vitorias * 3) + empates);
+        return dto;
+    }
+}
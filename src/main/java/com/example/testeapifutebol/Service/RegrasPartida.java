@@ -0,0 +1,115 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+
+import java.time.LocalDateTime;
+
+//Regras de uma partida que não dependem de como os clubes/estádio foram buscados
+//Usadas pelo PartidaService (uma partida) e pelo ImportacaoPartidasService (lote), com as mesmas mensagens
+final class RegrasPartida {
+
+    static final int INTERVALO_MINIMO_HORAS = 48;
+
+    // Mensagens do conflito de horários (cada service confere a agenda do seu jeito)
+    static final String ESTADIO_OCUPADO = "Já existe uma partida marcada para este estádio no mesmo dia";
+    static final String CLUBE_CASA_COM_PARTIDA_PROXIMA =
+            "O clube da casa já tem uma partida agendada com menos de 48h desta data";
+    static final String CLUBE_VISITANTE_COM_PARTIDA_PROXIMA =
+            "O clube visitante já tem uma partida agendada próxima a esta data";
+
+    private RegrasPartida() {
+    }
+
+    //Valida os dados básicos da partida (só os campos do DTO, sem ir ao banco)
+    //@param partidaDTO DTO com os dados da partida
+    //@throws RegraDeInvalidosExcecao400 Se os dados forem inválidos
+    static void validarDadosBasicos(PartidaDTO partidaDTO) {
+        // Valida campos obrigatórios
+        if (partidaDTO.getClubeCasaId() == null) {
+            throw new RegraDeInvalidosExcecao400("O ID do clube da casa é obrigatório");
+        }
+
+        if (partidaDTO.getClubeVisitanteId() == null) {
+            throw new RegraDeInvalidosExcecao400("O ID do clube visitante é obrigatório");
+        }
+
+        if (partidaDTO.getEstadio() == null || partidaDTO.getEstadio().trim().isEmpty()) {
+            throw new RegraDeInvalidosExcecao400("O estádio é obrigatório");
+        }
+
+        if (partidaDTO.getDataHora() == null) {
+            throw new RegraDeInvalidosExcecao400("A data e hora da partida são obrigatórias");
+        }
+
+        // Valida resultados não nulos
+        if (partidaDTO.getResultadoCasa() == null || partidaDTO.getResultadoVisitante() == null) {
+            throw new RegraDeInvalidosExcecao400("Os resultados da partida são obrigatórios");
+        }
+
+        // Valida clubes iguais
+        if (partidaDTO.getClubeCasaId().equals(partidaDTO.getClubeVisitanteId())) {
+            throw new RegraDeInvalidosExcecao400("Os clubes da casa e visitante não podem ser iguais");
+        }
+    }
+
+    //Valida a partida contra os clubes e o estádio já buscados
+    //@param clubeCasa/clubeVisitante null quando o clube não existe
+    //@param historico true na importação de resultados antigos: não exige data futura
+    static void validarComClubes(PartidaDTO partidaDTO, ClubeEntity clubeCasa, ClubeEntity clubeVisitante,
+                                 boolean estadioExiste, boolean historico) {
+        // Valida existência dos clubes
+        if (clubeCasa == null) {
+            throw new RegraDeInvalidosExcecao400("Clube da casa inexistente");
+        }
+
+        if (clubeVisitante == null) {
+            throw new RegraDeInvalidosExcecao400("Clube visitante inexistente");
+        }
+
+        // Valida existência do estádio
+        if (!estadioExiste) {
+            throw new RegraDeInvalidosExcecao400("Estádio inexistente");
+        }
+
+        // Valida gols não negativos
+        if (partidaDTO.getResultadoCasa() < 0 || partidaDTO.getResultadoVisitante() < 0) {
+            throw new RegraDeInvalidosExcecao400("O número de gols não pode ser negativo");
+        }
+
+        // Validações de negócio
+        validarDataPartida(partidaDTO.getDataHora(), clubeCasa, clubeVisitante, historico);
+        validarStatusDosClubes(clubeCasa, clubeVisitante);
+    }
+
+    //Valida a data da partida em relação à data de criação dos clubes
+    private static void validarDataPartida(LocalDateTime dataHora, ClubeEntity clubeCasa, ClubeEntity clubeVisitante,
+                                           boolean historico) {
+        // Valida se a data é posterior à criação dos clubes
+        if (dataHora.toLocalDate().isBefore(clubeCasa.getDataCriacao())) {
+            throw new RegraDeExcecao409("A data da partida é anterior à data de criação do clube da casa, (" + clubeCasa.getNome() + ")");
+        }
+
+        if (dataHora.toLocalDate().isBefore(clubeVisitante.getDataCriacao())) {
+            throw new RegraDeExcecao409("A data da partida é anterior à data de criação do clube visitante, (" + clubeVisitante.getNome() + ")");
+        }
+
+        // Valida data deve ser futura (após validar criação dos clubes)
+        if (!historico && dataHora.isBefore(LocalDateTime.now())) {
+            throw new RegraDeInvalidosExcecao400("A data da partida deve ser futura");
+        }
+    }
+
+    //Valida o status dos clubes (devem estar ativos)
+    private static void validarStatusDosClubes(ClubeEntity clubeCasa, ClubeEntity clubeVisitante) {
+        if ("N".equalsIgnoreCase(clubeCasa.getAtivo())) {
+            throw new RegraDeExcecao409("O clube da casa, " + clubeCasa.getNome() + ", está inativo");
+        }
+
+        if ("N".equalsIgnoreCase(clubeVisitante.getAtivo())) {
+            throw new RegraDeExcecao409("O clube visitante, " + clubeVisitante.getNome() + ", está inativo");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+//Deixa a tabela de sequência de ids da partida ('sequencia_id') à frente das partidas já gravadas
+//Bancos criados quando o id era IDENTITY já têm partidas, e a sequência começaria do zero repetindo esses ids
+//O Hibernate entrega ids a partir de (valor - BLOCO_IDS), por isso a folga de um bloco inteiro
+@Component
+public class SequenciaIdsPartida {
+
+    private final PartidaRepository partidaRepository;
+
+    public SequenciaIdsPartida(PartidaRepository partidaRepository) {
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Roda ao subir a aplicação, antes de qualquer partida nova ser gravada
+    @PostConstruct
+    public void alinhar() {
+        if (partidaRepository.criarSequenciaIds(PartidaEntity.BLOCO_IDS) == 0) {
+            partidaRepository.alinharSequenciaIds(PartidaEntity.BLOCO_IDS);
+        }
+    }
+}
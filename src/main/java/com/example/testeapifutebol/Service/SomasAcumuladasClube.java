@@ -0,0 +1,192 @@
+package com.example.testeapifutebol.Service;
+
+import java.util.Arrays;
+
+import static com.example.testeapifutebol.Service.DiferencaClassificacao.TAMANHO;
+
+//Partidas de um clube em ordem de data, com somas acumuladas (árvore de Fenwick) dos totais da classificação
+//- Cada partida é uma posição, ordenada por (tempo, id da partida); os totais seguem o int[] do DiferencaClassificacao
+//- Partida nova depois da última: entra no fim em O(log n)
+//- Partida fora de ordem: entra na posição certa e a árvore do clube é remontada em O(n)
+//- Partida removida: os valores da posição são zerados em O(log n) e a posição some na próxima remontagem
+final class SomasAcumuladasClube {
+
+    private long[] tempos = new long[8];
+    private long[] ids = new long[8];
+    // Valores de cada posição e a árvore, TAMANHO ints por posição (posição i começa em i * TAMANHO, a 0 não é usada)
+    private int[] valores = new int[9 * TAMANHO];
+    private int[] arvore = new int[9 * TAMANHO];
+    private int tamanho;
+    private int removidas;
+
+    //Soma os valores de uma partida (sinal = 1) ou retira (sinal = -1)
+    void somar(long tempo, long partidaId, int[] totais, int sinal) {
+        int indice = buscar(tempo, partidaId);
+        if (indice >= 0) {
+            if (sinal < 0 && vazia(indice + 1)) {
+                return;
+            }
+            boolean estavaVazia = vazia(indice + 1);
+            atualizar(indice + 1, totais, sinal);
+            if (vazia(indice + 1)) {
+                removidas++;
+            } else if (estavaVazia) {
+                removidas--;
+            }
+            return;
+        }
+        if (sinal < 0) {
+            return; // partida que o clube não tem
+        }
+        int insercao = -indice - 1;
+        garantirCapacidade(tamanho + 1);
+        if (insercao == tamanho) {
+            anexar(tempo, partidaId, totais);
+        } else {
+            inserirNoMeio(insercao, tempo, partidaId, totais);
+        }
+    }
+
+    //Soma em 'destino' os totais das partidas com tempo < limite
+    void somarAntesDe(long limite, int[] destino, int sinal) {
+        int posicao = primeiraPosicaoComTempo(limite);
+        while (posicao > 0) {
+            int base = posicao * TAMANHO;
+            for (int i = 0; i < TAMANHO; i++) {
+                destino[i] += sinal * arvore[base + i];
+            }
+            posicao -= posicao & -posicao;
+        }
+    }
+
+    int quantidadePartidas() {
+        return tamanho - removidas;
+    }
+
+    private void anexar(long tempo, long partidaId, int[] totais) {
+        int posicao = ++tamanho;
+        tempos[posicao - 1] = tempo;
+        ids[posicao - 1] = partidaId;
+        int base = posicao * TAMANHO;
+        System.arraycopy(totais, 0, valores, base, TAMANHO);
+        System.arraycopy(totais, 0, arvore, base, TAMANHO);
+        // O nó 'posicao' cobre (posicao - lowbit, posicao]: soma os nós filhos já existentes
+        int filho = posicao - 1;
+        int inicio = posicao - (posicao & -posicao);
+        while (filho > inicio) {
+            int baseFilho = filho * TAMANHO;
+            for (int i = 0; i < TAMANHO; i++) {
+                arvore[base + i] += arvore[baseFilho + i];
+            }
+            filho -= filho & -filho;
+        }
+    }
+
+    private void inserirNoMeio(int insercao, long tempo, long partidaId, int[] totais) {
+        // Aproveita a remontagem para descartar as posições removidas
+        long[] novosTempos = new long[tempos.length];
+        long[] novosIds = new long[ids.length];
+        int[] novosValores = new int[valores.length];
+        int novoTamanho = 0;
+        for (int i = 0; i <= tamanho; i++) {
+            if (i == insercao) {
+                novosTempos[novoTamanho] = tempo;
+                novosIds[novoTamanho] = partidaId;
+                System.arraycopy(totais, 0, novosValores, (novoTamanho + 1) * TAMANHO, TAMANHO);
+                novoTamanho++;
+            }
+            if (i < tamanho && !vazia(i + 1)) {
+                novosTempos[novoTamanho] = tempos[i];
+                novosIds[novoTamanho] = ids[i];
+                System.arraycopy(valores, (i + 1) * TAMANHO, novosValores, (novoTamanho + 1) * TAMANHO, TAMANHO);
+                novoTamanho++;
+            }
+        }
+        tempos = novosTempos;
+        ids = novosIds;
+        valores = novosValores;
+        tamanho = novoTamanho;
+        removidas = 0;
+        remontarArvore();
+    }
+
+    // Montagem da árvore em O(n): cada nó repassa a sua soma para o pai
+    private void remontarArvore() {
+        arvore = Arrays.copyOf(valores, valores.length);
+        for (int posicao = 1; posicao <= tamanho; posicao++) {
+            int pai = posicao + (posicao & -posicao);
+            if (pai <= tamanho) {
+                for (int i = 0; i < TAMANHO; i++) {
+                    arvore[pai * TAMANHO + i] += arvore[posicao * TAMANHO + i];
+                }
+            }
+        }
+    }
+
+    private void atualizar(int posicao, int[] totais, int sinal) {
+        for (int i = 0; i < TAMANHO; i++) {
+            valores[posicao * TAMANHO + i] += sinal * totais[i];
+        }
+        while (posicao <= tamanho) {
+            int base = posicao * TAMANHO;
+            for (int i = 0; i < TAMANHO; i++) {
+                arvore[base + i] += sinal * totais[i];
+            }
+            posicao += posicao & -posicao;
+        }
+    }
+
+    // Busca binária por (tempo, id); devolve o índice ou -(ponto de inserção) - 1, como Arrays.binarySearch
+    private int buscar(long tempo, long partidaId) {
+        int baixo = 0;
+        int alto = tamanho - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int comparacao = tempos[meio] != tempo ? Long.compare(tempos[meio], tempo) : Long.compare(ids[meio], partidaId);
+            if (comparacao < 0) {
+                baixo = meio + 1;
+            } else if (comparacao > 0) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(baixo + 1);
+    }
+
+    // Quantidade de posições com tempo < limite
+    private int primeiraPosicaoComTempo(long limite) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (tempos[meio] < limite) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private boolean vazia(int posicao) {
+        int base = posicao * TAMANHO;
+        for (int i = 0; i < TAMANHO; i++) {
+            if (valores[base + i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void garantirCapacidade(int quantidade) {
+        if (quantidade <= tempos.length) {
+            return;
+        }
+        int capacidade = Math.max(quantidade, tempos.length * 2);
+        tempos = Arrays.copyOf(tempos, capacidade);
+        ids = Arrays.copyOf(ids, capacidade);
+        valores = Arrays.copyOf(valores, (capacidade + 1) * TAMANHO);
+        arvore = Arrays.copyOf(arvore, (capacidade + 1) * TAMANHO);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+//Autocomplete de clubes e estádios feito em memória (PrefixosNomes), sem consulta nem COUNT a cada tecla
+//- Os mais usados primeiro: clube pelo total de partidas (mandante + visitante), estádio pelas partidas nele
+//- Carrega nomes e totais do banco ao subir e segue os eventos de clube, estádio e partida depois do commit
+@Component
+public class SugestoesNomes {
+
+    public static final int LIMITE_MAXIMO = 20;
+
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final PartidaRepository partidaRepository;
+
+    private final PrefixosNomes clubes = new PrefixosNomes();
+    private final PrefixosNomes estadios = new PrefixosNomes();
+
+    public SugestoesNomes(ClubeRepository clubeRepository, EstadioRepository estadioRepository,
+                          PartidaRepository partidaRepository) {
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.partidaRepository = partidaRepository;
+    }
+
+    //Carrega o nome de todos os clubes e estádios e quantas partidas cada um tem
+    @PostConstruct
+    public synchronized void carregar() {
+        clubes.carregar(clubeRepository.findIdsENomes());
+        estadios.carregar(estadioRepository.findIdsENomes());
+        for (Object[] linha : partidaRepository.findTotalPartidasPorMandante()) {
+            clubes.somarPartidas((Long) linha[0], ((Number) linha[1]).intValue());
+        }
+        for (Object[] linha : partidaRepository.findTotalPartidasPorVisitante()) {
+            clubes.somarPartidas((Long) linha[0], ((Number) linha[1]).intValue());
+        }
+        for (Object[] linha : partidaRepository.findTotalPartidasPorEstadio()) {
+            estadios.somarPartidas((Long) linha[0], ((Number) linha[1]).intValue());
+        }
+    }
+
+    //Escuta as alterações de clube depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarClube(ClubeAlteradoEvento evento) {
+        clubes.colocar(evento.getId(), evento.getNome());
+    }
+
+    //Escuta as alterações de estádio depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarEstadio(EstadioAlteradoEvento evento) {
+        if (evento.getNome() != null) {
+            estadios.colocar(evento.getId(), evento.getNome());
+        } else {
+            estadios.remover(evento.getId());
+        }
+    }
+
+    //Escuta as alterações de partida depois do commit (ou na hora, se não houver transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarPartida(PartidaAlteradaEvento evento) {
+        if (evento.getAnterior() != null) {
+            somarPartida(evento.getAnterior(), -1);
+        }
+        if (evento.getAtual() != null) {
+            somarPartida(evento.getAtual(), 1);
+        }
+    }
+
+    //Até 'limite' clubes com alguma palavra do nome começando pelo termo, os com mais partidas primeiro
+    public synchronized List<SugestaoNomeDTO> sugerirClubes(String termo, int limite) {
+        return clubes.sugerir(termo, limite);
+    }
+
+    //Até 'limite' estádios com alguma palavra do nome começando pelo termo, os com mais partidas primeiro
+    public synchronized List<SugestaoNomeDTO> sugerirEstadios(String termo, int limite) {
+        return estadios.sugerir(termo, limite);
+    }
+
+    private void somarPartida(PartidaEntity partida, int sinal) {
+        clubes.somarPartidas(partida.getClubeCasaId(), sinal);
+        clubes.somarPartidas(partida.getClubeVisitanteId(), sinal);
+        estadios.somarPartidas(partida.getEstadioId(), sinal);
+    }
+}
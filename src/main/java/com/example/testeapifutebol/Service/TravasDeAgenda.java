@@ -0,0 +1,109 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Travas por clube e por estádio em volta de "validar conflito de horário + gravar a partida"
+//- Um número fixo de travas (faixas); cada clube/estádio cai sempre na mesma faixa
+//- Duas gravações só esperam uma pela outra se dividem clube ou estádio (ou, raramente, a mesma faixa)
+//- As faixas são pegas em ordem crescente, então duas gravações nunca ficam esperando uma pela outra em ciclo
+//- A trava fica até o fim da transação: o commit atualiza a AgendaPartidas antes da próxima gravação validar
+//Vale para uma instância da aplicação; com várias instâncias seria preciso uma trava no banco
+@Component
+public class TravasDeAgenda {
+
+    private static final int FAIXAS = 256;
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 10;
+
+    private final ReentrantLock[] travas = new ReentrantLock[FAIXAS];
+
+    public TravasDeAgenda() {
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    //Trava os dois clubes e o estádio até o fim da transação atual (commit ou rollback)
+    //@throws IllegalStateException se não houver transação ativa
+    //@throws RegraDeExcecao409 se a agenda continuar ocupada depois da espera máxima
+    public void travarAteOFimDaTransacao(Long clubeCasaId, Long clubeVisitanteId, Long estadioId) {
+        travarAteOFimDaTransacao(List.of(clubeCasaId, clubeVisitanteId), List.of(estadioId));
+    }
+
+    //Mesmo que o de cima para vários clubes e estádios de uma vez (importação em lote)
+    //Todas as faixas são pegas juntas e em ordem, nunca uma partida de cada vez
+    public void travarAteOFimDaTransacao(Collection<Long> clubeIds, Collection<Long> estadioIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("As travas da agenda precisam de uma transação ativa");
+        }
+        List<ReentrantLock> pegas = travar(clubeIds, estadioIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(pegas);
+            }
+
+            // Depois da AgendaPartidas.aoAlterarPartida (ordem mais alta), que também roda no afterCompletion
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        });
+    }
+
+    List<ReentrantLock> travar(Long clubeCasaId, Long clubeVisitanteId, Long estadioId) {
+        return travar(List.of(clubeCasaId, clubeVisitanteId), List.of(estadioId));
+    }
+
+    // Pega as faixas dos clubes e dos estádios em ordem crescente (sem repetir faixa)
+    List<ReentrantLock> travar(Collection<Long> clubeIds, Collection<Long> estadioIds) {
+        TreeSet<Integer> faixas = new TreeSet<>();
+        for (Long clubeId : clubeIds) {
+            faixas.add(faixa("clube:" + clubeId));
+        }
+        for (Long estadioId : estadioIds) {
+            faixas.add(faixa("estadio:" + estadioId));
+        }
+        List<ReentrantLock> pegas = new ArrayList<>(faixas.size());
+        try {
+            for (int faixa : faixas) {
+                ReentrantLock trava = travas[faixa];
+                if (!trava.tryLock(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS)) {
+                    throw new RegraDeExcecao409("A agenda destes clubes está ocupada, tente novamente");
+                }
+                pegas.add(trava);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(pegas);
+            throw new RegraDeExcecao409("A agenda destes clubes está ocupada, tente novamente");
+        } catch (RuntimeException e) {
+            liberar(pegas);
+            throw e;
+        }
+        return pegas;
+    }
+
+    void liberar(List<ReentrantLock> pegas) {
+        for (int i = pegas.size() - 1; i >= 0; i--) {
+            pegas.get(i).unlock();
+        }
+    }
+
+    // Espalha o hash (como o HashMap) antes de escolher a faixa
+    static int faixa(String chave) {
+        int h = chave.hashCode();
+        h ^= (h >>> 16);
+        return h & (FAIXAS - 1);
+    }
+}
@@ -0,0 +1,31 @@
+-- Esquema como o ddl-auto=update deixava o banco antes das migrações: só as tabelas das três entidades,
+-- sem índices além das chaves, e a partida ainda com id AUTO_INCREMENT e o nome do estádio
+-- Bancos que já existiam entram direto nesta versão (spring.flyway.baseline-on-migrate) e só recebem as seguintes,
+-- por isso tudo o que veio depois (classificacao, sequencia_id, índices) fica da V2 em diante
+
+CREATE TABLE clube (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    estado VARCHAR(2) NOT NULL,
+    datacriacao DATE NOT NULL,
+    ativo VARCHAR(1) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE estadio (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_estadio_nome UNIQUE (nome)
+);
+
+CREATE TABLE partida (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    clube_casa_id BIGINT NOT NULL,
+    clube_visitante_id BIGINT NOT NULL,
+    resultado_casa INTEGER NOT NULL,
+    resultado_visitante INTEGER NOT NULL,
+    estadio VARCHAR(255) NOT NULL,
+    data_hora DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
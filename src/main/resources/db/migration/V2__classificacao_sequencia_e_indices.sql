@@ -0,0 +1,54 @@
+-- Tabelas e índices que a API passou a usar depois do esquema inicial (V1)
+
+-- Totais de cada clube já somados, para o ranking não agregar todas as partidas (ClassificacaoEntity)
+CREATE TABLE classificacao (
+    clube_id BIGINT NOT NULL,
+    jogos INTEGER NOT NULL,
+    vitorias INTEGER NOT NULL,
+    empates INTEGER NOT NULL,
+    derrotas INTEGER NOT NULL,
+    gols_feitos INTEGER NOT NULL,
+    gols_sofridos INTEGER NOT NULL,
+    PRIMARY KEY (clube_id)
+);
+
+-- Totais das partidas que já estão no banco (a mesma conta do DiferencaClassificacao, um lado de cada vez)
+-- Sem isso o ranking começaria vazio e cada partida nova somaria em cima de zero
+INSERT INTO classificacao (clube_id, jogos, vitorias, empates, derrotas, gols_feitos, gols_sofridos)
+SELECT lado.clube_id, COUNT(*),
+       SUM(CASE WHEN lado.feitos > lado.sofridos THEN 1 ELSE 0 END),
+       SUM(CASE WHEN lado.feitos = lado.sofridos THEN 1 ELSE 0 END),
+       SUM(CASE WHEN lado.feitos < lado.sofridos THEN 1 ELSE 0 END),
+       SUM(lado.feitos), SUM(lado.sofridos)
+FROM (SELECT clube_casa_id AS clube_id, resultado_casa AS feitos, resultado_visitante AS sofridos FROM partida
+      UNION ALL
+      SELECT clube_visitante_id, resultado_visitante, resultado_casa FROM partida) lado
+GROUP BY lado.clube_id;
+
+-- Ids das partidas reservados em blocos (ver PartidaEntity); o AUTO_INCREMENT da V1 fica sem uso
+-- A linha 'partida' é criada e alinhada com o maior id já gravado ao subir a aplicação (SequenciaIdsPartida)
+CREATE TABLE sequencia_id (
+    nome VARCHAR(255) NOT NULL,
+    valor BIGINT,
+    PRIMARY KEY (nome)
+);
+
+-- Busca por cursor: começa direto na posição do cursor, sem varrer as páginas anteriores
+CREATE INDEX idx_clube_nome_id ON clube (nome, id);
+CREATE INDEX idx_partida_data_hora_id ON partida (data_hora, id);
+
+-- Filtros da busca (ClubeEspecificacoes, PartidaEspecificacoes), já com a ordem de saída
+CREATE INDEX idx_clube_estado_nome ON clube (estado, nome);
+CREATE INDEX idx_partida_clube_casa ON partida (clube_casa_id, data_hora);
+CREATE INDEX idx_partida_clube_visitante ON partida (clube_visitante_id, data_hora);
+CREATE INDEX idx_partida_estadio ON partida (estadio, data_hora);
+
+-- existsByNomeAndEstado / existsByNomeAndEstadoAndIdNot (cadastro e alteração de clube)
+CREATE INDEX idx_clube_nome_estado ON clube (nome, estado);
+
+-- findConfrontosDiretos: os dois sentidos do confronto, já em ordem de data (ORDER BY data_hora DESC + LIMIT)
+-- findTotaisPorConfronto: GROUP BY (clube_casa_id, clube_visitante_id) lê o índice em ordem
+CREATE INDEX idx_partida_confronto ON partida (clube_casa_id, clube_visitante_id, data_hora);
+
+-- buscarPartidasPorResultado: placar exato
+CREATE INDEX idx_partida_resultado ON partida (resultado_casa, resultado_visitante);
@@ -0,0 +1,11 @@
+-- Quantas partidas há em cada dia, para o GET /partidas/calendario não contar as partidas do mês a cada requisição
+-- Mantida pelo CalendarioPartidasService na mesma transação que grava a partida
+CREATE TABLE partida_dia (
+    dia DATE NOT NULL,
+    partidas INTEGER NOT NULL,
+    PRIMARY KEY (dia)
+);
+
+-- Dias das partidas que já estão no banco
+INSERT INTO partida_dia (dia, partidas)
+SELECT CAST(data_hora AS DATE), COUNT(*) FROM partida GROUP BY CAST(data_hora AS DATE);
@@ -0,0 +1,23 @@
+-- A partida passa a apontar para o estádio pelo id (estadio_id, chave estrangeira) em vez de repetir o nome
+-- Renomear um estádio só muda a linha do estádio; antes as partidas antigas ficavam com o nome velho
+
+-- Coluna nova já NOT NULL com padrão 0 (no MySQL 8 o ADD COLUMN é instantâneo, sem copiar a tabela)
+ALTER TABLE partida ADD COLUMN estadio_id BIGINT NOT NULL DEFAULT 0;
+
+-- Partidas com nome que não existe mais no cadastro (estádio renomeado ou apagado): o nome volta como estádio,
+-- para nenhuma partida perder o estádio
+INSERT INTO estadio (nome)
+SELECT DISTINCT p.estadio FROM partida p
+WHERE NOT EXISTS (SELECT 1 FROM estadio e WHERE e.nome = p.estadio);
+
+UPDATE partida p SET estadio_id = (SELECT e.id FROM estadio e WHERE e.nome = p.estadio);
+
+ALTER TABLE partida ALTER COLUMN estadio_id DROP DEFAULT;
+
+-- Mesmo nome de índice, agora pelo id (também serve de índice da chave estrangeira no MySQL)
+DROP INDEX idx_partida_estadio ON partida;
+CREATE INDEX idx_partida_estadio ON partida (estadio_id, data_hora);
+
+ALTER TABLE partida ADD CONSTRAINT fk_partida_estadio FOREIGN KEY (estadio_id) REFERENCES estadio (id);
+
+ALTER TABLE partida DROP COLUMN estadio;
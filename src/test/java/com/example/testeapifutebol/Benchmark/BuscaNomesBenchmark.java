@@ -0,0 +1,85 @@
+package com.example.testeapifutebol.Benchmark;
+
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Service.IndiceNomes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//Compara a busca por trecho do nome varrendo todos os clubes (o que o LIKE '%termo%' fazia no banco) com o
+//índice de trigramas do IndiceNomes, com 10k e 100k clubes
+//Como rodar: ./mvnw test-compile e depois executar o main desta classe (pela IDE ou com o classpath de teste)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaNomesBenchmark {
+
+    private static final String[] PALAVRAS = {"Atlético", "Esporte", "Clube", "União", "Grêmio", "Sport", "Futebol",
+            "Associação", "Recreativo", "Operário", "Palmeiras", "Santos", "Vitória", "Guarani", "Náutico"};
+
+    @Param({"10000", "100000"})
+    private int clubes;
+
+    @Param({"gremio", "nautico 42"})
+    private String termo;
+
+    private List<Object[]> linhas;
+    private IndiceNomes indiceNomes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        linhas = new ArrayList<>(clubes);
+        for (long id = 1; id <= clubes; id++) {
+            linhas.add(new Object[]{id, PALAVRAS[random.nextInt(PALAVRAS.length)] + " "
+                    + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + id});
+        }
+        ClubeRepository clubeRepository = mock(ClubeRepository.class);
+        EstadioRepository estadioRepository = mock(EstadioRepository.class);
+        when(clubeRepository.findIdsENomes()).thenReturn(linhas);
+        when(estadioRepository.findIdsENomes()).thenReturn(List.of());
+        indiceNomes = new IndiceNomes(clubeRepository, estadioRepository);
+        indiceNomes.carregar();
+    }
+
+    //Caminho anterior: confere o termo em cada nome
+    @Benchmark
+    public List<Long> varreduraCompleta() {
+        String dobrado = dobrar(termo);
+        List<Long> ids = new ArrayList<>();
+        for (Object[] linha : linhas) {
+            if (dobrar((String) linha[1]).contains(dobrado)) {
+                ids.add((Long) linha[0]);
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Long> indiceTrigramas() {
+        return indiceNomes.buscarClubes(termo);
+    }
+
+    private static String dobrar(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BuscaNomesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.testeapifutebol.Benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Tempo de cada consulta do PartidaRepository/ClubeRepository sem os índices (antes) e com o esquema das migrações
+//(db/migration, depois), numa base sintética de 2 milhões de partidas, 20 mil clubes e 500 estádios
+//- O SQL de cada @Benchmark é o que o Hibernate gera para o método do repository indicado no comentário
+//- Padrão: H2 em memória (modo MySQL). Para um MySQL local:
+//  -Dbenchmark.url=jdbc:mysql://localhost:3306/clube_benchmark?rewriteBatchedStatements=true -Dbenchmark.usuario=root -Dbenchmark.senha=...
+//  ATENÇÃO: o banco indicado é apagado (Flyway clean) no começo de cada rodada; use um banco só para isso
+//Como rodar: ./mvnw test-compile e depois executar o main desta classe (pela IDE ou com o classpath de teste)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsultasPartidaBenchmark {
+
+    private static final int CLUBES = 20_000;
+    private static final int ESTADIOS = 500;
+    private static final String[] ESTADOS = {"AC", "AL", "AM", "AP", "BA", "CE", "DF", "ES", "GO", "MA", "MG", "MS",
+            "MT", "PA", "PB", "PE", "PI", "PR", "RJ", "RN", "RO", "RR", "RS", "SC", "SE", "SP", "TO"};
+    private static final LocalDateTime INICIO = LocalDateTime.of(2005, 1, 1, 0, 0);
+    // Índices criados pelas migrações (V2 e V4), removidos no esquema "sem_indices"
+    private static final String[][] INDICES = {
+            {"partida", "idx_partida_data_hora_id"}, {"partida", "idx_partida_clube_casa"},
+            {"partida", "idx_partida_clube_visitante"}, {"partida", "idx_partida_estadio"},
+            {"partida", "idx_partida_confronto"}, {"partida", "idx_partida_resultado"},
+            {"clube", "idx_clube_nome_id"}, {"clube", "idx_clube_estado_nome"}, {"clube", "idx_clube_nome_estado"}};
+
+    @Param({"2000000"})
+    private int partidas;
+
+    @Param({"sem_indices", "com_indices"})
+    private String esquema;
+
+    private Connection conexao;
+    private Random random;
+    // Partidas sorteadas da base (estádio e horário que existem de verdade)
+    private final List<Object[]> amostra = new ArrayList<>();
+
+    private PreparedStatement partidasDoClube;
+    private PreparedStatement partidasDoClubeNoPeriodo;
+    private PreparedStatement confrontosDiretos;
+    private PreparedStatement conflitoDeHorario;
+    private PreparedStatement partidasNoHorario;
+    private PreparedStatement partidasNoEstadio;
+    private PreparedStatement partidasPorResultado;
+    private PreparedStatement clubeRepetido;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        String url = System.getProperty("benchmark.url",
+                "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        String usuario = System.getProperty("benchmark.usuario", "sa");
+        String senha = System.getProperty("benchmark.senha", "");
+        Flyway flyway = Flyway.configure().dataSource(url, usuario, senha).cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+
+        conexao = DriverManager.getConnection(url, usuario, senha);
+        random = new Random(42);
+        carregar();
+        try (Statement comando = conexao.createStatement()) {
+            if (esquema.equals("sem_indices")) {
+                for (String[] indice : INDICES) {
+                    comando.execute("DROP INDEX " + indice[1] + " ON " + indice[0]);
+                }
+            }
+            comando.execute(url.startsWith("jdbc:h2:") ? "ANALYZE" : "ANALYZE TABLE partida, clube, estadio");
+        }
+        sortearAmostra();
+
+        // PartidaRepository.findPartidasByClubeComFiltros (sem lado escolhido)
+        partidasDoClube = conexao.prepareStatement(
+                "SELECT * FROM partida WHERE id IN (SELECT id FROM partida WHERE clube_casa_id = ? " +
+                "UNION ALL SELECT id FROM partida WHERE clube_visitante_id = ?)");
+        // PartidaRepository.buscarPartidasPorClube
+        partidasDoClubeNoPeriodo = conexao.prepareStatement(
+                "SELECT * FROM partida WHERE (clube_casa_id = ? OR clube_visitante_id = ?) AND data_hora BETWEEN ? AND ?");
+        // PartidaRepository.findConfrontosDiretos (PageRequest.of(0, 10))
+        confrontosDiretos = conexao.prepareStatement(
+                "SELECT * FROM partida WHERE clube_casa_id IN (?, ?) AND clube_visitante_id IN (?, ?) " +
+                "AND clube_casa_id <> clube_visitante_id ORDER BY data_hora DESC LIMIT 10");
+        // PartidaRepository.existsByEstadioAndDataHora (validação de toda partida gravada)
+        conflitoDeHorario = conexao.prepareStatement(
+                "SELECT COUNT(*) FROM partida WHERE estadio_id = ? AND data_hora = ? AND (? IS NULL OR id <> ?)");
+        // PartidaRepository.countPartidasComFiltros com dataHora (PartidaEspecificacoes)
+        partidasNoHorario = conexao.prepareStatement("SELECT COUNT(*) FROM partida WHERE data_hora = ?");
+        // PartidaRepository.countPartidasComFiltros com estadio (PartidaEspecificacoes)
+        partidasNoEstadio = conexao.prepareStatement(
+                "SELECT COUNT(*) FROM partida WHERE estadio_id IN (SELECT id FROM estadio WHERE UPPER(nome) LIKE ?)");
+        // PartidaRepository.buscarPartidasPorResultado
+        partidasPorResultado = conexao.prepareStatement(
+                "SELECT * FROM partida WHERE resultado_casa = ? AND resultado_visitante = ?");
+        // ClubeRepository.existsByNomeAndEstado (cadastro de clube)
+        clubeRepetido = conexao.prepareStatement("SELECT id FROM clube WHERE nome = ? AND estado = ? LIMIT 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void fechar() throws SQLException {
+        conexao.close();
+    }
+
+    // Clubes, estádios e partidas em lotes de 10 mil, um commit a cada lote
+    private void carregar() throws SQLException {
+        conexao.setAutoCommit(false);
+        try (PreparedStatement clube = conexao.prepareStatement(
+                "INSERT INTO clube (nome, estado, datacriacao, ativo) VALUES (?, ?, ?, 'S')")) {
+            for (int i = 1; i <= CLUBES; i++) {
+                clube.setString(1, "Clube " + i);
+                clube.setString(2, ESTADOS[i % ESTADOS.length]);
+                clube.setObject(3, INICIO.toLocalDate().minusDays(i));
+                clube.addBatch();
+            }
+            clube.executeBatch();
+        }
+        try (PreparedStatement estadio = conexao.prepareStatement("INSERT INTO estadio (nome) VALUES (?)")) {
+            for (int i = 1; i <= ESTADIOS; i++) {
+                estadio.setString(1, nomeEstadio(i));
+                estadio.addBatch();
+            }
+            estadio.executeBatch();
+        }
+        conexao.commit();
+        try (PreparedStatement partida = conexao.prepareStatement(
+                "INSERT INTO partida (id, clube_casa_id, clube_visitante_id, resultado_casa, resultado_visitante, " +
+                "estadio_id, data_hora) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= partidas; id++) {
+                long casa = 1 + random.nextInt(CLUBES);
+                long visitante = 1 + (casa + random.nextInt(CLUBES - 1)) % CLUBES;
+                partida.setLong(1, id);
+                partida.setLong(2, casa);
+                partida.setLong(3, visitante);
+                partida.setInt(4, gols());
+                partida.setInt(5, gols());
+                partida.setLong(6, 1 + random.nextInt(ESTADIOS)); // ids 1..ESTADIOS (banco recém-criado)
+                // Horários de hora em hora ao longo de 20 anos
+                partida.setTimestamp(7, Timestamp.valueOf(INICIO.plusHours(random.nextInt(20 * 365 * 24))));
+                partida.addBatch();
+                if (id % 10_000 == 0) {
+                    partida.executeBatch();
+                    conexao.commit();
+                }
+            }
+            partida.executeBatch();
+            conexao.commit();
+        }
+        conexao.setAutoCommit(true);
+    }
+
+    // Poucos gols são comuns e goleadas raras (média perto de 1,3)
+    private int gols() {
+        return (int) Math.min(9, -Math.log(1 - random.nextDouble()) * 1.3);
+    }
+
+    private static String nomeEstadio(int numero) {
+        return String.format("Estádio %03d", numero);
+    }
+
+    private void sortearAmostra() throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT id, clube_casa_id, clube_visitante_id, estadio_id, data_hora FROM partida WHERE id = ?")) {
+            for (int i = 0; i < 1000; i++) {
+                consulta.setLong(1, 1 + random.nextInt(partidas));
+                try (ResultSet linha = consulta.executeQuery()) {
+                    linha.next();
+                    amostra.add(new Object[]{linha.getLong(1), linha.getLong(2), linha.getLong(3),
+                            linha.getLong(4), linha.getTimestamp(5)});
+                }
+            }
+        }
+    }
+
+    private Object[] sortear() {
+        return amostra.get(random.nextInt(amostra.size()));
+    }
+
+    private static void consumir(PreparedStatement consulta, Blackhole blackhole) throws SQLException {
+        try (ResultSet linhas = consulta.executeQuery()) {
+            while (linhas.next()) {
+                blackhole.consume(linhas.getLong(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void partidasDoClube(Blackhole blackhole) throws SQLException {
+        long clubeId = 1 + random.nextInt(CLUBES);
+        partidasDoClube.setLong(1, clubeId);
+        partidasDoClube.setLong(2, clubeId);
+        consumir(partidasDoClube, blackhole);
+    }
+
+    @Benchmark
+    public void partidasDoClubeNoPeriodo(Blackhole blackhole) throws SQLException {
+        long clubeId = 1 + random.nextInt(CLUBES);
+        LocalDateTime de = INICIO.plusDays(random.nextInt(19 * 365));
+        partidasDoClubeNoPeriodo.setLong(1, clubeId);
+        partidasDoClubeNoPeriodo.setLong(2, clubeId);
+        partidasDoClubeNoPeriodo.setTimestamp(3, Timestamp.valueOf(de));
+        partidasDoClubeNoPeriodo.setTimestamp(4, Timestamp.valueOf(de.plusYears(1)));
+        consumir(partidasDoClubeNoPeriodo, blackhole);
+    }
+
+    @Benchmark
+    public void confrontosDiretos(Blackhole blackhole) throws SQLException {
+        Object[] partida = sortear();
+        confrontosDiretos.setObject(1, partida[1]);
+        confrontosDiretos.setObject(2, partida[2]);
+        confrontosDiretos.setObject(3, partida[2]);
+        confrontosDiretos.setObject(4, partida[1]);
+        consumir(confrontosDiretos, blackhole);
+    }
+
+    @Benchmark
+    public void conflitoDeHorario(Blackhole blackhole) throws SQLException {
+        Object[] partida = sortear();
+        conflitoDeHorario.setLong(1, (Long) partida[3]);
+        conflitoDeHorario.setTimestamp(2, (Timestamp) partida[4]);
+        conflitoDeHorario.setObject(3, partida[0]);
+        conflitoDeHorario.setObject(4, partida[0]);
+        consumir(conflitoDeHorario, blackhole);
+    }
+
+    @Benchmark
+    public void partidasNoHorario(Blackhole blackhole) throws SQLException {
+        partidasNoHorario.setTimestamp(1, (Timestamp) sortear()[4]);
+        consumir(partidasNoHorario, blackhole);
+    }
+
+    @Benchmark
+    public void partidasNoEstadio(Blackhole blackhole) throws SQLException {
+        partidasNoEstadio.setString(1, "%" + nomeEstadio(1 + random.nextInt(ESTADIOS)).toUpperCase() + "%");
+        consumir(partidasNoEstadio, blackhole);
+    }
+
+    // Placar de 4 a 7 gols de cada lado: os raros, em que o índice faz diferença
+    @Benchmark
+    public void partidasPorResultado(Blackhole blackhole) throws SQLException {
+        partidasPorResultado.setInt(1, 4 + random.nextInt(4));
+        partidasPorResultado.setInt(2, 4 + random.nextInt(4));
+        consumir(partidasPorResultado, blackhole);
+    }
+
+    @Benchmark
+    public void clubeRepetido(Blackhole blackhole) throws SQLException {
+        int numero = 1 + random.nextInt(CLUBES);
+        clubeRepetido.setString(1, "Clube " + numero);
+        clubeRepetido.setString(2, ESTADOS[numero % ESTADOS.length]);
+        consumir(clubeRepetido, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConsultasPartidaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
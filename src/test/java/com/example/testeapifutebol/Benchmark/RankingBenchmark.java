@@ -0,0 +1,103 @@
+package com.example.testeapifutebol.Benchmark;
+
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Service.MotorRanking;
+import com.example.testeapifutebol.Service.RankingComparadores;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//Compara o caminho antigo do ClubeService.buscarRanking (monta a lista a partir das linhas Object[] e ordena a
+//cada requisição) com a leitura da foto pronta do MotorRanking, com 1k, 10k e 100k clubes
+//Como rodar: ./mvnw test-compile e depois executar o main desta classe (pela IDE ou com o classpath de teste)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int clubes;
+
+    private List<Object[]> linhas;
+    private MotorRanking motorRanking;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        random = new Random(42);
+        linhas = new ArrayList<>(clubes);
+        for (long id = 1; id <= clubes; id++) {
+            int vitorias = random.nextInt(20);
+            int empates = random.nextInt(20);
+            int derrotas = random.nextInt(20);
+            linhas.add(new Object[]{id, "Clube " + id, (long) (vitorias + empates + derrotas),
+                    (long) vitorias, (long) empates, (long) derrotas,
+                    (long) random.nextInt(80), (long) random.nextInt(80)});
+        }
+        ClassificacaoRepository classificacaoRepository = mock(ClassificacaoRepository.class);
+        when(classificacaoRepository.findClassificacao()).thenReturn(linhas);
+        motorRanking = new MotorRanking(classificacaoRepository, mock(ClubeRepository.class));
+        motorRanking.carregar();
+    }
+
+    //Caminho anterior: converte cada Object[] em DTO, ordena e atribui a posição
+    @Benchmark
+    public List<RankingClubeDTO> rankingAgregadoAnterior() {
+        List<RankingClubeDTO> ranking = new ArrayList<>();
+        for (Object[] estatistica : linhas) {
+            Long totalJogos = (Long) estatistica[2];
+            RankingClubeDTO dto = RankingComparadores.criarLinha((Long) estatistica[0], (String) estatistica[1],
+                    totalJogos.intValue(), ((Long) estatistica[3]).intValue(), ((Long) estatistica[4]).intValue(),
+                    ((Long) estatistica[5]).intValue(), ((Long) estatistica[6]).intValue(),
+                    ((Long) estatistica[7]).intValue());
+            if (totalJogos > 0) {
+                ranking.add(dto);
+            }
+        }
+        ranking.sort(RankingComparadores.PONTOS);
+        for (int i = 0; i < ranking.size(); i++) {
+            ranking.get(i).setPosicao(i + 1);
+        }
+        return ranking;
+    }
+
+    //Leitura sem alteração pendente: devolve a foto já montada
+    @Benchmark
+    public List<RankingClubeDTO> rankingMotor() {
+        return motorRanking.buscarRanking("pontos");
+    }
+
+    //Uma partida nova entre dois clubes seguida da primeira leitura (que remonta a foto)
+    @Benchmark
+    public List<RankingClubeDTO> rankingMotorDepoisDeAlteracao() {
+        long casa = 1 + random.nextInt(clubes);
+        long visitante = casa == clubes ? 1 : casa + 1;
+        PartidaEntity partida = new PartidaEntity(casa, visitante, random.nextInt(4), random.nextInt(4),
+                1L, LocalDateTime.now());
+        motorRanking.aoAlterarPartida(new PartidaAlteradaEvento(null, partida));
+        return motorRanking.buscarRanking("pontos");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RankingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.testeapifutebol.Benchmark;
+
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import com.example.testeapifutebol.Service.SugestoesNomes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//Latência do autocomplete de clubes (SugestoesNomes) por prefixo digitado, com 10k e 100k clubes
+//SampleTime mostra os percentis (p0.99 no relatório): "f" é o pior caso, com o maior intervalo de chaves
+//Como rodar: ./mvnw test-compile e depois executar o main desta classe (pela IDE ou com o classpath de teste)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SugestoesNomesBenchmark {
+
+    private static final String[] PALAVRAS = {"Atlético", "Esporte", "Clube", "União", "Grêmio", "Sport", "Futebol",
+            "Associação", "Recreativo", "Operário", "Palmeiras", "Santos", "Vitória", "Guarani", "Náutico"};
+
+    @Param({"10000", "100000"})
+    private int clubes;
+
+    @Param({"f", "gre", "nautico 4"})
+    private String termo;
+
+    private SugestoesNomes sugestoesNomes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        List<Object[]> nomes = new ArrayList<>(clubes);
+        List<Object[]> partidas = new ArrayList<>(clubes);
+        for (long id = 1; id <= clubes; id++) {
+            nomes.add(new Object[]{id, PALAVRAS[random.nextInt(PALAVRAS.length)] + " "
+                    + PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + id});
+            partidas.add(new Object[]{id, (long) random.nextInt(500)});
+        }
+        ClubeRepository clubeRepository = mock(ClubeRepository.class);
+        EstadioRepository estadioRepository = mock(EstadioRepository.class);
+        PartidaRepository partidaRepository = mock(PartidaRepository.class);
+        when(clubeRepository.findIdsENomes()).thenReturn(nomes);
+        when(estadioRepository.findIdsENomes()).thenReturn(List.of());
+        when(partidaRepository.findTotalPartidasPorMandante()).thenReturn(partidas);
+        when(partidaRepository.findTotalPartidasPorVisitante()).thenReturn(List.of());
+        when(partidaRepository.findTotalPartidasPorEstadio()).thenReturn(List.of());
+        sugestoesNomes = new SugestoesNomes(clubeRepository, estadioRepository, partidaRepository);
+        sugestoesNomes.carregar();
+    }
+
+    @Benchmark
+    public List<SugestaoNomeDTO> sugerirClubes() {
+        return sugestoesNomes.sugerirClubes(termo, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SugestoesNomesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
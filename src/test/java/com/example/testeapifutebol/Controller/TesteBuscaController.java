@@ -0,0 +1,54 @@
+package com.example.testeapifutebol.Controller;
+
+import com.example.testeapifutebol.DTO.ResultadoBuscaDTO;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Service.IndiceBusca;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BuscaController.class)
+public class TesteBuscaController {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IndiceBusca indiceBusca;
+
+    @Test
+    void testeBuscar_Sucesso() throws Exception {
+        //ARRANGE
+        when(indiceBusca.buscar("fla rj 2019", null, 10)).thenReturn(List.of(
+                new ResultadoBuscaDTO("partida", 10L, "Flamengo 2 x 1 Vasco, Maracanã, 2019-05-12", 2.5f),
+                new ResultadoBuscaDTO("clube", 1L, "Flamengo (RJ)", 1.2f)));
+
+        //ACT
+        var resultado = mockMvc.perform(get("/busca").param("q", "fla rj 2019"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tipo").value("partida"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].descricao").value("Flamengo (RJ)"));
+    }
+
+    @Test
+    void testeBuscar_TipoInvalido_Retorna400() throws Exception {
+        //ARRANGE
+        when(indiceBusca.buscar("fla", "time", 10))
+                .thenThrow(new RegraDeInvalidosExcecao400("Tipo inválido. Use: clube, estadio ou partida"));
+
+        //ACT + ASSERT
+        mockMvc.perform(get("/busca").param("q", "fla").param("tipo", "time"))
+                .andExpect(status().isBadRequest());
+    }
+}
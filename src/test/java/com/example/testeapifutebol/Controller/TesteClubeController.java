@@ -2,7 +2,12 @@ package com.example.testeapifutebol.Controller;
 
 import com.example.testeapifutebol.Controller.ClubeControler;
 import com.example.testeapifutebol.DTO.ClubeDTO;
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+import com.example.testeapifutebol.Service.ClassificacaoService;
 import com.example.testeapifutebol.Service.ClubeService;
+import com.example.testeapifutebol.Service.ExportacaoService;
+import com.example.testeapifutebol.Service.MotorRanking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,6 +40,15 @@ public class TesteClubeController {
     @MockitoBean
     private ClubeService clubeService;
 
+    @MockitoBean
+    private ClassificacaoService classificacaoService;
+
+    @MockitoBean
+    private MotorRanking motorRanking;
+
+    @MockitoBean
+    private ExportacaoService exportacaoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -163,4 +178,59 @@ public class TesteClubeController {
                 .andExpect(jsonPath("$.content.length()").value(1))
                 .andExpect(jsonPath("$.content[0].nome").value("Flamengo"));
     }
+
+    @Test
+    void testeBuscarRankingNaData_Sucesso() throws Exception {
+        //ARRANGE
+        RankingClubeDTO vasco = new RankingClubeDTO();
+        vasco.setNome("Vasco");
+        vasco.setPosicao(1);
+        when(clubeService.buscarRankingNaData("pontos", LocalDate.of(2024, 6, 30))).thenReturn(List.of(vasco));
+
+        //ACT
+        var resultado = mockMvc.perform(get("/clubes/ranking")
+                .param("em", "2024-06-30"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Vasco"))
+                .andExpect(jsonPath("$[0].posicao").value(1));
+    }
+
+    @Test
+    void testeBuscarMiniLiga_Sucesso() throws Exception {
+        //ARRANGE
+        RankingClubeDTO flamengo = new RankingClubeDTO();
+        flamengo.setNome("Flamengo");
+        flamengo.setPosicao(1);
+        when(clubeService.buscarMiniLiga(List.of(1L, 2L), "pontos")).thenReturn(List.of(flamengo));
+
+        //ACT
+        var resultado = mockMvc.perform(post("/clubes/mini-liga")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2]"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Flamengo"))
+                .andExpect(jsonPath("$[0].posicao").value(1));
+    }
+
+    @Test
+    void testeAutocompletarClubes_Sucesso() throws Exception {
+        //ARRANGE
+        when(clubeService.sugerirClubes("fla", 5)).thenReturn(List.of(
+                new SugestaoNomeDTO(1L, "Flamengo", 40), new SugestaoNomeDTO(9L, "Fluminense Flamenguista", 2)));
+
+        //ACT
+        var resultado = mockMvc.perform(get("/clubes/autocomplete").param("q", "fla").param("limit", "5"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Flamengo"))
+                .andExpect(jsonPath("$[0].partidas").value(40))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
 }
@@ -9,7 +9,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -168,4 +171,26 @@ public class TesteEstadioController {
                 .andExpect(jsonPath("$.content[0].name").value("Maracanã"))
                 .andExpect(jsonPath("$.content[1].name").value("Arena Corinthians"));
     }
+
+    @Test
+    void testeListarEstadios_SemTotal_RetornaSlice() throws Exception {
+        //ARRANGE
+        EstadioDTO estadio = new EstadioDTO();
+        estadio.setName("Mineirão");
+        Slice<EstadioDTO> fatia = new SliceImpl<>(List.of(estadio), PageRequest.of(0, 1), false);
+
+        when(estadioService.findEstadiosComFiltrosSemTotal(eq("mine"), any(Pageable.class))).thenReturn(fatia);
+
+        //ACT
+        var resultado = mockMvc.perform(get("/estadios")
+                .param("nome", "mine")
+                .param("size", "1")
+                .param("semTotal", "true"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Mineirão"))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
 }
@@ -1,7 +1,15 @@
 package com.example.testeapifutebol.Controller;
 
 import com.example.testeapifutebol.Controller.PartidaController;
+import com.example.testeapifutebol.DTO.CalendarioDiaDTO;
 import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.ErroImportacaoDTO;
+import com.example.testeapifutebol.DTO.PaginaCursorDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.example.testeapifutebol.Service.CalendarioPartidasService;
+import com.example.testeapifutebol.Service.ExportacaoService;
+import com.example.testeapifutebol.Service.ImportacaoArquivoPartidasService;
+import com.example.testeapifutebol.Service.ImportacaoPartidasService;
 import com.example.testeapifutebol.Service.PartidaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,16 +18,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +52,18 @@ public class TestePartidaController {
     @MockitoBean
     private PartidaService partidaService;
 
+    @MockitoBean
+    private ImportacaoPartidasService importacaoPartidasService;
+
+    @MockitoBean
+    private ImportacaoArquivoPartidasService importacaoArquivoPartidasService;
+
+    @MockitoBean
+    private ExportacaoService exportacaoService;
+
+    @MockitoBean
+    private CalendarioPartidasService calendarioPartidasService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -176,6 +207,30 @@ public class TestePartidaController {
                 .andExpect(jsonPath("$.content[0].estadio").value("Maracanã"));
     }
 
+    @Test
+    void testeBuscarPartidasComFiltros_SemTotal_RetornaSliceSemTotais() throws Exception {
+        //ARRANGE
+        PartidaDTO partida = new PartidaDTO();
+        partida.setEstadio("Maracanã");
+        Slice<PartidaDTO> fatia = new SliceImpl<>(List.of(partida), PageRequest.of(0, 1), true);
+
+        when(partidaService.findPartidasComFiltrosSemTotal(eq("Maracanã"), any(), any(), any(), any(), any(), any(), any(),
+                eq(PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "dataHora"))))).thenReturn(fatia);
+
+        //ACT
+        var resultado = mockMvc.perform(get("/partidas/buscar")
+                .param("estadio", "Maracanã")
+                .param("size", "1")
+                .param("semTotal", "true"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].estadio").value("Maracanã"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(partidaService, never()).findPartidasComFiltros(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     void testeBuscarPartidasPorClube_Sucesso() throws Exception {
         //ARRANGE
@@ -199,6 +254,112 @@ public class TestePartidaController {
                 .andExpect(jsonPath("$[0].clubeCasaId").value(1));
     }
 
+    @Test
+    void testeImportarLote_RetornaRelatorio() throws Exception {
+        //ARRANGE
+        PartidaDTO partidaDTO = new PartidaDTO();
+        partidaDTO.setClubeCasaId(1L);
+        partidaDTO.setClubeVisitanteId(2L);
+        partidaDTO.setResultadoCasa(2);
+        partidaDTO.setResultadoVisitante(1);
+        partidaDTO.setEstadio("Maracanã");
+        partidaDTO.setDataHora(LocalDateTime.now().plusDays(1));
+
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        relatorio.setRecebidas(2);
+        relatorio.setImportadas(1);
+        relatorio.getErros().add(new ErroImportacaoDTO(1, 400, "Os clubes da casa e visitante não podem ser iguais"));
+
+        when(importacaoPartidasService.importarLote(any())).thenReturn(relatorio);
+
+        //ACT
+        var resultado = mockMvc.perform(post("/partidas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(partidaDTO, partidaDTO))));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidas").value(2))
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.erros[0].indice").value(1))
+                .andExpect(jsonPath("$.erros[0].status").value(400));
+    }
+
+    @Test
+    void testeImportarArquivo_LeOCorpoERetornaRelatorio() throws Exception {
+        //ARRANGE
+        String csv = "1,2,1,0,Maracanã,2020-05-01T16:00:00\n";
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        relatorio.setRecebidas(1);
+        relatorio.setImportadas(1);
+        relatorio.setProcessadas(11);
+
+        when(importacaoArquivoPartidasService.importar(any(), eq("csv"), eq(true), eq(10L))).thenAnswer(chamada -> {
+            InputStream corpo = chamada.getArgument(0);
+            return new String(corpo.readAllBytes(), StandardCharsets.UTF_8).equals(csv)
+                    ? relatorio : new RelatorioImportacaoDTO();
+        });
+
+        //ACT
+        var resultado = mockMvc.perform(post("/partidas/importacao")
+                .param("formato", "csv")
+                .param("historico", "true")
+                .param("pular", "10")
+                .contentType("text/csv")
+                .content(csv));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(1))
+                .andExpect(jsonPath("$.processadas").value(11));
+    }
+
+    @Test
+    void testeExportarPartidas_EscreveConformeOServiceProduz() throws Exception {
+        //ARRANGE
+        MediaType ndjson = MediaType.parseMediaType("application/x-ndjson");
+        when(exportacaoService.tipoDoFormato("ndjson")).thenReturn(ndjson);
+        doAnswer(chamada -> {
+            OutputStream saida = chamada.getArgument(0);
+            saida.write("{\"clubeCasaId\":1}\n{\"clubeCasaId\":3}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacaoService).exportarPartidas(any(), eq("ndjson"));
+
+        //ACT
+        var iniciada = mockMvc.perform(get("/partidas/exportar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var resultado = mockMvc.perform(asyncDispatch(iniciada));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(content().contentType(ndjson))
+                .andExpect(content().string("{\"clubeCasaId\":1}\n{\"clubeCasaId\":3}\n"));
+    }
+
+    @Test
+    void testeBuscarPartidasPorCursor_ComCursorVazio_UsaABuscaPorCursor() throws Exception {
+        //ARRANGE
+        PartidaDTO partida = new PartidaDTO();
+        partida.setClubeCasaId(1L);
+        partida.setClubeVisitanteId(2L);
+        when(partidaService.buscarPartidasPorCursor(eq("Maracanã"), any(), any(), any(), any(), any(), any(), any(),
+                eq(""), eq(20))).thenReturn(new PaginaCursorDTO<>(List.of(partida), "MjAzMC0wMS0wMVQxNjowMHwx"));
+
+        //ACT
+        var resultado = mockMvc.perform(get("/partidas/buscar")
+                .param("estadio", "Maracanã")
+                .param("cursor", "")
+                .param("size", "20"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].clubeCasaId").value(1))
+                .andExpect(jsonPath("$.proximoCursor").value("MjAzMC0wMS0wMVQxNjowMHwx"))
+                .andExpect(jsonPath("$.temProxima").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     void testeBuscarGoleadasPorClube_Sucesso() throws Exception {
         //ARRANGE
@@ -223,4 +384,21 @@ public class TestePartidaController {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].resultadoCasa").value(4));
     }
+
+    @Test
+    void testeBuscarCalendario_RetornaPartidasPorDia() throws Exception {
+        //ARRANGE
+        when(calendarioPartidasService.buscarCalendario("2030-01")).thenReturn(List.of(
+                new CalendarioDiaDTO(LocalDate.of(2030, 1, 5), 3),
+                new CalendarioDiaDTO(LocalDate.of(2030, 1, 12), 1)));
+
+        //ACT
+        var resultado = mockMvc.perform(get("/partidas/calendario").param("mes", "2030-01"));
+
+        //ASSERT
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].dia").value("2030-01-05"))
+                .andExpect(jsonPath("$[0].partidas").value(3));
+    }
 }
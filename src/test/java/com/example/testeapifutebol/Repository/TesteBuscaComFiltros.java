@@ -0,0 +1,207 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.DTO.PartidaResumoDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Busca de partidas/clubes montada com Criteria (PartidaEspecificacoes/ClubeEspecificacoes):
+//- os filtros continuam dando o mesmo resultado das consultas antigas
+//- o EXPLAIN de cada filtro usa índice (H2 em modo MySQL; os valores vão no SQL para o EXPLAIN rodar sem parâmetros)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:busca_filtros;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.testeapifutebol.Repository.UltimoSql"
+})
+public class TesteBuscaComFiltros {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2030, 1, 1, 16, 0);
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+    @Autowired
+    private ClubeRepository clubeRepository;
+    @Autowired
+    private EstadioRepository estadioRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void prepararPartidas() {
+        Long maracana = estadioRepository.save(new EstadioEntity(null, "Maracanã")).getId();
+        Long mineirao = estadioRepository.save(new EstadioEntity(null, "Mineirão")).getId();
+        clubeRepository.save(new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S"));
+        clubeRepository.save(new ClubeEntity("Vasco", "RJ", "1898-08-21", "S"));
+        clubeRepository.save(new ClubeEntity("Bahia", "BA", "1931-01-01", "N"));
+        // 1 x 2 no Maracanã, 2 x 3 no Mineirão, 3 x 1 no Maracanã, ... um dia depois do outro
+        for (int i = 0; i < 30; i++) {
+            long casa = 1 + i % 3;
+            long visitante = 1 + (i + 1) % 3;
+            int golsCasa = i % 5 == 0 ? 4 : 1;
+            partidaRepository.save(new PartidaEntity(casa, visitante, golsCasa, i % 2,
+                    i % 2 == 0 ? maracana : mineirao, INICIO.plusDays(i)));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testeFiltros_SoOsInformadosValem() {
+        //ACT
+        long todas = partidaRepository.countPartidasComFiltros(null, null, null, null, false, null, false, false);
+        long noMaracana = partidaRepository.countPartidasComFiltros("maraca", null, null, null, false, null, false, false);
+        long flamengoEmCasa = partidaRepository.countPartidasComFiltros(null, null, null, null, false, 1L, true, false);
+        long flamengo = partidaRepository.countPartidasComFiltros(null, null, null, null, false, 1L, false, false);
+        long goleadas = partidaRepository.countPartidasComFiltros(null, null, null, null, true, null, false, false);
+        long nesseDia = partidaRepository.countPartidasComFiltros(null, null, null, INICIO.plusDays(4), false, null, false, false);
+
+        //ASSERT
+        assertEquals(30, todas);
+        assertEquals(15, noMaracana);
+        assertEquals(10, flamengoEmCasa);
+        assertEquals(20, flamengo);
+        assertEquals(6, goleadas); // 4 x 0 ou 4 x 1 a cada 5 partidas
+        assertEquals(1, nesseDia);
+    }
+
+    @Test
+    void testeFindPartidasComFiltros_SliceEOrdemDoPageable() {
+        //ACT
+        Slice<PartidaEntity> pagina = partidaRepository.findPartidasComFiltros(null, null, null, null, false, 2L,
+                false, true, PageRequest.of(1, 4, Sort.by(Sort.Direction.DESC, "dataHora")));
+
+        //ASSERT
+        assertEquals(4, pagina.getNumberOfElements());
+        assertTrue(pagina.hasNext()); // 10 partidas do clube 2 como visitante
+        assertTrue(pagina.getContent().stream().allMatch(partida -> partida.getClubeVisitanteId() == 2L));
+        assertTrue(pagina.getContent().get(0).getDataHora().isAfter(pagina.getContent().get(3).getDataHora()));
+    }
+
+    @Test
+    void testeFindPartidasComFiltrosAposCursor_ContinuaDepoisDaPosicao() {
+        //ARRANGE
+        PartidaEntity ultimaVista = partidaRepository.findPartidasComFiltrosAposCursor("Mineirão", null, null, null,
+                false, null, false, false, null, null, PageRequest.of(0, 2)).get(1);
+
+        //ACT
+        List<PartidaEntity> seguintes = partidaRepository.findPartidasComFiltrosAposCursor("Mineirão", null, null, null,
+                false, null, false, false, ultimaVista.getDataHora(), ultimaVista.getId(), PageRequest.of(0, 2));
+
+        //ASSERT
+        assertEquals(List.of(INICIO.plusDays(5), INICIO.plusDays(7)),
+                seguintes.stream().map(PartidaEntity::getDataHora).toList());
+    }
+
+    @Test
+    void testeFindConfrontosDiretos_PrimeiraPaginaEDepoisDaUltimaData() {
+        //ACT (Flamengo x Vasco: a cada 3 dias, sempre com o Flamengo em casa)
+        List<PartidaResumoDTO> primeira = partidaRepository.findConfrontosDiretos(2L, 1L, null, PageRequest.of(0, 3));
+        List<PartidaResumoDTO> segunda = partidaRepository.findConfrontosDiretos(2L, 1L,
+                primeira.get(2).getDataHora(), PageRequest.of(0, 3));
+
+        //ASSERT
+        assertEquals(List.of(INICIO.plusDays(27), INICIO.plusDays(24), INICIO.plusDays(21)),
+                primeira.stream().map(PartidaResumoDTO::getDataHora).toList());
+        assertEquals(List.of(INICIO.plusDays(18), INICIO.plusDays(15), INICIO.plusDays(12)),
+                segunda.stream().map(PartidaResumoDTO::getDataHora).toList());
+        assertEquals("Mineirão", primeira.get(0).getEstadio());
+    }
+
+    @Test
+    void testeFindClubesComFiltros_SoOsInformadosValem() {
+        //ACT
+        Slice<ClubeEntity> doRio = clubeRepository.findClubesComFiltros(null, null, "RJ", null, null,
+                PageRequest.of(0, 10, Sort.by("nome")));
+        // ids = clubes encontrados pelo nome no IndiceNomes (aqui, os três)
+        List<Long> ids = clubeRepository.findAll().stream().map(ClubeEntity::getId).toList();
+        long ativosEntreOsIds = clubeRepository.countClubesComFiltros(ids, null, null, "S", null);
+        long nenhumId = clubeRepository.countClubesComFiltros(List.of(), null, null, null, null);
+        // nome no banco: quando o IndiceNomes acha ids demais para um IN
+        long comANoNomeDoRio = clubeRepository.countClubesComFiltros(null, "a", "RJ", null, null);
+
+        //ASSERT
+        assertEquals(List.of("Flamengo", "Vasco"), doRio.getContent().stream().map(ClubeEntity::getNome).toList());
+        assertEquals(2, ativosEntreOsIds);
+        assertEquals(0, nenhumId);
+        assertEquals(2, comANoNomeDoRio);
+    }
+
+    @Test
+    void testePlano_FiltroPorClube_UsaIndiceDoClube() {
+        //ACT
+        String mandante = plano(() -> partidaRepository.countPartidasComFiltros(null, null, null, null, false, 1L, true, false));
+        String visitante = plano(() -> partidaRepository.countPartidasComFiltros(null, null, null, null, false, 1L, false, true));
+
+        //ASSERT
+        assertTrue(mandante.contains("idx_partida_clube_casa"), mandante);
+        assertTrue(visitante.contains("idx_partida_clube_visitante"), visitante);
+    }
+
+    @Test
+    void testePlano_FiltroPorClubeSemLado_UsaOsDoisIndices() {
+        //ACT
+        String plano = plano(() -> partidaRepository.countPartidasComFiltros(null, null, null, null, false, 1L, false, false));
+
+        //ASSERT
+        assertTrue(plano.contains("idx_partida_clube_casa"), plano);
+        assertTrue(plano.contains("idx_partida_clube_visitante"), plano);
+        assertFalse(plano.contains("tablescan"), plano);
+    }
+
+    @Test
+    void testePlano_FiltroPorData_UsaIndiceDaData() {
+        //ACT
+        String plano = plano(() -> partidaRepository.countPartidasComFiltros(null, null, null, INICIO, false, null, false, false));
+
+        //ASSERT
+        assertTrue(plano.contains("idx_partida_data_hora_id"), plano);
+    }
+
+    @Test
+    void testePlano_FiltroPorEstadio_UsaIndiceDoEstadio() {
+        //ACT
+        String plano = plano(() -> partidaRepository.countPartidasComFiltros("maraca", null, null, null, false, null, false, false));
+
+        //ASSERT (o H2 cria um índice próprio para a chave estrangeira estadio_id; o MySQL reaproveita o idx_partida_estadio)
+        assertTrue(plano.contains("idx_partida_estadio") || plano.contains("fk_partida_estadio"), plano);
+    }
+
+    @Test
+    void testePlano_FiltroPorEstado_UsaIndiceDoEstado() {
+        //ACT
+        String plano = plano(() -> clubeRepository.countClubesComFiltros(null, null, "RJ", null, null));
+
+        //ASSERT
+        assertTrue(plano.contains("idx_clube_estado_nome"), plano);
+    }
+
+    // Roda a consulta e devolve o EXPLAIN do SQL que o Hibernate gerou para ela
+    private String plano(Runnable consulta) {
+        consulta.run();
+        String sql = UltimoSql.ultimo();
+        assertFalse(sql.contains("?"), "o SQL deveria ter os valores no lugar dos parâmetros: " + sql);
+        Object plano = entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult();
+        return plano.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.Entity.ClassificacaoEntity;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Service.RankingComparadores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Confere se as posições calculadas no banco (ROW_NUMBER) batem com a ordenação do RankingComparadores,
+//que é a mesma usada pelo MotorRanking no ranking completo
+@DataJpaTest
+public class TesteClassificacaoRepository {
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+    @Autowired
+    private ClassificacaoRepository classificacaoRepository;
+
+    private final List<RankingClubeDTO> esperado = new ArrayList<>();
+
+    @BeforeEach
+    void prepararClassificacao() {
+        // Poucos valores possíveis para forçar empates em todos os critérios, inclusive nomes repetidos
+        Random random = new Random(7);
+        for (int i = 0; i < 60; i++) {
+            ClubeEntity clube = clubeRepository.save(new ClubeEntity("Clube " + (i % 25), "RJ", "2000-01-01", "S"));
+            int vitorias = random.nextInt(3);
+            int empates = random.nextInt(3);
+            int derrotas = random.nextInt(3);
+            int jogos = vitorias + empates + derrotas;
+            int golsFeitos = random.nextInt(4);
+            int golsSofridos = random.nextInt(4);
+            classificacaoRepository.save(new ClassificacaoEntity(clube.getId(), jogos, vitorias, empates, derrotas,
+                    golsFeitos, golsSofridos));
+            if (jogos > 0) {
+                esperado.add(RankingComparadores.criarLinha(clube.getId(), clube.getNome(), jogos, vitorias,
+                        empates, derrotas, golsFeitos, golsSofridos));
+            }
+        }
+    }
+
+    @Test
+    void testePaginaRanking_MesmaOrdemDosComparadores() {
+        conferirPaginas("pontos", classificacaoRepository::findPaginaRankingPontos);
+        conferirPaginas("gols", classificacaoRepository::findPaginaRankingGols);
+        conferirPaginas("vitorias", classificacaoRepository::findPaginaRankingVitorias);
+        conferirPaginas("jogos", classificacaoRepository::findPaginaRankingJogos);
+    }
+
+    @Test
+    void testePaginaRanking_DesempateDeNomesComMaiusculasEAcentos() {
+        //ARRANGE: mesmos totais e nomes que o collation do MySQL (utf8mb4_0900_ai_ci) trataria como iguais
+        //ou em outra ordem; o desempate tem que ser o do RankingComparadores.compararNomes
+        for (String nome : List.of("atlético", "Atlético", "Atletico", "ATLÉTICO", "Avaí", "Ávila", "Zé", "Atlético ")) {
+            ClubeEntity clube = clubeRepository.save(new ClubeEntity(nome, "MG", "2000-01-01", "S"));
+            classificacaoRepository.save(new ClassificacaoEntity(clube.getId(), 2, 1, 1, 0, 3, 1));
+            esperado.add(RankingComparadores.criarLinha(clube.getId(), nome, 2, 1, 1, 0, 3, 1));
+        }
+
+        //ACT + ASSERT
+        conferirPaginas("pontos", classificacaoRepository::findPaginaRankingPontos);
+        conferirPaginas("gols", classificacaoRepository::findPaginaRankingGols);
+        conferirPaginas("vitorias", classificacaoRepository::findPaginaRankingVitorias);
+        conferirPaginas("jogos", classificacaoRepository::findPaginaRankingJogos);
+    }
+
+    @Test
+    void testeCompararNomes_OrdemBinariaDosCaracteres() {
+        //ASSERT: maiúsculas antes de minúsculas, sem acento antes de acentuado, prefixo antes do nome maior
+        assertTrue(RankingComparadores.compararNomes("Atlético", "atlético") < 0);
+        assertTrue(RankingComparadores.compararNomes("Atletico", "Atlético") < 0);
+        assertTrue(RankingComparadores.compararNomes("Zé", "Ávila") < 0);
+        assertTrue(RankingComparadores.compararNomes("Avaí", "Avaí FC") < 0);
+        assertEquals(0, RankingComparadores.compararNomes("Avaí", "Avaí"));
+        // fora do plano básico o código Unicode vale, não a ordem dos pares UTF-16 do String.compareTo
+        assertTrue(RankingComparadores.compararNomes("Clube \uFB01", "Clube \uD83D\uDE00") < 0);
+    }
+
+    @Test
+    void testeVizinhancaRanking_PosicoesAoRedorDoClube() {
+        //ARRANGE
+        List<Long> ordem = ordenar("pontos");
+        int indice = ordem.size() / 2;
+        Long clubeId = ordem.get(indice);
+
+        //ACT
+        List<Object[]> vizinhanca = classificacaoRepository.findVizinhancaRankingPontos(clubeId, 3);
+
+        //ASSERT
+        assertEquals(ordem.subList(indice - 3, indice + 4), ids(vizinhanca));
+        assertEquals(indice - 2, ((Number) vizinhanca.get(0)[8]).intValue());
+    }
+
+    @Test
+    void testeVizinhancaRanking_ClubeNoTopoNaoPassaDaPrimeiraPosicao() {
+        //ARRANGE
+        List<Long> ordem = ordenar("gols");
+
+        //ACT
+        List<Object[]> vizinhanca = classificacaoRepository.findVizinhancaRankingGols(ordem.get(0), 2);
+
+        //ASSERT
+        assertEquals(ordem.subList(0, 3), ids(vizinhanca));
+    }
+
+    // Percorre o ranking inteiro em páginas de 7 e compara com a ordenação feita em memória
+    private void conferirPaginas(String tipo, BiFunction<Integer, Integer, List<Object[]>> consulta) {
+        List<Long> ordem = ordenar(tipo);
+        List<Long> paginado = new ArrayList<>();
+        for (int offset = 0; offset < ordem.size(); offset += 7) {
+            List<Object[]> pagina = consulta.apply(offset, 7);
+            for (int i = 0; i < pagina.size(); i++) {
+                assertEquals(offset + i + 1, ((Number) pagina.get(i)[8]).intValue(), "posição no ranking " + tipo);
+            }
+            paginado.addAll(ids(pagina));
+        }
+        assertEquals(ordem, paginado, "ordem do ranking " + tipo);
+    }
+
+    private List<Long> ordenar(String tipo) {
+        List<RankingClubeDTO> ordenado = new ArrayList<>(esperado);
+        ordenado.sort(RankingComparadores.porTipo(tipo).thenComparing(RankingClubeDTO::getId));
+        return ordenado.stream().map(RankingClubeDTO::getId).toList();
+    }
+
+    private static List<Long> ids(List<Object[]> linhas) {
+        return linhas.stream().map(linha -> ((Number) linha[0]).longValue()).toList();
+    }
+}
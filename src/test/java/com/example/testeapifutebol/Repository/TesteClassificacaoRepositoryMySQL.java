@@ -0,0 +1,20 @@
+package com.example.testeapifutebol.Repository;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.TestPropertySource;
+
+//Mesmos testes num MySQL de verdade: o modo MySQL do H2 não tem o collation utf8mb4_0900_ai_ci,
+//então só aqui o desempate pelo nome é conferido contra o banco de produção
+//Só roda com um banco vazio informado (as migrações do Flyway criam as tabelas), por exemplo:
+//  mvn test -Dtest=TesteClassificacaoRepositoryMySQL -Dteste.mysql.url=jdbc:mysql://localhost:3306/clube_teste -Dteste.mysql.usuario=root -Dteste.mysql.senha=...
+@EnabledIfSystemProperty(named = "teste.mysql.url", matches = ".+")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${teste.mysql.url}",
+        "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+        "spring.datasource.username=${teste.mysql.usuario:root}",
+        "spring.datasource.password=${teste.mysql.senha:}"
+})
+public class TesteClassificacaoRepositoryMySQL extends TesteClassificacaoRepository {
+}
@@ -0,0 +1,132 @@
+package com.example.testeapifutebol.Repository;
+
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//O esquema vem das migrações (db/migration) e o Hibernate só valida (ddl-auto=validate):
+//se uma entidade não bater com as tabelas, o contexto nem sobe
+@DataJpaTest
+public class TesteMigracoes {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testeMigracoes_TodasAplicadas() {
+        //ASSERT
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void testeIndices_OsDeclaradosNasEntidadesExistemNoBanco() {
+        //ARRANGE
+        @SuppressWarnings("unchecked")
+        List<String> noBanco = ((List<Object>) entityManager.createNativeQuery(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES").getResultList())
+                .stream().map(nome -> nome.toString().toLowerCase(Locale.ROOT)).toList();
+
+        //ASSERT
+        for (Class<?> entidade : List.of(PartidaEntity.class, ClubeEntity.class)) {
+            for (Index indice : entidade.getAnnotation(Table.class).indexes()) {
+                assertTrue(noBanco.contains(indice.name()), indice.name() + " não foi criado pelas migrações");
+            }
+        }
+    }
+
+    @Test
+    void testeV4_PartidasAntigasPassamAApontarParaOEstadio() {
+        //ARRANGE: banco separado parado na V3 (partida ainda com o nome do estádio)
+        DriverManagerDataSource banco = new DriverManagerDataSource("jdbc:h2:mem:migracao_v4;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway ateV3 = Flyway.configure().dataSource(banco).target(MigrationVersion.fromVersion("3")).load();
+        ateV3.migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.update("INSERT INTO estadio (id, nome) VALUES (7, 'Maracanã')");
+        jdbc.update("INSERT INTO partida (id, clube_casa_id, clube_visitante_id, resultado_casa, resultado_visitante, estadio, data_hora) "
+                + "VALUES (1, 1, 2, 1, 0, 'Maracanã', TIMESTAMP '2030-01-01 16:00:00')");
+        // Estádio que só existia no texto da partida
+        jdbc.update("INSERT INTO partida (id, clube_casa_id, clube_visitante_id, resultado_casa, resultado_visitante, estadio, data_hora) "
+                + "VALUES (2, 3, 4, 2, 2, 'Arena Sem Cadastro', TIMESTAMP '2030-01-02 16:00:00')");
+
+        //ACT
+        Flyway.configure().dataSource(banco).load().migrate();
+
+        //ASSERT
+        List<Map<String, Object>> partidas = jdbc.queryForList(
+                "SELECT p.id, p.estadio_id, e.nome FROM partida p JOIN estadio e ON e.id = p.estadio_id ORDER BY p.id");
+        assertEquals(2, partidas.size());
+        assertEquals(7L, ((Number) partidas.get(0).get("estadio_id")).longValue());
+        assertEquals("Arena Sem Cadastro", partidas.get(1).get("nome"));
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testeBancoAntigo_EntraNaV1ERecebeAsMigracoesSeguintes() {
+        //ARRANGE: banco como o ddl-auto=update das entidades originais deixava (MySQL), sem histórico do Flyway
+        DriverManagerDataSource banco = new DriverManagerDataSource(
+                "jdbc:h2:mem:banco_antigo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.execute("create table clube (id bigint not null auto_increment, ativo varchar(1) not null, "
+                + "datacriacao date not null, estado varchar(2) not null, nome varchar(255) not null, "
+                + "primary key (id)) engine=InnoDB");
+        jdbc.execute("create table estadio (id bigint not null auto_increment, nome varchar(255) not null, "
+                + "primary key (id)) engine=InnoDB");
+        jdbc.execute("alter table estadio add constraint uk_estadio_nome_antigo unique (nome)");
+        jdbc.execute("create table partida (id bigint not null auto_increment, clube_casa_id bigint not null, "
+                + "clube_visitante_id bigint not null, data_hora datetime(6) not null, estadio varchar(255) not null, "
+                + "resultado_casa integer not null, resultado_visitante integer not null, primary key (id)) engine=InnoDB");
+        jdbc.update("INSERT INTO clube (nome, estado, datacriacao, ativo) VALUES ('Flamengo', 'RJ', DATE '1895-11-17', 'S')");
+        jdbc.update("INSERT INTO clube (nome, estado, datacriacao, ativo) VALUES ('Vasco', 'RJ', DATE '1898-08-21', 'S')");
+        jdbc.update("INSERT INTO estadio (nome) VALUES ('Maracanã')");
+        jdbc.update("INSERT INTO partida (clube_casa_id, clube_visitante_id, resultado_casa, resultado_visitante, estadio, data_hora) "
+                + "VALUES (1, 2, 2, 1, 'Maracanã', TIMESTAMP '2020-01-01 16:00:00')");
+        jdbc.update("INSERT INTO partida (clube_casa_id, clube_visitante_id, resultado_casa, resultado_visitante, estadio, data_hora) "
+                + "VALUES (2, 1, 0, 0, 'Maracanã', TIMESTAMP '2020-02-01 16:00:00')");
+
+        //ACT: o mesmo que a aplicação faz ao subir (spring.flyway.baseline-on-migrate, baseline-version=1)
+        Flyway migracao = Flyway.configure().dataSource(banco).baselineOnMigrate(true).baselineVersion("1").load();
+        migracao.migrate();
+
+        //ASSERT
+        assertEquals("4", migracao.info().current().getVersion().getVersion());
+        assertEquals(0, migracao.info().pending().length);
+        assertEquals(1L, ((Number) jdbc.queryForObject(
+                "SELECT estadio_id FROM partida WHERE id = 1", Number.class)).longValue());
+        List<String> indices = jdbc.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+        for (Class<?> entidade : List.of(PartidaEntity.class, ClubeEntity.class)) {
+            for (Index indice : entidade.getAnnotation(Table.class).indexes()) {
+                assertTrue(indices.contains(indice.name()), indice.name() + " não foi criado no banco antigo");
+            }
+        }
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM sequencia_id", Integer.class));
+        // A classificação já vem com os totais das partidas antigas (jogos, V, E, D, gols feitos, gols sofridos)
+        List<Map<String, Object>> classificacao = jdbc.queryForList("SELECT * FROM classificacao ORDER BY clube_id");
+        assertEquals(2, classificacao.size());
+        assertEquals(List.of(2, 1, 1, 0, 2, 1), totais(classificacao.get(0)));
+        assertEquals(List.of(2, 0, 1, 1, 1, 2), totais(classificacao.get(1)));
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    private static List<Integer> totais(Map<String, Object> linha) {
+        return List.of("jogos", "vitorias", "empates", "derrotas", "gols_feitos", "gols_sofridos").stream()
+                .map(coluna -> ((Number) linha.get(coluna)).intValue()).toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.testeapifutebol.Repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//O upsert do calendário (INSERT ... ON DUPLICATE KEY UPDATE) é do MySQL: H2 em modo de compatibilidade MySQL
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:partida_dia_mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+public class TestePartidaDiaRepository {
+
+    private static final LocalDate DIA = LocalDate.of(2030, 5, 10);
+
+    @Autowired
+    private PartidaDiaRepository partidaDiaRepository;
+
+    @Test
+    void testeSomarPartidas_CriaODiaESomaNasProximas() {
+        //ACT
+        partidaDiaRepository.somarPartidas(DIA, 1);
+        partidaDiaRepository.somarPartidas(DIA, 2);
+        partidaDiaRepository.somarPartidas(DIA, -1);
+        partidaDiaRepository.somarPartidas(DIA.plusDays(1), 4);
+
+        //ASSERT
+        assertEquals(2, partidaDiaRepository.findById(DIA).orElseThrow().getPartidas());
+        assertEquals(4, partidaDiaRepository.findById(DIA.plusDays(1)).orElseThrow().getPartidas());
+        assertEquals(2, partidaDiaRepository.count());
+    }
+}
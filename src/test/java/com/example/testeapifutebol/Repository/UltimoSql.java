@@ -0,0 +1,22 @@
+package com.example.testeapifutebol.Repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//Guarda o último SELECT gerado pelo Hibernate, para o teste pedir o EXPLAIN da mesma consulta
+//(ligado por spring.jpa.properties.hibernate.session_factory.statement_inspector)
+public class UltimoSql implements StatementInspector {
+
+    private static volatile String ultimo;
+
+    static String ultimo() {
+        return ultimo;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            ultimo = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteAgendaPartidas {
+    @InjectMocks
+    private AgendaPartidas agendaPartidas;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    private static final LocalDateTime JOGO = LocalDateTime.of(2030, 5, 10, 16, 0);
+    private static final Long MARACANA = 1L;
+    private static final Long MINEIRAO = 2L;
+
+    private void carregarUmaPartida() {
+        // Partida 1: Flamengo(1) x Vasco(2) no Maracanã
+        List<Object[]> agenda = new ArrayList<>();
+        agenda.add(new Object[]{1L, 1L, 2L, MARACANA, JOGO});
+        when(partidaRepository.findAgendaPartidas()).thenReturn(agenda);
+        agendaPartidas.carregar();
+    }
+
+    @Test
+    void testeClubeTemPartidaProxima_LimitesDoIntervalo() {
+        //ARRANGE
+        carregarUmaPartida();
+
+        //ACT + ASSERT (48h exatas ainda conflitam, como no BETWEEN da consulta antiga)
+        assertTrue(agendaPartidas.clubeTemPartidaProxima(1L, JOGO.plusHours(48), 48, null));
+        assertTrue(agendaPartidas.clubeTemPartidaProxima(2L, JOGO.minusHours(48), 48, null));
+        assertFalse(agendaPartidas.clubeTemPartidaProxima(1L, JOGO.plusHours(48).plusMinutes(1), 48, null));
+        assertFalse(agendaPartidas.clubeTemPartidaProxima(3L, JOGO, 48, null));
+    }
+
+    @Test
+    void testeClubeTemPartidaProxima_IgnoraAPropriaPartida() {
+        //ARRANGE
+        carregarUmaPartida();
+
+        //ACT + ASSERT
+        assertFalse(agendaPartidas.clubeTemPartidaProxima(1L, JOGO.plusHours(2), 48, 1L));
+        assertFalse(agendaPartidas.estadioOcupado(MARACANA, JOGO, 1L));
+    }
+
+    @Test
+    void testeEstadioOcupado_MesmoHorarioNoMesmoEstadio() {
+        //ARRANGE
+        carregarUmaPartida();
+
+        //ACT + ASSERT
+        assertTrue(agendaPartidas.estadioOcupado(MARACANA, JOGO, null));
+        assertFalse(agendaPartidas.estadioOcupado(MARACANA, JOGO.plusHours(1), null));
+        assertFalse(agendaPartidas.estadioOcupado(MINEIRAO, JOGO, null));
+    }
+
+    @Test
+    void testeAoAlterarPartida_RemarcaERemove() {
+        //ARRANGE
+        carregarUmaPartida();
+        PartidaEntity anterior = new PartidaEntity(1L, 2L, 0, 0, MARACANA, JOGO);
+        anterior.setId(1L);
+        PartidaEntity remarcada = new PartidaEntity(1L, 2L, 0, 0, MINEIRAO, JOGO.plusDays(10));
+        remarcada.setId(1L);
+
+        //ACT + ASSERT
+        agendaPartidas.aoAlterarPartida(new PartidaAlteradaEvento(anterior, remarcada));
+        assertFalse(agendaPartidas.clubeTemPartidaProxima(1L, JOGO, 48, null));
+        assertFalse(agendaPartidas.estadioOcupado(MARACANA, JOGO, null));
+        assertTrue(agendaPartidas.estadioOcupado(MINEIRAO, JOGO.plusDays(10), null));
+
+        agendaPartidas.aoAlterarPartida(new PartidaAlteradaEvento(remarcada, null));
+        assertFalse(agendaPartidas.clubeTemPartidaProxima(2L, JOGO.plusDays(10), 48, null));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+public class TesteCacheContagens {
+
+    // Relógio controlado pelo teste (nanossegundos)
+    private final AtomicLong agora = new AtomicLong();
+    private final CacheContagens cache = new CacheContagens(Duration.ofSeconds(30), agora::get);
+    private final AtomicLong contagens = new AtomicLong();
+
+    private long contar(long total) {
+        contagens.incrementAndGet();
+        return total;
+    }
+
+    @Test
+    void testeContar_MesmaChaveDentroDaValidade_NaoContaDeNovo() {
+        //ACT
+        long primeiro = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla", null), () -> contar(5));
+        agora.addAndGet(Duration.ofSeconds(29).toNanos());
+        long segundo = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla", null), () -> contar(6));
+
+        //ASSERT
+        assertEquals(5, primeiro);
+        assertEquals(5, segundo);
+        assertEquals(1, contagens.get());
+    }
+
+    @Test
+    void testeContar_DepoisDaValidade_ContaDeNovo() {
+        //ARRANGE
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, (Object) null), () -> contar(5));
+        agora.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        //ACT
+        long total = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, (Object) null), () -> contar(8));
+
+        //ASSERT
+        assertEquals(8, total);
+        assertEquals(2, contagens.get());
+    }
+
+    @Test
+    void testeContar_FiltrosDiferentes_TotaisSeparados() {
+        //ACT
+        long comFiltro = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "RJ", null), () -> contar(2));
+        long semFiltro = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, null, "RJ"), () -> contar(3));
+        long outraBusca = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, "RJ", null), () -> contar(4));
+
+        //ASSERT
+        assertEquals(2, comFiltro);
+        assertEquals(3, semFiltro);
+        assertEquals(4, outraBusca);
+        assertEquals(3, contagens.get());
+    }
+
+    @Test
+    void testeAoAlterarPartida_LimpaSoOsTotaisDePartidas() {
+        //ARRANGE
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(10));
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla"), () -> contar(1));
+
+        //ACT
+        cache.aoAlterarPartida(new PartidaAlteradaEvento(null, new PartidaEntity()));
+        long partidas = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(11));
+        long clubes = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla"), () -> contar(2));
+
+        //ASSERT
+        assertEquals(11, partidas);
+        assertEquals(1, clubes);
+        assertEquals(3, contagens.get());
+    }
+
+    @Test
+    void testeAoAlterarClube_LimpaSoOsTotaisDeClubes() {
+        //ARRANGE
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla", "RJ"), () -> contar(1));
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, "Mara"), () -> contar(1));
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(10));
+
+        //ACT
+        cache.aoAlterarClube(new ClubeAlteradoEvento(1L, "Flamengo", "RJ"));
+        long clubes = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla", "RJ"), () -> contar(2));
+        long estadios = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, "Mara"), () -> contar(2));
+        long partidas = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(11));
+
+        //ASSERT
+        assertEquals(2, clubes);
+        assertEquals(1, estadios);
+        assertEquals(10, partidas);
+        assertEquals(4, contagens.get());
+    }
+
+    @Test
+    void testeAoAlterarEstadio_LimpaOsTotaisDeEstadiosEDePartidas() {
+        //ARRANGE
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, "Mara"), () -> contar(1));
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(10));
+        cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla"), () -> contar(1));
+
+        //ACT (estádio apagado: nome null)
+        cache.aoAlterarEstadio(new EstadioAlteradoEvento(1L, null));
+        long estadios = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS, "Mara"), () -> contar(0));
+        long partidas = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS, "Maracanã"), () -> contar(0));
+        long clubes = cache.contar(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, "Fla"), () -> contar(2));
+
+        //ASSERT
+        assertEquals(0, estadios);
+        assertEquals(0, partidas);
+        assertEquals(1, clubes);
+        assertEquals(5, contagens.get());
+    }
+}
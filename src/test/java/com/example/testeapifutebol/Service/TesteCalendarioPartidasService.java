@@ -0,0 +1,112 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.CalendarioDiaDTO;
+import com.example.testeapifutebol.Entity.PartidaDiaEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.PartidaDiaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteCalendarioPartidasService {
+    @InjectMocks
+    private CalendarioPartidasService calendarioPartidasService;
+
+    @Mock
+    private PartidaDiaRepository partidaDiaRepository;
+
+    private static final LocalDate DIA = LocalDate.of(2030, 5, 10);
+
+    private static PartidaEntity partida(LocalDateTime dataHora) {
+        return new PartidaEntity(1L, 2L, 1, 0, 1L, dataHora);
+    }
+
+    @Test
+    void testeAplicarAlteracao_NovaPartida_SomaNoDiaNumaGravacaoSo() {
+        //ACT
+        calendarioPartidasService.aplicarAlteracao(null, partida(DIA.atTime(16, 0)));
+
+        //ASSERT: o mesmo comando cria o dia se ele ainda não existir
+        verify(partidaDiaRepository).somarPartidas(DIA, 1);
+        verifyNoMoreInteractions(partidaDiaRepository);
+    }
+
+    @Test
+    void testeAplicarAlteracao_PartidaMudouDeDia_TiraDeUmESomaNoOutroEmOrdemDeDia() {
+        //ACT
+        calendarioPartidasService.aplicarAlteracao(partida(DIA.plusDays(2).atTime(16, 0)), partida(DIA.atTime(16, 0)));
+
+        //ASSERT: dias em ordem crescente (duas gravações travam as linhas na mesma ordem)
+        InOrder ordem = inOrder(partidaDiaRepository);
+        ordem.verify(partidaDiaRepository).somarPartidas(DIA, 1);
+        ordem.verify(partidaDiaRepository).somarPartidas(DIA.plusDays(2), -1);
+    }
+
+    @Test
+    void testeAplicarAlteracao_SoMudouOHorario_NaoMexeNoCalendario() {
+        //ACT
+        calendarioPartidasService.aplicarAlteracao(partida(DIA.atTime(16, 0)), partida(DIA.atTime(21, 30)));
+
+        //ASSERT
+        verifyNoInteractions(partidaDiaRepository);
+    }
+
+    @Test
+    void testeAplicarNovasPartidas_UmUpdatePorDia() {
+        //ACT
+        calendarioPartidasService.aplicarNovasPartidas(List.of(
+                partida(DIA.atTime(16, 0)),
+                partida(DIA.plusDays(1).atTime(16, 0)),
+                partida(DIA.atTime(21, 0))));
+
+        //ASSERT
+        verify(partidaDiaRepository).somarPartidas(DIA, 2);
+        verify(partidaDiaRepository).somarPartidas(DIA.plusDays(1), 1);
+        verify(partidaDiaRepository, times(2)).somarPartidas(any(), anyInt());
+    }
+
+    @Test
+    void testeBuscarCalendario_BuscaODoMes() {
+        //ARRANGE
+        when(partidaDiaRepository.findDiasComPartidas(LocalDate.of(2030, 2, 1), LocalDate.of(2030, 3, 1)))
+                .thenReturn(List.of(new PartidaDiaEntity(LocalDate.of(2030, 2, 14), 3)));
+
+        //ACT
+        List<CalendarioDiaDTO> dias = calendarioPartidasService.buscarCalendario("2030-02");
+
+        //ASSERT
+        assertEquals(1, dias.size());
+        assertEquals(LocalDate.of(2030, 2, 14), dias.get(0).getDia());
+        assertEquals(3, dias.get(0).getPartidas());
+    }
+
+    @Test
+    void testeBuscarCalendario_MesInvalido_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            calendarioPartidasService.buscarCalendario("02/2030");
+        });
+
+        //ASSERT
+        assertEquals("Mês inválido, use o formato AAAA-MM", excecao.getMessage());
+        verifyNoInteractions(partidaDiaRepository);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ReconstrucaoClassificacaoDTO;
+import com.example.testeapifutebol.Entity.ClassificacaoEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteClassificacaoService {
+    @InjectMocks
+    private ClassificacaoService classificacaoService;
+
+    @Mock
+    private ClassificacaoRepository classificacaoRepository;
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    @Test
+    void testeAplicarAlteracao_NovaPartida_SomaNosDoisClubes() {
+        //ARRANGE
+        PartidaEntity partida = new PartidaEntity(1L, 2L, 3, 1, 1L, LocalDateTime.now().plusDays(1));
+        when(classificacaoRepository.somarDiferenca(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(1);
+
+        //ACT
+        classificacaoService.aplicarAlteracao(null, partida);
+
+        //ASSERT
+        verify(classificacaoRepository).somarDiferenca(1L, 1, 1, 0, 0, 3, 1);
+        verify(classificacaoRepository).somarDiferenca(2L, 1, 0, 0, 1, 1, 3);
+        verify(classificacaoRepository, never()).save(any());
+    }
+
+    @Test
+    void testeAplicarNovasPartidas_SomaTudoAntesEFazUmUpdatePorClube() {
+        //ARRANGE
+        List<PartidaEntity> partidas = List.of(
+                new PartidaEntity(1L, 2L, 3, 1, 1L, LocalDateTime.now().plusDays(1)),
+                new PartidaEntity(2L, 1L, 0, 0, 1L, LocalDateTime.now().plusDays(5)),
+                new PartidaEntity(3L, 1L, 2, 1, 1L, LocalDateTime.now().plusDays(9)));
+        when(classificacaoRepository.somarDiferenca(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(1);
+
+        //ACT
+        classificacaoService.aplicarNovasPartidas(partidas);
+
+        //ASSERT (clube 1: vitória, empate e derrota, 4 feitos e 3 sofridos)
+        verify(classificacaoRepository).somarDiferenca(1L, 3, 1, 1, 1, 4, 3);
+        verify(classificacaoRepository).somarDiferenca(2L, 2, 0, 1, 1, 1, 3);
+        verify(classificacaoRepository).somarDiferenca(3L, 1, 1, 0, 0, 2, 1);
+        verifyNoMoreInteractions(classificacaoRepository);
+    }
+
+    @Test
+    void testeAplicarAlteracao_PlacarAlterado_TrocaVitoriaPorEmpate() {
+        //ARRANGE
+        PartidaEntity anterior = new PartidaEntity(1L, 2L, 2, 0, 1L, LocalDateTime.now().plusDays(1));
+        PartidaEntity atual = new PartidaEntity(1L, 2L, 1, 1, 1L, LocalDateTime.now().plusDays(1));
+        when(classificacaoRepository.somarDiferenca(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(1);
+
+        //ACT
+        classificacaoService.aplicarAlteracao(anterior, atual);
+
+        //ASSERT (jogos não muda, vitória vira empate)
+        verify(classificacaoRepository).somarDiferenca(1L, 0, -1, 1, 0, -1, 1);
+        verify(classificacaoRepository).somarDiferenca(2L, 0, 0, 1, -1, 1, -1);
+    }
+
+    @Test
+    void testeAplicarAlteracao_SoMudouData_NaoAlteraClassificacao() {
+        //ARRANGE
+        PartidaEntity anterior = new PartidaEntity(1L, 2L, 2, 0, 1L, LocalDateTime.now().plusDays(1));
+        PartidaEntity atual = new PartidaEntity(1L, 2L, 2, 0, 1L, LocalDateTime.now().plusDays(5));
+
+        //ACT
+        classificacaoService.aplicarAlteracao(anterior, atual);
+
+        //ASSERT
+        verifyNoInteractions(classificacaoRepository);
+    }
+
+    @Test
+    void testeAplicarAlteracao_PrimeiraPartidaDoClube_CriaLinha() {
+        //ARRANGE
+        PartidaEntity partida = new PartidaEntity(1L, 2L, 0, 0, 1L, LocalDateTime.now().plusDays(1));
+        when(classificacaoRepository.somarDiferenca(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(0);
+
+        //ACT
+        classificacaoService.aplicarAlteracao(null, partida);
+
+        //ASSERT
+        verify(classificacaoRepository).save(new ClassificacaoEntity(1L, 1, 0, 1, 0, 0, 0));
+        verify(classificacaoRepository).save(new ClassificacaoEntity(2L, 1, 0, 1, 0, 0, 0));
+    }
+
+    @Test
+    void testeReconstruirClassificacao_CorrigeLinhaErrada() {
+        //ARRANGE
+        List<Object[]> resultados = new ArrayList<>();
+        resultados.add(new Object[]{1L, 2L, 2, 1});
+        List<Object[]> estatisticas = new ArrayList<>();
+        estatisticas.add(new Object[]{1L, "Flamengo", 1L, 1L, 0L, 0L, 2L, 1L});
+        estatisticas.add(new Object[]{2L, "Vasco", 1L, 0L, 0L, 1L, 1L, 2L});
+        when(partidaRepository.findResultadosPartidas()).thenReturn(resultados);
+        when(partidaRepository.findEstatisticasClubes()).thenReturn(estatisticas);
+        // Linha do clube 1 está certa, a do clube 2 ficou com um jogo a mais
+        when(classificacaoRepository.findAll()).thenReturn(List.of(
+                new ClassificacaoEntity(1L, 1, 1, 0, 0, 2, 1),
+                new ClassificacaoEntity(2L, 2, 0, 1, 1, 1, 2)));
+
+        //ACT
+        ReconstrucaoClassificacaoDTO relatorio = classificacaoService.reconstruirClassificacao();
+
+        //ASSERT
+        assertEquals(2, relatorio.getClubesRecalculados());
+        assertEquals(List.of(2L), relatorio.getClubesCorrigidos());
+        assertTrue(relatorio.getDivergenciasConsultaAgregada().isEmpty());
+        verify(classificacaoRepository).saveAll(List.of(new ClassificacaoEntity(2L, 1, 0, 0, 1, 1, 2)));
+    }
+}
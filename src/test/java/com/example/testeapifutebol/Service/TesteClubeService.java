@@ -1,23 +1,54 @@
 package com.example.testeapifutebol.Service;
 
 import com.example.testeapifutebol.Repository.PartidaRepository;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.DTO.RetrospectoAdversarioDTO;
+import com.example.testeapifutebol.DTO.RetrospectoClubeDTO;
+import com.example.testeapifutebol.DTO.ConfrontoDiretoDTO;
+import com.example.testeapifutebol.DTO.PartidaResumoDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+import com.example.testeapifutebol.Entity.PartidaEntity;
 import com.example.testeapifutebol.Entity.ClubeEntity;
 import com.example.testeapifutebol.DTO.ClubeDTO;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
 import com.example.testeapifutebol.Repository.ClubeRepository;
 import com.example.testeapifutebol.Service.ClubeService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 import java.util.Arrays;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import java.util.Map;
+import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
 import com.example.testeapifutebol.Excecao.RegraDoNaoEncontradoExcecao404;
 import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
@@ -37,6 +68,22 @@ public class TesteClubeService {
     private ClubeRepository clubeRepository;
     @Mock
     private PartidaRepository partidaRepository;
+    @Mock
+    private MotorRanking motorRanking;
+    @Mock
+    private ClassificacaoRepository classificacaoRepository;
+    @Mock
+    private IndiceTemporalRanking indiceTemporalRanking;
+    @Mock
+    private MatrizConfrontos matrizConfrontos;
+    @Mock
+    private CacheContagens cacheContagens;
+    @Mock
+    private IndiceNomes indiceNomes;
+    @Mock
+    private SugestoesNomes sugestoesNomes;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks//ele é o objeto que vai ser testado, cria o service e coloca o objeto dentro dela
     private ClubeService clubeService;
@@ -188,6 +235,12 @@ public class TesteClubeService {
         //ASSERT, verificar o resultado
         assertNotNull(resultado);
         assertEquals("Flamengo Atualizado", resultado.getNome());
+        // O IndiceNomes e o MotorRanking recebem o nome novo pelo evento (depois do commit), não na hora
+        ArgumentCaptor<ClubeAlteradoEvento> evento = ArgumentCaptor.forClass(ClubeAlteradoEvento.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(clubeId, evento.getValue().getId());
+        assertEquals("Flamengo Atualizado", evento.getValue().getNome());
+        verifyNoInteractions(motorRanking);
     }
 
     @Test
@@ -290,6 +343,11 @@ public class TesteClubeService {
 
         //ASSERT, verificar o resultado
         assertTrue(resultado);
+        assertEquals("N", clube.getAtivo());
+        // O total das buscas de clubes com filtro de ativo muda: o CacheContagens escuta o evento
+        ArgumentCaptor<ClubeAlteradoEvento> evento = ArgumentCaptor.forClass(ClubeAlteradoEvento.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(clubeId, evento.getValue().getId());
     }
 
     @Test
@@ -335,4 +393,425 @@ public class TesteClubeService {
 
 
 
+
+    @Test
+    void testeBuscarRankingPaginado_UsaPosicaoDoBanco() {
+        //ARRANGE (linha: id, nome, jogos, vitorias, empates, derrotas, golsFeitos, golsSofridos, posicao)
+        List<Object[]> linhas = Arrays.asList(
+                new Object[]{7L, "Bahia", 3, 2, 1, 0, 5, 2, 21L},
+                new Object[]{2L, "Vasco", 3, 2, 0, 1, 4, 3, 22L});
+        when(classificacaoRepository.findPaginaRankingPontos(20, 2)).thenReturn(linhas);
+
+        //ACT
+        List<RankingClubeDTO> ranking = clubeService.buscarRankingPaginado("pontos", 2, 20);
+
+        //ASSERT
+        assertEquals(2, ranking.size());
+        assertEquals("Bahia", ranking.get(0).getNome());
+        assertEquals(21, ranking.get(0).getPosicao());
+        assertEquals(7, ranking.get(0).getPontos());
+        assertEquals(3, ranking.get(0).getSaldoGols());
+        assertEquals(22, ranking.get(1).getPosicao());
+    }
+
+    @Test
+    void testeBuscarRankingPaginado_LimitInvalido() {
+        //ACT + ASSERT
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> clubeService.buscarRankingPaginado("pontos", 0, 0));
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> clubeService.buscarRankingPaginado("pontos", 10, -1));
+    }
+
+    @Test
+    void testeBuscarRankingPaginadoEVizinhanca_CadaTipoUsaASuaConsulta() {
+        //ARRANGE
+        when(clubeRepository.existsById(1L)).thenReturn(true);
+
+        //ACT
+        clubeService.buscarRankingPaginado("GOLS", 10, 0);
+        clubeService.buscarRankingPaginado("vitorias", 10, 0);
+        clubeService.buscarVizinhancaRanking(1L, "jogos", 2);
+        clubeService.buscarVizinhancaRanking(1L, "Pontos", 2);
+
+        //ASSERT
+        verify(classificacaoRepository).findPaginaRankingGols(0, 10);
+        verify(classificacaoRepository).findPaginaRankingVitorias(0, 10);
+        verify(classificacaoRepository).findVizinhancaRankingJogos(1L, 2);
+        verify(classificacaoRepository).findVizinhancaRankingPontos(1L, 2);
+        verifyNoMoreInteractions(classificacaoRepository);
+        IllegalArgumentException excecao = assertThrows(IllegalArgumentException.class,
+                () -> clubeService.buscarVizinhancaRanking(1L, "saldo", 2));
+        assertEquals("Tipo de ranking inválido. Use: pontos, gols, vitorias ou jogos", excecao.getMessage());
+    }
+
+    @Test
+    void testeBuscarVizinhancaRanking_ClubeInexistente() {
+        //ARRANGE
+        when(clubeRepository.existsById(99L)).thenReturn(false);
+
+        //ACT + ASSERT
+        assertThrows(RegraDoNaoEncontradoExcecao404.class, () -> clubeService.buscarVizinhancaRanking(99L, "pontos", 5));
+    }
+
+    @Test
+    void testeBuscarRankingPorPeriodo_AteInclusivo() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        Map<Long, int[]> totais = new HashMap<>();
+        totais.put(1L, new int[]{1, 0, 0, 1, 0, 2});
+        totais.put(2L, new int[]{1, 1, 0, 0, 2, 0});
+        when(indiceTemporalRanking.somarPeriodo(LocalDate.of(2024, 1, 1).atStartOfDay(),
+                LocalDate.of(2025, 1, 1).atStartOfDay())).thenReturn(totais);
+        when(clubeRepository.findAllById(totais.keySet())).thenReturn(Arrays.asList(flamengo, vasco));
+
+        //ACT
+        List<RankingClubeDTO> ranking = clubeService.buscarRankingPorPeriodo("pontos",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        //ASSERT
+        assertEquals("Vasco", ranking.get(0).getNome());
+        assertEquals(1, ranking.get(0).getPosicao());
+        assertEquals(3, ranking.get(0).getPontos());
+        assertEquals("Flamengo", ranking.get(1).getNome());
+    }
+
+    @Test
+    void testeBuscarRankingPorPeriodo_DatasInvertidas() {
+        //ACT + ASSERT
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> clubeService.buscarRankingPorPeriodo("pontos",
+                LocalDate.of(2024, 12, 31), LocalDate.of(2024, 1, 1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 300})
+    void testeBuscarRetrospectoContraAdversarios_ConsultasNaoCrescemComAdversarios(int quantidadeAdversarios) {
+        //ARRANGE (uma partida contra cada adversário)
+        ClubeEntity clube = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        clube.setId(1L);
+        List<PartidaEntity> partidas = new ArrayList<>();
+        List<ClubeEntity> adversarios = new ArrayList<>();
+        for (long id = 2; id < 2 + quantidadeAdversarios; id++) {
+            partidas.add(new PartidaEntity(1L, id, 2, 1, 1L, LocalDateTime.now()));
+            ClubeEntity adversario = new ClubeEntity("Adversario " + id, "SP", "1900-01-01", "S");
+            adversario.setId(id);
+            adversarios.add(adversario);
+        }
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
+        when(partidaRepository.findByClubeMandanteIdOrClubeVisitanteId(1L)).thenReturn(partidas);
+        when(clubeRepository.findAllById(anyCollection())).thenReturn(adversarios);
+
+        //ACT
+        List<RetrospectoAdversarioDTO> retrospecto = clubeService.buscarRetrospectoContraAdversarios(1L);
+
+        //ASSERT: sempre 3 consultas (clube, partidas e nomes), qualquer que seja o número de adversários
+        assertEquals(quantidadeAdversarios, retrospecto.size());
+        assertTrue(retrospecto.stream().allMatch(r -> r.getAdversarioNome().equals("Adversario " + r.getAdversarioId())));
+        verify(clubeRepository, times(1)).findById(1L);
+        verify(partidaRepository, times(1)).findByClubeMandanteIdOrClubeVisitanteId(1L);
+        verify(clubeRepository, times(1)).findAllById(anyCollection());
+        verifyNoMoreInteractions(clubeRepository, partidaRepository);
+    }
+
+    @Test
+    void testeBuscarConfrontoDireto_ResumoDaMatrizSemPartidas() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(flamengo, vasco));
+        when(matrizConfrontos.buscarResumo(1L, 2L)).thenReturn(new int[]{1, 1, 0, 3, 1});
+
+        //ACT
+        ConfrontoDiretoDTO confronto = clubeService.buscarConfrontoDireto(1L, 2L, false, 20, null);
+
+        //ASSERT
+        assertEquals("Flamengo", confronto.getClube1Nome());
+        assertEquals("Vasco", confronto.getClube2Nome());
+        assertEquals(2, confronto.getTotalJogos());
+        assertEquals(1, confronto.getVitoriasClube1());
+        assertEquals(1, confronto.getEmpates());
+        assertEquals(3, confronto.getGolsClube1());
+        assertNull(confronto.getPartidas());
+        verify(clubeRepository, never()).findById(any());
+        verify(partidaRepository, never()).findConfrontosDiretos(any(), any(), any(), any());
+    }
+
+    @Test
+    void testeBuscarConfrontoDireto_PaginaDePartidas() {
+        //ARRANGE (página cheia: devolve a data da última partida como cursor)
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        LocalDateTime antesDe = LocalDateTime.of(2024, 6, 1, 16, 0);
+        List<PartidaResumoDTO> pagina = List.of(
+                new PartidaResumoDTO(9L, 1L, 2L, 2, 0, "Maracanã", LocalDateTime.of(2024, 5, 1, 16, 0)),
+                new PartidaResumoDTO(7L, 2L, 1L, 1, 1, "São Januário", LocalDateTime.of(2024, 3, 1, 16, 0)));
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(flamengo, vasco));
+        when(matrizConfrontos.buscarResumo(1L, 2L)).thenReturn(new int[]{5, 3, 4, 20, 15});
+        when(partidaRepository.findConfrontosDiretos(1L, 2L, antesDe, PageRequest.of(0, 2))).thenReturn(pagina);
+
+        //ACT
+        ConfrontoDiretoDTO confronto = clubeService.buscarConfrontoDireto(1L, 2L, true, 2, antesDe);
+
+        //ASSERT
+        assertEquals(12, confronto.getTotalJogos());
+        assertEquals(pagina, confronto.getPartidas());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 16, 0), confronto.getProximoAntesDe());
+    }
+
+    @Test
+    void testeBuscarConfrontoDireto_UltimaPaginaSemCursor() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(flamengo, vasco));
+        when(matrizConfrontos.buscarResumo(1L, 2L)).thenReturn(new int[]{1, 0, 0, 2, 0});
+        when(partidaRepository.findConfrontosDiretos(1L, 2L, null, PageRequest.of(0, 20))).thenReturn(List.of(
+                new PartidaResumoDTO(1L, 1L, 2L, 2, 0, "Maracanã", LocalDateTime.of(2024, 5, 1, 16, 0))));
+
+        //ACT
+        ConfrontoDiretoDTO confronto = clubeService.buscarConfrontoDireto(1L, 2L, true, 20, null);
+
+        //ASSERT
+        assertEquals(1, confronto.getPartidas().size());
+        assertNull(confronto.getProximoAntesDe());
+    }
+
+    @Test
+    void testeBuscarConfrontoDireto_ClubeInexistente() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        when(clubeRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(flamengo));
+
+        //ACT + ASSERT
+        assertThrows(RegraDoNaoEncontradoExcecao404.class, () -> clubeService.buscarConfrontoDireto(1L, 99L, false, 20, null));
+    }
+
+    @Test
+    void testeBuscarRetrospectoClube_SomaCasaEFora() {
+        //ARRANGE (casa: 3 jogos 2V 1E, 5x1 | fora: 2 jogos 1E 1D, 1x3)
+        ClubeEntity clube = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        clube.setId(1L);
+        List<Object[]> linha = new ArrayList<>();
+        linha.add(new Object[]{3L, 2L, 1L, 0L, 5L, 1L, 2L, 0L, 1L, 1L, 1L, 3L});
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
+        when(partidaRepository.findEstatisticasClube(1L)).thenReturn(linha);
+
+        //ACT
+        RetrospectoClubeDTO retrospecto = clubeService.buscarRetrospectoClube(1L);
+
+        //ASSERT
+        assertEquals(3, retrospecto.getCasa().getTotalJogos());
+        assertEquals(4, retrospecto.getCasa().getSaldoGols());
+        assertEquals(1, retrospecto.getFora().getDerrotas());
+        assertEquals(5, retrospecto.getTotalJogos());
+        assertEquals(2, retrospecto.getVitorias());
+        assertEquals(2, retrospecto.getEmpates());
+        assertEquals(1, retrospecto.getDerrotas());
+        assertEquals(2, retrospecto.getSaldoGols());
+        verify(partidaRepository, never()).findByClubeMandanteIdOrClubeVisitanteId(any());
+    }
+
+    @Test
+    void testeBuscarMiniLiga_SoJogosEntreOsClubes() {
+        //ARRANGE (Bahia não jogou contra os outros dois, mas aparece na tabela)
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        ClubeEntity bahia = new ClubeEntity("Bahia", "BA", "1931-01-01", "S");
+        bahia.setId(3L);
+        List<Object[]> partidas = new ArrayList<>();
+        partidas.add(new Object[]{1L, 2L, 2, 0});
+        partidas.add(new Object[]{2L, 1L, 1, 1});
+        when(clubeRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(Arrays.asList(flamengo, vasco, bahia));
+        when(partidaRepository.findResultadosEntreClubes(List.of(1L, 2L, 3L))).thenReturn(partidas);
+
+        //ACT (o id repetido é ignorado)
+        List<RankingClubeDTO> tabela = clubeService.buscarMiniLiga(Arrays.asList(1L, 2L, 3L, 1L), "pontos");
+
+        //ASSERT
+        assertEquals(3, tabela.size());
+        assertEquals("Flamengo", tabela.get(0).getNome());
+        assertEquals(4, tabela.get(0).getPontos());
+        assertEquals("Vasco", tabela.get(1).getNome());
+        assertEquals(1, tabela.get(1).getPontos());
+        assertEquals("Bahia", tabela.get(2).getNome());
+        assertEquals(0, tabela.get(2).getJogos());
+        assertEquals(3, tabela.get(2).getPosicao());
+    }
+
+    @Test
+    void testeBuscarMiniLiga_MenosDeDoisClubes() {
+        //ACT + ASSERT
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> clubeService.buscarMiniLiga(List.of(1L, 1L), "pontos"));
+    }
+
+    @Test
+    void testeBuscarMiniLiga_ClubeInexistente() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        when(clubeRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(flamengo));
+
+        //ACT + ASSERT
+        assertThrows(RegraDoNaoEncontradoExcecao404.class, () -> clubeService.buscarMiniLiga(List.of(1L, 99L), "pontos"));
+        verify(partidaRepository, never()).findResultadosEntreClubes(any());
+    }
+
+    @Test
+    void testeBuscarClubesPorCursor_SegueDoUltimoNomeDaPagina() {
+        //ARRANGE
+        ClubeEntity bahia = new ClubeEntity("Bahia", "BA", "1931-01-01", "S");
+        bahia.setId(3L);
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(2L);
+        when(clubeRepository.findClubesComFiltrosAposCursor(null, null, null, null, null, null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(bahia, flamengo, vasco));
+        when(clubeRepository.findClubesComFiltrosAposCursor(null, null, null, null, null, "Flamengo", 1L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(vasco));
+
+        //ACT
+        var primeira = clubeService.buscarClubesPorCursor("", null, " ", null, null, 2);
+        var segunda = clubeService.buscarClubesPorCursor(null, null, null, null, primeira.getProximoCursor(), 2);
+
+        //ASSERT
+        assertEquals(List.of("Bahia", "Flamengo"), primeira.getItens().stream().map(ClubeDTO::getNome).toList());
+        assertNotNull(primeira.getProximoCursor());
+        assertEquals(List.of("Vasco"), segunda.getItens().stream().map(ClubeDTO::getNome).toList());
+        assertNull(segunda.getProximoCursor());
+        verify(clubeRepository, never()).findClubesComFiltros(any(), any(), any(), any(), any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1001})
+    void testeBuscarClubesPorCursor_TamanhoForaDoLimite_RetornoExcecao400(int tamanho) {
+        //ACT + ASSERT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class,
+                () -> clubeService.buscarClubesPorCursor(null, null, null, null, null, tamanho));
+        assertEquals("O tamanho da página deve estar entre 1 e 1000", excecao.getMessage());
+    }
+
+    @Test
+    void testeFindClubesComFiltros_FiltroVazioViraNullETotalVemDoCache() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        ClubeEntity fluminense = new ClubeEntity("Fluminense", "RJ", "1902-07-21", "S");
+        fluminense.setId(2L);
+        PageRequest pagina = PageRequest.of(1, 2);
+        when(clubeRepository.findClubesComFiltros(null, null, "RJ", null, null, pagina))
+                .thenReturn(new SliceImpl<>(List.of(flamengo, fluminense), pagina, true));
+        when(cacheContagens.contar(eq(CacheContagens.chave(CacheContagens.BUSCA_CLUBES, null, "RJ", null, null)), any()))
+                .thenReturn(9L);
+
+        //ACT
+        Page<ClubeDTO> resultado = clubeService.findClubesComFiltros("", "RJ", " ", null, pagina);
+
+        //ASSERT
+        assertEquals(List.of("Flamengo", "Fluminense"), resultado.getContent().stream().map(ClubeDTO::getNome).toList());
+        assertEquals(9, resultado.getTotalElements());
+        assertEquals(5, resultado.getTotalPages());
+        verify(clubeRepository, never()).countClubesComFiltros(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testeFindClubesComFiltrosSemTotal_NuncaConta() {
+        //ARRANGE
+        ClubeEntity vasco = new ClubeEntity("Vasco", "RJ", "1898-08-21", "S");
+        vasco.setId(3L);
+        PageRequest pagina = PageRequest.of(0, 1);
+        when(indiceNomes.buscarClubes("Vasco", pagina.getSort())).thenReturn(List.of(3L));
+        when(clubeRepository.findAllById(List.of(3L))).thenReturn(List.of(vasco));
+
+        //ACT
+        Slice<ClubeDTO> resultado = clubeService.findClubesComFiltrosSemTotal("Vasco", "", null, null, pagina);
+
+        //ASSERT
+        assertEquals("Vasco", resultado.getContent().get(0).getNome());
+        assertFalse(resultado.hasNext());
+        verifyNoInteractions(cacheContagens);
+        verify(clubeRepository, never()).countClubesComFiltros(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testeFindClubesComFiltros_SoNome_PaginaCortadaNoIndiceETotalSemContar() {
+        //ARRANGE
+        ClubeEntity gremio = new ClubeEntity("Grêmio", "RS", "1903-09-15", "S");
+        gremio.setId(4L);
+        ClubeEntity gremioNovorizontino = new ClubeEntity("Grêmio Novorizontino", "SP", "2010-03-01", "S");
+        gremioNovorizontino.setId(9L);
+        PageRequest pagina = PageRequest.of(0, 2, Sort.by("nome"));
+        when(indiceNomes.buscarClubes("gremio", pagina.getSort())).thenReturn(List.of(4L, 9L, 12L));
+        // o banco devolve os clubes da página em qualquer ordem
+        when(clubeRepository.findAllById(List.of(4L, 9L))).thenReturn(List.of(gremioNovorizontino, gremio));
+
+        //ACT
+        Page<ClubeDTO> resultado = clubeService.findClubesComFiltros("gremio", null, null, null, pagina);
+
+        //ASSERT (só os ids da página vão ao banco; o total é o número de ids do índice: nem cache, nem COUNT)
+        assertEquals(List.of("Grêmio", "Grêmio Novorizontino"),
+                resultado.getContent().stream().map(ClubeDTO::getNome).toList());
+        assertEquals(3, resultado.getTotalElements());
+        verifyNoInteractions(cacheContagens);
+        verify(clubeRepository, never()).findClubesComFiltros(any(), any(), any(), any(), any(), any());
+        verify(clubeRepository, never()).countClubesComFiltros(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testeFindClubesComFiltros_NomeComEstado_IdsNoInOuNomeNoBancoSeForemMuitos() {
+        //ARRANGE
+        ClubeEntity flamengo = new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S");
+        flamengo.setId(1L);
+        PageRequest pagina = PageRequest.of(0, 10);
+        when(indiceNomes.buscarClubes("fla")).thenReturn(List.of(1L));
+        when(indiceNomes.buscarClubes("a")).thenReturn(LongStream.rangeClosed(1, 1001).boxed().toList());
+        when(clubeRepository.findClubesComFiltros(List.of(1L), null, "RJ", null, null, pagina))
+                .thenReturn(new SliceImpl<>(List.of(flamengo), pagina, false));
+        when(clubeRepository.findClubesComFiltros(null, "a", "RJ", null, null, pagina))
+                .thenReturn(new SliceImpl<>(List.of(flamengo), pagina, false));
+
+        //ACT
+        Page<ClubeDTO> poucosIds = clubeService.findClubesComFiltros("fla", "RJ", null, null, pagina);
+        Page<ClubeDTO> idsDemais = clubeService.findClubesComFiltros("a", "RJ", null, null, pagina);
+
+        //ASSERT
+        assertEquals("Flamengo", poucosIds.getContent().get(0).getNome());
+        assertEquals("Flamengo", idsDemais.getContent().get(0).getNome());
+        verify(clubeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testeSugerirClubes_VemDoIndiceEmMemoria() {
+        //ARRANGE
+        List<SugestaoNomeDTO> sugestoes = List.of(new SugestaoNomeDTO(1L, "Flamengo", 40));
+        when(sugestoesNomes.sugerirClubes("fla", 5)).thenReturn(sugestoes);
+
+        //ACT
+        List<SugestaoNomeDTO> resultado = clubeService.sugerirClubes("fla", 5);
+
+        //ASSERT
+        assertEquals(sugestoes, resultado);
+        verifyNoInteractions(clubeRepository, partidaRepository);
+    }
+
+    @Test
+    void testeSugerirClubes_TermoEmBrancoOuLimiteInvalido() {
+        //ACT + ASSERT
+        assertEquals(List.of(), clubeService.sugerirClubes("  ", 10));
+        assertEquals(List.of(), clubeService.sugerirClubes(null, 10));
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class,
+                () -> clubeService.sugerirClubes("fla", SugestoesNomes.LIMITE_MAXIMO + 1));
+        assertEquals("O limite deve estar entre 1 e 20", excecao.getMessage());
+        verifyNoInteractions(sugestoesNomes);
+    }
 }
@@ -0,0 +1,192 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaDiaRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Muitas gravações de partida ao mesmo tempo, com o contexto inteiro (H2 em memória, modo de compatibilidade MySQL
+//por causa dos comandos próprios do MySQL, como o upsert do calendário)
+//Sem as travas da agenda, várias gravações passam juntas pela validação e a agenda fica com choque de horário
+//O índice da busca vai para uma pasta temporária nova (o banco do teste começa vazio a cada execução)
+@SpringBootTest(properties = {"spring.jpa.show-sql=false",
+        "busca.indice.pasta=${java.io.tmpdir}/indice-busca-${random.uuid}",
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TesteConcorrenciaPartidas {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private PartidaService partidaService;
+    @Autowired
+    private ClubeRepository clubeRepository;
+    @Autowired
+    private EstadioRepository estadioRepository;
+    @Autowired
+    private PartidaRepository partidaRepository;
+    @Autowired
+    private TravasDeAgenda travasDeAgenda;
+    @Autowired
+    private PartidaDiaRepository partidaDiaRepository;
+
+    private Long novoClube(String nome) {
+        return clubeRepository.save(new ClubeEntity(nome, "RJ", "1900-01-01", "S")).getId();
+    }
+
+    private String novoEstadio(String nome) {
+        estadioRepository.save(new EstadioEntity(null, nome));
+        return nome;
+    }
+
+    private static PartidaDTO partida(Long casa, Long visitante, String estadio, LocalDateTime dataHora) {
+        PartidaDTO dto = new PartidaDTO();
+        dto.setClubeCasaId(casa);
+        dto.setClubeVisitanteId(visitante);
+        dto.setResultadoCasa(0);
+        dto.setResultadoVisitante(0);
+        dto.setEstadio(estadio);
+        dto.setDataHora(dataHora);
+        return dto;
+    }
+
+    // Dispara todas as gravações juntas e conta quantas deram certo (as outras precisam ser 409)
+    private int gravarAoMesmoTempo(List<PartidaDTO> partidas) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(partidas.size());
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (PartidaDTO partida : partidas) {
+                Callable<Boolean> gravacao = () -> {
+                    largada.await();
+                    try {
+                        partidaService.savePartidaEntity(partida);
+                        return true;
+                    } catch (RegraDeExcecao409 e) {
+                        return false;
+                    }
+                };
+                resultados.add(executor.submit(gravacao));
+            }
+            largada.countDown();
+            int sucessos = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(60, TimeUnit.SECONDS)) {
+                    sucessos++;
+                }
+            }
+            return sucessos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testeMesmoClubeEm48h_SoUmaPartidaEntra() throws Exception {
+        //ARRANGE: o mesmo mandante contra adversários e estádios diferentes, todas a menos de 48h umas das outras
+        LocalDateTime inicio = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+        Long mandante = novoClube("Mandante Concorrido");
+        List<PartidaDTO> partidas = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            partidas.add(partida(mandante, novoClube("Visitante " + i), novoEstadio("Estadio Clube " + i),
+                    inicio.plusMinutes(i)));
+        }
+        long antes = partidaRepository.count();
+
+        //ACT
+        int sucessos = gravarAoMesmoTempo(partidas);
+
+        //ASSERT
+        assertEquals(1, sucessos);
+        assertEquals(antes + 1, partidaRepository.count());
+    }
+
+    @Test
+    void testeMesmoEstadioMesmoHorario_SoUmaPartidaEntra() throws Exception {
+        //ARRANGE: clubes todos diferentes, mesmo estádio e mesmo horário
+        LocalDateTime horario = LocalDateTime.now().plusDays(60).truncatedTo(ChronoUnit.HOURS);
+        String estadio = novoEstadio("Estadio Disputado");
+        List<PartidaDTO> partidas = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            partidas.add(partida(novoClube("Casa Estadio " + i), novoClube("Fora Estadio " + i), estadio, horario));
+        }
+        long antes = partidaRepository.count();
+
+        //ACT
+        int sucessos = gravarAoMesmoTempo(partidas);
+
+        //ASSERT
+        assertEquals(1, sucessos);
+        assertEquals(antes + 1, partidaRepository.count());
+    }
+
+    @Test
+    void testeMesmoDiaClubesDiferentes_CalendarioContaTodas() throws Exception {
+        //ARRANGE: ninguém divide clube nem estádio, mas todas caem no mesmo dia (ainda sem linha no calendário)
+        LocalDateTime inicio = LocalDateTime.now().plusDays(90).truncatedTo(ChronoUnit.DAYS).plusHours(12);
+        List<PartidaDTO> partidas = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            partidas.add(partida(novoClube("Casa Dia " + i), novoClube("Fora Dia " + i), novoEstadio("Estadio Dia " + i),
+                    inicio.plusMinutes(i)));
+        }
+
+        //ACT
+        int sucessos = gravarAoMesmoTempo(partidas);
+
+        //ASSERT
+        assertEquals(THREADS, sucessos);
+        assertEquals(THREADS, partidaDiaRepository.findById(inicio.toLocalDate()).orElseThrow().getPartidas());
+    }
+
+    @Test
+    void testeClubesDiferentes_NaoEsperamUmPeloOutro() throws Exception {
+        //ARRANGE: escolhe chaves que caem em faixas diferentes
+        Long clubeA = 1L;
+        Long clubeB = 2L;
+        Long clubeC = 3L;
+        Long clubeD = 4L;
+        assertNotEquals(TravasDeAgenda.faixa("clube:" + clubeA), TravasDeAgenda.faixa("clube:" + clubeC));
+        List<ReentrantLock> primeira = travasDeAgenda.travar(clubeA, clubeB, 1L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            //ACT: outra thread trava clubes e estádio diferentes enquanto a primeira trava continua pega
+            Future<Boolean> segunda = executor.submit(() -> {
+                List<ReentrantLock> pegas = travasDeAgenda.travar(clubeC, clubeD, 2L);
+                travasDeAgenda.liberar(pegas);
+                return true;
+            });
+
+            //ASSERT
+            assertTrue(segunda.get(2, TimeUnit.SECONDS));
+        } finally {
+            travasDeAgenda.liberar(primeira);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RetrospectoAdversarioDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Excecao.RegraDeExcecao409;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+//Quantos comandos SQL cada operação manda ao banco, contados pelo Hibernate (Statistics.getPrepareStatementCount)
+//- Os testes com mocks só conferem as chamadas ao repository; aqui entram os SELECTs que o Hibernate monta por trás
+//  (carga preguiçosa, um findById por item...)
+//- O que não é banco (índices em memória, classificação, calendário) fica de fora com @MockitoBean
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:consultas_operacao;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ClubeService.class, PartidaService.class})
+public class TesteConsultasPorOperacao {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2030, 3, 1, 16, 0);
+
+    @Autowired
+    private ClubeService clubeService;
+    @Autowired
+    private PartidaService partidaService;
+    @Autowired
+    private ClubeRepository clubeRepository;
+    @Autowired
+    private EstadioRepository estadioRepository;
+    @Autowired
+    private PartidaRepository partidaRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private MotorRanking motorRanking;
+    @MockitoBean
+    private IndiceTemporalRanking indiceTemporalRanking;
+    @MockitoBean
+    private MatrizConfrontos matrizConfrontos;
+    @MockitoBean
+    private CacheContagens cacheContagens;
+    @MockitoBean
+    private IndiceNomes indiceNomes;
+    @MockitoBean
+    private SugestoesNomes sugestoesNomes;
+    @MockitoBean
+    private ClassificacaoService classificacaoService;
+    @MockitoBean
+    private AgendaPartidas agendaPartidas;
+    @MockitoBean
+    private TravasDeAgenda travasDeAgenda;
+    @MockitoBean
+    private CalendarioPartidasService calendarioPartidasService;
+
+    private Statistics estatisticas;
+    private Long estadioId;
+
+    @BeforeEach
+    void prepararEstatisticas() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadioId = estadioRepository.save(new EstadioEntity(null, "Maracanã")).getId();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 300})
+    void testeBuscarRetrospectoContraAdversarios_ComandosNaoCrescemComAdversarios(int quantidadeAdversarios) {
+        //ARRANGE (uma partida contra cada adversário)
+        Long clubeId = clubeRepository.save(new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S")).getId();
+        for (int i = 0; i < quantidadeAdversarios; i++) {
+            Long adversarioId = clubeRepository.save(new ClubeEntity("Adversario " + i, "SP", "1900-01-01", "S")).getId();
+            partidaRepository.save(new PartidaEntity(clubeId, adversarioId, 2, 1, estadioId, DATA.plusDays(i)));
+        }
+        limparSessao();
+
+        //ACT
+        List<RetrospectoAdversarioDTO> retrospecto = clubeService.buscarRetrospectoContraAdversarios(clubeId);
+
+        //ASSERT: o clube, as partidas e os nomes dos adversários, qualquer que seja o número de adversários
+        assertEquals(quantidadeAdversarios, retrospecto.size());
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void testeSalvarPartida_ValidacaoCustaUmComandoParaOsClubesEUmParaOEstadio() {
+        //ARRANGE
+        Long casaId = clubeRepository.save(new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S")).getId();
+        Long visitanteId = clubeRepository.save(new ClubeEntity("Vasco", "RJ", "1898-08-21", "S")).getId();
+        limparSessao();
+        // Estádio ocupado na agenda: a gravação para logo depois das validações que vão ao banco
+        // (sem o INSERT na conta, que às vezes ainda reserva um bloco de ids na tabela de sequência)
+        when(agendaPartidas.estadioOcupado(eq(estadioId), any(), isNull())).thenReturn(true);
+
+        //ACT
+        RegraDeExcecao409 excecao = assertThrows(RegraDeExcecao409.class,
+                () -> partidaService.savePartidaEntity(partida(casaId, visitanteId, DATA)));
+
+        //ASSERT: os dois clubes (uma consulta) e o estádio
+        assertEquals(RegrasPartida.ESTADIO_OCUPADO, excecao.getMessage());
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void testeAtualizarPartida_PartidaClubesEstadioEUpdate() {
+        //ARRANGE
+        Long casaId = clubeRepository.save(new ClubeEntity("Flamengo", "RJ", "1895-11-17", "S")).getId();
+        Long visitanteId = clubeRepository.save(new ClubeEntity("Vasco", "RJ", "1898-08-21", "S")).getId();
+        Long partidaId = partidaRepository.save(new PartidaEntity(casaId, visitanteId, 0, 0, estadioId, DATA)).getId();
+        limparSessao();
+
+        //ACT
+        partidaService.updatePartidaEntity(partidaId, partida(visitanteId, casaId, DATA));
+        entityManager.flush();
+
+        //ASSERT: a partida, os dois clubes, o estádio e o UPDATE
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+    }
+
+    // Grava o que está pendente, esvazia a sessão (nada vem do cache de primeiro nível) e zera a contagem
+    private void limparSessao() {
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas.clear();
+    }
+
+    private static PartidaDTO partida(Long casaId, Long visitanteId, LocalDateTime dataHora) {
+        PartidaDTO partidaDTO = new PartidaDTO();
+        partidaDTO.setClubeCasaId(casaId);
+        partidaDTO.setClubeVisitanteId(visitanteId);
+        partidaDTO.setResultadoCasa(2);
+        partidaDTO.setResultadoVisitante(1);
+        partidaDTO.setEstadio("Maracanã");
+        partidaDTO.setDataHora(dataHora);
+        return partidaDTO;
+    }
+}
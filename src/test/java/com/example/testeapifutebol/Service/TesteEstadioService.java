@@ -1,16 +1,24 @@
 package com.example.testeapifutebol.Service;
 
 import com.example.testeapifutebol.DTO.EstadioDTO;
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
 import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
 import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +41,16 @@ public class TesteEstadioService {
 
     @Mock
     private EstadioRepository estadioRepository;
+    @Mock
+    private CacheContagens cacheContagens;
+    @Mock
+    private PartidaRepository partidaRepository;
+    @Mock
+    private IndiceNomes indiceNomes;
+    @Mock
+    private SugestoesNomes sugestoesNomes;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     void testeCadastrarEstadio_Sucesso() {
@@ -149,6 +167,8 @@ public class TesteEstadioService {
         //ASSERT
         assertNotNull(resultado);
         assertEquals("Maracanã Atualizado", resultado.getName());
+        // As partidas apontam para o id: renomear não mexe em nenhuma
+        verifyNoInteractions(partidaRepository);
     }
 
     @Test
@@ -236,6 +256,32 @@ public class TesteEstadioService {
         //ASSERT
         assertTrue(resultado);
         verify(estadioRepository).delete(estadio);
+        // Nome null: o IndiceNomes tira o estádio da busca
+        ArgumentCaptor<EstadioAlteradoEvento> evento = ArgumentCaptor.forClass(EstadioAlteradoEvento.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(estadioId, evento.getValue().getId());
+        assertNull(evento.getValue().getNome());
+    }
+
+    @Test
+    void testeDeletarEstadio_ComPartidas_RetornoExcecao409() {
+        //ARRANGE
+        Long estadioId = 1L;
+        EstadioEntity estadio = new EstadioEntity();
+        estadio.setId(estadioId);
+        estadio.setNome("Maracanã");
+
+        when(estadioRepository.findById(estadioId)).thenReturn(Optional.of(estadio));
+        when(partidaRepository.existsByEstadioId(estadioId)).thenReturn(true);
+
+        //ACT
+        RegraDeExcecao409 excecao = assertThrows(RegraDeExcecao409.class, () -> {
+            estadioService.deleteEstadioEntity(estadioId);
+        });
+
+        //ASSERT
+        assertEquals("O estádio 'Maracanã' tem partidas cadastradas", excecao.getMessage());
+        verify(estadioRepository, never()).delete(any());
     }
 
     @Test
@@ -268,4 +314,77 @@ public class TesteEstadioService {
         assertNotNull(resultado);
         assertEquals(2, resultado.getContent().size());
     }
+
+    @Test
+    void testeFindEstadiosComFiltros_SemFiltro_TotalVemDoCache() {
+        //ARRANGE
+        EstadioEntity maracana = new EstadioEntity();
+        maracana.setId(1L);
+        maracana.setNome("Maracanã");
+        PageRequest pagina = PageRequest.of(0, 1);
+        when(estadioRepository.findTodos(pagina)).thenReturn(new SliceImpl<>(List.of(maracana), pagina, true));
+        when(cacheContagens.contar(eq(CacheContagens.chave(CacheContagens.BUSCA_ESTADIOS)), any()))
+                .thenReturn(3L);
+
+        //ACT
+        Page<EstadioDTO> resultado = estadioService.findEstadiosComFiltros(" ", pagina);
+
+        //ASSERT
+        assertEquals("Maracanã", resultado.getContent().get(0).getNome());
+        assertEquals(3, resultado.getTotalElements());
+        verify(estadioRepository, never()).count();
+    }
+
+    @Test
+    void testeFindEstadiosComFiltrosSemTotal_PorNome_NuncaConta() {
+        //ARRANGE
+        EstadioEntity mineirao = new EstadioEntity();
+        mineirao.setId(2L);
+        mineirao.setNome("Mineirão");
+        PageRequest pagina = PageRequest.of(0, 1);
+        when(indiceNomes.buscarEstadios("mine", pagina.getSort())).thenReturn(List.of(2L, 5L));
+        when(estadioRepository.findAllById(List.of(2L))).thenReturn(List.of(mineirao));
+
+        //ACT
+        Slice<EstadioDTO> resultado = estadioService.findEstadiosComFiltrosSemTotal(" mine ", pagina);
+
+        //ASSERT
+        assertEquals("Mineirão", resultado.getContent().get(0).getNome());
+        assertTrue(resultado.hasNext());
+        verifyNoInteractions(cacheContagens);
+        verify(estadioRepository, never()).count();
+    }
+
+    @Test
+    void testeFindEstadiosComFiltros_PorNome_TotalSaiDoIndice() {
+        //ARRANGE
+        EstadioEntity saoJanuario = new EstadioEntity(7L, "São Januário");
+        PageRequest pagina = PageRequest.of(0, 1);
+        when(indiceNomes.buscarEstadios("Sao Januario", pagina.getSort())).thenReturn(List.of(7L, 8L));
+        when(estadioRepository.findAllById(List.of(7L))).thenReturn(List.of(saoJanuario));
+
+        //ACT
+        Page<EstadioDTO> resultado = estadioService.findEstadiosComFiltros("Sao Januario", pagina);
+
+        //ASSERT
+        assertEquals("São Januário", resultado.getContent().get(0).getNome());
+        assertEquals(2, resultado.getTotalElements());
+        verifyNoInteractions(cacheContagens);
+        verify(estadioRepository, never()).findByIdIn(any(), any());
+    }
+
+    @Test
+    void testeSugerirEstadios_VemDoIndiceEmMemoria() {
+        //ARRANGE
+        List<SugestaoNomeDTO> sugestoes = List.of(new SugestaoNomeDTO(2L, "Maracanã", 120));
+        when(sugestoesNomes.sugerirEstadios("mara", 10)).thenReturn(sugestoes);
+
+        //ACT
+        List<SugestaoNomeDTO> resultado = estadioService.sugerirEstadios("mara", 10);
+
+        //ASSERT
+        assertEquals(sugestoes, resultado);
+        verifyNoInteractions(estadioRepository);
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> estadioService.sugerirEstadios("mara", 0));
+    }
 }
@@ -0,0 +1,181 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteExportacaoService {
+
+    @Mock
+    private PartidaRepository partidaRepository;
+    @Mock
+    private ClubeRepository clubeRepository;
+    @Mock
+    private EstadioRepository estadioRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportacaoService exportacaoService;
+
+    @BeforeEach
+    void criarService() {
+        // Mesma configuração de datas do ObjectMapper do Spring Boot
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportacaoService = new ExportacaoService(partidaRepository, clubeRepository, estadioRepository, entityManager,
+                objectMapper);
+    }
+
+    @Test
+    void testeExportarPartidas_Ndjson_UmaPorLinhaESoltaCadaEntidade() throws Exception {
+        //ARRANGE
+        AtomicBoolean fechado = new AtomicBoolean();
+        cadastrarEstadios();
+        PartidaEntity primeira = criarPartida(1L, 2L, 1L, LocalDateTime.of(2020, 5, 1, 16, 0));
+        PartidaEntity segunda = criarPartida(3L, 4L, 2L, LocalDateTime.of(2020, 5, 2, 20, 30));
+        when(partidaRepository.findTodasParaExportacao())
+                .thenReturn(Stream.of(primeira, segunda).onClose(() -> fechado.set(true)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        //ACT
+        exportacaoService.exportarPartidas(saida, "ndjson");
+
+        //ASSERT
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("{\"clubeCasaId\":1,"));
+        assertTrue(linhas[0].contains("\"dataHora\":\"2020-05-01T16:00:00\""));
+        assertTrue(linhas[1].contains("\"estadio\":\"Mineirão\""));
+        assertTrue(saida.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        verify(entityManager).detach(primeira);
+        verify(entityManager).detach(segunda);
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    void testeExportarPartidas_Csv_MesmoFormatoDaImportacao() throws Exception {
+        //ARRANGE
+        cadastrarEstadios();
+        when(partidaRepository.findTodasParaExportacao()).thenReturn(Stream.of(
+                criarPartida(1L, 2L, 1L, LocalDateTime.of(2020, 5, 1, 16, 0)),
+                criarPartida(3L, 4L, 3L, LocalDateTime.of(2020, 5, 8, 20, 30))));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        //ACT
+        exportacaoService.exportarPartidas(saida, "csv");
+
+        //ASSERT
+        assertEquals(ExportacaoService.CABECALHO_PARTIDAS + "\n"
+                        + "1,2,1,0,Maracanã,2020-05-01T16:00:00\n"
+                        + "3,4,1,0,\"Estádio Olímpico, Porto Alegre\",2020-05-08T20:30:00\n",
+                saida.toString(StandardCharsets.UTF_8));
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    void testeExportarClubes_Csv_TextoComAspasEVirgula() throws Exception {
+        //ARRANGE
+        ClubeEntity clube = new ClubeEntity("Clube \"Atlético\", Mineiro", "MG", "1908-03-25", "S");
+        clube.setId(7L);
+        when(clubeRepository.findTodosParaExportacao()).thenReturn(Stream.of(clube));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        //ACT
+        exportacaoService.exportarClubes(saida, "csv");
+
+        //ASSERT
+        assertEquals(ExportacaoService.CABECALHO_CLUBES + "\n"
+                        + "7,\"Clube \"\"Atlético\"\", Mineiro\",MG,1908-03-25,S\n",
+                saida.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(clube);
+    }
+
+    @Test
+    void testeExportarPartidas_Csv_ImportacaoLeOMesmoEstadio() throws Exception {
+        //ARRANGE (nome com aspas, vírgula e quebras de linha)
+        String estadio = "Estádio \"Zezão\",\nSetor\r\nNorte\r";
+        when(estadioRepository.findAll()).thenReturn(List.of(new EstadioEntity(1L, estadio)));
+        when(partidaRepository.findTodasParaExportacao()).thenReturn(Stream.of(
+                criarPartida(1L, 2L, 1L, LocalDateTime.of(2020, 5, 1, 16, 0)),
+                criarPartida(3L, 4L, 1L, LocalDateTime.of(2020, 5, 8, 20, 30))));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        //ACT
+        exportacaoService.exportarPartidas(saida, "csv");
+        try (LeitorPartidas leitor = new LeitorPartidas(new BufferedReader(new StringReader(
+                saida.toString(StandardCharsets.UTF_8))), LeitorPartidas.Formato.CSV, null)) {
+            PartidaDTO primeira = leitor.proxima();
+            PartidaDTO segunda = leitor.proxima();
+
+            //ASSERT
+            assertEquals(estadio, primeira.getEstadio());
+            assertEquals(1L, primeira.getClubeCasaId());
+            assertEquals(estadio, segunda.getEstadio());
+            assertEquals(LocalDateTime.of(2020, 5, 8, 20, 30), segunda.getDataHora());
+            assertNull(leitor.proxima());
+        }
+    }
+
+    @Test
+    void testeExportar_FormatoInvalido_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            exportacaoService.tipoDoFormato("xml");
+        });
+
+        //ASSERT
+        assertEquals("Formato inválido. Use 'csv' ou 'ndjson'", excecao.getMessage());
+        assertEquals(ExportacaoService.CSV, exportacaoService.tipoDoFormato("csv"));
+        verifyNoInteractions(partidaRepository, clubeRepository, estadioRepository);
+    }
+
+    // A partida guarda o id do estádio; o nome sai da lista de estádios lida antes das partidas
+    private void cadastrarEstadios() {
+        when(estadioRepository.findAll()).thenReturn(List.of(new EstadioEntity(1L, "Maracanã"),
+                new EstadioEntity(2L, "Mineirão"), new EstadioEntity(3L, "Estádio Olímpico, Porto Alegre")));
+    }
+
+    private static PartidaEntity criarPartida(Long casaId, Long visitanteId, Long estadioId, LocalDateTime dataHora) {
+        PartidaEntity partida = new PartidaEntity();
+        partida.setClubeCasaId(casaId);
+        partida.setClubeVisitanteId(visitanteId);
+        partida.setResultadoCasa(1);
+        partida.setResultadoVisitante(0);
+        partida.setEstadioId(estadioId);
+        partida.setDataHora(dataHora);
+        return partida;
+    }
+}
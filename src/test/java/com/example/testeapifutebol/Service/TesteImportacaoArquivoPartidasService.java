@@ -0,0 +1,154 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ErroImportacaoDTO;
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteImportacaoArquivoPartidasService {
+
+    @Mock
+    private ImportacaoPartidasService importacaoPartidasService;
+
+    @TempDir
+    private Path pasta;
+
+    // Trechos recebidos: primeiro índice e uma cópia das partidas (a lista original é reaproveitada)
+    private final List<Long> inicios = new ArrayList<>();
+    private final List<List<PartidaDTO>> trechos = new ArrayList<>();
+
+    private ImportacaoArquivoPartidasService criarService(int tamanhoTrecho) {
+        return new ImportacaoArquivoPartidasService(importacaoPartidasService, new ObjectMapper().findAndRegisterModules(),
+                tamanhoTrecho);
+    }
+
+    // Grava todas as partidas lidas, recusando a do clube 99
+    private void gravarTrechos() {
+        when(importacaoPartidasService.importarTrecho(anyList(), anyLong(), any(), anyBoolean())).thenAnswer(chamada -> {
+            List<PartidaDTO> trecho = chamada.getArgument(0);
+            long inicio = chamada.getArgument(1);
+            inicios.add(inicio);
+            trechos.add(new ArrayList<>(trecho));
+            RelatorioImportacaoDTO parcial = new RelatorioImportacaoDTO();
+            for (int i = 0; i < trecho.size(); i++) {
+                PartidaDTO partida = trecho.get(i);
+                if (partida != null && partida.getClubeCasaId() == 99L) {
+                    parcial.getErros().add(new ErroImportacaoDTO(inicio + i, 400, "Clube da casa inexistente"));
+                } else if (partida != null) {
+                    parcial.setImportadas(parcial.getImportadas() + 1);
+                }
+            }
+            return parcial;
+        });
+    }
+
+    private static String linhasCsv(int quantidade) {
+        StringBuilder csv = new StringBuilder("clubeCasaId,clubeVisitanteId,resultadoCasa,resultadoVisitante,estadio,dataHora\n");
+        for (int i = 0; i < quantidade; i++) {
+            csv.append(i == 3 ? 99 : 1).append(",2,1,0,Maracanã,2020-05-0").append(1 + i % 9).append("T16:00:00\n");
+        }
+        return csv.toString();
+    }
+
+    @Test
+    void testeImportar_GravaEmTrechosESomaORelatorio() throws Exception {
+        //ARRANGE
+        gravarTrechos();
+        String csv = linhasCsv(5).replace("1,2,1,0,Maracanã,2020-05-02", "1,2,1,0,Maracanã,ontem");
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = criarService(2).importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv", true, 0);
+
+        //ASSERT
+        assertEquals(List.of(0L, 2L, 4L), inicios);
+        assertNull(trechos.get(0).get(1)); // linha 1 não foi lida: vai como null para manter as posições
+        assertEquals(5, relatorio.getRecebidas());
+        assertEquals(5, relatorio.getProcessadas());
+        assertEquals(3, relatorio.getImportadas());
+        assertEquals(2, relatorio.getRecusadas());
+        assertEquals(List.of(1L, 3L), relatorio.getErros().stream().map(ErroImportacaoDTO::getIndice).toList());
+        assertEquals(400, relatorio.getErros().get(0).getStatus());
+        verify(importacaoPartidasService, times(1)).carregarCadastros();
+        verify(importacaoPartidasService, times(3)).importarTrecho(anyList(), anyLong(), any(), eq(true));
+    }
+
+    @Test
+    void testeImportarArquivo_RetomaDoCheckpointEApagaNoFim() throws Exception {
+        //ARRANGE
+        gravarTrechos();
+        Path arquivo = pasta.resolve("partidas.csv");
+        Files.writeString(arquivo, linhasCsv(7));
+        Path checkpoint = pasta.resolve("partidas.csv.checkpoint");
+        Files.writeString(checkpoint, "4"); // uma execução anterior confirmou 4 partidas
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = criarService(2).importarArquivo(arquivo, "csv", false);
+
+        //ASSERT
+        assertEquals(List.of(4L, 6L), inicios);
+        assertEquals(3, relatorio.getRecebidas());
+        assertEquals(7, relatorio.getProcessadas());
+        assertEquals(3, relatorio.getImportadas());
+        assertEquals(0, relatorio.getRecusadas());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    void testeImportarArquivo_FalhaNoMeio_CheckpointFicaNoUltimoTrechoConfirmado() throws Exception {
+        //ARRANGE
+        Path arquivo = pasta.resolve("partidas.csv");
+        Files.writeString(arquivo, linhasCsv(6));
+        when(importacaoPartidasService.importarTrecho(anyList(), anyLong(), any(), anyBoolean()))
+                .thenReturn(new RelatorioImportacaoDTO())
+                .thenThrow(new IllegalStateException("Conexão perdida"));
+
+        //ACT
+        assertThrows(IllegalStateException.class, () -> criarService(3).importarArquivo(arquivo, "csv", false));
+
+        //ASSERT
+        assertEquals("3", Files.readString(pasta.resolve("partidas.csv.checkpoint")));
+    }
+
+    @Test
+    void testeImportar_LimitaOsErrosRelatadosMasContaTodos() throws Exception {
+        //ARRANGE
+        when(importacaoPartidasService.importarTrecho(anyList(), anyLong(), any(), anyBoolean()))
+                .thenReturn(new RelatorioImportacaoDTO());
+        String ndjson = "nao e json\n".repeat(ImportacaoArquivoPartidasService.LIMITE_ERROS_RELATADOS + 5);
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = criarService(1000).importar(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "ndjson", false, 0);
+
+        //ASSERT
+        assertEquals(ImportacaoArquivoPartidasService.LIMITE_ERROS_RELATADOS + 5, relatorio.getRecusadas());
+        assertEquals(ImportacaoArquivoPartidasService.LIMITE_ERROS_RELATADOS, relatorio.getErros().size());
+        assertEquals(0, relatorio.getImportadas());
+    }
+}
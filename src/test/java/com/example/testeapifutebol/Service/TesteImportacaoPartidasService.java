@@ -0,0 +1,218 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.DTO.RelatorioImportacaoDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteImportacaoPartidasService {
+
+    @InjectMocks
+    private ImportacaoPartidasService importacaoPartidasService;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+    @Mock
+    private ClubeRepository clubeRepository;
+    @Mock
+    private EstadioRepository estadioRepository;
+    @Mock
+    private ClassificacaoService classificacaoService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AgendaPartidas agendaPartidas;
+    @Mock
+    private TravasDeAgenda travasDeAgenda;
+    @Mock
+    private CalendarioPartidasService calendarioPartidasService;
+
+    private static final LocalDateTime DATA = LocalDateTime.now().plusDays(10).withNano(0);
+
+    @Test
+    void testeImportarLote_GravaAsValidasERelataAsRecusadas() {
+        //ARRANGE
+        List<PartidaDTO> lote = Arrays.asList(
+                criarPartida(1L, 2L, "Maracanã", DATA),                    // 0: válida
+                criarPartida(1L, 1L, "Maracanã", DATA.plusDays(7)),        // 1: clubes iguais
+                criarPartida(3L, 4L, "Estádio Inexistente", DATA),         // 2: estádio não existe
+                criarPartida(2L, 3L, "Mineirão", DATA.plusHours(24)),      // 3: clube 2 jogou há 24h no próprio lote
+                criarPartida(3L, 4L, "Maracanã", DATA),                    // 4: Maracanã ocupado pela partida 0
+                criarPartida(3L, 4L, "Mineirão", DATA.plusDays(5)),        // 5: clube 3 já tem partida gravada próxima
+                null,                                                      // 6: partida vazia
+                criarPartida(4L, 99L, "Mineirão", DATA.plusDays(20)),      // 7: clube visitante não existe
+                criarPartida(3L, 4L, "mineirão", DATA.plusDays(15)));      // 8: válida (nome sem diferenciar maiúsculas)
+
+        when(clubeRepository.findAllById(anyCollection())).thenReturn(List.of(
+                criarClube(1L, "Flamengo"), criarClube(2L, "Vasco"), criarClube(3L, "Bahia"), criarClube(4L, "Vitória")));
+        when(estadioRepository.findByNomeIn(anyCollection())).thenReturn(List.of(
+                new EstadioEntity(1L, "Maracanã"), new EstadioEntity(2L, "Mineirão")));
+        // Só o clube 3 tem partida gravada perto de DATA + 5 dias
+        when(agendaPartidas.clubeTemPartidaProxima(anyLong(), any(), anyInt(), any()))
+                .thenAnswer(chamada -> chamada.getArgument(0).equals(3L) && chamada.getArgument(1).equals(DATA.plusDays(5)));
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = importacaoPartidasService.importarLote(lote);
+
+        //ASSERT
+        assertEquals(9, relatorio.getRecebidas());
+        assertEquals(2, relatorio.getImportadas());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L),
+                relatorio.getErros().stream().map(e -> e.getIndice()).toList());
+        assertEquals("Os clubes da casa e visitante não podem ser iguais", relatorio.getErros().get(0).getMensagem());
+        assertEquals("Estádio inexistente", relatorio.getErros().get(1).getMensagem());
+        assertEquals(400, relatorio.getErros().get(1).getStatus());
+        assertEquals("O clube da casa já tem uma partida agendada com menos de 48h desta data",
+                relatorio.getErros().get(2).getMensagem());
+        assertEquals(409, relatorio.getErros().get(2).getStatus());
+        assertEquals("Já existe uma partida marcada para este estádio no mesmo dia",
+                relatorio.getErros().get(3).getMensagem());
+        assertEquals("O clube da casa já tem uma partida agendada com menos de 48h desta data",
+                relatorio.getErros().get(4).getMensagem());
+        assertEquals("A partida é obrigatória", relatorio.getErros().get(5).getMensagem());
+        assertEquals("Clube visitante inexistente", relatorio.getErros().get(6).getMensagem());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartidaEntity>> gravadas = ArgumentCaptor.forClass(List.class);
+        verify(partidaRepository).saveAll(gravadas.capture());
+        assertEquals(List.of(1L, 3L), gravadas.getValue().stream().map(PartidaEntity::getClubeCasaId).toList());
+        // A partida gravada aponta para o id do estádio ("mineirão" vira o Mineirão cadastrado)
+        assertEquals(List.of(1L, 2L), gravadas.getValue().stream().map(PartidaEntity::getEstadioId).toList());
+        verify(classificacaoService).aplicarNovasPartidas(gravadas.getValue());
+        verify(calendarioPartidasService).aplicarNovasPartidas(gravadas.getValue());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testeImportarLote_UmaConsultaParaClubesEUmaParaEstadios() {
+        //ARRANGE
+        List<PartidaDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            lote.add(criarPartida(1L, 2L, "Maracanã", DATA.plusDays(3L * i)));
+        }
+        when(clubeRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(criarClube(1L, "Flamengo"), criarClube(2L, "Vasco")));
+        when(estadioRepository.findByNomeIn(anyCollection())).thenReturn(List.of(new EstadioEntity(1L, "Maracanã")));
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = importacaoPartidasService.importarLote(lote);
+
+        //ASSERT
+        assertEquals(300, relatorio.getImportadas());
+        assertTrue(relatorio.getErros().isEmpty());
+        verify(clubeRepository, times(1)).findAllById(anyCollection());
+        verify(estadioRepository, times(1)).findByNomeIn(anyCollection());
+        verifyNoMoreInteractions(clubeRepository, estadioRepository);
+        verify(partidaRepository, times(1)).saveAll(anyCollection());
+        verify(partidaRepository, never()).save(any());
+        // Uma única chamada às travas, com os clubes e o estádio do lote inteiro
+        verify(travasDeAgenda, times(1)).travarAteOFimDaTransacao(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void testeImportarLote_ListaVazia_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            importacaoPartidasService.importarLote(List.of());
+        });
+
+        //ASSERT
+        assertEquals("A lista de partidas está vazia", excecao.getMessage());
+        verifyNoInteractions(partidaRepository, clubeRepository, estadioRepository);
+    }
+
+    @Test
+    void testeImportarLote_TodasInvalidas_NaoGravaNada() {
+        //ARRANGE
+        List<PartidaDTO> lote = List.of(criarPartida(1L, 1L, "Maracanã", DATA));
+
+        //ACT
+        RelatorioImportacaoDTO relatorio = importacaoPartidasService.importarLote(lote);
+
+        //ASSERT
+        assertEquals(0, relatorio.getImportadas());
+        assertEquals(1, relatorio.getErros().size());
+        verifyNoInteractions(partidaRepository, clubeRepository, estadioRepository, travasDeAgenda, eventPublisher);
+    }
+
+    @Test
+    void testeImportarTrecho_Historico_AceitaDataPassadaEMantemAsOutrasRegras() {
+        //ARRANGE
+        LocalDateTime passado = LocalDateTime.now().minusMonths(3).withNano(0);
+        ClubeEntity inativo = criarClube(4L, "Vitória");
+        inativo.setAtivo("N");
+        when(clubeRepository.findAll()).thenReturn(List.of(
+                criarClube(1L, "Flamengo"), criarClube(2L, "Vasco"), criarClube(3L, "Bahia"), inativo));
+        when(estadioRepository.findAll()).thenReturn(List.of(new EstadioEntity(1L, "Maracanã")));
+        ImportacaoPartidasService.Cadastros cadastros = importacaoPartidasService.carregarCadastros();
+        List<PartidaDTO> trecho = Arrays.asList(
+                criarPartida(1L, 2L, "Maracanã", passado),                  // 500: válida no modo histórico
+                null,                                                       // 501: linha que o leitor não leu
+                criarPartida(3L, 4L, "Maracanã", passado.plusDays(7)));     // 502: clube inativo
+
+        //ACT
+        RelatorioImportacaoDTO historico = importacaoPartidasService.importarTrecho(trecho, 500, cadastros, true);
+        RelatorioImportacaoDTO normal = importacaoPartidasService.importarTrecho(trecho.subList(0, 1), 500, cadastros, false);
+
+        //ASSERT
+        assertEquals(1, historico.getImportadas());
+        assertEquals(List.of(502L), historico.getErros().stream().map(e -> e.getIndice()).toList());
+        assertEquals("O clube visitante, Vitória, está inativo", historico.getErros().get(0).getMensagem());
+        assertEquals(0, normal.getImportadas());
+        assertEquals("A data da partida deve ser futura", normal.getErros().get(0).getMensagem());
+        verify(clubeRepository, times(1)).findAll();
+        verify(estadioRepository, times(1)).findAll();
+        verifyNoMoreInteractions(clubeRepository, estadioRepository);
+    }
+
+    private static PartidaDTO criarPartida(Long casaId, Long visitanteId, String estadio, LocalDateTime dataHora) {
+        PartidaDTO partidaDTO = new PartidaDTO();
+        partidaDTO.setClubeCasaId(casaId);
+        partidaDTO.setClubeVisitanteId(visitanteId);
+        partidaDTO.setResultadoCasa(1);
+        partidaDTO.setResultadoVisitante(0);
+        partidaDTO.setEstadio(estadio);
+        partidaDTO.setDataHora(dataHora);
+        return partidaDTO;
+    }
+
+    private static ClubeEntity criarClube(Long id, String nome) {
+        ClubeEntity clube = new ClubeEntity();
+        clube.setId(id);
+        clube.setNome(nome);
+        clube.setDataCriacao(LocalDate.now().minusYears(1));
+        clube.setAtivo("S");
+        return clube;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.ResultadoBuscaDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.EstadioEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteIndiceBusca {
+
+    @Mock
+    private ClubeRepository clubeRepository;
+    @Mock
+    private EstadioRepository estadioRepository;
+    @Mock
+    private PartidaRepository partidaRepository;
+    @Mock
+    private PlatformTransactionManager transacoes;
+
+    @TempDir
+    Path pasta;
+
+    private IndiceBusca indiceBusca;
+
+    private static ClubeEntity clube(Long id, String nome, String estado) {
+        ClubeEntity clube = new ClubeEntity(nome, estado, "1900-01-01", "S");
+        clube.setId(id);
+        return clube;
+    }
+
+    private static EstadioEntity estadio(Long id, String nome) {
+        return new EstadioEntity(id, nome);
+    }
+
+    private static PartidaEntity partida(Long id, Long casaId, Long visitanteId, int golsCasa, int golsVisitante,
+                                         Long estadioId, LocalDateTime dataHora) {
+        PartidaEntity partida = new PartidaEntity(casaId, visitanteId, golsCasa, golsVisitante, estadioId, dataHora);
+        partida.setId(id);
+        return partida;
+    }
+
+    // Banco com 3 clubes, 2 estádios e 3 partidas; o índice começa vazio e é montado a partir dele
+    @BeforeEach
+    void abrir() throws Exception {
+        when(clubeRepository.findAll()).thenReturn(List.of(clube(1L, "Flamengo", "RJ"),
+                clube(2L, "Vasco da Gama", "RJ"), clube(3L, "Grêmio", "RS")));
+        when(estadioRepository.findAll()).thenReturn(List.of(estadio(1L, "Maracanã"), estadio(2L, "São Januário")));
+        List<Object[]> partidas = new ArrayList<>();
+        partidas.add(new Object[]{10L, 1L, 2L, 2, 1, 1L, LocalDateTime.of(2019, 5, 12, 16, 0)});
+        partidas.add(new Object[]{11L, 3L, 1L, 0, 0, 1L, LocalDateTime.of(2021, 3, 1, 21, 30)});
+        partidas.add(new Object[]{12L, 2L, 3L, 3, 0, 2L, LocalDateTime.of(2019, 8, 1, 19, 0)});
+        when(partidaRepository.findDadosBusca(0L)).thenAnswer(chamada -> partidas.stream());
+        indiceBusca = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, false);
+        indiceBusca.abrir();
+        indiceBusca.aguardar();
+    }
+
+    @AfterEach
+    void fechar() throws Exception {
+        indiceBusca.fechar();
+    }
+
+    private List<String> encontrados(String termo, String tipo) {
+        return indiceBusca.buscar(termo, tipo, 10).stream().map(r -> r.getTipo() + ":" + r.getId()).toList();
+    }
+
+    @Test
+    void testeBuscar_VariasPalavrasQuemBateMaisVemPrimeiro() {
+        //ACT
+        List<ResultadoBuscaDTO> resultados = indiceBusca.buscar("fla rj 2019", null, 10);
+
+        //ASSERT: a partida do Flamengo (RJ) em 2019 bate as três palavras
+        assertEquals("partida", resultados.get(0).getTipo());
+        assertEquals(10L, resultados.get(0).getId());
+        assertEquals("Flamengo 2 x 1 Vasco da Gama, Maracanã, 2019-05-12", resultados.get(0).getDescricao());
+        assertTrue(encontrados("fla rj 2019", null).contains("clube:1"));
+        assertTrue(resultados.get(0).getRelevancia() >= resultados.get(1).getRelevancia());
+    }
+
+    @Test
+    void testeBuscar_ErroDeDigitacaoAcentoPlacarETipo() {
+        //ACT + ASSERT
+        assertEquals(List.of("clube:1"), encontrados("flamngo", "clube"));
+        assertEquals(List.of("estadio:1"), encontrados("MARACANA", "estadio"));
+        assertEquals(List.of("estadio:2"), encontrados("sao januario", "estadio"));
+        assertEquals(List.of("partida:12"), encontrados("3x0", null));
+        // Número só exato: 2018 não encontra 2019
+        assertEquals(List.of(), encontrados("2018", null));
+    }
+
+    @Test
+    void testeEventos_AtualizamOIndiceForaDaThreadQueGrava() throws Exception {
+        //ARRANGE
+        when(partidaRepository.findByClubeMandanteIdOrClubeVisitanteId(1L)).thenReturn(List.of(
+                partida(10L, 1L, 2L, 2, 1, 1L, LocalDateTime.of(2019, 5, 12, 16, 0)),
+                partida(11L, 3L, 1L, 0, 0, 1L, LocalDateTime.of(2021, 3, 1, 21, 30))));
+        PartidaEntity goleada = partida(12L, 2L, 3L, 3, 0, 2L, LocalDateTime.of(2019, 8, 1, 19, 0));
+        PartidaEntity nova = partida(13L, 3L, 2L, 4, 4, 1L, LocalDateTime.of(2024, 2, 2, 16, 0));
+
+        //ACT
+        indiceBusca.aoAlterarClube(new ClubeAlteradoEvento(1L, "Clube de Regatas do Flamengo", "RJ"));
+        indiceBusca.aoAlterarPartida(new PartidaAlteradaEvento(goleada, null));
+        indiceBusca.aoAlterarPartida(new PartidaAlteradaEvento(null, nova));
+        indiceBusca.aoAlterarEstadio(new EstadioAlteradoEvento(2L, null));
+        indiceBusca.aguardar();
+
+        //ASSERT: o novo nome chega às partidas do clube
+        assertEquals(List.of("partida:10", "partida:11"), encontrados("regatas", "partida").stream().sorted().toList());
+        assertEquals(List.of(), encontrados("3x0", null));
+        assertEquals(List.of("partida:13"), encontrados("4x4 2024", "partida"));
+        assertEquals(List.of(), encontrados("januario", "estadio"));
+    }
+
+    @Test
+    void testeAbrir_IndiceQueJaExisteNaoEMontadoDeNovo() throws Exception {
+        //ARRANGE
+        indiceBusca.fechar();
+        when(partidaRepository.count()).thenReturn(3L);
+
+        //ACT
+        indiceBusca = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, false);
+        indiceBusca.abrir();
+        indiceBusca.aguardar();
+
+        //ASSERT
+        verify(partidaRepository, times(1)).findDadosBusca(0L);
+        assertEquals(List.of("clube:3"), encontrados("gremio", "clube"));
+    }
+
+    @Test
+    void testeAbrir_PartidasGravadasComOServidorParadoEntramNoIndice() throws Exception {
+        //ARRANGE: a importação pela linha de comando gravou a partida 13 com o servidor parado
+        indiceBusca.fechar();
+        List<Object[]> novas = new ArrayList<>();
+        novas.add(new Object[]{13L, 3L, 2L, 4, 4, 1L, LocalDateTime.of(2024, 2, 2, 16, 0)});
+        when(partidaRepository.findDadosBusca(12L)).thenAnswer(chamada -> novas.stream());
+        when(partidaRepository.count()).thenReturn(4L);
+
+        //ACT
+        indiceBusca = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, false);
+        indiceBusca.abrir();
+        indiceBusca.aguardar();
+
+        //ASSERT: só as partidas depois da última indexada são lidas do banco
+        verify(partidaRepository, times(1)).findDadosBusca(0L);
+        assertEquals(List.of("partida:13"), encontrados("4x4", null));
+    }
+
+    @Test
+    void testeAbrir_IndiceNaoFechadoDireitoEMontadoDeNovo(@TempDir Path outraPasta) throws Exception {
+        //ARRANGE: último commit de um servidor que caiu (encerrado=false)
+        try (IndexWriter antigo = new IndexWriter(FSDirectory.open(outraPasta), new IndexWriterConfig())) {
+            antigo.setLiveCommitData(Map.of(IndiceBusca.MARCA_ULTIMA_PARTIDA, "12",
+                    IndiceBusca.MARCA_ENCERRADO, "false").entrySet());
+            antigo.commit();
+        }
+        IndiceBusca aposQueda = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes,
+                outraPasta, false);
+
+        //ACT
+        aposQueda.abrir();
+        aposQueda.aguardar();
+
+        //ASSERT
+        verify(partidaRepository, times(2)).findDadosBusca(0L);
+        assertEquals(1, aposQueda.buscar("3x0", null, 10).size());
+        aposQueda.fechar();
+    }
+
+    @Test
+    void testeBuscar_AlteracaoApareceMesmoComAFilaSempreOcupada() throws Exception {
+        //ARRANGE: a fila fica presa refazendo as partidas de um clube renomeado
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(partidaRepository.findByClubeMandanteIdOrClubeVisitanteId(3L)).thenAnswer(chamada -> {
+            liberar.await();
+            return List.of();
+        });
+        PartidaEntity nova = partida(13L, 3L, 2L, 4, 4, 1L, LocalDateTime.of(2024, 2, 2, 16, 0));
+
+        //ACT
+        indiceBusca.aoAlterarPartida(new PartidaAlteradaEvento(null, nova));
+        indiceBusca.aoAlterarClube(new ClubeAlteradoEvento(3L, "Grêmio Porto Alegrense", "RS"));
+
+        //ASSERT: a fila não esvaziou, mas a partida nova aparece na busca em pouco tempo
+        try {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (encontrados("4x4", null).isEmpty() && System.nanoTime() < limite) {
+                Thread.sleep(50);
+            }
+            assertEquals(List.of("partida:13"), encontrados("4x4", null));
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    void testeAbrir_PastaJaAbertaPeloServidor() throws Exception {
+        //ARRANGE
+        IndiceBusca outraInstancia = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, false);
+        IndiceBusca importacao = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, true);
+
+        //ACT + ASSERT: nem outra instância do servidor nem a importação pela linha de comando sobem com o servidor rodando
+        IllegalStateException excecao = assertThrows(IllegalStateException.class, outraInstancia::abrir);
+        assertTrue(excecao.getMessage().contains("busca.indice.pasta"));
+        excecao = assertThrows(IllegalStateException.class, importacao::abrir);
+        assertTrue(excecao.getMessage().contains("pare o servidor"));
+    }
+
+    @Test
+    void testeAbrir_LinhaDeComandoComOServidorParadoNaoMexeNoIndice() throws Exception {
+        //ARRANGE
+        indiceBusca.fechar();
+        indiceBusca = new IndiceBusca(clubeRepository, estadioRepository, partidaRepository, transacoes, pasta, true);
+
+        //ACT
+        indiceBusca.abrir();
+        indiceBusca.aoAlterarClube(new ClubeAlteradoEvento(4L, "Bahia", "BA"));
+
+        //ASSERT: o índice nem é aberto; o servidor confere com o banco quando subir
+        assertEquals(List.of(), indiceBusca.buscar("bahia", null, 10));
+    }
+
+    @Test
+    void testeBuscar_ParametrosInvalidos() {
+        //ACT + ASSERT
+        assertEquals(List.of(), indiceBusca.buscar("  ", null, 10));
+        assertEquals(List.of(), indiceBusca.buscar(null, null, 10));
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> indiceBusca.buscar("fla", null, 0));
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class,
+                () -> indiceBusca.buscar("fla", "time", 10));
+        assertEquals("Tipo inválido. Use: clube, estadio ou partida", excecao.getMessage());
+        assertThrows(RegraDeInvalidosExcecao400.class,
+                () -> indiceBusca.buscar("a b c d e f g h i j k", null, 10));
+    }
+}
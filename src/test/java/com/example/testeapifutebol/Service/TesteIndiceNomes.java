@@ -0,0 +1,125 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteIndiceNomes {
+    @InjectMocks
+    private IndiceNomes indiceNomes;
+
+    @Mock
+    private ClubeRepository clubeRepository;
+    @Mock
+    private EstadioRepository estadioRepository;
+
+    private void carregar() {
+        List<Object[]> clubes = new ArrayList<>();
+        clubes.add(new Object[]{1L, "Flamengo"});
+        clubes.add(new Object[]{2L, "Vasco da Gama"});
+        clubes.add(new Object[]{3L, "Grêmio"});
+        clubes.add(new Object[]{4L, "Grêmio Novorizontino"});
+        List<Object[]> estadios = new ArrayList<>();
+        estadios.add(new Object[]{1L, "São Januário"});
+        estadios.add(new Object[]{2L, "Maracanã"});
+        when(clubeRepository.findIdsENomes()).thenReturn(clubes);
+        when(estadioRepository.findIdsENomes()).thenReturn(estadios);
+        indiceNomes.carregar();
+    }
+
+    @Test
+    void testeBuscar_SemDiferenciarAcentoEMaiusculas() {
+        //ARRANGE
+        carregar();
+
+        //ACT + ASSERT
+        assertEquals(List.of(1L), indiceNomes.buscarEstadios("Sao Januario"));
+        assertEquals(List.of(1L), indiceNomes.buscarEstadios("JANUÁRIO"));
+        assertEquals(List.of(2L), indiceNomes.buscarEstadios("maracana"));
+        assertEquals(List.of(3L, 4L), indiceNomes.buscarClubes("gremio"));
+        assertEquals(List.of(2L), indiceNomes.buscarClubes("vasco  da")); // espaços repetidos contam como um
+    }
+
+    @Test
+    void testeBuscar_TrechoNoMeioDoNome() {
+        //ARRANGE
+        carregar();
+
+        //ACT + ASSERT
+        assertEquals(List.of(1L), indiceNomes.buscarClubes("mengo"));
+        assertEquals(List.of(4L), indiceNomes.buscarClubes("novo"));
+        // Tem os trigramas "gre" e "mio", mas não o termo inteiro
+        assertEquals(List.of(), indiceNomes.buscarClubes("gre mio"));
+        assertEquals(List.of(), indiceNomes.buscarClubes("palmeiras"));
+    }
+
+    @Test
+    void testeBuscar_TermoCurtoConfereTodosOsNomes() {
+        //ARRANGE
+        carregar();
+
+        //ACT + ASSERT (menos de 3 letras não tem trigrama)
+        assertEquals(List.of(1L, 2L), indiceNomes.buscarClubes("a"));
+        assertEquals(List.of(1L), indiceNomes.buscarClubes("FL"));
+    }
+
+    @Test
+    void testeAoAlterar_SegueCadastroRenomeacaoERemocao() {
+        //ARRANGE
+        carregar();
+
+        //ACT
+        indiceNomes.aoAlterarClube(new ClubeAlteradoEvento(5L, "Atlético Mineiro", "MG"));
+        indiceNomes.aoAlterarClube(new ClubeAlteradoEvento(1L, "Clube de Regatas do Flamengo", "RJ"));
+        indiceNomes.aoAlterarEstadio(new EstadioAlteradoEvento(2L, "Estádio Jornalista Mário Filho"));
+        indiceNomes.aoAlterarEstadio(new EstadioAlteradoEvento(1L, null));
+
+        //ASSERT
+        assertEquals(List.of(5L), indiceNomes.buscarClubes("atletico"));
+        assertEquals(List.of(1L), indiceNomes.buscarClubes("regatas"));
+        assertEquals(List.of(), indiceNomes.buscarEstadios("maracana")); // o nome antigo sai do índice
+        assertEquals(List.of(2L), indiceNomes.buscarEstadios("mario filho"));
+        assertEquals(List.of(), indiceNomes.buscarEstadios("januario"));
+    }
+
+    @Test
+    void testeBuscar_NaOrdemPedidaEPaginaCortadaNoIndice() {
+        //ARRANGE
+        carregar();
+
+        //ACT
+        List<Long> porNome = indiceNomes.buscarClubes("o", Sort.by("nome"));
+        List<Long> porNomeDecrescente = indiceNomes.buscarClubes("o", Sort.by(Sort.Direction.DESC, "nome"));
+        List<Long> porIdDecrescente = indiceNomes.buscarClubes("o", Sort.by(Sort.Direction.DESC, "id"));
+
+        //ASSERT (sem acento: "Grêmio" vem antes de "Grêmio Novorizontino", que vem antes de "Vasco da Gama")
+        assertEquals(List.of(1L, 3L, 4L, 2L), porNome);
+        assertEquals(List.of(2L, 4L, 3L, 1L), porNomeDecrescente);
+        assertEquals(List.of(4L, 3L, 2L, 1L), porIdDecrescente);
+        assertEquals(List.of(2L), IndiceNomes.pagina(porNome, PageRequest.of(1, 3)));
+        assertEquals(List.of(), IndiceNomes.pagina(porNome, PageRequest.of(2, 3)));
+        assertEquals(List.of(), indiceNomes.buscarEstadios("palmeiras", Sort.by("nome")));
+        assertTrue(IndiceNomes.ordenavelEmMemoria(Sort.by("nome", "id")));
+        assertFalse(IndiceNomes.ordenavelEmMemoria(Sort.by("estado")));
+    }
+}
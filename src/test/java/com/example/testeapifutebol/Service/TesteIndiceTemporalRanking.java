@@ -0,0 +1,123 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteIndiceTemporalRanking {
+    @InjectMocks
+    private IndiceTemporalRanking indice;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 16, 0);
+
+    private static PartidaEntity partida(long id, long casa, long visitante, int golsCasa, int golsVisitante, int dia) {
+        PartidaEntity partida = new PartidaEntity(casa, visitante, golsCasa, golsVisitante, 1L,
+                INICIO.plusDays(dia));
+        partida.setId(id);
+        return partida;
+    }
+
+    @Test
+    void testeCarregar_SomaSoAsPartidasDoPeriodo() {
+        //ARRANGE (Flamengo x Vasco 2x0 no dia 0, Vasco x Flamengo 1x1 no dia 10)
+        List<Object[]> linhas = new ArrayList<>();
+        linhas.add(new Object[]{1L, 1L, 2L, 2, 0, INICIO});
+        linhas.add(new Object[]{2L, 2L, 1L, 1, 1, INICIO.plusDays(10)});
+        when(partidaRepository.findLinhaDoTempoPartidas()).thenReturn(linhas);
+
+        //ACT
+        indice.carregar();
+        Map<Long, int[]> tudo = indice.somarPeriodo(null, null);
+        Map<Long, int[]> segundoJogo = indice.somarPeriodo(INICIO.plusDays(5), null);
+
+        //ASSERT (jogos, vitorias, empates, derrotas, golsFeitos, golsSofridos)
+        assertArrayEquals(new int[]{2, 1, 1, 0, 3, 1}, tudo.get(1L));
+        assertArrayEquals(new int[]{2, 0, 1, 1, 1, 3}, tudo.get(2L));
+        assertArrayEquals(new int[]{1, 0, 1, 0, 1, 1}, segundoJogo.get(1L));
+    }
+
+    @Test
+    void testeAoAlterarPartida_ForaDeOrdemAlteradaERemovida() {
+        //ARRANGE
+        when(partidaRepository.findLinhaDoTempoPartidas()).thenReturn(new ArrayList<>());
+        indice.carregar();
+        PartidaEntity depois = partida(1L, 1L, 2L, 3, 0, 20);
+        PartidaEntity antes = partida(2L, 1L, 3L, 0, 1, 5);
+
+        //ACT (a segunda partida é mais antiga que a primeira, depois muda de data e por fim é removida)
+        indice.aoAlterarPartida(new PartidaAlteradaEvento(null, depois));
+        indice.aoAlterarPartida(new PartidaAlteradaEvento(null, antes));
+        Map<Long, int[]> ateDia10 = indice.somarPeriodo(null, INICIO.plusDays(10));
+        PartidaEntity remarcada = partida(2L, 1L, 3L, 0, 1, 30);
+        indice.aoAlterarPartida(new PartidaAlteradaEvento(antes, remarcada));
+        Map<Long, int[]> ateDia10Remarcada = indice.somarPeriodo(null, INICIO.plusDays(10));
+        indice.aoAlterarPartida(new PartidaAlteradaEvento(remarcada, null));
+        Map<Long, int[]> semSegunda = indice.somarPeriodo(null, null);
+
+        //ASSERT
+        assertArrayEquals(new int[]{1, 0, 0, 1, 0, 1}, ateDia10.get(1L));
+        assertFalse(ateDia10Remarcada.containsKey(1L));
+        assertArrayEquals(new int[]{1, 1, 0, 0, 3, 0}, semSegunda.get(1L));
+        assertFalse(semSegunda.containsKey(3L));
+    }
+
+    @Test
+    void testeSomarPeriodo_IgualAoCalculoDireto() {
+        //ARRANGE: inserções, alterações e remoções aleatórias, em qualquer ordem de data
+        when(partidaRepository.findLinhaDoTempoPartidas()).thenReturn(new ArrayList<>());
+        indice.carregar();
+        Random random = new Random(11);
+        Map<Long, PartidaEntity> partidas = new HashMap<>();
+        for (int passo = 0; passo < 2000; passo++) {
+            long id = 1 + random.nextInt(300);
+            long casa = 1 + random.nextInt(8);
+            long visitante = casa % 8 + 1;
+            PartidaEntity nova = random.nextInt(5) == 0 ? null
+                    : partida(id, casa, visitante, random.nextInt(4), random.nextInt(4), random.nextInt(365));
+            PartidaEntity anterior = nova == null ? partidas.remove(id) : partidas.put(id, nova);
+            indice.aoAlterarPartida(new PartidaAlteradaEvento(anterior, nova));
+        }
+
+        //ACT + ASSERT
+        for (int consulta = 0; consulta < 50; consulta++) {
+            LocalDateTime de = INICIO.plusDays(random.nextInt(365));
+            LocalDateTime ate = de.plusDays(random.nextInt(120));
+            Map<Long, int[]> esperado = new HashMap<>();
+            for (PartidaEntity p : partidas.values()) {
+                if (!p.getDataHora().isBefore(de) && p.getDataHora().isBefore(ate)) {
+                    DiferencaClassificacao.somarPartida(esperado, p.getClubeCasaId(), p.getClubeVisitanteId(),
+                            p.getResultadoCasa(), p.getResultadoVisitante(), 1);
+                }
+            }
+            Map<Long, int[]> resultado = indice.somarPeriodo(de, ate);
+            assertEquals(esperado.keySet(), resultado.keySet());
+            for (Long clubeId : esperado.keySet()) {
+                assertArrayEquals(esperado.get(clubeId), resultado.get(clubeId));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.PartidaDTO;
+import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+public class TesteLeitorPartidas {
+
+    private static LeitorPartidas criarLeitor(String conteudo, LeitorPartidas.Formato formato) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new LeitorPartidas(new BufferedReader(new StringReader(conteudo)), formato,
+                objectMapper.readerFor(PartidaDTO.class));
+    }
+
+    @Test
+    void testeLerCsv_ComCabecalhoEEstadioEntreAspas() throws Exception {
+        //ARRANGE
+        String csv = "clubeCasaId,clubeVisitanteId,resultadoCasa,resultadoVisitante,estadio,dataHora\n"
+                + "1,2,3,1,Maracanã,2020-05-01T16:00:00\n"
+                + "\n"
+                + " 3 , 4 ,0,0,\"Estádio Olímpico, Porto Alegre\",2020-05-08T20:30\n"
+                + "5,6,,1,Maracanã,2020-05-15T16:00:00\n";
+
+        //ACT
+        try (LeitorPartidas leitor = criarLeitor(csv, LeitorPartidas.Formato.CSV)) {
+            PartidaDTO primeira = leitor.proxima();
+            PartidaDTO segunda = leitor.proxima();
+            PartidaDTO terceira = leitor.proxima();
+
+            //ASSERT
+            assertEquals(1L, primeira.getClubeCasaId());
+            assertEquals(2L, primeira.getClubeVisitanteId());
+            assertEquals(3, primeira.getResultadoCasa());
+            assertEquals(1, primeira.getResultadoVisitante());
+            assertEquals("Maracanã", primeira.getEstadio());
+            assertEquals(LocalDateTime.of(2020, 5, 1, 16, 0), primeira.getDataHora());
+
+            assertEquals(3L, segunda.getClubeCasaId());
+            assertEquals("Estádio Olímpico, Porto Alegre", segunda.getEstadio());
+            assertEquals(LocalDateTime.of(2020, 5, 8, 20, 30), segunda.getDataHora());
+
+            // Campo vazio fica null (a validação da partida é que recusa)
+            assertNull(terceira.getResultadoCasa());
+            // O mesmo estádio vira a mesma String
+            assertSame(primeira.getEstadio(), terceira.getEstadio());
+            assertNull(leitor.proxima());
+        }
+    }
+
+    @Test
+    void testeLerCsv_AspasDobradasEQuebraDeLinhaEntreAspas() throws Exception {
+        //ARRANGE
+        String csv = "1,2,1,0,\"Estádio \"\"Zezão\"\"\",2020-05-01T16:00:00\r\n"
+                + "3,4,0,0,\"Arena\r\nNorte, \"\"B\"\"\",2020-05-02T16:00:00\r\n"
+                + "5,6,2,2,Maracanã,2020-05-03T16:00:00";
+
+        //ACT
+        try (LeitorPartidas leitor = criarLeitor(csv, LeitorPartidas.Formato.CSV)) {
+            PartidaDTO primeira = leitor.proxima();
+            PartidaDTO segunda = leitor.proxima();
+            PartidaDTO terceira = leitor.proxima();
+
+            //ASSERT
+            assertEquals("Estádio \"Zezão\"", primeira.getEstadio());
+            assertEquals("Arena\r\nNorte, \"B\"", segunda.getEstadio());
+            assertEquals(LocalDateTime.of(2020, 5, 2, 16, 0), segunda.getDataHora());
+            assertEquals(5L, terceira.getClubeCasaId());
+            assertNull(leitor.proxima());
+        }
+    }
+
+    @Test
+    void testeLerCsv_LinhaInvalida_ContinuaNaProxima() throws Exception {
+        //ARRANGE
+        String csv = "1,2,x,0,Maracanã,2020-05-01T16:00:00\n"
+                + "1,2,1,0,Maracanã,01/05/2020\n"
+                + "1,2,1,0,Maracanã\n"
+                + "1,2,1,0,Maracanã,2020-05-01T16:00:00,extra\n"
+                + "1,2,1,0,Maracanã,2020-05-01T16:00:00\n";
+
+        //ACT
+        try (LeitorPartidas leitor = criarLeitor(csv, LeitorPartidas.Formato.CSV)) {
+            RegraDeInvalidosExcecao400 numero = assertThrows(RegraDeInvalidosExcecao400.class, leitor::proxima);
+            RegraDeInvalidosExcecao400 data = assertThrows(RegraDeInvalidosExcecao400.class, leitor::proxima);
+            RegraDeInvalidosExcecao400 faltando = assertThrows(RegraDeInvalidosExcecao400.class, leitor::proxima);
+            RegraDeInvalidosExcecao400 sobrando = assertThrows(RegraDeInvalidosExcecao400.class, leitor::proxima);
+            PartidaDTO valida = leitor.proxima();
+
+            //ASSERT
+            assertEquals("Não foi possível ler a partida: número inválido", numero.getMessage());
+            assertTrue(data.getMessage().startsWith("Não foi possível ler a partida: data inválida"));
+            assertEquals("Não foi possível ler a partida: falta a coluna dataHora", faltando.getMessage());
+            assertEquals("Não foi possível ler a partida: colunas demais", sobrando.getMessage());
+            assertEquals(1L, valida.getClubeCasaId());
+        }
+    }
+
+    @Test
+    void testeLerNdjson_EPularPartidasJaProcessadas() throws Exception {
+        //ARRANGE
+        String ndjson = "{\"clubeCasaId\":1,\"clubeVisitanteId\":2,\"resultadoCasa\":1,\"resultadoVisitante\":0,\"estadio\":\"Maracanã\",\"dataHora\":\"2020-05-01T16:00:00\"}\n"
+                + "{\"clubeCasaId\":3,\"clubeVisitanteId\":4,\"resultadoCasa\":2,\"resultadoVisitante\":2,\"estadio\":\"Mineirão\",\"dataHora\":\"2020-05-02T16:00:00\"}\n"
+                + "\n"
+                + "{\"clubeCasaId\":5,\n"
+                + "{\"clubeCasaId\":7,\"clubeVisitanteId\":8,\"resultadoCasa\":0,\"resultadoVisitante\":1,\"estadio\":\"Mineirão\",\"dataHora\":\"2020-05-03T16:00:00\"}\n";
+
+        //ACT
+        try (LeitorPartidas leitor = criarLeitor(ndjson, LeitorPartidas.Formato.NDJSON)) {
+            long puladas = leitor.pular(1);
+            PartidaDTO segunda = leitor.proxima();
+            assertThrows(RegraDeInvalidosExcecao400.class, leitor::proxima);
+            PartidaDTO quarta = leitor.proxima();
+
+            //ASSERT
+            assertEquals(1, puladas);
+            assertEquals(3L, segunda.getClubeCasaId());
+            assertEquals(LocalDateTime.of(2020, 5, 2, 16, 0), segunda.getDataHora());
+            assertEquals(7L, quarta.getClubeCasaId());
+            assertSame(segunda.getEstadio(), quarta.getEstadio());
+            assertEquals(0, leitor.pular(10));
+        }
+    }
+
+    @Test
+    void testeFormato_Invalido_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            LeitorPartidas.Formato.de("xml");
+        });
+
+        //ASSERT
+        assertEquals("Formato inválido. Use 'csv' ou 'ndjson'", excecao.getMessage());
+        assertEquals(LeitorPartidas.Formato.NDJSON, LeitorPartidas.Formato.de("JSONL"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteMatrizConfrontos {
+    @InjectMocks
+    private MatrizConfrontos matrizConfrontos;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    @Test
+    void testeCarregar_JuntaOsDoisMandos() {
+        //ARRANGE (Flamengo(1) em casa contra Vasco(2): 2V 1E, 5x2 | Vasco em casa: 1V, 2x0)
+        List<Object[]> totais = new ArrayList<>();
+        totais.add(new Object[]{1L, 2L, 2L, 1L, 0L, 5L, 2L});
+        totais.add(new Object[]{2L, 1L, 1L, 0L, 0L, 2L, 0L});
+        when(partidaRepository.findTotaisPorConfronto()).thenReturn(totais);
+
+        //ACT
+        matrizConfrontos.carregar();
+
+        //ASSERT (vitorias clube1, empates, vitorias clube2, gols clube1, gols clube2)
+        assertArrayEquals(new int[]{2, 1, 1, 5, 4}, matrizConfrontos.buscarResumo(1L, 2L));
+        assertArrayEquals(new int[]{1, 1, 2, 4, 5}, matrizConfrontos.buscarResumo(2L, 1L));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0}, matrizConfrontos.buscarResumo(1L, 3L));
+    }
+
+    @Test
+    void testeAoAlterarPartida_InsereAlteraERemove() {
+        //ARRANGE
+        when(partidaRepository.findTotaisPorConfronto()).thenReturn(new ArrayList<>());
+        matrizConfrontos.carregar();
+        PartidaEntity partida = new PartidaEntity(5L, 3L, 1, 0, 1L, LocalDateTime.now());
+        PartidaEntity alterada = new PartidaEntity(5L, 3L, 1, 1, 1L, LocalDateTime.now());
+
+        //ACT + ASSERT
+        matrizConfrontos.aoAlterarPartida(new PartidaAlteradaEvento(null, partida));
+        assertArrayEquals(new int[]{0, 0, 1, 0, 1}, matrizConfrontos.buscarResumo(3L, 5L));
+
+        matrizConfrontos.aoAlterarPartida(new PartidaAlteradaEvento(partida, alterada));
+        assertArrayEquals(new int[]{0, 1, 0, 1, 1}, matrizConfrontos.buscarResumo(5L, 3L));
+
+        matrizConfrontos.aoAlterarPartida(new PartidaAlteradaEvento(alterada, null));
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0}, matrizConfrontos.buscarResumo(3L, 5L));
+    }
+}
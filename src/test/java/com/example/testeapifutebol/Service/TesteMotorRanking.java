@@ -0,0 +1,154 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.RankingClubeDTO;
+import com.example.testeapifutebol.Entity.ClubeEntity;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.ClassificacaoRepository;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteMotorRanking {
+    @InjectMocks
+    private MotorRanking motorRanking;
+
+    @Mock
+    private ClassificacaoRepository classificacaoRepository;
+    @Mock
+    private ClubeRepository clubeRepository;
+
+    // Flamengo 2 jogos (1V 1E), Vasco 1 jogo (1V), Bahia 1 jogo (1D)
+    private void carregarTabela() {
+        List<Object[]> tabela = new ArrayList<>();
+        tabela.add(new Object[]{1L, "Flamengo", 2, 1, 1, 0, 3, 1});
+        tabela.add(new Object[]{2L, "Vasco", 1, 1, 0, 0, 4, 0});
+        tabela.add(new Object[]{3L, "Bahia", 1, 0, 0, 1, 0, 4});
+        when(classificacaoRepository.findClassificacao()).thenReturn(tabela);
+        motorRanking.carregar();
+    }
+
+    @Test
+    void testeBuscarRanking_QuatroOrdenacoes() {
+        //ARRANGE
+        carregarTabela();
+
+        //ACT
+        List<RankingClubeDTO> pontos = motorRanking.buscarRanking("pontos");
+        List<RankingClubeDTO> gols = motorRanking.buscarRanking("gols");
+        List<RankingClubeDTO> jogos = motorRanking.buscarRanking("JOGOS");
+
+        //ASSERT
+        assertEquals(List.of("Flamengo", "Vasco", "Bahia"), pontos.stream().map(RankingClubeDTO::getNome).toList());
+        assertEquals(List.of("Vasco", "Flamengo", "Bahia"), gols.stream().map(RankingClubeDTO::getNome).toList());
+        assertEquals(List.of("Flamengo", "Bahia", "Vasco"), jogos.stream().map(RankingClubeDTO::getNome).toList());
+        assertEquals(1, pontos.get(0).getPosicao());
+        assertEquals(3, pontos.get(2).getPosicao());
+        assertEquals(4, pontos.get(0).getPontos());
+    }
+
+    @Test
+    void testeBuscarRanking_FotoImutavelEReaproveitada() {
+        //ARRANGE
+        carregarTabela();
+
+        //ACT
+        List<RankingClubeDTO> primeira = motorRanking.buscarRanking("pontos");
+        List<RankingClubeDTO> segunda = motorRanking.buscarRanking("pontos");
+
+        //ASSERT
+        assertSame(primeira, segunda);
+        assertThrows(UnsupportedOperationException.class, () -> primeira.add(new RankingClubeDTO()));
+    }
+
+    @Test
+    void testeAoAlterarPartida_ReposicionaClubesEnvolvidos() {
+        //ARRANGE
+        carregarTabela();
+        List<RankingClubeDTO> antes = motorRanking.buscarRanking("pontos");
+        PartidaEntity partida = new PartidaEntity(2L, 1L, 2, 0, 1L, LocalDateTime.now().plusDays(1));
+
+        //ACT
+        motorRanking.aoAlterarPartida(new PartidaAlteradaEvento(null, partida));
+        List<RankingClubeDTO> depois = motorRanking.buscarRanking("pontos");
+
+        //ASSERT (Vasco passa a 6 pontos, a foto anterior continua como estava)
+        assertEquals("Flamengo", antes.get(0).getNome());
+        assertEquals("Vasco", depois.get(0).getNome());
+        assertEquals(6, depois.get(0).getPontos());
+        assertEquals(3, depois.get(1).getJogos());
+        verifyNoInteractions(clubeRepository);
+    }
+
+    @Test
+    void testeAoAlterarPartida_ClubeNovoEClubeSemJogos() {
+        //ARRANGE
+        carregarTabela();
+        ClubeEntity gremio = new ClubeEntity();
+        gremio.setId(4L);
+        gremio.setNome("Grêmio");
+        when(clubeRepository.findById(4L)).thenReturn(Optional.of(gremio));
+        PartidaEntity anterior = new PartidaEntity(3L, 2L, 0, 4, 2L, LocalDateTime.now().plusDays(1));
+        PartidaEntity atual = new PartidaEntity(4L, 2L, 0, 4, 2L, LocalDateTime.now().plusDays(1));
+
+        //ACT (a partida do Bahia passa a ser do Grêmio)
+        motorRanking.aoAlterarPartida(new PartidaAlteradaEvento(anterior, atual));
+        List<RankingClubeDTO> ranking = motorRanking.buscarRanking("pontos");
+
+        //ASSERT
+        assertEquals(List.of("Flamengo", "Vasco", "Grêmio"), ranking.stream().map(RankingClubeDTO::getNome).toList());
+    }
+
+    @Test
+    void testeAoAlterarClube_TrocaONomeEReordena() {
+        //ARRANGE
+        carregarTabela();
+        List<RankingClubeDTO> antes = motorRanking.buscarRanking("jogos");
+
+        //ACT (Vasco e Bahia empatam em jogos: o desempate é o nome)
+        motorRanking.aoAlterarClube(new ClubeAlteradoEvento(2L, "Atlético", "MG"));
+        List<RankingClubeDTO> depois = motorRanking.buscarRanking("jogos");
+
+        //ASSERT
+        assertEquals(List.of("Flamengo", "Bahia", "Vasco"), antes.stream().map(RankingClubeDTO::getNome).toList());
+        assertEquals(List.of("Flamengo", "Atlético", "Bahia"), depois.stream().map(RankingClubeDTO::getNome).toList());
+        assertEquals(2L, depois.get(1).getId());
+        assertEquals(2, depois.get(1).getPosicao());
+    }
+
+    @Test
+    void testeAoAlterarClube_ClubeSemJogos_NaoEntraNoRanking() {
+        //ARRANGE
+        carregarTabela();
+        List<RankingClubeDTO> antes = motorRanking.buscarRanking("pontos");
+
+        //ACT
+        motorRanking.aoAlterarClube(new ClubeAlteradoEvento(9L, "Clube Novo", "SP"));
+
+        //ASSERT (nada mudou: a mesma foto continua valendo)
+        assertSame(antes, motorRanking.buscarRanking("pontos"));
+    }
+
+    @Test
+    void testeBuscarRanking_TipoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> motorRanking.buscarRanking("cartoes"));
+    }
+}
@@ -12,14 +12,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import com.example.testeapifutebol.Excecao.RegraDeInvalidosExcecao400;
 import com.example.testeapifutebol.Excecao.RegraDoNaoEncontradoExcecao404;
@@ -41,6 +50,21 @@ public class TestePartidaService {
     private ClubeRepository clubeRepository;
     @Mock
     private EstadioRepository estadioRepository;
+    @Mock
+    private ClassificacaoService classificacaoService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AgendaPartidas agendaPartidas;
+    @Mock
+    private TravasDeAgenda travasDeAgenda;
+    @Mock
+    private CacheContagens cacheContagens;
+    @Mock
+    private CalendarioPartidasService calendarioPartidasService;
+
+    // A partida grava o id do estádio; o nome é resolvido pelo EstadioRepository
+    private static final EstadioEntity MARACANA = new EstadioEntity(1L, "Maracanã");
 
     @Test
     void testeSalvarPartida_Sucesso() {
@@ -71,16 +95,11 @@ public class TestePartidaService {
         partidaSalva.setClubeVisitanteId(2L);
         partidaSalva.setResultadoCasa(2);
         partidaSalva.setResultadoVisitante(1);
-        partidaSalva.setEstadio("Maracanã");
+        partidaSalva.setEstadioId(1L);
         partidaSalva.setDataHora(partidaDTO.getDataHora());
 
-        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clubeCasa));
-        when(clubeRepository.findById(2L)).thenReturn(Optional.of(clubeVisitante));
-        when(clubeRepository.existsById(1L)).thenReturn(true);
-        when(clubeRepository.existsById(2L)).thenReturn(true);
-        when(estadioRepository.existsByNome("Maracanã")).thenReturn(true);
-        when(partidaRepository.existsByEstadioAndDataHora(any(), any(), any())).thenReturn(false);
-        when(partidaRepository.buscarPartidasPorClube(any(), any(), any())).thenReturn(Arrays.asList());
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(MARACANA));
         when(partidaRepository.save(any(PartidaEntity.class))).thenReturn(partidaSalva);
 
         //ACT
@@ -91,6 +110,13 @@ public class TestePartidaService {
         assertEquals(1L, resultado.getClubeCasaId());
         assertEquals(2L, resultado.getClubeVisitanteId());
         assertEquals("Maracanã", resultado.getEstadio());
+        verify(partidaRepository).save(argThat(partida -> partida.getEstadioId() == 1L));
+        verify(classificacaoService).aplicarAlteracao(null, partidaSalva);
+        verify(calendarioPartidasService).aplicarAlteracao(null, partidaSalva);
+        // Uma consulta para os dois clubes e uma para o estádio, nada mais
+        verify(clubeRepository, times(1)).findAllById(List.of(1L, 2L));
+        verify(estadioRepository, times(1)).findByNome("Maracanã");
+        verifyNoMoreInteractions(clubeRepository, estadioRepository);
     }
 
     @Test
@@ -123,7 +149,7 @@ public class TestePartidaService {
         partidaDTO.setEstadio("Maracanã");
         partidaDTO.setDataHora(LocalDateTime.now().plusDays(1));
 
-        when(clubeRepository.existsById(999L)).thenReturn(false);
+        when(clubeRepository.findAllById(List.of(999L, 2L))).thenReturn(List.of());
 
         //ACT
         RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
@@ -144,9 +170,13 @@ public class TestePartidaService {
         partidaDTO.setEstadio("Estádio Inexistente");
         partidaDTO.setDataHora(LocalDateTime.now().plusDays(1));
 
-        when(clubeRepository.existsById(1L)).thenReturn(true);
-        when(clubeRepository.existsById(2L)).thenReturn(true);
-        when(estadioRepository.existsByNome("Estádio Inexistente")).thenReturn(false);
+        ClubeEntity clubeCasa = new ClubeEntity();
+        clubeCasa.setId(1L);
+        ClubeEntity clubeVisitante = new ClubeEntity();
+        clubeVisitante.setId(2L);
+
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Estádio Inexistente")).thenReturn(Optional.empty());
 
         //ACT
         RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
@@ -167,9 +197,13 @@ public class TestePartidaService {
         partidaDTO.setEstadio("Maracanã");
         partidaDTO.setDataHora(LocalDateTime.now().plusDays(1));
 
-        when(clubeRepository.existsById(1L)).thenReturn(true);
-        when(clubeRepository.existsById(2L)).thenReturn(true);
-        when(estadioRepository.existsByNome("Maracanã")).thenReturn(true);
+        ClubeEntity clubeCasa = new ClubeEntity();
+        clubeCasa.setId(1L);
+        ClubeEntity clubeVisitante = new ClubeEntity();
+        clubeVisitante.setId(2L);
+
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(MARACANA));
 
         //ACT
         RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
@@ -202,11 +236,8 @@ public class TestePartidaService {
         clubeVisitante.setDataCriacao(LocalDate.now().minusYears(1));
         clubeVisitante.setAtivo("S");
 
-        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clubeCasa));
-        when(clubeRepository.findById(2L)).thenReturn(Optional.of(clubeVisitante));
-        when(clubeRepository.existsById(1L)).thenReturn(true);
-        when(clubeRepository.existsById(2L)).thenReturn(true);
-        when(estadioRepository.existsByNome("Maracanã")).thenReturn(true);
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(MARACANA));
 
         //ACT
         RegraDeExcecao409 excecao = assertThrows(RegraDeExcecao409.class, () -> {
@@ -216,6 +247,46 @@ public class TestePartidaService {
         assertEquals("O clube da casa, Flamengo, está inativo", excecao.getMessage());
     }
 
+    @Test
+    void testeSalvarPartida_ClubeComPartidaProxima_RetornoExcecao409() {
+        //ARRANGE
+        PartidaDTO partidaDTO = new PartidaDTO();
+        partidaDTO.setClubeCasaId(1L);
+        partidaDTO.setClubeVisitanteId(2L);
+        partidaDTO.setResultadoCasa(2);
+        partidaDTO.setResultadoVisitante(1);
+        partidaDTO.setEstadio("Maracanã");
+        partidaDTO.setDataHora(LocalDateTime.now().plusDays(1));
+
+        ClubeEntity clubeCasa = new ClubeEntity();
+        clubeCasa.setId(1L);
+        clubeCasa.setNome("Flamengo");
+        clubeCasa.setDataCriacao(LocalDate.now().minusYears(1));
+        clubeCasa.setAtivo("S");
+
+        ClubeEntity clubeVisitante = new ClubeEntity();
+        clubeVisitante.setId(2L);
+        clubeVisitante.setNome("Vasco");
+        clubeVisitante.setDataCriacao(LocalDate.now().minusYears(1));
+        clubeVisitante.setAtivo("S");
+
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(MARACANA));
+        when(agendaPartidas.clubeTemPartidaProxima(1L, partidaDTO.getDataHora(), 48, null)).thenReturn(false);
+        when(agendaPartidas.clubeTemPartidaProxima(2L, partidaDTO.getDataHora(), 48, null)).thenReturn(true);
+
+        //ACT
+        RegraDeExcecao409 excecao = assertThrows(RegraDeExcecao409.class, () -> {
+            partidaService.savePartidaEntity(partidaDTO);
+        });
+
+        //ASSERT (a agenda responde sem nenhuma consulta de conflito no banco)
+        assertEquals("O clube visitante já tem uma partida agendada próxima a esta data", excecao.getMessage());
+        verify(partidaRepository, never()).buscarPartidasPorClube(any(), any(), any());
+        verify(partidaRepository, never()).existsByEstadioAndDataHora(any(), any(), any());
+        verify(partidaRepository, never()).save(any());
+    }
+
     @Test
     void testeBuscarPartidaPorId_Sucesso() {
         //ARRANGE
@@ -226,10 +297,11 @@ public class TestePartidaService {
         partida.setClubeVisitanteId(2L);
         partida.setResultadoCasa(2);
         partida.setResultadoVisitante(1);
-        partida.setEstadio("Maracanã");
+        partida.setEstadioId(1L);
         partida.setDataHora(LocalDateTime.now().plusDays(1));
 
         when(partidaRepository.findById(partidaId)).thenReturn(Optional.of(partida));
+        when(estadioRepository.findById(1L)).thenReturn(Optional.of(MARACANA));
 
         //ACT
         PartidaDTO resultado = partidaService.findPartidaById(partidaId);
@@ -255,6 +327,21 @@ public class TestePartidaService {
         assertEquals("Partida não encontrada com o ID: " + partidaId, excecao.getMessage());
     }
 
+    @Test
+    void testeBuscarPartidasPorData_BuscaODiaInteiroComoIntervalo() {
+        //ARRANGE
+        PartidaEntity partida = new PartidaEntity(1L, 2L, 1, 0, 1L, LocalDateTime.of(2030, 3, 10, 21, 30));
+        when(partidaRepository.buscarPartidasPorData(LocalDateTime.of(2030, 3, 10, 0, 0), LocalDateTime.of(2030, 3, 11, 0, 0)))
+                .thenReturn(List.of(partida));
+
+        //ACT
+        List<PartidaDTO> resultado = partidaService.buscarPartidasPorData(LocalDateTime.of(2030, 3, 10, 16, 0));
+
+        //ASSERT
+        assertEquals(1, resultado.size());
+        assertEquals(LocalDateTime.of(2030, 3, 10, 21, 30), resultado.get(0).getDataHora());
+    }
+
     @Test
     void testeAtualizarPartida_Sucesso() {
         //ARRANGE
@@ -285,13 +372,8 @@ public class TestePartidaService {
         clubeVisitante.setAtivo("S");
 
         when(partidaRepository.findById(partidaId)).thenReturn(Optional.of(partidaExistente));
-        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clubeCasa));
-        when(clubeRepository.findById(2L)).thenReturn(Optional.of(clubeVisitante));
-        when(clubeRepository.existsById(1L)).thenReturn(true);
-        when(clubeRepository.existsById(2L)).thenReturn(true);
-        when(estadioRepository.existsByNome("Maracanã")).thenReturn(true);
-        when(partidaRepository.existsByEstadioAndDataHora(any(), any(), any())).thenReturn(false);
-        when(partidaRepository.buscarPartidasPorClube(any(), any(), any())).thenReturn(Arrays.asList());
+        when(clubeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(clubeCasa, clubeVisitante));
+        when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(MARACANA));
         when(partidaRepository.save(any(PartidaEntity.class))).thenReturn(partidaExistente);
 
         //ACT
@@ -301,6 +383,9 @@ public class TestePartidaService {
         assertNotNull(resultado);
         assertEquals(1L, resultado.getClubeCasaId());
         assertEquals(2L, resultado.getClubeVisitanteId());
+        verify(clubeRepository, times(1)).findAllById(List.of(1L, 2L));
+        verify(estadioRepository, times(1)).findByNome("Maracanã");
+        verifyNoMoreInteractions(clubeRepository, estadioRepository);
     }
 
     @Test
@@ -322,7 +407,9 @@ public class TestePartidaService {
     void testeDeletarPartida_Sucesso() {
         //ARRANGE
         Long partidaId = 1L;
-        when(partidaRepository.existsById(partidaId)).thenReturn(true);
+        PartidaEntity partida = new PartidaEntity();
+        partida.setId(partidaId);
+        when(partidaRepository.findById(partidaId)).thenReturn(Optional.of(partida));
 
         //ACT
         assertDoesNotThrow(() -> {
@@ -330,14 +417,16 @@ public class TestePartidaService {
         });
 
         //ASSERT
-        verify(partidaRepository).deleteById(partidaId);
+        verify(partidaRepository).delete(partida);
+        verify(classificacaoService).aplicarAlteracao(partida, null);
+        verify(calendarioPartidasService).aplicarAlteracao(partida, null);
     }
 
     @Test
     void testeDeletarPartida_PartidaInexistente_RetornoExcecao404() {
         //ARRANGE
         Long partidaId = 999L;
-        when(partidaRepository.existsById(partidaId)).thenReturn(false);
+        when(partidaRepository.findById(partidaId)).thenReturn(Optional.empty());
 
         //ACT
         RegraDoNaoEncontradoExcecao404 excecao = assertThrows(RegraDoNaoEncontradoExcecao404.class, () -> {
@@ -362,4 +451,125 @@ public class TestePartidaService {
         assertNotNull(resultado);
         assertEquals(2, resultado.size());
     }
+
+    @Test
+    void testeBuscarPartidasPorCursor_PaginaCheia_RetornaProximoCursor() {
+        //ARRANGE
+        LocalDateTime data = LocalDateTime.of(2030, 1, 1, 16, 0);
+        List<PartidaEntity> encontradas = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            PartidaEntity partida = new PartidaEntity(1L, 2L, 1, 0, 1L, data.plusDays(id));
+            partida.setId(id);
+            encontradas.add(partida);
+        }
+        // Pede uma linha a mais que o tamanho para saber se tem próxima página
+        when(partidaRepository.findPartidasComFiltrosAposCursor(null, null, null, null, false, null, false, false,
+                null, null, PageRequest.of(0, 3))).thenReturn(encontradas);
+        when(partidaRepository.findPartidasComFiltrosAposCursor(null, null, null, null, false, null, false, false,
+                data.plusDays(2), 2L, PageRequest.of(0, 3))).thenReturn(encontradas.subList(2, 3));
+
+        //ACT
+        var primeira = partidaService.buscarPartidasPorCursor(null, null, null, null, null, null, null, null, "", 2);
+        var segunda = partidaService.buscarPartidasPorCursor(null, null, null, null, null, null, null, null,
+                primeira.getProximoCursor(), 2);
+
+        //ASSERT
+        assertEquals(2, primeira.getItens().size());
+        assertTrue(primeira.isTemProxima());
+        assertEquals(1, segunda.getItens().size());
+        assertEquals(data.plusDays(3), segunda.getItens().get(0).getDataHora());
+        assertFalse(segunda.isTemProxima());
+        assertNull(segunda.getProximoCursor());
+        // Nenhuma contagem: a busca por cursor não usa Page
+        verify(partidaRepository, never()).findPartidasComFiltros(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testeBuscarPartidasPorCursor_CursorInvalido_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            partidaService.buscarPartidasPorCursor(null, null, null, null, null, null, null, null, "nao-e-cursor", 10);
+        });
+        // Base64 válido, mas a chave não é uma data
+        String semData = Base64.getUrlEncoder().encodeToString("Flamengo|1".getBytes());
+        assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            partidaService.buscarPartidasPorCursor(null, null, null, null, null, null, null, null, semData, 10);
+        });
+
+        //ASSERT
+        assertEquals("Cursor inválido", excecao.getMessage());
+        verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    void testeFindPartidasComFiltros_TotalVemDoCacheDeContagens() {
+        //ARRANGE
+        LocalDateTime data = LocalDateTime.of(2030, 1, 1, 16, 0);
+        List<PartidaEntity> encontradas = List.of(
+                new PartidaEntity(1L, 2L, 1, 0, 1L, data),
+                new PartidaEntity(3L, 1L, 2, 2, 1L, data.plusDays(1)));
+        PageRequest pagina = PageRequest.of(0, 2);
+        when(partidaRepository.findPartidasComFiltros("Maracanã", null, null, null, false, 1L, false, false, pagina))
+                .thenReturn(new SliceImpl<>(encontradas, pagina, true));
+        when(estadioRepository.findAllById(Set.of(1L))).thenReturn(List.of(MARACANA));
+        when(cacheContagens.contar(eq(CacheContagens.chave(CacheContagens.BUSCA_PARTIDAS,
+                "Maracanã", null, null, null, false, 1L, false, false)), any())).thenReturn(7L);
+
+        //ACT
+        Page<PartidaDTO> resultado = partidaService.findPartidasComFiltros("Maracanã", null, null, null, null, 1L, null, null, pagina);
+
+        //ASSERT
+        assertEquals(2, resultado.getContent().size());
+        assertEquals("Maracanã", resultado.getContent().get(1).getEstadio()); // nomes numa consulta só
+        assertEquals(7, resultado.getTotalElements());
+        assertEquals(4, resultado.getTotalPages());
+        // O COUNT só roda pelo cache (que aqui já tinha o total)
+        verify(partidaRepository, never()).countPartidasComFiltros(any(), any(), any(), any(), anyBoolean(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void testeFindPartidasComFiltros_PrimeiraPaginaIncompleta_NemConsultaOCache() {
+        //ARRANGE
+        PageRequest pagina = PageRequest.of(0, 10);
+        when(partidaRepository.findPartidasComFiltros(null, null, null, null, false, null, false, false, pagina))
+                .thenReturn(new SliceImpl<>(List.of(new PartidaEntity(1L, 2L, 1, 0, 1L,
+                        LocalDateTime.of(2030, 1, 1, 16, 0))), pagina, false));
+
+        //ACT
+        Page<PartidaDTO> resultado = partidaService.findPartidasComFiltros(null, null, null, null, null, null, null, null, pagina);
+
+        //ASSERT
+        assertEquals(1, resultado.getTotalElements());
+        verifyNoInteractions(cacheContagens);
+    }
+
+    @Test
+    void testeFindPartidasComFiltrosSemTotal_SoDizSeTemProximaPagina() {
+        //ARRANGE
+        PageRequest pagina = PageRequest.of(3, 1);
+        when(partidaRepository.findPartidasComFiltros(null, 2, null, null, true, null, false, false, pagina))
+                .thenReturn(new SliceImpl<>(List.of(new PartidaEntity(1L, 2L, 2, 5, 2L,
+                        LocalDateTime.of(2030, 1, 1, 16, 0))), pagina, true));
+
+        //ACT
+        Slice<PartidaDTO> resultado = partidaService.findPartidasComFiltrosSemTotal(null, 2, null, null, true, null, null, null, pagina);
+
+        //ASSERT
+        assertEquals(1, resultado.getContent().size());
+        assertTrue(resultado.hasNext());
+        verifyNoInteractions(cacheContagens);
+        verify(partidaRepository, never()).countPartidasComFiltros(any(), any(), any(), any(), anyBoolean(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void testeFindPartidasComFiltrosSemTotal_MandanteSemClube_RetornoExcecao400() {
+        //ACT
+        RegraDeInvalidosExcecao400 excecao = assertThrows(RegraDeInvalidosExcecao400.class, () -> {
+            partidaService.findPartidasComFiltrosSemTotal(null, null, null, null, null, null, true, null, PageRequest.of(0, 10));
+        });
+
+        //ASSERT
+        assertEquals("É necessário informar o ID do clube para filtrar por mandante/visitante", excecao.getMessage());
+        verifyNoInteractions(partidaRepository);
+    }
 }
@@ -0,0 +1,173 @@
+package com.example.testeapifutebol.Service;
+
+import com.example.testeapifutebol.DTO.SugestaoNomeDTO;
+import com.example.testeapifutebol.Entity.PartidaEntity;
+import com.example.testeapifutebol.Evento.ClubeAlteradoEvento;
+import com.example.testeapifutebol.Evento.EstadioAlteradoEvento;
+import com.example.testeapifutebol.Evento.PartidaAlteradaEvento;
+import com.example.testeapifutebol.Repository.ClubeRepository;
+import com.example.testeapifutebol.Repository.EstadioRepository;
+import com.example.testeapifutebol.Repository.PartidaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//AAA Pattern (Arrange, Act, Assert):
+//Arrange: Preparar dados e mocks
+//Act: Executar o metodo testado
+//Assert: Verificar o resultado
+
+@ExtendWith(MockitoExtension.class)
+public class TesteSugestoesNomes {
+    @InjectMocks
+    private SugestoesNomes sugestoesNomes;
+
+    @Mock
+    private ClubeRepository clubeRepository;
+    @Mock
+    private EstadioRepository estadioRepository;
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    private void carregar() {
+        List<Object[]> clubes = new ArrayList<>();
+        clubes.add(new Object[]{1L, "Flamengo"});
+        clubes.add(new Object[]{2L, "Fluminense"});
+        clubes.add(new Object[]{3L, "Vasco da Gama"});
+        clubes.add(new Object[]{4L, "Floresta"});
+        clubes.add(new Object[]{5L, "Fortaleza"});
+        List<Object[]> estadios = new ArrayList<>();
+        estadios.add(new Object[]{1L, "São Januário"});
+        estadios.add(new Object[]{2L, "Maracanã"});
+        estadios.add(new Object[]{3L, "Mangueirão"});
+        List<Object[]> mandantes = new ArrayList<>();
+        mandantes.add(new Object[]{1L, 10L});
+        mandantes.add(new Object[]{2L, 3L});
+        mandantes.add(new Object[]{3L, 7L});
+        List<Object[]> visitantes = new ArrayList<>();
+        visitantes.add(new Object[]{2L, 4L});
+        visitantes.add(new Object[]{4L, 1L});
+        List<Object[]> porEstadio = new ArrayList<>();
+        porEstadio.add(new Object[]{2L, 20L});
+        porEstadio.add(new Object[]{3L, 5L});
+        when(clubeRepository.findIdsENomes()).thenReturn(clubes);
+        when(estadioRepository.findIdsENomes()).thenReturn(estadios);
+        when(partidaRepository.findTotalPartidasPorMandante()).thenReturn(mandantes);
+        when(partidaRepository.findTotalPartidasPorVisitante()).thenReturn(visitantes);
+        when(partidaRepository.findTotalPartidasPorEstadio()).thenReturn(porEstadio);
+        sugestoesNomes.carregar();
+    }
+
+    private static List<Long> ids(List<SugestaoNomeDTO> sugestoes) {
+        return sugestoes.stream().map(SugestaoNomeDTO::getId).toList();
+    }
+
+    @Test
+    void testeSugerir_MaisPartidasPrimeiroEDepoisPeloNome() {
+        //ARRANGE
+        carregar();
+
+        //ACT
+        List<SugestaoNomeDTO> sugestoes = sugestoesNomes.sugerirClubes("F", 10);
+
+        //ASSERT: Flamengo 10, Fluminense 3 + 4, Floresta 1, Fortaleza 0
+        assertEquals(List.of(1L, 2L, 4L, 5L), ids(sugestoes));
+        assertEquals("Fluminense", sugestoes.get(1).getNome());
+        assertEquals(7, sugestoes.get(1).getPartidas());
+        assertEquals(List.of(1L, 2L), ids(sugestoesNomes.sugerirClubes("f", 2)));
+        assertEquals(List.of(4L), ids(sugestoesNomes.sugerirClubes("flo", 10)));
+        assertEquals(List.of(2L, 3L), ids(sugestoesNomes.sugerirEstadios("ma", 10)));
+    }
+
+    @Test
+    void testeSugerir_QualquerPalavraDoNomeSemAcento() {
+        //ARRANGE
+        carregar();
+
+        //ACT + ASSERT
+        assertEquals(List.of(3L), ids(sugestoesNomes.sugerirClubes("gama", 10)));
+        assertEquals(List.of(3L), ids(sugestoesNomes.sugerirClubes("DA G", 10)));
+        assertEquals(List.of(1L), ids(sugestoesNomes.sugerirEstadios("januario", 10)));
+        assertEquals(List.of(1L), ids(sugestoesNomes.sugerirEstadios("Sao Jan", 10)));
+        // Trecho no meio da palavra não é prefixo
+        assertEquals(List.of(), ids(sugestoesNomes.sugerirClubes("mengo", 10)));
+    }
+
+    @Test
+    void testeAoAlterar_SegueNomesEPartidas() {
+        //ARRANGE
+        carregar();
+        PartidaEntity partida = new PartidaEntity(5L, 4L, 1, 0, 3L, LocalDateTime.of(2030, 1, 1, 16, 0));
+
+        //ACT
+        sugestoesNomes.aoAlterarClube(new ClubeAlteradoEvento(6L, "Figueirense", "SC"));
+        sugestoesNomes.aoAlterarClube(new ClubeAlteradoEvento(2L, "Tricolor Carioca", "RJ"));
+        for (int i = 0; i < 3; i++) {
+            sugestoesNomes.aoAlterarPartida(new PartidaAlteradaEvento(null, partida));
+        }
+        sugestoesNomes.aoAlterarPartida(new PartidaAlteradaEvento(partida, null));
+        sugestoesNomes.aoAlterarEstadio(new EstadioAlteradoEvento(2L, null));
+
+        //ASSERT: Fortaleza e Floresta com 2 e 3 partidas; o nome antigo do Fluminense sai
+        List<SugestaoNomeDTO> sugestoes = sugestoesNomes.sugerirClubes("f", 10);
+        assertEquals(List.of(1L, 4L, 5L, 6L), ids(sugestoes));
+        assertEquals(3, sugestoes.get(1).getPartidas());
+        assertEquals(7, sugestoesNomes.sugerirClubes("carioca", 10).get(0).getPartidas());
+        assertEquals(List.of(3L), ids(sugestoesNomes.sugerirEstadios("ma", 10)));
+        assertEquals(7, sugestoesNomes.sugerirEstadios("mangueirao", 10).get(0).getPartidas());
+    }
+
+    @Test
+    void testeSugerir_MesmoResultadoQueOrdenarTodosOsNomes() {
+        //ARRANGE: nomes e partidas sorteados, com renomeações e remoções no meio
+        Random random = new Random(7);
+        String[] palavras = {"Atlético", "Atlântico", "Clube", "Grêmio", "Guarani", "Gama", "Santos", "Santa Cruz"};
+        PrefixosNomes prefixos = new PrefixosNomes();
+        List<Object[]> linhas = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            linhas.add(new Object[]{id, palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)]});
+        }
+        prefixos.carregar(linhas);
+        long[] partidas = new long[301];
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(300);
+            prefixos.somarPartidas(id, 1);
+            partidas[(int) id]++;
+        }
+        for (int i = 0; i < 30; i++) {
+            Object[] linha = linhas.get(random.nextInt(linhas.size()));
+            linha[1] = palavras[random.nextInt(palavras.length)] + " " + linha[0];
+            prefixos.colocar((Long) linha[0], (String) linha[1]);
+        }
+        for (int i = 0; i < 20; i++) {
+            Object[] linha = linhas.remove(random.nextInt(linhas.size()));
+            prefixos.remover((Long) linha[0]);
+        }
+
+        for (String termo : List.of("a", "at", "atla", "g", "gua", "santa c", "clube", "1", "x")) {
+            //ACT
+            List<Long> sugeridos = ids(prefixos.sugerir(termo, 10));
+
+            //ASSERT
+            String prefixo = IndiceTrigramas.dobrar(termo);
+            List<Long> esperados = linhas.stream()
+                    .filter(linha -> (" " + IndiceTrigramas.dobrar((String) linha[1])).contains(" " + prefixo))
+                    .sorted(Comparator.<Object[]>comparingLong(linha -> -partidas[((Long) linha[0]).intValue()])
+                            .thenComparing(linha -> IndiceTrigramas.dobrar((String) linha[1]))
+                            .thenComparing(linha -> (Long) linha[0]))
+                    .limit(10).map(linha -> (Long) linha[0]).toList();
+            assertEquals(esperados, sugeridos, termo);
+        }
+    }
+}